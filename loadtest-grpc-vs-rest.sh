@@ -0,0 +1,31 @@
+#!/bin/bash
+
+# Compares the REST and gRPC adapters under the same load: starts the service once with the in-memory repository
+# (profile "in-memory"), so the database does not hide the difference, and drives the same mix over each
+# protocol in turn. Reports, latency histograms and the server log go to build/loadtest/grpc-vs-rest.
+# Usage: ./loadtest-grpc-vs-rest.sh [concurrency] [duration, ISO-8601] [mix]
+set -euo pipefail
+
+CONCURRENCY="${1:-256}"
+DURATION="${2:-PT30S}"
+MIX="${3:-LIST_PRODUCTS:60,GET_PRODUCT:25,ADD_PRODUCT:10,REMOVE_PRODUCT:5}"
+OUT=build/loadtest/grpc-vs-rest
+mkdir -p "$OUT/rest" "$OUT/grpc"
+
+./gradlew -q bootJar
+JAR=$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -1)
+
+java -jar "$JAR" --spring.profiles.active=local,in-memory --wishlist.rate-limit.enabled=false > "$OUT/server.log" 2>&1 &
+PID=$!
+trap 'kill "$PID" 2> /dev/null || true' EXIT
+
+for _ in $(seq 60); do
+  curl -sf http://localhost:8080/actuator/health > /dev/null && break
+  sleep 1
+done
+
+for PROTOCOL in rest grpc; do
+  ./gradlew -q loadTest -Ploadtest.protocol="$PROTOCOL" -Ploadtest.concurrency="$CONCURRENCY" \
+            -Ploadtest.duration="$DURATION" -Ploadtest.mix="$MIX" -Ploadtest.histogramDir="$OUT/$PROTOCOL" \
+            | tee "$OUT/$PROTOCOL/report.txt"
+done
@@ -0,0 +1,29 @@
+#!/bin/bash
+
+# Measures the service's own overhead (MVC, Security, validation, Jackson) with the in-memory repository
+# (profile "in-memory") instead of MongoDB, so nothing but the JVM is needed. Reports, latency histograms
+# and the server log go to build/loadtest/in-memory.
+# Usage: ./loadtest-in-memory.sh [concurrency] [duration, ISO-8601] [mix] [extra profiles]
+set -euo pipefail
+
+CONCURRENCY="${1:-256}"
+DURATION="${2:-PT30S}"
+MIX="${3:-LIST_PRODUCTS:60,GET_PRODUCT:25,ADD_PRODUCT:10,REMOVE_PRODUCT:5}"
+PROFILES="local,in-memory${4:+,$4}"
+OUT=build/loadtest/in-memory
+mkdir -p "$OUT"
+
+./gradlew -q bootJar
+JAR=$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -1)
+
+java -jar "$JAR" --spring.profiles.active="$PROFILES" --wishlist.rate-limit.enabled=false > "$OUT/server.log" 2>&1 &
+PID=$!
+trap 'kill "$PID" 2> /dev/null || true' EXIT
+
+for _ in $(seq 60); do
+  curl -sf http://localhost:8080/actuator/health > /dev/null && break
+  sleep 1
+done
+
+./gradlew -q loadTest -Ploadtest.concurrency="$CONCURRENCY" -Ploadtest.duration="$DURATION" \
+          -Ploadtest.mix="$MIX" -Ploadtest.histogramDir="$OUT" | tee "$OUT/report.txt"
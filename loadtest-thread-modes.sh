@@ -0,0 +1,39 @@
+#!/bin/bash
+
+# Benchmarks the service with platform threads and with virtual threads (profile "virtual-threads")
+# against the MongoDB from docker-compose, keeping both reports and server logs in build/loadtest.
+# Usage: ./loadtest-thread-modes.sh [concurrency] [duration, ISO-8601]
+set -euo pipefail
+
+CONCURRENCY="${1:-256}"
+DURATION="${2:-PT30S}"
+OUT=build/loadtest
+mkdir -p "$OUT"
+
+docker compose up -d mongo
+./gradlew -q bootJar
+JAR=$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -1)
+
+for MODE in platform virtual; do
+  PROFILES=local
+  if [ "$MODE" = virtual ]; then
+    PROFILES=local,virtual-threads
+  fi
+
+  java -Djdk.tracePinnedThreads=short -jar "$JAR" \
+       --spring.profiles.active="$PROFILES" --wishlist.rate-limit.enabled=false \
+       --spring.data.mongodb.uri=mongodb://localhost:27017/wishlist > "$OUT/$MODE-server.log" 2>&1 &
+  PID=$!
+
+  for _ in $(seq 60); do
+    curl -sf http://localhost:8080/actuator/health > /dev/null && break
+    sleep 1
+  done
+
+  echo "== $MODE threads"
+  ./gradlew -q loadTest -Ploadtest.concurrency="$CONCURRENCY" -Ploadtest.duration="$DURATION" | tee "$OUT/$MODE.txt"
+
+  kill "$PID"
+  wait "$PID" || true
+  echo "pinned virtual thread stacks: $(grep -c '<== monitors' "$OUT/$MODE-server.log" || true)"
+done
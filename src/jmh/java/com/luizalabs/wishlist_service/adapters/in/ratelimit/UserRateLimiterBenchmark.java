@@ -0,0 +1,58 @@
+package com.luizalabs.wishlist_service.adapters.in.ratelimit;
+
+import com.luizalabs.wishlist_service.adapters.in.ratelimit.UserRateLimiter.Access;
+import com.luizalabs.wishlist_service.adapters.in.ratelimit.UserRateLimiter.Rate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the rate limit check every wishlist request pays, with buckets large enough never to reject. With one
+ * user all threads contend on the same bucket; with many, each call mostly finds another user's bucket in the
+ * cache. Compare against {@code enabled=false} for the overhead over no check at all.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class UserRateLimiterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean enabled;
+
+    @Param({"1", "100000"})
+    public int users;
+
+    private UserRateLimiter limiter;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private long next;
+    }
+
+    @Setup
+    public void setUp() {
+        Rate unlimited = new Rate(1e9, Integer.MAX_VALUE);
+        limiter = new UserRateLimiter(enabled, unlimited, unlimited, Duration.ofMinutes(1), 1_000_000,
+                new SimpleMeterRegistry());
+        for (long userId = 0; userId < users; userId++) {
+            limiter.acquire(userId, Access.READ);
+        }
+    }
+
+    @Benchmark
+    public void acquire(final Cursor cursor) {
+        limiter.acquire(cursor.next++ % users, Access.READ);
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.luizalabs.wishlist_service.adapters.in.web.dto.response;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Jackson serialization and deserialization of {@link WishlistResponse} with Spring's default {@code ObjectMapper}
+ * settings, in each wire format the API negotiates. Sizes go past {@code Wishlist.DEFAULT_MAX_ITEMS} to show how
+ * the cost scales for tiers with higher limits. The payload size of each combination is printed at setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WishlistResponseSerializationBenchmark {
+
+    @Param({"0", "1", "5", "10", "20", "100", "1000"})
+    public int size;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private WishlistResponse response;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().factory(factory(format)).build();
+        writer = mapper.writerFor(WishlistResponse.class);
+        reader = mapper.readerFor(WishlistResponse.class);
+        response = WishlistResponse.builder()
+                .userId(42L)
+                .productIds(LongStream.range(0, size).map(i -> 1_000_000L + i * 7_919L).toArray())
+                .build();
+        payload = writer.writeValueAsBytes(response);
+        System.out.printf("%n%s payload with %d products: %d bytes%n", format, size, payload.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public WishlistResponse deserialize() throws IOException {
+        return reader.readValue(payload);
+    }
+
+    private static JsonFactory factory(final String format) {
+        return switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+    }
+
+}
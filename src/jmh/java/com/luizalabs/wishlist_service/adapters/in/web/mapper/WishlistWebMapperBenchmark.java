@@ -0,0 +1,38 @@
+package com.luizalabs.wishlist_service.adapters.in.web.mapper;
+
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.WishlistResponse;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WishlistWebMapperBenchmark {
+
+    @Param({"0", "1", "5", "10", "20"})
+    public int size;
+
+    private final WishlistWebMapper mapper = new WishlistWebMapper();
+    private Wishlist wishlist;
+
+    @Setup
+    public void setUp() {
+        wishlist = Wishlist.rehydrate(42L, LongStream.range(0, size).map(i -> 1_000_000L + i * 7_919L).toArray());
+    }
+
+    @Benchmark
+    public WishlistResponse wishlistToResponse() {
+        return mapper.wishlistToResponse(wishlist);
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.luizalabs.wishlist_service.adapters.out.cache;
+
+import com.luizalabs.wishlist_service.adapters.out.batch.BatchingProductCatalog;
+import com.luizalabs.wishlist_service.adapters.out.catalog.StubProductCatalogAdapter;
+import com.luizalabs.wishlist_service.application.port.out.ProductCatalogPort;
+import com.luizalabs.wishlist_service.domain.model.ProductDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Details of a whole wishlist through the batching catalog over the stub adapter, which answers instantly, so
+ * this measures the fan-out and cache overhead rather than the catalog.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProductCatalogBenchmark {
+
+    @Param({"20", "500"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private BatchingProductCatalog batching;
+    private ProductCatalogPort catalog;
+    private List<Long> productIds;
+
+    @Setup
+    public void setUp() {
+        batching = new BatchingProductCatalog(new StubProductCatalogAdapter(Duration.ZERO), 100, 64, Duration.ofSeconds(1),
+                new SimpleMeterRegistry());
+        catalog = cached ? new CachingProductCatalog(batching, 100_000, Duration.ofHours(1), new SimpleMeterRegistry()) : batching;
+        productIds = LongStream.range(0, size).map(i -> 1_000_000L + i * 7_919L).boxed().toList();
+        catalog.findAllByIds(productIds);
+    }
+
+    @TearDown
+    public void tearDown() {
+        batching.close();
+    }
+
+    @Benchmark
+    public Map<Long, ProductDetails> findAllByIds() {
+        return catalog.findAllByIds(productIds);
+    }
+
+}
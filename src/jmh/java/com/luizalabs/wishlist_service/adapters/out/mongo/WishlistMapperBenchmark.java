@@ -0,0 +1,52 @@
+package com.luizalabs.wishlist_service.adapters.out.mongo;
+
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link WishlistMapper} conversions run on every read and write, at sizes from empty to the premium tier's limit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WishlistMapperBenchmark {
+
+    @Param({"0", "1", "5", "10", "20", "1000", "5000"})
+    public int size;
+
+    private final WishlistMapper mapper = new WishlistMapper();
+    private WishlistDocument document;
+    private Wishlist wishlist;
+
+    @Setup
+    public void setUp() {
+        List<Long> productIds = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            productIds.add(1_000_000L + i * 7_919L);
+        }
+        document = WishlistDocument.builder().userId(42L).productIds(productIds).build();
+        wishlist = Wishlist.rehydrate(42L, productIds);
+    }
+
+    @Benchmark
+    public Wishlist toDomain() {
+        return mapper.toDomain(document);
+    }
+
+    @Benchmark
+    public WishlistDocument toDocument() {
+        return mapper.toDocument(wishlist);
+    }
+
+}
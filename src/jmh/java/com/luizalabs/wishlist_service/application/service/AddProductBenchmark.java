@@ -0,0 +1,109 @@
+package com.luizalabs.wishlist_service.application.service;
+
+import com.luizalabs.wishlist_service.adapters.out.memory.InMemoryWishlistRepository;
+import com.luizalabs.wishlist_service.application.port.out.WishlistRepositoryPort;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistLimits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adding a product the way {@link WishlistService#add} did before it used {@code addProduct} (read, add in memory,
+ * save) against the single {@code addProduct} call, over the in-memory repository. Each call waits for
+ * {@code roundTripMicros} once per round trip the Mongo adapter makes for it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AddProductBenchmark {
+
+    private static final int USERS = 1024;
+
+    @Param({"0", "250", "1000"})
+    public long roundTripMicros;
+
+    private WishlistRepositoryPort repository;
+    private WishlistService service;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        repository = new RoundTripRepository(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        service = new WishlistService(repository, WishlistLimits.defaults());
+    }
+
+    @Benchmark
+    public Wishlist readModifySave() {
+        long next = sequence++;
+        Long userId = next % USERS;
+        var wishlist = repository.findByUserId(userId).orElseGet(() -> Wishlist.create(userId));
+        wishlist.addProduct(productId(next), Wishlist.DEFAULT_MAX_ITEMS);
+        return repository.save(wishlist);
+    }
+
+    @Benchmark
+    public Wishlist addProduct() {
+        long next = sequence++;
+        return service.add(next % USERS, productId(next), null);
+    }
+
+    /**
+     * Cycles through as many products as fit, so a wishlist fills up and is then only added to again.
+     */
+    private static Long productId(final long sequence) {
+        return 1_000_000L + sequence / USERS % Wishlist.DEFAULT_MAX_ITEMS;
+    }
+
+    private static final class RoundTripRepository extends InMemoryWishlistRepository {
+
+        private final long roundTripNanos;
+
+        private RoundTripRepository(final long roundTripNanos) {
+            this.roundTripNanos = roundTripNanos;
+        }
+
+        @Override
+        public Optional<Wishlist> findByUserId(final Long userId) {
+            roundTrips(1);
+            return super.findByUserId(userId);
+        }
+
+        /**
+         * An upsert followed by a read of the stored document.
+         */
+        @Override
+        public Wishlist save(final Wishlist wishlist) {
+            roundTrips(2);
+            return super.save(wishlist);
+        }
+
+        /**
+         * One findAndModify.
+         */
+        @Override
+        public Wishlist addProduct(final Long userId,
+                                   final Long productId,
+                                   final int maxItems) {
+            roundTrips(1);
+            return super.addProduct(userId, productId, maxItems);
+        }
+
+        private void roundTrips(final int count) {
+            long until = System.nanoTime() + count * roundTripNanos;
+            while (System.nanoTime() < until) {
+                Thread.onSpinWait();
+            }
+        }
+
+    }
+
+}
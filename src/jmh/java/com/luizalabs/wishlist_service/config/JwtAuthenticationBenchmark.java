@@ -0,0 +1,88 @@
+package com.luizalabs.wishlist_service.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request carrying a reused bearer token through {@link BearerTokenAuthenticationFilter},
+ * wired as {@link SecurityConfig} wires it, with and without {@link CachingJwtDecoder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "2b7e151628aed2a6abf7158809cf4f3c";
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private Filter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        JwtDecoder decoder = NimbusJwtDecoder.withSecretKey(new SecretKeySpec(SECRET.getBytes(), "HmacSHA256")).build();
+        if (cached) {
+            decoder = new CachingJwtDecoder(decoder, 10_000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        }
+        var provider = new JwtAuthenticationProvider(decoder);
+        provider.setJwtAuthenticationConverter(new JwtAuthenticationConverter());
+        filter = new BearerTokenAuthenticationFilter(new ProviderManager(provider));
+        authorization = "Bearer " + token();
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/v1/wishlists/1/products");
+        request.addHeader("Authorization", authorization);
+        var authentication = new Authentication[1];
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> authentication[0] = SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+        return authentication[0];
+    }
+
+    private static String token() throws JOSEException {
+        var claims = new JWTClaimsSet.Builder()
+                .subject("1")
+                .claim("user_id", "1")
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plus(Duration.ofHours(1))))
+                .build();
+        var jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(SECRET.getBytes()));
+        return jwt.serialize();
+    }
+
+}
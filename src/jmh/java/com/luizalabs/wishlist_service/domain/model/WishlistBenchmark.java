@@ -0,0 +1,80 @@
+package com.luizalabs.wishlist_service.domain.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request {@link Wishlist} operations at sizes from empty to the premium tier's limit, on both sides of
+ * {@link Wishlist#INDEX_THRESHOLD}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WishlistBenchmark {
+
+    private static final long USER_ID = 42L;
+    private static final Long NEW_PRODUCT = 999_999_999L;
+
+    @Param({"0", "1", "5", "10", "20", "100", "1000", "5000"})
+    public int size;
+
+    private List<Long> storedIds;
+    private long[] storedArray;
+    private Wishlist wishlist;
+    private Long lastProduct;
+
+    @Setup
+    public void setUp() {
+        storedIds = productIds(size);
+        storedArray = storedIds.stream().mapToLong(Long::longValue).toArray();
+        wishlist = Wishlist.rehydrate(USER_ID, storedIds);
+        lastProduct = size == 0 ? NEW_PRODUCT : storedIds.get(size - 1);
+    }
+
+    @Benchmark
+    public Wishlist rehydrateFromList() {
+        return Wishlist.rehydrate(USER_ID, storedIds);
+    }
+
+    @Benchmark
+    public Wishlist rehydrateFromArray() {
+        return Wishlist.rehydrate(USER_ID, storedArray);
+    }
+
+    @Benchmark
+    public Wishlist removeAndAddProduct() {
+        wishlist.removeProduct(lastProduct);
+        wishlist.addProduct(lastProduct, Wishlist.MAX_ITEMS_CEILING);
+        return wishlist;
+    }
+
+    @Benchmark
+    public boolean containsProduct() {
+        return wishlist.contains(lastProduct);
+    }
+
+    @Benchmark
+    public Wishlist addExistingProduct() {
+        wishlist.addProduct(lastProduct, Wishlist.MAX_ITEMS_CEILING);
+        return wishlist;
+    }
+
+    private static List<Long> productIds(final int size) {
+        List<Long> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ids.add(1_000_000L + i * 7_919L);
+        }
+        return ids;
+    }
+
+}
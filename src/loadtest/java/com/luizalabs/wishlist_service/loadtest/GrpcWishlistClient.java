@@ -0,0 +1,109 @@
+package com.luizalabs.wishlist_service.loadtest;
+
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.AddProductRequest;
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.GetProductRequest;
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.ListProductsRequest;
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.RemoveProductRequest;
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.WishlistServiceGrpc;
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.MetadataUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calls the gRPC wishlist service in plaintext over {@code channels} HTTP/2 connections, worker {@code w} on
+ * connection {@code w % channels}, each multiplexing the calls of its workers.
+ */
+final class GrpcWishlistClient implements WishlistClient {
+
+    private static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final ManagedChannel[] channels;
+    private final WishlistServiceGrpc.WishlistServiceBlockingStub[] stubs;
+    private final long userIdBase;
+
+    GrpcWishlistClient(final String target,
+                       final int channelCount,
+                       final long userIdBase,
+                       final String[] tokens) {
+        this.userIdBase = userIdBase;
+        this.channels = new ManagedChannel[channelCount];
+        for (int i = 0; i < channelCount; i++) {
+            channels[i] = Grpc.newChannelBuilder(target, InsecureChannelCredentials.create()).build();
+        }
+        this.stubs = new WishlistServiceGrpc.WishlistServiceBlockingStub[tokens.length];
+        for (int worker = 0; worker < tokens.length; worker++) {
+            Metadata headers = new Metadata();
+            headers.put(AUTHORIZATION, "Bearer " + tokens[worker]);
+            stubs[worker] = WishlistServiceGrpc.newBlockingStub(channels[worker % channelCount])
+                    .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+        }
+    }
+
+    @Override
+    public boolean addProduct(final int worker,
+                              final long productId) {
+        try {
+            stubs[worker].addProduct(AddProductRequest.newBuilder()
+                    .setUserId(userIdBase + worker).setProductId(productId).build());
+            return true;
+        } catch (StatusRuntimeException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean removeProduct(final int worker,
+                                 final long productId) {
+        try {
+            stubs[worker].removeProduct(RemoveProductRequest.newBuilder()
+                    .setUserId(userIdBase + worker).setProductId(productId).build());
+            return true;
+        } catch (StatusRuntimeException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean listProducts(final int worker) {
+        try {
+            stubs[worker].listProducts(ListProductsRequest.newBuilder().setUserId(userIdBase + worker).build());
+            return true;
+        } catch (StatusRuntimeException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean getProduct(final int worker,
+                              final long productId) {
+        try {
+            stubs[worker].getProduct(GetProductRequest.newBuilder()
+                    .setUserId(userIdBase + worker).setProductId(productId).build());
+            return true;
+        } catch (StatusRuntimeException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        for (ManagedChannel channel : channels) {
+            channel.shutdownNow();
+        }
+        for (ManagedChannel channel : channels) {
+            try {
+                channel.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.luizalabs.wishlist_service.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+
+/**
+ * Per-worker latency histogram, merged once the run is over. Not thread-safe: each worker owns one.
+ * Latencies are recorded in nanoseconds with three significant digits.
+ */
+final class LatencyRecorder {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Histogram histogram = new Histogram(SIGNIFICANT_DIGITS);
+    private long errors;
+
+    void record(final long latencyNanos) {
+        histogram.recordValue(latencyNanos);
+    }
+
+    void error() {
+        errors++;
+    }
+
+    static Summary summarize(final Iterable<LatencyRecorder> recorders,
+                             final double elapsedSeconds) {
+        Histogram merged = new Histogram(SIGNIFICANT_DIGITS);
+        long errors = 0;
+        for (LatencyRecorder recorder : recorders) {
+            merged.add(recorder.histogram);
+            errors += recorder.errors;
+        }
+        return new Summary(merged, errors, merged.getTotalCount() / elapsedSeconds);
+    }
+
+    record Summary(Histogram histogram, long errors, double throughput) {
+
+        long requests() {
+            return histogram.getTotalCount();
+        }
+
+        long p50() {
+            return histogram.getValueAtPercentile(50);
+        }
+
+        long p90() {
+            return histogram.getValueAtPercentile(90);
+        }
+
+        long p99() {
+            return histogram.getValueAtPercentile(99);
+        }
+
+        long p999() {
+            return histogram.getValueAtPercentile(99.9);
+        }
+
+        long max() {
+            return histogram.getMaxValue();
+        }
+
+        /**
+         * Writes the full percentile distribution in milliseconds, in the {@code .hgrm} format HdrHistogram's
+         * plotting tools read.
+         */
+        void writeDistribution(final PrintStream out) {
+            histogram.outputPercentileDistribution(out, 1e6);
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.luizalabs.wishlist_service.loadtest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Mints HS256 tokens the service accepts, signed with the same secret as {@code SecurityConfig} and carrying the
+ * same claims as {@code jwt-generate-locally.sh}.
+ */
+final class LoadTestTokens {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final String HEADER = encode("{\"alg\":\"HS256\",\"typ\":\"JWT\"}");
+
+    private final SecretKeySpec key;
+
+    LoadTestTokens(final String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(), "HmacSHA256");
+    }
+
+    String forUser(final long userId,
+                   final Instant expiresAt) {
+        String payload = encode("{\"sub\":\"" + userId + "\",\"user_id\":\"" + userId + "\",\"scope\":\"user\""
+                + ",\"iat\":" + Instant.now().getEpochSecond() + ",\"exp\":" + expiresAt.getEpochSecond() + "}");
+        String signingInput = HEADER + "." + payload;
+        return signingInput + "." + BASE64_URL.encodeToString(sign(signingInput));
+    }
+
+    private byte[] sign(final String signingInput) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign load test token", e);
+        }
+    }
+
+    private static String encode(final String json) {
+        return BASE64_URL.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
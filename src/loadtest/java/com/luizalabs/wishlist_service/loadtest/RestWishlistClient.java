@@ -0,0 +1,82 @@
+package com.luizalabs.wishlist_service.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Executors;
+
+/**
+ * Calls the {@code /v1/wishlists} REST API over HTTP/1.1 with JSON bodies.
+ */
+final class RestWishlistClient implements WishlistClient {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final URI baseUrl;
+    private final long userIdBase;
+    private final String[] tokens;
+
+    RestWishlistClient(final URI baseUrl,
+                       final long userIdBase,
+                       final String[] tokens) {
+        this.baseUrl = baseUrl;
+        this.userIdBase = userIdBase;
+        this.tokens = tokens;
+    }
+
+    @Override
+    public boolean addProduct(final int worker,
+                              final long productId) {
+        return send(authorized(worker, "/v1/wishlists/%d/product".formatted(userIdBase + worker))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"productId\":" + productId + "}"))
+                .build()) == 201;
+    }
+
+    @Override
+    public boolean removeProduct(final int worker,
+                                 final long productId) {
+        return send(authorized(worker, "/v1/wishlists/%d/product/%d".formatted(userIdBase + worker, productId))
+                .DELETE().build()) == 204;
+    }
+
+    @Override
+    public boolean listProducts(final int worker) {
+        return send(authorized(worker, "/v1/wishlists/%d/products".formatted(userIdBase + worker))
+                .GET().build()) == 200;
+    }
+
+    @Override
+    public boolean getProduct(final int worker,
+                              final long productId) {
+        return send(authorized(worker, "/v1/wishlists/%d/product/%d".formatted(userIdBase + worker, productId))
+                .GET().build()) == 200;
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+
+    private HttpRequest.Builder authorized(final int worker,
+                                           final String path) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path))
+                .header("Authorization", "Bearer " + tokens[worker]);
+    }
+
+    private int send(final HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.luizalabs.wishlist_service.loadtest;
+
+/**
+ * The four wishlist operations the load test drives, over one protocol. Worker {@code w} acts as user
+ * {@code userIdBase + w} with its own token. Each call returns whether the service answered as expected: the
+ * product added or removed, the wishlist listed, the product found. Failures to reach it count as unexpected.
+ */
+interface WishlistClient extends AutoCloseable {
+
+    boolean addProduct(int worker, long productId);
+
+    boolean removeProduct(int worker, long productId);
+
+    boolean listProducts(int worker);
+
+    boolean getProduct(int worker, long productId);
+
+    @Override
+    void close();
+
+}
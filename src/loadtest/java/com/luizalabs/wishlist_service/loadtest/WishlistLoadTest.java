@@ -0,0 +1,236 @@
+package com.luizalabs.wishlist_service.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop load generator for the four {@code WishlistController} endpoints, or their gRPC counterparts in
+ * {@code WishlistGrpcService}, so both adapters can be compared under the same load. {@code concurrency} virtual
+ * threads, each acting as its own user, send requests back to back: first for the warm-up period, unrecorded,
+ * then for the measured period. Without a mix, each endpoint is driven on its own in turn; with
+ * {@code loadtest.mix}, a single run picks every request's endpoint at random by weight. Prints throughput and
+ * latency percentiles per endpoint.
+ * <p>
+ * Settings are system properties: {@code loadtest.protocol} ({@code rest} or {@code grpc}), {@code loadtest.baseUrl}
+ * for REST, {@code loadtest.grpcTarget} and {@code loadtest.grpcChannels} for gRPC, {@code loadtest.concurrency},
+ * {@code loadtest.warmup} and {@code loadtest.duration} (ISO-8601 durations), {@code loadtest.jwtSecret},
+ * {@code loadtest.userIdBase}, {@code loadtest.mix} (e.g. {@code LIST_PRODUCTS:60,GET_PRODUCT:25,ADD_PRODUCT:10,REMOVE_PRODUCT:5})
+ * and {@code loadtest.histogramDir}, where the full latency distribution of each row is written as an
+ * {@code .hgrm} file. Users {@code userIdBase .. userIdBase + concurrency - 1} are overwritten.
+ */
+public final class WishlistLoadTest {
+
+    private static final int MAX_ITEMS = 20;
+    private static final int SEEDED_PRODUCTS = 10;
+
+    enum Endpoint {
+        ADD_PRODUCT,
+        REMOVE_PRODUCT,
+        LIST_PRODUCTS,
+        GET_PRODUCT
+    }
+
+    /**
+     * Endpoints to drive with their relative weights.
+     */
+    record Mix(Endpoint[] endpoints, int[] cumulativeWeights) {
+
+        static Mix only(final Endpoint endpoint) {
+            return new Mix(new Endpoint[]{endpoint}, new int[]{1});
+        }
+
+        static Mix parse(final String spec) {
+            String[] entries = spec.split(",");
+            Endpoint[] endpoints = new Endpoint[entries.length];
+            int[] cumulativeWeights = new int[entries.length];
+            int total = 0;
+            for (int i = 0; i < entries.length; i++) {
+                String[] entry = entries[i].trim().split(":");
+                if (entry.length != 2) throw new IllegalArgumentException("Expected ENDPOINT:weight, got " + entries[i]);
+                endpoints[i] = Endpoint.valueOf(entry[0].trim().toUpperCase(Locale.ROOT));
+                int weight = Integer.parseInt(entry[1].trim());
+                if (weight <= 0) throw new IllegalArgumentException("Weight must be positive: " + entries[i]);
+                total += weight;
+                cumulativeWeights[i] = total;
+            }
+            return new Mix(endpoints, cumulativeWeights);
+        }
+
+        Endpoint next() {
+            if (endpoints.length == 1) return endpoints[0];
+            int ticket = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int i = 0;
+            while (ticket >= cumulativeWeights[i]) i++;
+            return endpoints[i];
+        }
+    }
+
+    private final WishlistClient client;
+    private final int concurrency;
+
+    private WishlistLoadTest(final WishlistClient client,
+                             final int concurrency) {
+        this.client = client;
+        this.concurrency = concurrency;
+    }
+
+    public static void main(final String[] args) throws Exception {
+        String protocol = System.getProperty("loadtest.protocol", "rest").toLowerCase(Locale.ROOT);
+        URI baseUrl = URI.create(System.getProperty("loadtest.baseUrl", "http://localhost:8080"));
+        String grpcTarget = System.getProperty("loadtest.grpcTarget", "localhost:9090");
+        int grpcChannels = Integer.getInteger("loadtest.grpcChannels", 4);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 256);
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+        String secret = System.getProperty("loadtest.jwtSecret", "2b7e151628aed2a6abf7158809cf4f3c");
+        long userIdBase = Long.getLong("loadtest.userIdBase", 900_000_000L);
+        String mix = System.getProperty("loadtest.mix", "");
+        String histogramDir = System.getProperty("loadtest.histogramDir", "");
+
+        List<Mix> runs = mix.isBlank()
+                ? Arrays.stream(Endpoint.values()).map(Mix::only).toList()
+                : List.of(Mix.parse(mix));
+        if (!histogramDir.isBlank()) Files.createDirectories(Path.of(histogramDir));
+
+        String[] tokens = tokens(new LoadTestTokens(secret), userIdBase, concurrency);
+        try (WishlistClient client = switch (protocol) {
+            case "rest" -> new RestWishlistClient(baseUrl, userIdBase, tokens);
+            case "grpc" -> new GrpcWishlistClient(grpcTarget, grpcChannels, userIdBase, tokens);
+            default -> throw new IllegalArgumentException("Unknown protocol: " + protocol);
+        }) {
+            var loadTest = new WishlistLoadTest(client, concurrency);
+            System.out.printf("protocol=%s target=%s concurrency=%d warmup=%s duration=%s mix=%s%n",
+                    protocol, "grpc".equals(protocol) ? grpcTarget : baseUrl, concurrency, warmup, duration,
+                    mix.isBlank() ? "none" : mix);
+            loadTest.seed();
+            System.out.printf("%-16s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                    "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            for (Mix run : runs) {
+                var recorders = loadTest.run(run, warmup, duration);
+                double seconds = duration.toNanos() / 1e9;
+                for (Endpoint endpoint : run.endpoints()) {
+                    report(endpoint.name(), LatencyRecorder.summarize(recorders.get(endpoint.ordinal()), seconds), histogramDir);
+                }
+                if (run.endpoints().length > 1) {
+                    List<LatencyRecorder> all = recorders.stream().flatMap(List::stream).toList();
+                    report("ALL", LatencyRecorder.summarize(all, seconds), histogramDir);
+                }
+            }
+        }
+    }
+
+    private static String[] tokens(final LoadTestTokens tokens,
+                                   final long userIdBase,
+                                   final int concurrency) {
+        String[] minted = new String[concurrency];
+        Instant expiresAt = Instant.now().plus(Duration.ofHours(1));
+        for (int i = 0; i < concurrency; i++) {
+            minted[i] = tokens.forUser(userIdBase + i, expiresAt);
+        }
+        return minted;
+    }
+
+    private static void report(final String name,
+                               final LatencyRecorder.Summary summary,
+                               final String histogramDir) throws IOException {
+        System.out.printf("%-16s %10d %8d %10.0f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, summary.requests(), summary.errors(), summary.throughput(),
+                millis(summary.p50()), millis(summary.p90()), millis(summary.p99()),
+                millis(summary.p999()), millis(summary.max()));
+        if (histogramDir.isBlank()) return;
+        try (var out = new PrintStream(Files.newOutputStream(Path.of(histogramDir, name + ".hgrm")))) {
+            summary.writeDistribution(out);
+        }
+    }
+
+    private void seed() throws InterruptedException {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                int worker = i;
+                executor.submit(() -> {
+                    for (long productId = 1; productId <= SEEDED_PRODUCTS; productId++) {
+                        client.addProduct(worker, productId);
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    /**
+     * Returns, per endpoint ordinal, the recorders of every worker.
+     */
+    private List<List<LatencyRecorder>> run(final Mix mix,
+                                            final Duration warmup,
+                                            final Duration duration) {
+        List<List<LatencyRecorder>> recorders = new ArrayList<>();
+        for (int i = 0; i < Endpoint.values().length; i++) {
+            recorders.add(new ArrayList<>(concurrency));
+        }
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                var workerRecorders = new LatencyRecorder[Endpoint.values().length];
+                for (int e = 0; e < workerRecorders.length; e++) {
+                    workerRecorders[e] = new LatencyRecorder();
+                    recorders.get(e).add(workerRecorders[e]);
+                }
+                int worker = i;
+                executor.submit(() -> {
+                    drive(mix, worker, workerRecorders, measureFrom, measureUntil);
+                    return null;
+                });
+            }
+        }
+        return recorders;
+    }
+
+    /**
+     * A removal first re-adds the product it removes, unmeasured, so every measured removal finds it.
+     */
+    private void drive(final Mix mix,
+                       final int worker,
+                       final LatencyRecorder[] recorders,
+                       final long measureFrom,
+                       final long measureUntil) {
+        for (long iteration = 0; ; iteration++) {
+            long startedAt = System.nanoTime();
+            if (startedAt >= measureUntil) return;
+            Endpoint endpoint = mix.next();
+            boolean expected = switch (endpoint) {
+                case ADD_PRODUCT -> client.addProduct(worker, SEEDED_PRODUCTS + 1 + iteration % (MAX_ITEMS - SEEDED_PRODUCTS));
+                case REMOVE_PRODUCT -> {
+                    client.addProduct(worker, SEEDED_PRODUCTS + 1);
+                    startedAt = System.nanoTime();
+                    yield client.removeProduct(worker, SEEDED_PRODUCTS + 1);
+                }
+                case LIST_PRODUCTS -> client.listProducts(worker);
+                case GET_PRODUCT -> client.getProduct(worker, 1 + iteration % SEEDED_PRODUCTS);
+            };
+            long latency = System.nanoTime() - startedAt;
+            if (startedAt < measureFrom) continue;
+            if (expected) {
+                recorders[endpoint.ordinal()].record(latency);
+            } else {
+                recorders[endpoint.ordinal()].error();
+            }
+        }
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / 1e6;
+    }
+
+}
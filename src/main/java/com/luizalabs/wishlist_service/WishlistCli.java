@@ -0,0 +1,194 @@
+package com.luizalabs.wishlist_service;
+
+import com.luizalabs.wishlist_service.adapters.in.ndjson.WishlistExportFormat;
+import com.luizalabs.wishlist_service.adapters.in.ndjson.WishlistExportWriter;
+import com.luizalabs.wishlist_service.adapters.in.ndjson.WishlistNdjsonReader;
+import com.luizalabs.wishlist_service.application.port.in.ExportWishlistsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ImportWishlistsUseCase;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistExportRange;
+import com.luizalabs.wishlist_service.domain.model.WishlistImportResult;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Command-line entry point for bulk import and export, run with the {@code cli} profile and without the web
+ * server. Exits with 0 on success, 1 when import records were rejected and 2 on a usage error.
+ */
+public final class WishlistCli {
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final String USAGE = """
+            usage: WishlistCli import <file.ndjson | -> [--property=value ...]
+                   WishlistCli export <file | -> [--after=userId] [--partitions=n] [--format=ndjson|cbor] [--batch-size=n] [--property=value ...]""";
+
+    private WishlistCli() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        if (args.length < 2 || !List.of("import", "export").contains(args[0])) {
+            usage();
+        }
+        ExportOptions export = new ExportOptions();
+        List<String> springArgs = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) {
+            if (!"export".equals(args[0]) || !export.accept(args[i])) springArgs.add(args[i]);
+        }
+        if ("-".equals(args[1]) && export.partitions > 1) usage();
+
+        // Everything printed, logs included, goes to stderr, so it cannot corrupt an export to stdout.
+        OutputStream stdout = new FileOutputStream(FileDescriptor.out);
+        System.setOut(System.err);
+        int status;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(WishlistServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("cli")
+                .run(springArgs.toArray(String[]::new))) {
+            status = "import".equals(args[0])
+                    ? importWishlists(context.getBean(ImportWishlistsUseCase.class), args[1])
+                    : exportWishlists(context.getBean(ExportWishlistsUseCase.class), args[1], stdout, export);
+        }
+        System.exit(status);
+    }
+
+    private static int importWishlists(final ImportWishlistsUseCase useCase,
+                                       final String source) throws IOException {
+        try (InputStream in = "-".equals(source) ? System.in : Files.newInputStream(Path.of(source));
+             var records = new WishlistNdjsonReader(in)) {
+            WishlistImportResult result = useCase.importWishlists(records, WishlistCli::printProgress);
+            return result.rejected() == 0 ? 0 : 1;
+        }
+    }
+
+    private static int exportWishlists(final ExportWishlistsUseCase useCase,
+                                       final String target,
+                                       final OutputStream stdout,
+                                       final ExportOptions options) throws Exception {
+        List<WishlistExportRange> ranges = useCase.partition(options.after, options.partitions);
+        if ("-".equals(target)) {
+            exportRange(useCase, ranges.get(0), new BufferedOutputStream(stdout, OUTPUT_BUFFER_SIZE), "stdout", options);
+            return 0;
+        }
+        if (ranges.size() == 1 && options.partitions == 1) {
+            exportRange(useCase, ranges.get(0), Path.of(target), options);
+            return 0;
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(ranges.size())) {
+            List<Future<?>> exports = new ArrayList<>(ranges.size());
+            for (int i = 0; i < ranges.size(); i++) {
+                WishlistExportRange range = ranges.get(i);
+                Path file = Path.of(target + "." + i);
+                exports.add(executor.submit(() -> {
+                    exportRange(useCase, range, file, options);
+                    return null;
+                }));
+            }
+            for (Future<?> export : exports) {
+                try {
+                    export.get();
+                } catch (ExecutionException e) {
+                    exports.forEach(other -> other.cancel(true));
+                    throw e.getCause() instanceof Exception cause ? cause : e;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static void exportRange(final ExportWishlistsUseCase useCase,
+                                    final WishlistExportRange range,
+                                    final Path file,
+                                    final ExportOptions options) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), OUTPUT_BUFFER_SIZE)) {
+            exportRange(useCase, range, out, file.toString(), options);
+        }
+        System.err.printf("%s done%n", file);
+    }
+
+    private static void exportRange(final ExportWishlistsUseCase useCase,
+                                    final WishlistExportRange range,
+                                    final OutputStream out,
+                                    final String target,
+                                    final ExportOptions options) throws IOException {
+        long startedAt = System.nanoTime();
+        var writer = new WishlistExportWriter(out, options.format, options.batchSize);
+        try (Stream<Wishlist> wishlists = useCase.export(range, options.batchSize); writer) {
+            for (Iterator<Wishlist> it = wishlists.iterator(); it.hasNext(); ) {
+                writer.write(it.next());
+            }
+        } catch (IOException | RuntimeException e) {
+            Long resumeAfter = writer.flushedUserId() != null ? writer.flushedUserId() : range.afterUserId();
+            System.err.printf("range (%s, %s] failed: %s holds every wishlist up to userId %s, possibly followed by a "
+                            + "cut-off one; resume into a new file with %s%n",
+                    range.afterUserId(), range.toUserId(), target, resumeAfter,
+                    resumeAfter == null ? "no --after" : "--after=" + resumeAfter);
+            throw e;
+        }
+        System.err.printf("range (%s, %s]: exported=%d lastUserId=%s elapsed=%dms%n",
+                range.afterUserId(), range.toUserId(), writer.written(), writer.flushedUserId(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private static void printProgress(final WishlistImportResult progress) {
+        System.err.printf("read=%d imported=%d rejected=%d elapsed=%ds rate=%.0f/s%n",
+                progress.read(), progress.imported(), progress.rejected(),
+                progress.elapsed().toSeconds(), progress.importedPerSecond());
+    }
+
+    private static void usage() {
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+
+    private static final class ExportOptions {
+
+        private Long after;
+        private int partitions = 1;
+        private int batchSize = 1000;
+        private WishlistExportFormat format = WishlistExportFormat.NDJSON;
+
+        boolean accept(final String arg) {
+            try {
+                if (arg.startsWith("--after=")) {
+                    after = Long.valueOf(value(arg));
+                } else if (arg.startsWith("--partitions=")) {
+                    partitions = Integer.parseInt(value(arg));
+                } else if (arg.startsWith("--batch-size=")) {
+                    batchSize = Integer.parseInt(value(arg));
+                } else if (arg.startsWith("--format=")) {
+                    format = WishlistExportFormat.valueOf(value(arg).toUpperCase(Locale.ROOT));
+                } else {
+                    return false;
+                }
+            } catch (IllegalArgumentException e) {
+                usage();
+            }
+            if (partitions < 1 || batchSize < 1) usage();
+            return true;
+        }
+
+        private static String value(final String arg) {
+            return arg.substring(arg.indexOf('=') + 1);
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.luizalabs.wishlist_service.adapters.in.grpc;
+
+import com.luizalabs.wishlist_service.adapters.in.ratelimit.RateLimitExceededException;
+import com.luizalabs.wishlist_service.domain.exception.ProductNotFoundException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistConflictException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistMaxLimitException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistNotFoundException;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.List;
+
+/**
+ * Request checks of the gRPC adapter, with the same rules as the REST controllers.
+ */
+final class GrpcRequests {
+
+    static final int MAX_PRODUCT_IDS = 200;
+    static final Metadata.Key<String> RETRY_AFTER = Metadata.Key.of("retry-after", Metadata.ASCII_STRING_MARSHALLER);
+
+    private GrpcRequests() {
+    }
+
+    /**
+     * Returns the caller's token when its {@code user_id} claim, or {@code sub} without one, is {@code userId}.
+     */
+    static Jwt requireSameUser(final long userId) {
+        Jwt jwt = JwtServerInterceptor.JWT.get();
+        Object claim = jwt.hasClaim("user_id") ? jwt.getClaim("user_id") : null;
+        String jwtUserId = claim != null ? claim.toString() : (jwt.hasClaim("sub") ? jwt.getSubject() : null);
+
+        if (!String.valueOf(userId).equals(jwtUserId)) {
+            throw Status.PERMISSION_DENIED
+                    .withDescription("User ID in request does not match authenticated user")
+                    .asRuntimeException();
+        }
+        return jwt;
+    }
+
+    static String tier(final Jwt jwt) {
+        return jwt.hasClaim("tier") ? jwt.getClaimAsString("tier") : null;
+    }
+
+    /**
+     * Proto3 cannot tell a missing product_id from 0, so 0 counts as missing.
+     */
+    static void requireProductId(final long productId) {
+        if (productId == 0) {
+            throw Status.INVALID_ARGUMENT.withDescription("product_id cannot be missing").asRuntimeException();
+        }
+    }
+
+    static void requireProductIds(final List<Long> productIds) {
+        if (productIds.isEmpty() || productIds.size() > MAX_PRODUCT_IDS) {
+            throw Status.INVALID_ARGUMENT
+                    .withDescription("product_ids must hold between 1 and " + MAX_PRODUCT_IDS + " products")
+                    .asRuntimeException();
+        }
+    }
+
+    /**
+     * The status matching the REST API's response to {@code e}. {@code RESOURCE_EXHAUSTED} is kept for rate limiting.
+     */
+    static Status toStatus(final RuntimeException e) {
+        if (e instanceof StatusRuntimeException status) return status.getStatus();
+        if (e instanceof WishlistMaxLimitException) return Status.FAILED_PRECONDITION.withDescription(e.getMessage());
+        if (e instanceof WishlistNotFoundException || e instanceof ProductNotFoundException) {
+            return Status.NOT_FOUND.withDescription(e.getMessage());
+        }
+        if (e instanceof RateLimitExceededException) return Status.RESOURCE_EXHAUSTED.withDescription(e.getMessage());
+        if (e instanceof WishlistConflictException) return Status.ABORTED.withDescription(e.getMessage());
+        return Status.INTERNAL.withDescription("Internal error").withCause(e);
+    }
+
+    /**
+     * The trailers sent along with {@link #toStatus}: a rate-limited call gets {@code retry-after}, in whole
+     * seconds like the REST API's {@code Retry-After} header.
+     */
+    static Metadata toTrailers(final RuntimeException e) {
+        Metadata trailers = new Metadata();
+        if (e instanceof RateLimitExceededException limited) {
+            trailers.put(RETRY_AFTER, String.valueOf(limited.getRetryAfterSeconds()));
+        }
+        return trailers;
+    }
+
+}
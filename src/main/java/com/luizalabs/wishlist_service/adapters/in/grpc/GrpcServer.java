@@ -0,0 +1,101 @@
+package com.luizalabs.wishlist_service.adapters.in.grpc;
+
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves {@link WishlistGrpcService} on its own port, next to the REST API, with every call authenticated by
+ * {@link JwtServerInterceptor}. Calls run on virtual threads, since the use cases block on the database.
+ * On shutdown, calls in flight get {@code shutdownGracePeriod} to finish before they are cancelled.
+ */
+@Slf4j
+@Component
+@Profile("!reactive & !cli")
+public class GrpcServer implements SmartLifecycle {
+
+    private final WishlistGrpcService service;
+    private final JwtDecoder jwtDecoder;
+    private final boolean enabled;
+    private final int port;
+    private final Duration shutdownGracePeriod;
+
+    private ExecutorService executor;
+    private Server server;
+
+    public GrpcServer(final WishlistGrpcService service,
+                      final JwtDecoder jwtDecoder,
+                      @Value("${wishlist.grpc.enabled:true}") final boolean enabled,
+                      @Value("${wishlist.grpc.port:9090}") final int port,
+                      @Value("${wishlist.grpc.shutdown-grace-period:10s}") final Duration shutdownGracePeriod) {
+        this.service = service;
+        this.jwtDecoder = jwtDecoder;
+        this.enabled = enabled;
+        this.port = port;
+        this.shutdownGracePeriod = shutdownGracePeriod;
+    }
+
+    @Override
+    public synchronized void start() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            server = Grpc.newServerBuilderForPort(port, InsecureServerCredentials.create())
+                    .executor(executor)
+                    .addService(ServerInterceptors.intercept(service, new JwtServerInterceptor(jwtDecoder)))
+                    .build()
+                    .start();
+        } catch (IOException e) {
+            executor.shutdownNow();
+            throw new IllegalStateException("Could not start the gRPC server on port " + port, e);
+        }
+        log.info("gRPC server listening on port {}", server.getPort());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server == null) return;
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(shutdownGracePeriod.toMillis(), TimeUnit.MILLISECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return enabled;
+    }
+
+    /**
+     * The port the server is bound to, which differs from the configured one when that is 0.
+     */
+    public synchronized int getPort() {
+        return server != null ? server.getPort() : -1;
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.luizalabs.wishlist_service.adapters.in.grpc;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Verifies the bearer token in the {@code authorization} metadata of every call with the decoder of the REST API,
+ * and hands it to the service as {@link #JWT}. Calls without a valid token are closed with {@code UNAUTHENTICATED}
+ * before they reach the service.
+ */
+@RequiredArgsConstructor
+public class JwtServerInterceptor implements ServerInterceptor {
+
+    static final Context.Key<Jwt> JWT = Context.key("jwt");
+
+    private static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+    private static final String BEARER = "Bearer ";
+
+    private final JwtDecoder jwtDecoder;
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(final ServerCall<ReqT, RespT> call,
+                                                                 final Metadata headers,
+                                                                 final ServerCallHandler<ReqT, RespT> next) {
+        String authorization = headers.get(AUTHORIZATION);
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            return reject(call, "Missing bearer token");
+        }
+        Jwt jwt;
+        try {
+            jwt = jwtDecoder.decode(authorization.substring(BEARER.length()).trim());
+        } catch (JwtException e) {
+            return reject(call, "Invalid bearer token");
+        }
+        return Contexts.interceptCall(Context.current().withValue(JWT, jwt), call, headers, next);
+    }
+
+    private static <ReqT, RespT> ServerCall.Listener<ReqT> reject(final ServerCall<ReqT, RespT> call,
+                                                                  final String description) {
+        call.close(Status.UNAUTHENTICATED.withDescription(description), new Metadata());
+        return new ServerCall.Listener<>() {
+        };
+    }
+
+}
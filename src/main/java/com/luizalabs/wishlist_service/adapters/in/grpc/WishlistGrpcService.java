@@ -0,0 +1,176 @@
+package com.luizalabs.wishlist_service.adapters.in.grpc;
+
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.AddProductRequest;
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.GetProductRequest;
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.ListProductsRequest;
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.MembershipRequest;
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.MembershipResponse;
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.ProductResponse;
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.RemoveProductRequest;
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.RemoveProductResponse;
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.WishlistResponse;
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.WishlistServiceGrpc;
+import com.luizalabs.wishlist_service.adapters.in.ratelimit.UserRateLimiter;
+import com.luizalabs.wishlist_service.adapters.in.ratelimit.UserRateLimiter.Access;
+import com.luizalabs.wishlist_service.application.port.in.AddProductUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ListProductsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ProductMembershipUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ProductUseCase;
+import com.luizalabs.wishlist_service.application.port.in.RemoveProductUseCase;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * gRPC counterpart of {@code WishlistController} for service-to-service calls, served by {@link GrpcServer}.
+ * Expects {@link JwtServerInterceptor} in front of it.
+ */
+@Slf4j
+@Component
+@Profile("!reactive & !cli")
+@RequiredArgsConstructor
+public class WishlistGrpcService extends WishlistServiceGrpc.WishlistServiceImplBase {
+
+    private static final RemoveProductResponse REMOVED = RemoveProductResponse.getDefaultInstance();
+
+    private final AddProductUseCase addProduct;
+    private final RemoveProductUseCase removeProduct;
+    private final ListProductsUseCase listProducts;
+    private final ProductUseCase productUseCase;
+    private final ProductMembershipUseCase productMembership;
+    private final UserRateLimiter rateLimiter;
+
+    @Override
+    public void addProduct(final AddProductRequest request,
+                           final StreamObserver<WishlistResponse> responseObserver) {
+        unary(responseObserver, () -> {
+            final var jwt = GrpcRequests.requireSameUser(request.getUserId());
+            rateLimiter.acquire(request.getUserId(), Access.WRITE);
+            GrpcRequests.requireProductId(request.getProductId());
+            return toMessage(addProduct.add(request.getUserId(), request.getProductId(), GrpcRequests.tier(jwt)));
+        });
+    }
+
+    @Override
+    public void removeProduct(final RemoveProductRequest request,
+                              final StreamObserver<RemoveProductResponse> responseObserver) {
+        unary(responseObserver, () -> {
+            GrpcRequests.requireSameUser(request.getUserId());
+            rateLimiter.acquire(request.getUserId(), Access.WRITE);
+            GrpcRequests.requireProductId(request.getProductId());
+            removeProduct.remove(request.getUserId(), request.getProductId());
+            return REMOVED;
+        });
+    }
+
+    @Override
+    public void listProducts(final ListProductsRequest request,
+                             final StreamObserver<WishlistResponse> responseObserver) {
+        unary(responseObserver, () -> {
+            GrpcRequests.requireSameUser(request.getUserId());
+            rateLimiter.acquire(request.getUserId(), Access.READ);
+            return toMessage(listProducts.get(request.getUserId()));
+        });
+    }
+
+    @Override
+    public void getProduct(final GetProductRequest request,
+                           final StreamObserver<ProductResponse> responseObserver) {
+        unary(responseObserver, () -> {
+            GrpcRequests.requireSameUser(request.getUserId());
+            rateLimiter.acquire(request.getUserId(), Access.READ);
+            return productUseCase.getProductForUserWishlist(request.getUserId(), request.getProductId())
+                    .map(productId -> ProductResponse.newBuilder().setProductId(productId).build())
+                    .orElseThrow(() -> Status.NOT_FOUND
+                            .withDescription("Product not found in wishlist for user " + request.getUserId())
+                            .asRuntimeException());
+        });
+    }
+
+    /**
+     * gRPC delivers the messages of a call one at a time, and only asks for the next one once {@code onNext}
+     * returns, so a client sending faster than the wishlists are read is held back by flow control.
+     */
+    @Override
+    public StreamObserver<MembershipRequest> checkMembership(final StreamObserver<MembershipResponse> responseObserver) {
+        return new StreamObserver<>() {
+
+            private boolean failed;
+
+            @Override
+            public void onNext(final MembershipRequest request) {
+                if (failed) return;
+                try {
+                    GrpcRequests.requireSameUser(request.getUserId());
+                    rateLimiter.acquire(request.getUserId(), Access.READ);
+                    final List<Long> productIds = request.getProductIdsList();
+                    GrpcRequests.requireProductIds(productIds);
+                    responseObserver.onNext(toMessage(request.getUserId(), productIds.size(),
+                            productMembership.membership(request.getUserId(), productIds)));
+                } catch (RuntimeException e) {
+                    failed = true;
+                    fail(responseObserver, e);
+                }
+            }
+
+            @Override
+            public void onError(final Throwable t) {
+                // The client cancelled; there is nobody left to answer.
+            }
+
+            @Override
+            public void onCompleted() {
+                if (!failed) responseObserver.onCompleted();
+            }
+        };
+    }
+
+    private static <T> void unary(final StreamObserver<T> responseObserver,
+                                  final Supplier<T> call) {
+        final T response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            fail(responseObserver, e);
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    private static void fail(final StreamObserver<?> responseObserver,
+                             final RuntimeException e) {
+        final var status = GrpcRequests.toStatus(e);
+        if (status.getCode() == Status.Code.INTERNAL) {
+            log.error("gRPC wishlist call failed", e);
+        }
+        responseObserver.onError(status.asRuntimeException(GrpcRequests.toTrailers(e)));
+    }
+
+    private static WishlistResponse toMessage(final Wishlist wishlist) {
+        final var message = WishlistResponse.newBuilder().setUserId(wishlist.getUserId());
+        for (long productId : wishlist.getProductIds()) {
+            message.addProductIds(productId);
+        }
+        return message.build();
+    }
+
+    private static MembershipResponse toMessage(final long userId,
+                                                final int requested,
+                                                final BitSet membership) {
+        final var message = MembershipResponse.newBuilder().setUserId(userId);
+        for (int i = 0; i < requested; i++) {
+            message.addInWishlist(membership.get(i));
+        }
+        return message.build();
+    }
+
+}
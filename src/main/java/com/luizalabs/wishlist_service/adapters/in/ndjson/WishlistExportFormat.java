@@ -0,0 +1,33 @@
+package com.luizalabs.wishlist_service.adapters.in.ndjson;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Encodings of an export. Both write the same {@code {"userId","productIds","version"}} object per wishlist:
+ * as newline-delimited JSON, readable by the import, or as a CBOR sequence (RFC 8742), about half the size
+ * since numbers are written as binary integers.
+ */
+public enum WishlistExportFormat {
+
+    NDJSON("application/x-ndjson", new JsonFactory()),
+    CBOR("application/cbor-seq", new CBORFactory());
+
+    private final String mediaType;
+    private final JsonFactory factory;
+
+    WishlistExportFormat(final String mediaType,
+                         final JsonFactory factory) {
+        this.mediaType = mediaType;
+        this.factory = factory;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    JsonFactory factory() {
+        return factory;
+    }
+
+}
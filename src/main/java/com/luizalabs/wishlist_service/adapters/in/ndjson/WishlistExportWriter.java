@@ -0,0 +1,69 @@
+package com.luizalabs.wishlist_service.adapters.in.ndjson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Encodes wishlists one after the other straight to {@code out}, through the generator's own buffer, and
+ * flushes every {@code flushEvery} wishlists so at most that many are held before reaching the client.
+ * Closing flushes but leaves {@code out} open.
+ */
+public class WishlistExportWriter implements Closeable {
+
+    private final JsonGenerator generator;
+    private final boolean lineDelimited;
+    private final int flushEvery;
+    private long written;
+    private Long lastUserId;
+    private Long flushedUserId;
+
+    public WishlistExportWriter(final OutputStream out,
+                                final WishlistExportFormat format,
+                                final int flushEvery) throws IOException {
+        this.generator = format.factory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.lineDelimited = format == WishlistExportFormat.NDJSON;
+        if (lineDelimited) generator.setRootValueSeparator(null);
+        this.flushEvery = flushEvery;
+    }
+
+    public void write(final Wishlist wishlist) throws IOException {
+        long[] productIds = wishlist.getProductIds();
+        generator.writeStartObject();
+        generator.writeNumberField("userId", wishlist.getUserId());
+        generator.writeFieldName("productIds");
+        generator.writeArray(productIds, 0, productIds.length);
+        generator.writeNumberField("version", wishlist.getVersion());
+        generator.writeEndObject();
+        if (lineDelimited) generator.writeRaw('\n');
+        lastUserId = wishlist.getUserId();
+        if (++written % flushEvery == 0) flush();
+    }
+
+    public long written() {
+        return written;
+    }
+
+    /**
+     * The userId of the last wishlist flushed to {@code out}, to resume from, or null when nothing was flushed.
+     */
+    public Long flushedUserId() {
+        return flushedUserId;
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+        flushedUserId = lastUserId;
+    }
+
+    private void flush() throws IOException {
+        generator.flush();
+        flushedUserId = lastUserId;
+    }
+
+}
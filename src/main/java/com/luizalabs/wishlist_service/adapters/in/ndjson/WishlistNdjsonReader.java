@@ -0,0 +1,80 @@
+package com.luizalabs.wishlist_service.adapters.in.ndjson;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.luizalabs.wishlist_service.domain.model.WishlistImportRecord;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads one {@code {"userId":1,"productIds":[2,3]}} object per line, lazily, so only the current line is held in
+ * memory. Blank lines are skipped and unknown fields ignored; a line that is not such an object becomes a
+ * malformed record rather than ending the stream.
+ */
+public class WishlistNdjsonReader implements Iterator<WishlistImportRecord>, Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final ObjectReader LINE_READER = new ObjectMapper().readerFor(Line.class);
+
+    private final BufferedReader reader;
+    private long lineNumber;
+    private WishlistImportRecord next;
+
+    public WishlistNdjsonReader(final InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) next = readNext();
+        return next != null;
+    }
+
+    @Override
+    public WishlistImportRecord next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        WishlistImportRecord record = next;
+        next = null;
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private WishlistImportRecord readNext() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+                try {
+                    Line parsed = LINE_READER.readValue(line);
+                    return WishlistImportRecord.of(lineNumber, parsed.userId(), parsed.productIds());
+                } catch (JsonProcessingException e) {
+                    return WishlistImportRecord.malformed(lineNumber, "malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Line(Long userId, List<Long> productIds) {
+    }
+
+}
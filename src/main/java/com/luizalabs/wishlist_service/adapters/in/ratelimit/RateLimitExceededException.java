@@ -0,0 +1,29 @@
+package com.luizalabs.wishlist_service.adapters.in.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Thrown by {@link UserRateLimiter} when the user's bucket is empty. A looping client can make these by the
+ * thousand, so no stack trace is captured.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(final Duration retryAfter) {
+        super("Too many requests, retry in " + retryAfter.toMillis() + "ms", null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Whole seconds, rounded up, as the {@code Retry-After} header expects.
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toNanos() + 999_999_999) / 1_000_000_000);
+    }
+
+}
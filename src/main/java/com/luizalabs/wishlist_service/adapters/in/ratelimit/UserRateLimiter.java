@@ -0,0 +1,122 @@
+package com.luizalabs.wishlist_service.adapters.in.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user token buckets, one for reads and one for writes, checked by the inbound adapters before they call a
+ * use case. A bucket holds {@code burst} requests and refills at {@code perSecond}. At most {@code maximumUsers}
+ * buckets are kept per access type.
+ */
+public class UserRateLimiter {
+
+    public enum Access {
+        READ,
+        WRITE
+    }
+
+    /**
+     * Sustained requests per second, and how many may arrive at once.
+     */
+    public record Rate(double perSecond, int burst) {
+
+        public Rate {
+            if (perSecond <= 0 || burst < 1) {
+                throw new IllegalArgumentException("perSecond and burst must be positive");
+            }
+        }
+    }
+
+    private final boolean enabled;
+    private final Ticker ticker;
+    private final Bucket reads;
+    private final Bucket writes;
+
+    public UserRateLimiter(final boolean enabled,
+                           final Rate readRate,
+                           final Rate writeRate,
+                           final Duration idleTimeout,
+                           final long maximumUsers,
+                           final MeterRegistry meterRegistry) {
+        this(enabled, readRate, writeRate, idleTimeout, maximumUsers, Ticker.systemTicker(), meterRegistry);
+    }
+
+    UserRateLimiter(final boolean enabled,
+                    final Rate readRate,
+                    final Rate writeRate,
+                    final Duration idleTimeout,
+                    final long maximumUsers,
+                    final Ticker ticker,
+                    final MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.ticker = ticker;
+        this.reads = new Bucket(Access.READ, readRate, idleTimeout, maximumUsers, ticker, meterRegistry);
+        this.writes = new Bucket(Access.WRITE, writeRate, idleTimeout, maximumUsers, ticker, meterRegistry);
+    }
+
+    /**
+     * Takes a token from the user's bucket for {@code access}, or fails when it is empty.
+     *
+     * @throws RateLimitExceededException with the time until the bucket has a token again
+     */
+    public void acquire(final Long userId,
+                        final Access access) {
+        if (!enabled) return;
+        Bucket bucket = access == Access.READ ? reads : writes;
+        long retryAfterNanos = bucket.tryAcquire(userId, ticker.read());
+        if (retryAfterNanos > 0) {
+            bucket.rejected.increment();
+            throw new RateLimitExceededException(Duration.ofNanos(retryAfterNanos));
+        }
+    }
+
+    private static final class Bucket {
+
+        private final long intervalNanos;
+        private final long capacityNanos;
+        private final Cache<Long, AtomicLong> fullAt;
+        private final Counter rejected;
+
+        Bucket(final Access access,
+               final Rate rate,
+               final Duration idleTimeout,
+               final long maximumUsers,
+               final Ticker ticker,
+               final MeterRegistry meterRegistry) {
+            this.intervalNanos = Math.max(1, Math.round(1e9 / rate.perSecond()));
+            this.capacityNanos = intervalNanos * rate.burst();
+            this.fullAt = Caffeine.newBuilder()
+                    .maximumSize(maximumUsers)
+                    .expireAfterAccess(Duration.ofNanos(Math.max(idleTimeout.toNanos(), capacityNanos)))
+                    .ticker(ticker)
+                    .build();
+            this.rejected = Counter.builder("wishlist.rate-limit.rejected")
+                    .description("Requests rejected because the user's bucket was empty")
+                    .tag("access", access.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+
+        /**
+         * Returns 0 when a token was taken, or how long until one will be there.
+         */
+        long tryAcquire(final Long userId,
+                        final long now) {
+            AtomicLong bucket = fullAt.get(userId, id -> new AtomicLong(Long.MIN_VALUE));
+            while (true) {
+                long current = bucket.get();
+                long next = Math.max(current, now) + intervalNanos;
+                long excess = next - now - capacityNanos;
+                if (excess > 0) return excess;
+                if (bucket.compareAndSet(current, next)) return 0;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.luizalabs.wishlist_service.adapters.in.web;
+
+import com.luizalabs.wishlist_service.adapters.in.ndjson.WishlistExportFormat;
+import com.luizalabs.wishlist_service.adapters.in.ndjson.WishlistExportWriter;
+import com.luizalabs.wishlist_service.adapters.in.ndjson.WishlistNdjsonReader;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.ApiErrorResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.WishlistImportResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.mapper.WishlistWebMapper;
+import com.luizalabs.wishlist_service.application.port.in.ExportWishlistsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ImportWishlistsUseCase;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistExportRange;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@RestController
+@Profile("!reactive")
+@RequestMapping("admin/wishlists")
+@RequiredArgsConstructor
+@Tag(name = "Admin", description = "Operational APIs, require the admin scope")
+@SecurityRequirement(name = "bearerAuth")
+public class AdminWishlistController {
+
+    static final int MAX_EXPORT_BATCH_SIZE = 10_000;
+
+    private final ImportWishlistsUseCase importWishlists;
+    private final ExportWishlistsUseCase exportWishlists;
+    private final WishlistWebMapper mapper;
+
+    @Operation(summary = "Import wishlists from NDJSON",
+            description = "Reads one {\"userId\":...,\"productIds\":[...]} object per line and stores each wishlist, "
+                    + "replacing the products of wishlists that already exist. The body is streamed, so its size "
+                    + "is not limited by memory. Invalid lines are counted as rejected and skipped.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)))
+    @ApiResponse(responseCode = "200", description = "Import finished",
+            content = @Content(schema = @Schema(implementation = WishlistImportResponse.class)))
+    @ApiResponse(responseCode = "401", description = "Unauthorized",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    @ApiResponse(responseCode = "403", description = "Token lacks the admin scope",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<WishlistImportResponse> importWishlists(@Parameter(hidden = true) final InputStream body) throws IOException {
+        try (var records = new WishlistNdjsonReader(body)) {
+            final var result = importWishlists.importWishlists(records, progress ->
+                    log.info("Import progress: {} records read, {} imported, {} rejected",
+                            progress.read(), progress.imported(), progress.rejected()));
+            return ResponseEntity.ok(mapper.importResultToResponse(result));
+        }
+    }
+
+    @Operation(summary = "Export wishlists",
+            description = "Streams every wishlist with userId in (after, until], in ascending userId order, as one "
+                    + "{\"userId\":...,\"productIds\":[...],\"version\":...} object each, NDJSON or a CBOR sequence. "
+                    + "Pass the last userId received as 'after' to resume; disjoint (after, until] ranges can be "
+                    + "exported in parallel.")
+    @ApiResponse(responseCode = "200", description = "Stream of wishlists",
+            content = {@Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE),
+                    @Content(mediaType = "application/cbor-seq")})
+    @ApiResponse(responseCode = "400", description = "Invalid format or paging parameters",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    @ApiResponse(responseCode = "401", description = "Unauthorized",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    @ApiResponse(responseCode = "403", description = "Token lacks the admin scope",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportWishlists(
+            @Parameter(description = "Only export userIds greater than this one")
+            @RequestParam(required = false) final Long after,
+            @Parameter(description = "Only export userIds up to and including this one")
+            @RequestParam(required = false) final Long until,
+            @Parameter(description = "NDJSON or CBOR")
+            @RequestParam(defaultValue = "NDJSON") final WishlistExportFormat format,
+            @Parameter(description = "Wishlists fetched from the database, and flushed to the client, per round trip")
+            @RequestParam(defaultValue = "1000") @Min(1) @Max(MAX_EXPORT_BATCH_SIZE) final int batchSize
+    ) {
+        final var range = new WishlistExportRange(after, until);
+        final StreamingResponseBody body = out -> {
+            try (Stream<Wishlist> wishlists = exportWishlists.export(range, batchSize);
+                 var writer = new WishlistExportWriter(out, format, batchSize)) {
+                for (Iterator<Wishlist> it = wishlists.iterator(); it.hasNext(); ) {
+                    writer.write(it.next());
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.mediaType()))
+                .body(body);
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.luizalabs.wishlist_service.adapters.in.web;
+
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.ApiErrorResponse;
+import com.luizalabs.wishlist_service.application.port.in.ProductFollowersUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("internal/products")
+@RequiredArgsConstructor
+@Tag(name = "Internal", description = "Service-to-service APIs, require the internal scope")
+@SecurityRequirement(name = "bearerAuth")
+public class InternalProductController {
+
+    static final int MAX_BATCH_SIZE = 10_000;
+
+    private final ProductFollowersUseCase productFollowers;
+
+    @Operation(summary = "Stream the users that wishlisted a product",
+            description = "Writes one {\"userId\":...} line per user, in ascending userId order. Pass the last "
+                    + "userId received as 'after' to resume or to fetch the next page.")
+    @ApiResponse(responseCode = "200", description = "NDJSON stream of userIds",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE))
+    @ApiResponse(responseCode = "400", description = "Invalid paging parameters",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    @ApiResponse(responseCode = "401", description = "Unauthorized",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    @ApiResponse(responseCode = "403", description = "Token lacks the internal scope",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    @GetMapping(value = "/{productId}/followers", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamFollowers(
+            @PathVariable final Long productId,
+            @Parameter(description = "Only return userIds greater than this one")
+            @RequestParam(required = false) final Long after,
+            @Parameter(description = "Maximum number of userIds to return, 0 for all")
+            @RequestParam(defaultValue = "0") @Min(0) final int limit,
+            @Parameter(description = "userIds fetched from the database per round trip")
+            @RequestParam(defaultValue = "1000") @Min(1) @Max(MAX_BATCH_SIZE) final int batchSize
+    ) {
+        final StreamingResponseBody body = out -> {
+            try (Stream<Long> userIds = productFollowers.followers(productId, after, limit, batchSize)) {
+                writeNdjson(userIds.iterator(), out, batchSize);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private static void writeNdjson(final Iterator<Long> userIds,
+                                    final OutputStream out,
+                                    final int flushEvery) throws IOException {
+        final var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        for (long written = 1; userIds.hasNext(); written++) {
+            writer.write("{\"userId\":");
+            writer.write(Long.toString(userIds.next()));
+            writer.write("}\n");
+            if (written % flushEvery == 0) writer.flush();
+        }
+        writer.flush();
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.luizalabs.wishlist_service.adapters.in.web;
+
+import com.luizalabs.wishlist_service.adapters.in.ratelimit.UserRateLimiter;
+import com.luizalabs.wishlist_service.adapters.in.ratelimit.UserRateLimiter.Access;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.request.AddProductRequest;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.request.BatchUpdateProductsRequest;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.request.ProductMembershipRequest;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.BatchUpdateProductsResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.ProductResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.WishlistPageResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.WishlistResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.mapper.WishlistWebMapper;
+import com.luizalabs.wishlist_service.application.port.in.ProductDetailsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ReactiveAddProductUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ReactiveBatchUpdateProductsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ReactiveListProductsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ReactiveProductMembershipUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ReactiveProductUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ReactiveRemoveProductUseCase;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * WebFlux counterpart of {@link WishlistController}, active with the {@code reactive} profile. Same paths,
+ * payloads, status codes and user check.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("v1/wishlists")
+@RequiredArgsConstructor
+public class ReactiveWishlistController {
+
+    private final ReactiveAddProductUseCase addProduct;
+    private final ReactiveRemoveProductUseCase removeProduct;
+    private final ReactiveListProductsUseCase listProducts;
+    private final ReactiveProductUseCase productUseCase;
+    private final ReactiveBatchUpdateProductsUseCase batchUpdateProducts;
+    private final ReactiveProductMembershipUseCase productMembership;
+    private final ProductDetailsUseCase productDetails;
+    private final WishlistWebMapper mapper;
+    private final UserRateLimiter rateLimiter;
+
+    @PostMapping("/{userId}/product")
+    public Mono<ResponseEntity<WishlistResponse>> addProduct(@PathVariable final Long userId,
+                                                             @Valid @RequestBody final AddProductRequest body,
+                                                             @AuthenticationPrincipal final Jwt jwt,
+                                                             final ServerHttpRequest request
+    ) {
+        WishlistRequests.requireSameUser(userId, jwt);
+        rateLimiter.acquire(userId, Access.WRITE);
+        final var location = UriComponentsBuilder.fromUri(request.getURI())
+                .path("/{productId}")
+                .buildAndExpand(body.getProductId())
+                .toUri();
+        return addProduct.add(userId, body.getProductId(), WishlistRequests.tier(jwt))
+                .map(wishlist -> ResponseEntity.created(location).body(mapper.wishlistToResponse(wishlist)));
+    }
+
+    @PatchMapping("/{userId}/products")
+    public Mono<ResponseEntity<BatchUpdateProductsResponse>> batchUpdateProducts(@PathVariable final Long userId,
+                                                                                 @Valid @RequestBody final BatchUpdateProductsRequest body,
+                                                                                 @AuthenticationPrincipal final Jwt jwt
+    ) {
+        WishlistRequests.requireSameUser(userId, jwt);
+        rateLimiter.acquire(userId, Access.WRITE);
+        return batchUpdateProducts.update(userId, body.getAdd(), body.getRemove(), WishlistRequests.tier(jwt))
+                .map(result -> ResponseEntity.ok(mapper.batchResultToResponse(result)));
+    }
+
+    @DeleteMapping("/{userId}/product/{productId}")
+    public Mono<ResponseEntity<Void>> removeProduct(@PathVariable final Long userId,
+                                                    @PathVariable final Long productId,
+                                                    @AuthenticationPrincipal final Jwt jwt
+    ) {
+        WishlistRequests.requireSameUser(userId, jwt);
+        rateLimiter.acquire(userId, Access.WRITE);
+        return removeProduct.remove(userId, productId)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().<Void>build()));
+    }
+
+    @GetMapping("/{userId}/products")
+    public Mono<ResponseEntity<WishlistResponse>> getAllProductsFromWishList(@PathVariable final Long userId,
+                                                                             @RequestParam(required = false) final String expand,
+                                                                             @AuthenticationPrincipal final Jwt jwt
+    ) {
+        WishlistRequests.requireSameUser(userId, jwt);
+        rateLimiter.acquire(userId, Access.READ);
+        if (WishlistRequests.expandsDetails(expand)) {
+            // The catalog lookup blocks for up to its deadline, so it runs off the event loop.
+            return listProducts.get(userId)
+                    .flatMap(wishlist -> Mono.fromCallable(() -> productDetails.details(wishlist.getProductIds()))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .map(details -> ResponseEntity.ok(mapper.wishlistToResponse(wishlist, details))));
+        }
+        return listProducts.get(userId)
+                .map(wishlist -> ResponseEntity.ok(mapper.wishlistToResponse(wishlist)));
+    }
+
+    @GetMapping("/{userId}/products/page")
+    public Mono<ResponseEntity<WishlistPageResponse>> getProductsPage(@PathVariable final Long userId,
+                                                                      @RequestParam(required = false) final String cursor,
+                                                                      @RequestParam(defaultValue = "100") @Min(1) @Max(WishlistController.MAX_PAGE_SIZE) final int limit,
+                                                                      @AuthenticationPrincipal final Jwt jwt
+    ) {
+        WishlistRequests.requireSameUser(userId, jwt);
+        rateLimiter.acquire(userId, Access.READ);
+        return listProducts.page(userId, WishlistRequests.decodeCursor(cursor), limit)
+                .map(page -> ResponseEntity.ok(mapper.pageToResponse(page, WishlistRequests.encodeCursor(page.next()))));
+    }
+
+    @GetMapping("/{userId}/product/{productId}")
+    public Mono<ResponseEntity<ProductResponse>> getProductForUserWishlist(@PathVariable final Long userId,
+                                                                           @PathVariable final Long productId,
+                                                                           @AuthenticationPrincipal final Jwt jwt
+    ) {
+        WishlistRequests.requireSameUser(userId, jwt);
+        rateLimiter.acquire(userId, Access.READ);
+        return productUseCase.getProductForUserWishlist(userId, productId)
+                .map(found -> ResponseEntity.ok(mapper.productIdToProductResponse(found)))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping(value = "/{userId}/products/membership",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public Mono<ResponseEntity<?>> checkProductsInWishlist(@PathVariable final Long userId,
+                                                           @Valid @RequestBody final ProductMembershipRequest body,
+                                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept,
+                                                           @AuthenticationPrincipal final Jwt jwt
+    ) {
+        WishlistRequests.requireSameUser(userId, jwt);
+        rateLimiter.acquire(userId, Access.READ);
+        final var productIds = body.getProductIds();
+        return productMembership.membership(userId, productIds)
+                .<ResponseEntity<?>>map(membership -> WishlistRequests.prefersBitVector(accept)
+                        ? ResponseEntity.ok()
+                                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                                .body(mapper.membershipToBitVector(membership, productIds.size()))
+                        : ResponseEntity.ok(mapper.membershipToResponse(userId, productIds, membership)));
+    }
+
+}
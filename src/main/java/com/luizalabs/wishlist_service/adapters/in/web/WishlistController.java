@@ -1,42 +1,63 @@
 package com.luizalabs.wishlist_service.adapters.in.web;
 
+import com.luizalabs.wishlist_service.adapters.in.ratelimit.UserRateLimiter;
+import com.luizalabs.wishlist_service.adapters.in.ratelimit.UserRateLimiter.Access;
 import com.luizalabs.wishlist_service.adapters.in.web.dto.request.AddProductRequest;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.request.BatchUpdateProductsRequest;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.request.ProductMembershipRequest;
 import com.luizalabs.wishlist_service.adapters.in.web.dto.response.ApiErrorResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.BatchUpdateProductsResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.ProductMembershipResponse;
 import com.luizalabs.wishlist_service.adapters.in.web.dto.response.ProductResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.WishlistPageResponse;
 import com.luizalabs.wishlist_service.adapters.in.web.dto.response.WishlistResponse;
 import com.luizalabs.wishlist_service.adapters.in.web.mapper.WishlistWebMapper;
 import com.luizalabs.wishlist_service.application.port.in.AddProductUseCase;
+import com.luizalabs.wishlist_service.application.port.in.BatchUpdateProductsUseCase;
 import com.luizalabs.wishlist_service.application.port.in.ListProductsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ProductDetailsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ProductMembershipUseCase;
 import com.luizalabs.wishlist_service.application.port.in.ProductUseCase;
 import com.luizalabs.wishlist_service.application.port.in.RemoveProductUseCase;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("v1/wishlists")
 @RequiredArgsConstructor
 @Tag(name = "Wishlist", description = "Wishlist management APIs")
 @SecurityRequirement(name = "bearerAuth")
 public class WishlistController {
 
+    static final int MAX_PAGE_SIZE = 1000;
+
     private final AddProductUseCase addProduct;
     private final RemoveProductUseCase removeProduct;
     private final ListProductsUseCase listProducts;
     private final ProductUseCase productUseCase;
+    private final BatchUpdateProductsUseCase batchUpdateProducts;
+    private final ProductMembershipUseCase productMembership;
+    private final ProductDetailsUseCase productDetails;
     private final WishlistWebMapper mapper;
+    private final UserRateLimiter rateLimiter;
 
     @ApiResponse(responseCode = "201", description = "Product added",
             content = @Content(schema = @Schema(implementation = WishlistResponse.class)))
@@ -52,8 +73,8 @@ public class WishlistController {
             @Valid @RequestBody final AddProductRequest body,
             @AuthenticationPrincipal final Jwt jwt
     ) {
-        validateUserId(userId, jwt);
-        final var wishlist = addProduct.add(userId, body.getProductId());
+        validateUserId(userId, jwt, Access.WRITE);
+        final var wishlist = addProduct.add(userId, body.getProductId(), WishlistRequests.tier(jwt));
         final var location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{productId}")
                 .buildAndExpand(body.getProductId())
@@ -63,6 +84,28 @@ public class WishlistController {
                 .body(mapper.wishlistToResponse(wishlist));
     }
 
+    @Operation(summary = "Add and remove several products in one atomic update",
+            description = "Removals are applied before additions. Each item reports its own outcome; "
+                    + "additions that do not fit in the wishlist are reported as LIMIT_REACHED.")
+    @ApiResponse(responseCode = "200", description = "Batch applied",
+            content = @Content(schema = @Schema(implementation = BatchUpdateProductsResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Validation error",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    @ApiResponse(responseCode = "409", description = "Wishlist kept changing concurrently",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    @ApiResponse(responseCode = "401", description = "Unauthorized",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    @PatchMapping("/{userId}/products")
+    public ResponseEntity<BatchUpdateProductsResponse> batchUpdateProducts(
+            @PathVariable final Long userId,
+            @Valid @RequestBody final BatchUpdateProductsRequest body,
+            @AuthenticationPrincipal final Jwt jwt
+    ) {
+        validateUserId(userId, jwt, Access.WRITE);
+        final var result = batchUpdateProducts.update(userId, body.getAdd(), body.getRemove(), WishlistRequests.tier(jwt));
+        return ResponseEntity.ok(mapper.batchResultToResponse(result));
+    }
+
     @Operation(summary = "Remove a product from the user's wishlist")
     @ApiResponse(responseCode = "204", description = "Removed")
     @ApiResponse(responseCode = "404", description = "Product not found in the wishlist",
@@ -73,28 +116,63 @@ public class WishlistController {
     public ResponseEntity<Void> removeProduct(@PathVariable final Long userId,
                                               @PathVariable final Long productId,
                                               @AuthenticationPrincipal final Jwt jwt
-    ) throws Exception {
-        validateUserId(userId, jwt);
+    ) {
+        validateUserId(userId, jwt, Access.WRITE);
         removeProduct.remove(userId, productId);
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Get all products from the user's wishlist")
+    @Operation(summary = "Get all products from the user's wishlist",
+            description = "With expand=details each product also comes with its catalog name, price and image in "
+                    + "products. Details the catalog cannot return in time are left out, leaving only the productId.")
     @ApiResponse(responseCode = "200", description = "List of products in the wishlist",
             content = @Content(schema = @Schema(implementation = WishlistResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Unsupported expand",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
     @ApiResponse(responseCode = "404", description = "Wishlist not found",
             content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
     @ApiResponse(responseCode = "401", description = "Unauthorized",
             content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
     @GetMapping("/{userId}/products")
-    public ResponseEntity<WishlistResponse> getAllProductsFromWishList(@PathVariable final Long userId,
-                                                                       @AuthenticationPrincipal final Jwt jwt
+    public ResponseEntity<WishlistResponse> getAllProductsFromWishList(
+            @PathVariable final Long userId,
+            @Parameter(description = "details to include catalog details of each product")
+            @RequestParam(required = false) final String expand,
+            @AuthenticationPrincipal final Jwt jwt
     ) {
-        validateUserId(userId, jwt);
+        validateUserId(userId, jwt, Access.READ);
+        final var withDetails = WishlistRequests.expandsDetails(expand);
         final var wishlist = listProducts.get(userId);
+        if (withDetails) {
+            final var details = productDetails.details(wishlist.getProductIds());
+            return ResponseEntity.ok(mapper.wishlistToResponse(wishlist, details));
+        }
         return ResponseEntity.ok(mapper.wishlistToResponse(wishlist));
     }
 
+    @Operation(summary = "Get one page of products from the user's wishlist",
+            description = "Products come in insertion order. Pass nextCursor from the previous page as cursor to get "
+                    + "the next one; it is null on the last page. The next page starts after the last product returned, so "
+                    + "removals while paging skip nothing, and products added meanwhile come at the end.")
+    @ApiResponse(responseCode = "200", description = "One page of products",
+            content = @Content(schema = @Schema(implementation = WishlistPageResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or limit",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    @ApiResponse(responseCode = "401", description = "Unauthorized",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    @GetMapping("/{userId}/products/page")
+    public ResponseEntity<WishlistPageResponse> getProductsPage(
+            @PathVariable final Long userId,
+            @Parameter(description = "nextCursor of the previous page; omit for the first page")
+            @RequestParam(required = false) final String cursor,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(MAX_PAGE_SIZE) final int limit,
+            @AuthenticationPrincipal final Jwt jwt
+    ) {
+        validateUserId(userId, jwt, Access.READ);
+        final var page = listProducts.page(userId, WishlistRequests.decodeCursor(cursor), limit);
+        return ResponseEntity.ok(mapper.pageToResponse(page, WishlistRequests.encodeCursor(page.next())));
+    }
+
     @Operation(summary = "Check and get a specific product from the user's wishlist")
     @ApiResponse(responseCode = "200", description = "Product found in the wishlist",
             content = @Content(schema = @Schema(implementation = ProductResponse.class)))
@@ -107,20 +185,49 @@ public class WishlistController {
                                                                      @PathVariable final Long productId,
                                                                      @AuthenticationPrincipal final Jwt jwt
     ) {
-        validateUserId(userId, jwt);
+        validateUserId(userId, jwt, Access.READ);
         final var product = productUseCase.getProductForUserWishlist(userId, productId);
         return product.map(aLong -> ResponseEntity.ok(mapper.productIdToProductResponse(aLong)))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    private void validateUserId(final Long pathUserId,
-                                final Jwt jwt) {
-        Object claim = jwt.hasClaim("user_id") ? jwt.getClaim("user_id") : null;
-        String jwtUserId = claim != null ? claim.toString() : (jwt.hasClaim("sub") ? jwt.getSubject() : null);
-
-        if (!String.valueOf(pathUserId).equals(jwtUserId)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN,
-                    "User ID in path does not match authenticated user");
+    @Operation(summary = "Check which of the given products are in the user's wishlist",
+            description = "Answers from a single wishlist read. Send Accept: application/octet-stream to get a "
+                    + "bit vector instead of JSON: bit i % 8 of byte i / 8 is set when the i-th requested product "
+                    + "is in the wishlist.")
+    @ApiResponse(responseCode = "200", description = "Membership of each requested product",
+            content = {
+                    @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ProductMembershipResponse.class)),
+                    @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                            schema = @Schema(type = "string", format = "binary"))
+            })
+    @ApiResponse(responseCode = "400", description = "Validation error",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    @ApiResponse(responseCode = "401", description = "Unauthorized",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    @PostMapping(value = "/{userId}/products/membership",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<?> checkProductsInWishlist(@PathVariable final Long userId,
+                                                     @Valid @RequestBody final ProductMembershipRequest body,
+                                                     @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept,
+                                                     @AuthenticationPrincipal final Jwt jwt
+    ) {
+        validateUserId(userId, jwt, Access.READ);
+        final var productIds = body.getProductIds();
+        final var membership = productMembership.membership(userId, productIds);
+        if (WishlistRequests.prefersBitVector(accept)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .body(mapper.membershipToBitVector(membership, productIds.size()));
         }
+        return ResponseEntity.ok(mapper.membershipToResponse(userId, productIds, membership));
+    }
+
+    private void validateUserId(final Long pathUserId,
+                                final Jwt jwt,
+                                final Access access) {
+        WishlistRequests.requireSameUser(pathUserId, jwt);
+        rateLimiter.acquire(pathUserId, access);
     }
 }
@@ -0,0 +1,87 @@
+package com.luizalabs.wishlist_service.adapters.in.web;
+
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Request checks shared by the servlet and reactive wishlist controllers.
+ */
+final class WishlistRequests {
+
+    private WishlistRequests() {
+    }
+
+    static void requireSameUser(final Long pathUserId,
+                                final Jwt jwt) {
+        Object claim = jwt.hasClaim("user_id") ? jwt.getClaim("user_id") : null;
+        String jwtUserId = claim != null ? claim.toString() : (jwt.hasClaim("sub") ? jwt.getSubject() : null);
+
+        if (!String.valueOf(pathUserId).equals(jwtUserId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN,
+                    "User ID in path does not match authenticated user");
+        }
+    }
+
+    /**
+     * The user's tier, which selects how many products their wishlist may hold. Null when the token has none.
+     */
+    static String tier(final Jwt jwt) {
+        return jwt.hasClaim("tier") ? jwt.getClaimAsString("tier") : null;
+    }
+
+    /**
+     * Page cursors are opaque to clients. They name the last product returned and its position, so a page resumes
+     * after that product, or at that position if it was removed meanwhile.
+     */
+    static String encodeCursor(final WishlistPageCursor cursor) {
+        if (cursor == null) return null;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("p:" + cursor.afterProductId() + ":" + cursor.position()).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Also accepts the {@code o:<offset>} cursors handed out before cursors named a product.
+     */
+    static WishlistPageCursor decodeCursor(final String cursor) {
+        if (cursor == null || cursor.isEmpty()) return WishlistPageCursor.FIRST;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (decoded.startsWith("p:")) {
+                int separator = decoded.indexOf(':', 2);
+                if (separator > 0) {
+                    return new WishlistPageCursor(Long.parseLong(decoded.substring(2, separator)),
+                            Integer.parseInt(decoded.substring(separator + 1)));
+                }
+            } else if (decoded.startsWith("o:")) {
+                return new WishlistPageCursor(null, Integer.parseInt(decoded.substring(2)));
+            }
+        } catch (IllegalArgumentException e) {
+            // Falls through to the 400 below; NumberFormatException is an IllegalArgumentException too, and so is
+            // the negative position WishlistPageCursor rejects.
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+
+    /**
+     * Whether {@code expand} asks for catalog details. Null means ids only; any value other than {@code details} is a 400.
+     */
+    static boolean expandsDetails(final String expand) {
+        if (expand == null || expand.isEmpty()) return false;
+        if ("details".equals(expand)) return true;
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported expand: " + expand);
+    }
+
+    static boolean prefersBitVector(final String accept) {
+        if (accept == null) return false;
+        final var accepted = MediaType.parseMediaTypes(accept);
+        return accepted.stream().anyMatch(MediaType.APPLICATION_OCTET_STREAM::equalsTypeAndSubtype)
+                && accepted.stream().noneMatch(MediaType.APPLICATION_JSON::equalsTypeAndSubtype);
+    }
+
+}
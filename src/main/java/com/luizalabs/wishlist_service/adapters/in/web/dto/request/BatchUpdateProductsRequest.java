@@ -0,0 +1,31 @@
+package com.luizalabs.wishlist_service.adapters.in.web.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchUpdateProductsRequest {
+
+    public static final int MAX_ITEMS_PER_OPERATION = 100;
+
+    @NotNull(message = "add cannot be null")
+    @Size(max = MAX_ITEMS_PER_OPERATION)
+    @Builder.Default
+    private List<@NotNull(message = "productId cannot be null") Long> add = new ArrayList<>();
+
+    @NotNull(message = "remove cannot be null")
+    @Size(max = MAX_ITEMS_PER_OPERATION)
+    @Builder.Default
+    private List<@NotNull(message = "productId cannot be null") Long> remove = new ArrayList<>();
+
+}
@@ -0,0 +1,25 @@
+package com.luizalabs.wishlist_service.adapters.in.web.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductMembershipRequest {
+
+    public static final int MAX_PRODUCT_IDS = 200;
+
+    @NotEmpty(message = "productIds cannot be empty")
+    @Size(max = MAX_PRODUCT_IDS)
+    private List<@NotNull(message = "productId cannot be null") Long> productIds;
+
+}
@@ -0,0 +1,20 @@
+package com.luizalabs.wishlist_service.adapters.in.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchUpdateProductsResponse {
+
+    private Long userId;
+    private long[] productIds;
+    private List<ProductChangeResponse> results;
+
+}
@@ -0,0 +1,20 @@
+package com.luizalabs.wishlist_service.adapters.in.web.dto.response;
+
+import com.luizalabs.wishlist_service.domain.model.ProductChangeOutcome;
+import com.luizalabs.wishlist_service.domain.model.ProductChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductChangeResponse {
+
+    private Long productId;
+    private ProductChangeType operation;
+    private ProductChangeOutcome outcome;
+
+}
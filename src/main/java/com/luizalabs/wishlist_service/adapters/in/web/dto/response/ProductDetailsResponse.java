@@ -0,0 +1,26 @@
+package com.luizalabs.wishlist_service.adapters.in.web.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * A product along with its catalog details. Only {@code productId} is set when the catalog could not resolve it.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductDetailsResponse {
+
+    private Long productId;
+    private String name;
+    private BigDecimal price;
+    private String imageUrl;
+
+}
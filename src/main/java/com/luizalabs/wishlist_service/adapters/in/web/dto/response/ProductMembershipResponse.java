@@ -0,0 +1,18 @@
+package com.luizalabs.wishlist_service.adapters.in.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductMembershipResponse {
+
+    private Long userId;
+    private long[] productIds;
+    private boolean[] inWishlist;
+
+}
@@ -0,0 +1,20 @@
+package com.luizalabs.wishlist_service.adapters.in.web.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Outcome of a wishlist import")
+public class WishlistImportResponse {
+    private long read;
+    private long imported;
+    private long rejected;
+    private long elapsedMillis;
+    private long importedPerSecond;
+}
@@ -0,0 +1,22 @@
+package com.luizalabs.wishlist_service.adapters.in.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WishlistPageResponse {
+
+    private Long userId;
+    private long[] productIds;
+    private int total;
+    /**
+     * Pass as {@code cursor} to fetch the next page; null on the last one.
+     */
+    private String nextCursor;
+
+}
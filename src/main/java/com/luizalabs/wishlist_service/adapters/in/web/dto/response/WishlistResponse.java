@@ -1,5 +1,6 @@
 package com.luizalabs.wishlist_service.adapters.in.web.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,5 +15,10 @@ import java.util.List;
 public class WishlistResponse {
 
     private Long userId;
-    private List<Long> productIds;
+    private long[] productIds;
+    /**
+     * The same products with their catalog details, only with {@code expand=details}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ProductDetailsResponse> products;
 }
@@ -1,10 +1,26 @@
 package com.luizalabs.wishlist_service.adapters.in.web.mapper;
 
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.BatchUpdateProductsResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.ProductChangeResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.ProductDetailsResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.ProductMembershipResponse;
 import com.luizalabs.wishlist_service.adapters.in.web.dto.response.ProductResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.WishlistImportResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.WishlistPageResponse;
 import com.luizalabs.wishlist_service.adapters.in.web.dto.response.WishlistResponse;
+import com.luizalabs.wishlist_service.domain.model.ProductDetails;
 import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistBatchResult;
+import com.luizalabs.wishlist_service.domain.model.WishlistImportResult;
+import com.luizalabs.wishlist_service.domain.model.WishlistPage;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
 @Component
 public class WishlistWebMapper {
 
@@ -15,8 +31,43 @@ public class WishlistWebMapper {
                 .build();
     }
 
+    /**
+     * Lists every product of the wishlist, in order, with the details found for it in {@code details}.
+     */
+    public WishlistResponse wishlistToResponse(final Wishlist domain,
+                                               final Map<Long, ProductDetails> details) {
+        final var productIds = domain.getProductIds();
+        final var products = new ArrayList<ProductDetailsResponse>(productIds.length);
+        for (long productId : productIds) {
+            final var found = details.get(productId);
+            products.add(found == null
+                    ? ProductDetailsResponse.builder().productId(productId).build()
+                    : ProductDetailsResponse.builder()
+                            .productId(productId)
+                            .name(found.name())
+                            .price(found.price())
+                            .imageUrl(found.imageUrl())
+                            .build());
+        }
+        return WishlistResponse.builder()
+                .userId(domain.getUserId())
+                .productIds(productIds)
+                .products(products)
+                .build();
+    }
+
+    public WishlistPageResponse pageToResponse(final WishlistPage page,
+                                               final String nextCursor) {
+        return WishlistPageResponse.builder()
+                .userId(page.userId())
+                .productIds(page.productIds())
+                .total(page.total())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     public ProductResponse wishlistToProductResponse(final Wishlist domain, final Long productId) {
-        if (!domain.getProductIds().contains(productId)) {
+        if (!domain.contains(productId)) {
             throw new IllegalArgumentException("Product " + productId + " not found in wishlist for user " + domain.getUserId());
         }
         return ProductResponse.builder()
@@ -29,4 +80,53 @@ public class WishlistWebMapper {
                 .productId(productId)
                 .build();
     }
+
+    public BatchUpdateProductsResponse batchResultToResponse(final WishlistBatchResult result) {
+        return BatchUpdateProductsResponse.builder()
+                .userId(result.wishlist().getUserId())
+                .productIds(result.wishlist().getProductIds())
+                .results(result.results().stream()
+                        .map(change -> ProductChangeResponse.builder()
+                                .productId(change.productId())
+                                .operation(change.type())
+                                .outcome(change.outcome())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    public ProductMembershipResponse membershipToResponse(final Long userId,
+                                                          final List<Long> productIds,
+                                                          final BitSet membership) {
+        final var inWishlist = new boolean[productIds.size()];
+        final var present = new long[membership.cardinality()];
+        for (int i = membership.nextSetBit(0), n = 0; i >= 0 && i < inWishlist.length; i = membership.nextSetBit(i + 1)) {
+            inWishlist[i] = true;
+            present[n++] = productIds.get(i);
+        }
+        return ProductMembershipResponse.builder()
+                .userId(userId)
+                .productIds(present)
+                .inWishlist(inWishlist)
+                .build();
+    }
+
+    public WishlistImportResponse importResultToResponse(final WishlistImportResult result) {
+        return WishlistImportResponse.builder()
+                .read(result.read())
+                .imported(result.imported())
+                .rejected(result.rejected())
+                .elapsedMillis(result.elapsed().toMillis())
+                .importedPerSecond(Math.round(result.importedPerSecond()))
+                .build();
+    }
+
+    /**
+     * Packs the membership of {@code count} requested products into {@code ceil(count / 8)} bytes,
+     * bit {@code i % 8} of byte {@code i / 8} standing for the i-th requested product.
+     */
+    public byte[] membershipToBitVector(final BitSet membership,
+                                        final int count) {
+        return Arrays.copyOf(membership.toByteArray(), (count + 7) / 8);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.luizalabs.wishlist_service.adapters.out.batch;
+
+import com.luizalabs.wishlist_service.application.port.out.ProductCatalogPort;
+import com.luizalabs.wishlist_service.domain.model.ProductDetails;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Looks products up in parallel batches of at most {@code batchSize}. Batches that fail or miss the
+ * {@code deadline} are left out of the result instead of failing the lookup.
+ */
+@Slf4j
+public class BatchingProductCatalog implements ProductCatalogPort, AutoCloseable {
+
+    private final ProductCatalogPort delegate;
+    private final int batchSize;
+    private final long deadlineNanos;
+    private final Semaphore slots;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter timedOut;
+    private final Counter failed;
+
+    public BatchingProductCatalog(final ProductCatalogPort delegate,
+                                  final int batchSize,
+                                  final int maxConcurrentLookups,
+                                  final Duration deadline,
+                                  final MeterRegistry meterRegistry) {
+        if (batchSize < 1 || maxConcurrentLookups < 1) {
+            throw new IllegalArgumentException("batchSize and maxConcurrentLookups must be positive");
+        }
+        this.delegate = delegate;
+        this.batchSize = batchSize;
+        this.deadlineNanos = deadline.toNanos();
+        this.slots = new Semaphore(maxConcurrentLookups);
+        this.timedOut = Counter.builder("wishlist.catalog.lookups.timed-out")
+                .description("Catalog batches dropped because they missed the deadline")
+                .register(meterRegistry);
+        this.failed = Counter.builder("wishlist.catalog.lookups.failed")
+                .description("Catalog batches dropped because the lookup failed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Map<Long, ProductDetails> findAllByIds(final Collection<Long> productIds) {
+        if (productIds.isEmpty()) return Map.of();
+        long deadlineAt = System.nanoTime() + deadlineNanos;
+        List<Long> ids = List.copyOf(productIds);
+        List<Future<Map<Long, ProductDetails>>> lookups = new ArrayList<>((ids.size() + batchSize - 1) / batchSize);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + batchSize));
+            lookups.add(executor.submit(() -> lookup(batch, deadlineAt)));
+        }
+
+        Map<Long, ProductDetails> found = HashMap.newHashMap(ids.size());
+        for (Future<Map<Long, ProductDetails>> lookup : lookups) {
+            try {
+                found.putAll(lookup.get(Math.max(0, deadlineAt - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                lookup.cancel(true);
+                timedOut.increment();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof TimeoutException) {
+                    timedOut.increment();
+                    continue;
+                }
+                failed.increment();
+                log.warn("Product catalog lookup failed", e.getCause());
+            } catch (InterruptedException e) {
+                lookups.forEach(pending -> pending.cancel(true));
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private Map<Long, ProductDetails> lookup(final List<Long> batch,
+                                             final long deadlineAt) throws InterruptedException, TimeoutException {
+        if (!slots.tryAcquire(deadlineAt - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+            throw new TimeoutException("No free catalog slot before the deadline");
+        }
+        try {
+            return delegate.findAllByIds(batch);
+        } finally {
+            slots.release();
+        }
+    }
+
+}
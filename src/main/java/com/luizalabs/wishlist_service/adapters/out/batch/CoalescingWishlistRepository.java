@@ -0,0 +1,310 @@
+package com.luizalabs.wishlist_service.adapters.out.batch;
+
+import com.luizalabs.wishlist_service.application.port.out.WishlistBatchWritePort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistRepositoryPort;
+import com.luizalabs.wishlist_service.domain.exception.ProductNotFoundException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistNotFoundException;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistPage;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies single-product adds and removes arriving within {@code window} of each other as batches of one read and
+ * one bulk compare-and-set; callers block until their own write is settled. Writes to the same user apply in
+ * arrival order. Writes a batch cannot settle, and every other operation, go to the delegate.
+ */
+@Slf4j
+public class CoalescingWishlistRepository implements WishlistRepositoryPort, AutoCloseable {
+
+    static final int MAX_ATTEMPTS = 3;
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final WishlistRepositoryPort delegate;
+    private final WishlistBatchWritePort batchPort;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Thread flusher;
+    private final DistributionSummary batchSizes;
+    private final Timer flushTimer;
+    private final Counter bypassed;
+
+    private volatile boolean closed;
+
+    public CoalescingWishlistRepository(final WishlistRepositoryPort delegate,
+                                        final WishlistBatchWritePort batchPort,
+                                        final Duration window,
+                                        final int maxBatchSize,
+                                        final int queueCapacity,
+                                        final MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.batchPort = batchPort;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSizes = DistributionSummary.builder("wishlist.write.batch.size")
+                .description("Writes settled per flushed batch")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("wishlist.write.flush")
+                .description("Time to settle a batch of coalesced writes")
+                .register(meterRegistry);
+        this.bypassed = Counter.builder("wishlist.write.bypassed")
+                .description("Writes sent to the database on their own because of conflicts, a full queue or shutdown")
+                .register(meterRegistry);
+        Gauge.builder("wishlist.write.queue.depth", queue, BlockingQueue::size)
+                .description("Writes waiting for the next batch")
+                .register(meterRegistry);
+        this.flusher = new Thread(this::flushLoop, "wishlist-write-coalescer");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    @Override
+    public Wishlist addProduct(final Long userId,
+                               final Long productId,
+                               final int maxItems) {
+        return submit(new PendingWrite(userId, productId, maxItems));
+    }
+
+    @Override
+    public void remove(final Long userId,
+                       final Long productId) {
+        submit(new PendingWrite(userId, productId, 0));
+    }
+
+    @Override
+    public Optional<Wishlist> findByUserId(final Long userId) {
+        return delegate.findByUserId(userId);
+    }
+
+    @Override
+    public Wishlist save(final Wishlist wishlist) {
+        return delegate.save(wishlist);
+    }
+
+    @Override
+    public void saveAll(final List<Wishlist> wishlists) {
+        delegate.saveAll(wishlists);
+    }
+
+    @Override
+    public Optional<Wishlist> compareAndSet(final Wishlist expected,
+                                            final Wishlist updated) {
+        return delegate.compareAndSet(expected, updated);
+    }
+
+    @Override
+    public boolean containsProduct(final Long userId,
+                                   final Long productId) {
+        return delegate.containsProduct(userId, productId);
+    }
+
+    @Override
+    public Optional<WishlistPage> findPage(final Long userId,
+                                           final WishlistPageCursor cursor,
+                                           final int limit) {
+        return delegate.findPage(userId, cursor, limit);
+    }
+
+    /**
+     * Stops accepting writes, settles the batch in flight and sends whatever is still queued to the delegate.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        flusher.join();
+        bypassQueued();
+    }
+
+    private Wishlist submit(final PendingWrite write) {
+        if (closed || !queue.offer(write)) {
+            bypass(write);
+        } else if (closed && queue.remove(write)) {
+            // close() drained the queue between the check and the offer.
+            bypass(write);
+        }
+        try {
+            return write.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private void flushLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (!closed) {
+                PendingWrite first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            closed = true;
+            Thread.currentThread().interrupt();
+        } finally {
+            batch.removeIf(write -> write.result.isDone());
+            queue.drainTo(batch);
+            batch.forEach(this::bypass);
+        }
+    }
+
+    void flush(final List<PendingWrite> batch) {
+        long startedAt = System.nanoTime();
+        Map<Long, ArrayDeque<PendingWrite>> byUser = new LinkedHashMap<>();
+        for (PendingWrite write : batch) {
+            byUser.computeIfAbsent(write.userId, id -> new ArrayDeque<>()).add(write);
+        }
+        try {
+            while (!byUser.isEmpty()) {
+                round(byUser);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} coalesced wishlist writes", batch.size(), e);
+            batch.forEach(write -> write.result.completeExceptionally(e));
+        } finally {
+            batchSizes.record(batch.size());
+            flushTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Settles the oldest pending write of every user, and drops the users that have none left.
+     */
+    private void round(final Map<Long, ArrayDeque<PendingWrite>> byUser) {
+        Map<Long, Wishlist> stored = batchPort.findAllByUserIds(byUser.keySet());
+        List<PendingWrite> writes = new ArrayList<>(byUser.size());
+        List<Wishlist> expected = new ArrayList<>(byUser.size());
+        List<Wishlist> updated = new ArrayList<>(byUser.size());
+        for (ArrayDeque<PendingWrite> pending : byUser.values()) {
+            PendingWrite write = pending.peek();
+            Wishlist current = stored.get(write.userId);
+            try {
+                Wishlist next = write.apply(current);
+                if (next == current) {
+                    write.result.complete(current);
+                    pending.poll();
+                } else {
+                    writes.add(write);
+                    expected.add(current == null ? Wishlist.create(write.userId) : current);
+                    updated.add(next);
+                }
+            } catch (RuntimeException e) {
+                write.result.completeExceptionally(e);
+                pending.poll();
+            }
+        }
+        if (!writes.isEmpty()) {
+            List<Optional<Wishlist>> results = batchPort.compareAndSetAll(expected, updated);
+            for (int i = 0; i < writes.size(); i++) {
+                PendingWrite write = writes.get(i);
+                if (results.get(i).isPresent()) {
+                    write.result.complete(results.get(i).get());
+                    byUser.get(write.userId).poll();
+                } else if (++write.attempts >= MAX_ATTEMPTS) {
+                    byUser.get(write.userId).poll();
+                    bypass(write);
+                }
+            }
+        }
+        for (Iterator<ArrayDeque<PendingWrite>> it = byUser.values().iterator(); it.hasNext(); ) {
+            if (it.next().isEmpty()) it.remove();
+        }
+    }
+
+    private void bypassQueued() {
+        List<PendingWrite> queued = new ArrayList<>();
+        queue.drainTo(queued);
+        queued.forEach(this::bypass);
+    }
+
+    private void bypass(final PendingWrite write) {
+        bypassed.increment();
+        try {
+            if (write.add) {
+                write.result.complete(delegate.addProduct(write.userId, write.productId, write.maxItems));
+            } else {
+                delegate.remove(write.userId, write.productId);
+                write.result.complete(null);
+            }
+        } catch (RuntimeException e) {
+            write.result.completeExceptionally(e);
+        }
+    }
+
+    static final class PendingWrite {
+
+        private final Long userId;
+        private final Long productId;
+        private final boolean add;
+        private final int maxItems;
+        private final CompletableFuture<Wishlist> result = new CompletableFuture<>();
+        private int attempts;
+
+        /**
+         * An add within {@code maxItems} products, or a removal when {@code maxItems} is 0.
+         */
+        PendingWrite(final Long userId,
+                     final Long productId,
+                     final int maxItems) {
+            this.userId = userId;
+            this.productId = productId;
+            this.add = maxItems > 0;
+            this.maxItems = maxItems;
+        }
+
+        CompletableFuture<Wishlist> result() {
+            return result;
+        }
+
+        /**
+         * Returns the wishlist to store, or {@code current} itself when there is nothing to write. Fails with the
+         * same exceptions as the single-write path.
+         */
+        Wishlist apply(final Wishlist current) {
+            if (add) {
+                if (current != null && current.contains(productId)) return current;
+                Wishlist next = current == null ? Wishlist.create(userId) : current.copy();
+                next.addProduct(productId, maxItems);
+                return next;
+            }
+            if (current == null) throw new WishlistNotFoundException("Wishlist not found for user " + userId);
+            if (!current.contains(productId)) {
+                throw new ProductNotFoundException("Product not found in wishlist for user " + userId);
+            }
+            Wishlist next = current.copy();
+            next.removeProduct(productId);
+            return next;
+        }
+    }
+
+}
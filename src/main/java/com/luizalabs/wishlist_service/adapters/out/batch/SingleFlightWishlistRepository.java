@@ -0,0 +1,199 @@
+package com.luizalabs.wishlist_service.adapters.out.batch;
+
+import com.luizalabs.wishlist_service.application.port.out.WishlistInvalidationPort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistRepositoryPort;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistPage;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Lets concurrent {@code findByUserId} and {@code containsProduct} calls for the same key share one call to the
+ * delegate. A read never joins a load that started before a write to that user completed, whether the write was
+ * made here or reported as an invalidation.
+ */
+public class SingleFlightWishlistRepository implements WishlistRepositoryPort, WishlistInvalidationPort.Listener {
+
+    private static final int EPOCH_STRIPES = 1024;
+
+    private final WishlistRepositoryPort delegate;
+    private final AtomicLongArray writeEpochs = new AtomicLongArray(EPOCH_STRIPES);
+    private final ConcurrentHashMap<Long, Flight<Optional<Wishlist>>> wishlistFlights = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Membership, Flight<Boolean>> membershipFlights = new ConcurrentHashMap<>();
+    private final Counter wishlistLoads;
+    private final Counter wishlistJoins;
+    private final Counter membershipLoads;
+    private final Counter membershipJoins;
+
+    public SingleFlightWishlistRepository(final WishlistRepositoryPort delegate,
+                                          final MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.wishlistLoads = loads("findByUserId", meterRegistry);
+        this.wishlistJoins = joins("findByUserId", meterRegistry);
+        this.membershipLoads = loads("containsProduct", meterRegistry);
+        this.membershipJoins = joins("containsProduct", meterRegistry);
+    }
+
+    @Override
+    public Optional<Wishlist> findByUserId(final Long userId) {
+        return singleFlight(wishlistFlights, userId, userId, () -> delegate.findByUserId(userId),
+                wishlist -> wishlist.map(Wishlist::copy), wishlistLoads, wishlistJoins);
+    }
+
+    @Override
+    public boolean containsProduct(final Long userId,
+                                   final Long productId) {
+        return singleFlight(membershipFlights, new Membership(userId, productId), userId,
+                () -> delegate.containsProduct(userId, productId), UnaryOperator.identity(), membershipLoads, membershipJoins);
+    }
+
+    @Override
+    public Optional<WishlistPage> findPage(final Long userId,
+                                           final WishlistPageCursor cursor,
+                                           final int limit) {
+        return delegate.findPage(userId, cursor, limit);
+    }
+
+    @Override
+    public Wishlist save(final Wishlist wishlist) {
+        try {
+            return delegate.save(wishlist);
+        } finally {
+            wrote(wishlist.getUserId());
+        }
+    }
+
+    @Override
+    public void saveAll(final List<Wishlist> wishlists) {
+        try {
+            delegate.saveAll(wishlists);
+        } finally {
+            wishlists.forEach(wishlist -> wrote(wishlist.getUserId()));
+        }
+    }
+
+    @Override
+    public Wishlist addProduct(final Long userId,
+                               final Long productId,
+                               final int maxItems) {
+        try {
+            return delegate.addProduct(userId, productId, maxItems);
+        } finally {
+            wrote(userId);
+        }
+    }
+
+    @Override
+    public Optional<Wishlist> compareAndSet(final Wishlist expected,
+                                            final Wishlist updated) {
+        try {
+            return delegate.compareAndSet(expected, updated);
+        } finally {
+            wrote(expected.getUserId());
+        }
+    }
+
+    @Override
+    public void remove(final Long userId,
+                       final Long productId) {
+        try {
+            delegate.remove(userId, productId);
+        } finally {
+            wrote(userId);
+        }
+    }
+
+    @Override
+    public void invalidated(final Long userId) {
+        wrote(userId);
+    }
+
+    @Override
+    public void invalidatedAll() {
+        for (int stripe = 0; stripe < EPOCH_STRIPES; stripe++) {
+            writeEpochs.incrementAndGet(stripe);
+        }
+    }
+
+    private <K, T> T singleFlight(final ConcurrentHashMap<K, Flight<T>> flights,
+                                  final K key,
+                                  final Long userId,
+                                  final Supplier<T> loader,
+                                  final UnaryOperator<T> share,
+                                  final Counter loads,
+                                  final Counter joins) {
+        long epoch = writeEpochs.get(stripe(userId));
+        var flight = new Flight<T>(epoch, new CompletableFuture<>());
+        while (true) {
+            var inFlight = flights.putIfAbsent(key, flight);
+            if (inFlight == null) break;
+            if (inFlight.epoch >= epoch) {
+                joins.increment();
+                return share.apply(join(inFlight.result));
+            }
+            // Started before a write this read must observe.
+            if (flights.replace(key, inFlight, flight)) break;
+        }
+        loads.increment();
+        try {
+            T loaded = loader.get();
+            flight.result.complete(share.apply(loaded));
+            return loaded;
+        } catch (RuntimeException e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    private void wrote(final Long userId) {
+        writeEpochs.incrementAndGet(stripe(userId));
+    }
+
+    private static int stripe(final Long userId) {
+        return Long.hashCode(userId) & (EPOCH_STRIPES - 1);
+    }
+
+    private static <T> T join(final CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private static Counter loads(final String operation,
+                                 final MeterRegistry meterRegistry) {
+        return Counter.builder("wishlist.read.loads")
+                .description("Reads that went to the database")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static Counter joins(final String operation,
+                                 final MeterRegistry meterRegistry) {
+        return Counter.builder("wishlist.read.coalesced")
+                .description("Reads answered by sharing a concurrent read of the same key")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private record Flight<T>(long epoch, CompletableFuture<T> result) {
+    }
+
+    private record Membership(Long userId, Long productId) {
+    }
+
+}
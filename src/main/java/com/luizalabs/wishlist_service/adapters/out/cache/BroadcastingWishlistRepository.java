@@ -0,0 +1,100 @@
+package com.luizalabs.wishlist_service.adapters.out.cache;
+
+import com.luizalabs.wishlist_service.application.port.out.WishlistInvalidationPort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistRepositoryPort;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistPage;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Publishes an invalidation for every write that may have changed a stored wishlist, so the other instances
+ * drop what they cached of it. A write that fails is published too, since it may have been applied before
+ * failing; a compare-and-set that lost is not, because the write that won publishes its own.
+ */
+public class BroadcastingWishlistRepository implements WishlistRepositoryPort {
+
+    private final WishlistRepositoryPort delegate;
+    private final WishlistInvalidationPort invalidations;
+
+    public BroadcastingWishlistRepository(final WishlistRepositoryPort delegate,
+                                          final WishlistInvalidationPort invalidations) {
+        this.delegate = delegate;
+        this.invalidations = invalidations;
+    }
+
+    @Override
+    public Optional<Wishlist> findByUserId(final Long userId) {
+        return delegate.findByUserId(userId);
+    }
+
+    @Override
+    public boolean containsProduct(final Long userId,
+                                   final Long productId) {
+        return delegate.containsProduct(userId, productId);
+    }
+
+    @Override
+    public Optional<WishlistPage> findPage(final Long userId,
+                                           final WishlistPageCursor cursor,
+                                           final int limit) {
+        return delegate.findPage(userId, cursor, limit);
+    }
+
+    @Override
+    public Wishlist save(final Wishlist wishlist) {
+        try {
+            return delegate.save(wishlist);
+        } finally {
+            invalidations.publish(List.of(wishlist.getUserId()));
+        }
+    }
+
+    @Override
+    public void saveAll(final List<Wishlist> wishlists) {
+        if (wishlists.isEmpty()) return;
+        try {
+            delegate.saveAll(wishlists);
+        } finally {
+            invalidations.publish(wishlists.stream().map(Wishlist::getUserId).toList());
+        }
+    }
+
+    @Override
+    public Wishlist addProduct(final Long userId,
+                               final Long productId,
+                               final int maxItems) {
+        try {
+            return delegate.addProduct(userId, productId, maxItems);
+        } finally {
+            invalidations.publish(List.of(userId));
+        }
+    }
+
+    @Override
+    public Optional<Wishlist> compareAndSet(final Wishlist expected,
+                                            final Wishlist updated) {
+        Optional<Wishlist> stored;
+        try {
+            stored = delegate.compareAndSet(expected, updated);
+        } catch (RuntimeException e) {
+            invalidations.publish(List.of(expected.getUserId()));
+            throw e;
+        }
+        if (stored.isPresent()) invalidations.publish(List.of(expected.getUserId()));
+        return stored;
+    }
+
+    @Override
+    public void remove(final Long userId,
+                       final Long productId) {
+        try {
+            delegate.remove(userId, productId);
+        } finally {
+            invalidations.publish(List.of(userId));
+        }
+    }
+
+}
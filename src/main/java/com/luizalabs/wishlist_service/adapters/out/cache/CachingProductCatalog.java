@@ -0,0 +1,50 @@
+package com.luizalabs.wishlist_service.adapters.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.luizalabs.wishlist_service.application.port.out.ProductCatalogPort;
+import com.luizalabs.wishlist_service.domain.model.ProductDetails;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of product details in front of a {@link ProductCatalogPort}, keyed by productId. A lookup is answered
+ * from the cache as far as it goes and sends the misses to the delegate in one call. Products the delegate
+ * leaves out, whether unknown or late, are not cached and are asked for again next time.
+ */
+public class CachingProductCatalog implements ProductCatalogPort {
+
+    public static final String CACHE_NAME = "products";
+
+    private final ProductCatalogPort delegate;
+    private final Cache<Long, ProductDetails> cache;
+
+    public CachingProductCatalog(final ProductCatalogPort delegate,
+                                 final long maximumSize,
+                                 final Duration ttl,
+                                 final MeterRegistry meterRegistry) {
+        this(delegate, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    CachingProductCatalog(final ProductCatalogPort delegate,
+                          final Cache<Long, ProductDetails> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Map<Long, ProductDetails> findAllByIds(final Collection<Long> productIds) {
+        return cache.getAll(productIds, missing -> delegate.findAllByIds(List.copyOf(missing)));
+    }
+
+}
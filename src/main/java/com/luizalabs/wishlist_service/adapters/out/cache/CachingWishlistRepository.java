@@ -0,0 +1,205 @@
+package com.luizalabs.wishlist_service.adapters.out.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.luizalabs.wishlist_service.application.port.out.WishlistInvalidationPort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistRepositoryPort;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistPage;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Read-through cache of wishlists keyed by userId, absent ones included. Writes refresh the entry with the stored
+ * post-image; removals and invalidations drop it. Membership checks and pages use a cached wishlist when there is
+ * one, and otherwise go to the delegate without loading it.
+ */
+public class CachingWishlistRepository implements WishlistRepositoryPort, WishlistInvalidationPort.Listener {
+
+    public static final String CACHE_NAME = "wishlists";
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final WishlistRepositoryPort delegate;
+    private final AsyncCache<Long, Optional<Wishlist>> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public CachingWishlistRepository(final WishlistRepositoryPort delegate,
+                                     final long maximumSize,
+                                     final Duration ttl,
+                                     final MeterRegistry meterRegistry) {
+        this(delegate, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    CachingWishlistRepository(final WishlistRepositoryPort delegate,
+                              final AsyncCache<Long, Optional<Wishlist>> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Optional<Wishlist> findByUserId(final Long userId) {
+        return cachedEntry(userId).map(Wishlist::copy);
+    }
+
+    @Override
+    public Wishlist save(final Wishlist wishlist) {
+        long generation = generation(wishlist.getUserId());
+        return cached(delegate.save(wishlist), generation);
+    }
+
+    /**
+     * Bulk writes are not worth caching: they invalidate the entries of the users they touch.
+     */
+    @Override
+    public void saveAll(final List<Wishlist> wishlists) {
+        try {
+            delegate.saveAll(wishlists);
+        } finally {
+            wishlists.forEach(wishlist -> invalidate(wishlist.getUserId()));
+        }
+    }
+
+    @Override
+    public Wishlist addProduct(final Long userId,
+                               final Long productId,
+                               final int maxItems) {
+        long generation = generation(userId);
+        return cached(delegate.addProduct(userId, productId, maxItems), generation);
+    }
+
+    @Override
+    public Optional<Wishlist> compareAndSet(final Wishlist expected,
+                                            final Wishlist updated) {
+        long generation = generation(expected.getUserId());
+        var stored = delegate.compareAndSet(expected, updated);
+        if (stored.isPresent()) {
+            cached(stored.get(), generation);
+        } else {
+            invalidate(expected.getUserId());
+        }
+        return stored;
+    }
+
+    @Override
+    public boolean containsProduct(final Long userId,
+                                   final Long productId) {
+        var entry = cache.getIfPresent(userId);
+        if (entry == null) return delegate.containsProduct(userId, productId);
+        return join(entry).map(wishlist -> wishlist.contains(productId)).orElse(false);
+    }
+
+    @Override
+    public Optional<WishlistPage> findPage(final Long userId,
+                                           final WishlistPageCursor cursor,
+                                           final int limit) {
+        var entry = cache.getIfPresent(userId);
+        if (entry == null) return delegate.findPage(userId, cursor, limit);
+        return join(entry).map(wishlist -> WishlistPage.of(wishlist, cursor, limit));
+    }
+
+    @Override
+    public void remove(final Long userId,
+                       final Long productId) {
+        try {
+            delegate.remove(userId, productId);
+        } finally {
+            invalidate(userId);
+        }
+    }
+
+    /**
+     * Drops the entry of a user another instance wrote, along with a load in flight.
+     */
+    @Override
+    public void invalidated(final Long userId) {
+        invalidate(userId);
+    }
+
+    @Override
+    public void invalidatedAll() {
+        for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+            generations.incrementAndGet(stripe);
+        }
+        cache.synchronous().invalidateAll();
+    }
+
+    private Optional<Wishlist> cachedEntry(final Long userId) {
+        var entry = cache.getIfPresent(userId);
+        if (entry == null) {
+            // Loaded outside the map's compute, so the database call holds no lock a virtual thread would pin on.
+            var loading = new CompletableFuture<Optional<Wishlist>>();
+            entry = cache.asMap().putIfAbsent(userId, loading);
+            if (entry == null) {
+                return load(userId, loading);
+            }
+        }
+        return join(entry);
+    }
+
+    private static Optional<Wishlist> join(final CompletableFuture<Optional<Wishlist>> entry) {
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private Optional<Wishlist> load(final Long userId,
+                                    final CompletableFuture<Optional<Wishlist>> loading) {
+        try {
+            var loaded = delegate.findByUserId(userId).map(Wishlist::copy);
+            loading.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            cache.asMap().remove(userId, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Caches the post-image of a write unless a newer version is cached, or the user was invalidated since the
+     * write started at {@code generation}.
+     */
+    private Wishlist cached(final Wishlist stored,
+                            final long generation) {
+        var entry = CompletableFuture.completedFuture(Optional.of(stored.copy()));
+        cache.asMap().compute(stored.getUserId(), (userId, current) ->
+                generation(userId) != generation || isNewer(current, stored) ? current : entry);
+        return stored;
+    }
+
+    private void invalidate(final Long userId) {
+        generations.incrementAndGet(stripe(userId));
+        cache.synchronous().invalidate(userId);
+    }
+
+    private long generation(final Long userId) {
+        return generations.get(stripe(userId));
+    }
+
+    private static int stripe(final Long userId) {
+        return Long.hashCode(userId) & (GENERATION_STRIPES - 1);
+    }
+
+    private static boolean isNewer(final CompletableFuture<Optional<Wishlist>> entry,
+                                   final Wishlist stored) {
+        if (entry == null || !entry.isDone() || entry.isCompletedExceptionally()) return false;
+        return entry.join().map(cached -> cached.getVersion() > stored.getVersion()).orElse(false);
+    }
+
+}
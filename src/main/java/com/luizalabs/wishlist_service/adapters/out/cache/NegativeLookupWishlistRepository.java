@@ -0,0 +1,209 @@
+package com.luizalabs.wishlist_service.adapters.out.cache;
+
+import com.luizalabs.wishlist_service.application.port.out.WishlistInvalidationPort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistRepositoryPort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistScanPort;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistPage;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Answers lookups for users that have never stored a wishlist without touching the delegate, using a
+ * {@link UserIdBloomFilter} of every userId that owns a document. Until the first rebuild completes every lookup
+ * goes to the delegate. Writes, removals included, always do.
+ */
+@Slf4j
+public class NegativeLookupWishlistRepository implements WishlistRepositoryPort, WishlistInvalidationPort.Listener {
+
+    private final WishlistRepositoryPort delegate;
+    private final WishlistScanPort scanPort;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Timer rebuildTimer;
+    private final Counter skippedLookups;
+
+    private volatile UserIdBloomFilter filter;
+    private volatile UserIdBloomFilter building;
+    private volatile long lastRebuildCount;
+
+    public NegativeLookupWishlistRepository(final WishlistRepositoryPort delegate,
+                                            final WishlistScanPort scanPort,
+                                            final boolean enabled,
+                                            final long expectedInsertions,
+                                            final double falsePositiveRate,
+                                            final MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.scanPort = scanPort;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildTimer = Timer.builder("wishlist.negative.cache.rebuild")
+                .description("Time to rebuild the userId Bloom filter from the wishlists collection")
+                .register(meterRegistry);
+        this.skippedLookups = Counter.builder("wishlist.negative.cache.skipped")
+                .description("Lookups answered as absent without querying the database")
+                .register(meterRegistry);
+        Gauge.builder("wishlist.negative.cache.size", this, r -> r.filter == null ? 0 : r.filter.approximateElementCount())
+                .description("Approximate number of userIds in the Bloom filter")
+                .register(meterRegistry);
+        Gauge.builder("wishlist.negative.cache.bits", this, r -> r.filter == null ? 0 : r.filter.bitSize())
+                .description("Size of the Bloom filter in bits")
+                .register(meterRegistry);
+        Gauge.builder("wishlist.negative.cache.false.positive.rate", this, r -> r.filter == null ? 1 : r.filter.expectedFalsePositiveRate())
+                .description("Expected false positive rate given the current fill ratio")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<Wishlist> findByUserId(final Long userId) {
+        if (definitelyAbsent(userId)) return Optional.empty();
+        return delegate.findByUserId(userId);
+    }
+
+    @Override
+    public Wishlist save(final Wishlist wishlist) {
+        remember(wishlist.getUserId());
+        Wishlist saved = delegate.save(wishlist);
+        remember(wishlist.getUserId());
+        return saved;
+    }
+
+    @Override
+    public void saveAll(final List<Wishlist> wishlists) {
+        wishlists.forEach(wishlist -> remember(wishlist.getUserId()));
+        delegate.saveAll(wishlists);
+        wishlists.forEach(wishlist -> remember(wishlist.getUserId()));
+    }
+
+    @Override
+    public Wishlist addProduct(final Long userId,
+                               final Long productId,
+                               final int maxItems) {
+        remember(userId);
+        Wishlist saved = delegate.addProduct(userId, productId, maxItems);
+        remember(userId);
+        return saved;
+    }
+
+    @Override
+    public Optional<Wishlist> compareAndSet(final Wishlist expected,
+                                            final Wishlist updated) {
+        remember(expected.getUserId());
+        var stored = delegate.compareAndSet(expected, updated);
+        remember(expected.getUserId());
+        return stored;
+    }
+
+    @Override
+    public boolean containsProduct(final Long userId,
+                                   final Long productId) {
+        if (definitelyAbsent(userId)) return false;
+        return delegate.containsProduct(userId, productId);
+    }
+
+    @Override
+    public Optional<WishlistPage> findPage(final Long userId,
+                                           final WishlistPageCursor cursor,
+                                           final int limit) {
+        if (definitelyAbsent(userId)) return Optional.empty();
+        return delegate.findPage(userId, cursor, limit);
+    }
+
+    @Override
+    public void remove(final Long userId,
+                       final Long productId) {
+        delegate.remove(userId, productId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) return;
+        Thread.ofVirtual().name("wishlist-negative-cache-rebuild").start(this::rebuild);
+    }
+
+    @Scheduled(initialDelayString = "${wishlist.negative-cache.rebuild-interval:PT1H}",
+            fixedDelayString = "${wishlist.negative-cache.rebuild-interval:PT1H}")
+    public void rebuild() {
+        if (!enabled || !rebuilding.compareAndSet(false, true)) return;
+        try {
+            var next = UserIdBloomFilter.create(Math.max(expectedInsertions, lastRebuildCount * 2), falsePositiveRate);
+            building = next;
+            long count = rebuildTimer.recordCallable(() -> {
+                try (Stream<Long> userIds = scanPort.streamUserIds()) {
+                    long scanned = 0;
+                    for (Iterator<Long> it = userIds.iterator(); it.hasNext(); scanned++) {
+                        next.put(it.next());
+                    }
+                    return scanned;
+                }
+            });
+            filter = next;
+            lastRebuildCount = count;
+            log.info("Rebuilt wishlist negative cache with {} userIds", count);
+        } catch (Exception e) {
+            log.warn("Could not rebuild wishlist negative cache", e);
+        } finally {
+            building = null;
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Records a user another instance wrote, so its reads are no longer answered as absent.
+     */
+    @Override
+    public void invalidated(final Long userId) {
+        remember(userId);
+    }
+
+    /**
+     * Stops answering lookups as absent until a fresh rebuild completes.
+     */
+    @Override
+    public void invalidatedAll() {
+        if (!enabled) return;
+        filter = null;
+        Thread.ofVirtual().name("wishlist-negative-cache-rebuild").start(this::rebuild);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    boolean isReady() {
+        return filter != null;
+    }
+
+    private boolean definitelyAbsent(final Long userId) {
+        var current = filter;
+        if (current == null || current.mightContain(userId)) return false;
+        skippedLookups.increment();
+        return true;
+    }
+
+    private void remember(final Long userId) {
+        // Read in the opposite order to rebuild()'s publication (filter, then building = null),
+        // so a write racing the swap reaches the new filter through one of the two references.
+        var next = building;
+        if (next != null) next.put(userId);
+        var current = filter;
+        if (current != null) current.put(userId);
+    }
+
+}
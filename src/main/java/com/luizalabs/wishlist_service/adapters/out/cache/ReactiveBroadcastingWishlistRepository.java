@@ -0,0 +1,79 @@
+package com.luizalabs.wishlist_service.adapters.out.cache;
+
+import com.luizalabs.wishlist_service.application.port.out.ReactiveWishlistRepositoryPort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistInvalidationPort;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistPage;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link BroadcastingWishlistRepository}, with the same rules. A write that is
+ * cancelled is published too, since it may have been applied.
+ */
+public class ReactiveBroadcastingWishlistRepository implements ReactiveWishlistRepositoryPort {
+
+    private final ReactiveWishlistRepositoryPort delegate;
+    private final WishlistInvalidationPort invalidations;
+
+    public ReactiveBroadcastingWishlistRepository(final ReactiveWishlistRepositoryPort delegate,
+                                                  final WishlistInvalidationPort invalidations) {
+        this.delegate = delegate;
+        this.invalidations = invalidations;
+    }
+
+    @Override
+    public Mono<Wishlist> findByUserId(final Long userId) {
+        return delegate.findByUserId(userId);
+    }
+
+    @Override
+    public Mono<Boolean> containsProduct(final Long userId,
+                                         final Long productId) {
+        return delegate.containsProduct(userId, productId);
+    }
+
+    @Override
+    public Mono<WishlistPage> findPage(final Long userId,
+                                       final WishlistPageCursor cursor,
+                                       final int limit) {
+        return delegate.findPage(userId, cursor, limit);
+    }
+
+    @Override
+    public Mono<Wishlist> save(final Wishlist wishlist) {
+        return delegate.save(wishlist)
+                .doFinally(signal -> published(wishlist.getUserId()));
+    }
+
+    @Override
+    public Mono<Wishlist> addProduct(final Long userId,
+                                     final Long productId,
+                                     final int maxItems) {
+        return delegate.addProduct(userId, productId, maxItems)
+                .doFinally(signal -> published(userId));
+    }
+
+    @Override
+    public Mono<Wishlist> compareAndSet(final Wishlist expected,
+                                        final Wishlist updated) {
+        return delegate.compareAndSet(expected, updated)
+                .doOnNext(stored -> published(expected.getUserId()))
+                .doOnError(e -> published(expected.getUserId()))
+                .doOnCancel(() -> published(expected.getUserId()));
+    }
+
+    @Override
+    public Mono<Void> remove(final Long userId,
+                             final Long productId) {
+        return delegate.remove(userId, productId)
+                .doFinally(signal -> published(userId));
+    }
+
+    private void published(final Long userId) {
+        invalidations.publish(List.of(userId));
+    }
+
+}
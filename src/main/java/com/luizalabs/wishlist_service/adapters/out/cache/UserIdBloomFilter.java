@@ -0,0 +1,106 @@
+package com.luizalabs.wishlist_service.adapters.out.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free Bloom filter over userIds. {@link #mightContain} never returns {@code false} for an id that
+ * was {@link #put}, so a negative answer is a guaranteed miss.
+ */
+public final class UserIdBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final LongAdder bitsSet = new LongAdder();
+
+    private UserIdBloomFilter(final long bitSize,
+                              final int hashFunctions) {
+        this.words = new AtomicLongArray(Math.toIntExact((bitSize + 63) >>> 6));
+        this.bitSize = bitSize;
+        this.hashFunctions = hashFunctions;
+    }
+
+    public static UserIdBloomFilter create(final long expectedInsertions,
+                                           final double falsePositiveRate) {
+        if (expectedInsertions <= 0) throw new IllegalArgumentException("expectedInsertions must be positive");
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        long bits = Math.max(64, (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN2 * LN2)));
+        int hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * LN2));
+        return new UserIdBloomFilter(bits, hashes);
+    }
+
+    public void put(final long userId) {
+        long h1 = mix(userId + GOLDEN_GAMMA);
+        long h2 = mix(h1);
+        for (int i = 0; i < hashFunctions; i++) {
+            setBit(index(h1 + i * h2));
+        }
+    }
+
+    public boolean mightContain(final long userId) {
+        long h1 = mix(userId + GOLDEN_GAMMA);
+        long h2 = mix(h1);
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = index(h1 + i * h2);
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * Estimate of distinct ids inserted, derived from the fill ratio (Swamidass &amp; Baldi).
+     */
+    public long approximateElementCount() {
+        double fill = (double) bitsSet.sum() / bitSize;
+        if (fill >= 1) return Long.MAX_VALUE;
+        return Math.round(-bitSize / (double) hashFunctions * Math.log1p(-fill));
+    }
+
+    /**
+     * Probability that {@link #mightContain} answers {@code true} for an id that was never inserted.
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) bitsSet.sum() / bitSize, hashFunctions);
+    }
+
+    private long index(final long hash) {
+        return (hash & Long.MAX_VALUE) % bitSize;
+    }
+
+    private void setBit(final long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) != 0) return;
+        } while (!words.compareAndSet(word, current, current | mask));
+        bitsSet.increment();
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.luizalabs.wishlist_service.adapters.out.catalog;
+
+import com.luizalabs.wishlist_service.application.port.out.ProductCatalogPort;
+import com.luizalabs.wishlist_service.domain.model.ProductDetails;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk lookups against the catalog service: one {@code GET {base-url}/v1/products?ids=1,2,3} per call, answered
+ * with a JSON array of the products it knows. Requests give up after {@code timeout}.
+ */
+@Component
+@Profile("!in-memory")
+@Qualifier("catalogClient")
+public class RestProductCatalogAdapter implements ProductCatalogPort {
+
+    private static final ParameterizedTypeReference<List<CatalogProduct>> PRODUCTS = new ParameterizedTypeReference<>() {
+    };
+
+    private final RestClient client;
+
+    public RestProductCatalogAdapter(@Value("${wishlist.catalog.base-url:http://localhost:8081}") final String baseUrl,
+                                     @Value("${wishlist.catalog.timeout:200ms}") final Duration timeout) {
+        var requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder().connectTimeout(timeout).build());
+        requestFactory.setReadTimeout(timeout);
+        this.client = RestClient.builder()
+                .baseUrl(baseUrl)
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    @Override
+    public Map<Long, ProductDetails> findAllByIds(final Collection<Long> productIds) {
+        if (productIds.isEmpty()) return Map.of();
+        String ids = productIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        List<CatalogProduct> products = client.get()
+                .uri(uri -> uri.path("/v1/products").queryParam("ids", ids).build())
+                .retrieve()
+                .body(PRODUCTS);
+        if (products == null) return Map.of();
+        Map<Long, ProductDetails> found = HashMap.newHashMap(products.size());
+        for (CatalogProduct product : products) {
+            if (product.id() != null) {
+                found.put(product.id(), new ProductDetails(product.id(), product.name(), product.price(), product.imageUrl()));
+            }
+        }
+        return found;
+    }
+
+    record CatalogProduct(Long id, String name, BigDecimal price, String imageUrl) {
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.luizalabs.wishlist_service.adapters.out.catalog;
+
+import com.luizalabs.wishlist_service.application.port.out.ProductCatalogPort;
+import com.luizalabs.wishlist_service.domain.model.ProductDetails;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Process-local stand-in for the product catalog, active with the {@code in-memory} profile. Every positive
+ * productId is known, with details derived from the id, and each lookup takes {@code latency} to answer, so
+ * tests and benchmarks can exercise batching and deadlines without a catalog service.
+ */
+@Component
+@Profile("in-memory")
+@Qualifier("catalogClient")
+public class StubProductCatalogAdapter implements ProductCatalogPort {
+
+    private final Duration latency;
+
+    public StubProductCatalogAdapter(@Value("${wishlist.catalog.stub.latency:0ms}") final Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public Map<Long, ProductDetails> findAllByIds(final Collection<Long> productIds) {
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Map.of();
+            }
+        }
+        Map<Long, ProductDetails> found = HashMap.newHashMap(productIds.size());
+        for (Long productId : productIds) {
+            if (productId != null && productId > 0) found.put(productId, details(productId));
+        }
+        return found;
+    }
+
+    static ProductDetails details(final long productId) {
+        return new ProductDetails(productId,
+                "Product " + productId,
+                BigDecimal.valueOf(100 + productId % 100_000, 2),
+                "https://images.example.com/products/" + productId + ".jpg");
+    }
+
+}
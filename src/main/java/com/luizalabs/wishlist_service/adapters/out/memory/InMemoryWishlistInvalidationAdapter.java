@@ -0,0 +1,56 @@
+package com.luizalabs.wishlist_service.adapters.out.memory;
+
+import com.luizalabs.wishlist_service.application.port.out.WishlistInvalidationPort;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Process-local stand-in for {@code MongoWishlistInvalidationAdapter}, active with the {@code in-memory} profile.
+ * Invalidations are delivered synchronously, on the publishing thread, to every other instance that {@link #join()}ed
+ * the same bus; on its own, an instance has nobody to tell. Tests use it to run several instances in one process.
+ */
+@Component
+@Profile("in-memory")
+public class InMemoryWishlistInvalidationAdapter implements WishlistInvalidationPort {
+
+    private final Set<InMemoryWishlistInvalidationAdapter> bus;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public InMemoryWishlistInvalidationAdapter() {
+        this(new CopyOnWriteArraySet<>());
+    }
+
+    private InMemoryWishlistInvalidationAdapter(final Set<InMemoryWishlistInvalidationAdapter> bus) {
+        this.bus = bus;
+        bus.add(this);
+    }
+
+    /**
+     * Returns another instance on the same bus.
+     */
+    public InMemoryWishlistInvalidationAdapter join() {
+        return new InMemoryWishlistInvalidationAdapter(bus);
+    }
+
+    @Override
+    public void publish(final Collection<Long> userIds) {
+        for (InMemoryWishlistInvalidationAdapter instance : bus) {
+            if (instance == this) continue;
+            for (Listener listener : instance.listeners) {
+                userIds.forEach(listener::invalidated);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(final Listener listener) {
+        listeners.add(listener);
+    }
+
+}
@@ -0,0 +1,176 @@
+package com.luizalabs.wishlist_service.adapters.out.memory;
+
+import com.luizalabs.wishlist_service.application.port.out.ProductFollowersPort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistBatchWritePort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistExportPort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistRepositoryPort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistScanPort;
+import com.luizalabs.wishlist_service.domain.exception.ProductNotFoundException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistNotFoundException;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistPage;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Process-local stand-in for {@code WishlistMongoAdapter}, active with the {@code in-memory} profile, so the
+ * service can be exercised without a database. Each operation is atomic per userId and bumps the version, with
+ * the same outcomes as the Mongo adapter. Stored wishlists are copied on the way in and out. Nothing is persisted across restarts.
+ */
+@Component
+@Profile("in-memory")
+@Qualifier("wishlistStore")
+public class InMemoryWishlistRepository implements WishlistRepositoryPort, WishlistBatchWritePort, WishlistScanPort, WishlistExportPort, ProductFollowersPort {
+
+    private final ConcurrentHashMap<Long, Wishlist> wishlists = new ConcurrentHashMap<>();
+
+    @Override
+    public Wishlist save(final Wishlist wishlist) {
+        return wishlists.compute(wishlist.getUserId(), (id, current) ->
+                Wishlist.rehydrate(id, wishlist.getProductIds(), (current == null ? 0 : current.getVersion()) + 1)
+        ).copy();
+    }
+
+    @Override
+    public void saveAll(final List<Wishlist> wishlists) {
+        wishlists.forEach(this::save);
+    }
+
+    @Override
+    public Wishlist addProduct(final Long userId,
+                               final Long productId,
+                               final int maxItems) {
+        return wishlists.compute(userId, (id, current) -> {
+            var updated = current == null ? Wishlist.create(id) : current.copy();
+            updated.addProduct(productId, maxItems);
+            return nextVersion(updated);
+        }).copy();
+    }
+
+    @Override
+    public Optional<Wishlist> compareAndSet(final Wishlist expected,
+                                            final Wishlist updated) {
+        var applied = new AtomicBoolean();
+        var stored = wishlists.compute(expected.getUserId(), (id, current) -> {
+            if (current != null && current.getVersion() != expected.getVersion()) return current;
+            applied.set(true);
+            return Wishlist.rehydrate(id, updated.getProductIds(), (current == null ? 0 : current.getVersion()) + 1);
+        });
+        return applied.get() ? Optional.of(stored.copy()) : Optional.empty();
+    }
+
+    @Override
+    public Map<Long, Wishlist> findAllByUserIds(final Collection<Long> userIds) {
+        Map<Long, Wishlist> found = new HashMap<>(userIds.size() * 2);
+        for (Long userId : userIds) {
+            var wishlist = wishlists.get(userId);
+            if (wishlist != null) found.put(userId, wishlist.copy());
+        }
+        return found;
+    }
+
+    @Override
+    public List<Optional<Wishlist>> compareAndSetAll(final List<Wishlist> expected,
+                                                     final List<Wishlist> updated) {
+        List<Optional<Wishlist>> results = new ArrayList<>(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            results.add(compareAndSet(expected.get(i), updated.get(i)));
+        }
+        return results;
+    }
+
+    @Override
+    public void remove(final Long userId,
+                       final Long productId) {
+        var removed = new AtomicBoolean();
+        var stored = wishlists.computeIfPresent(userId, (id, current) -> {
+            if (!current.contains(productId)) return current;
+            removed.set(true);
+            var copy = current.copy();
+            copy.removeProduct(productId);
+            return nextVersion(copy);
+        });
+        if (stored == null) throw new WishlistNotFoundException("Wishlist not found for user " + userId);
+        if (!removed.get()) throw new ProductNotFoundException("Product not found in wishlist for user " + userId);
+    }
+
+    @Override
+    public Optional<Wishlist> findByUserId(final Long userId) {
+        return Optional.ofNullable(wishlists.get(userId)).map(Wishlist::copy);
+    }
+
+    @Override
+    public boolean containsProduct(final Long userId,
+                                   final Long productId) {
+        var wishlist = wishlists.get(userId);
+        return wishlist != null && wishlist.contains(productId);
+    }
+
+    @Override
+    public Optional<WishlistPage> findPage(final Long userId,
+                                           final WishlistPageCursor cursor,
+                                           final int limit) {
+        return Optional.ofNullable(wishlists.get(userId)).map(wishlist -> WishlistPage.of(wishlist, cursor, limit));
+    }
+
+    @Override
+    public Stream<Long> streamUserIds() {
+        return List.copyOf(wishlists.keySet()).stream();
+    }
+
+    @Override
+    public Stream<Wishlist> streamWishlists(final Long afterUserId,
+                                            final Long toUserId,
+                                            final int batchSize) {
+        return wishlists.values().stream()
+                .filter(wishlist -> afterUserId == null || wishlist.getUserId() > afterUserId)
+                .filter(wishlist -> toUserId == null || wishlist.getUserId() <= toUserId)
+                .sorted(Comparator.comparing(Wishlist::getUserId))
+                .map(Wishlist::copy)
+                .toList()
+                .stream();
+    }
+
+    @Override
+    public Optional<Long> firstUserId() {
+        return wishlists.keySet().stream().min(Comparator.naturalOrder());
+    }
+
+    @Override
+    public Optional<Long> lastUserId() {
+        return wishlists.keySet().stream().max(Comparator.naturalOrder());
+    }
+
+    @Override
+    public Stream<Long> streamUserIdsByProduct(final Long productId,
+                                               final Long afterUserId,
+                                               final int limit,
+                                               final int batchSize) {
+        var userIds = wishlists.values().stream()
+                .filter(wishlist -> wishlist.contains(productId))
+                .map(Wishlist::getUserId)
+                .filter(userId -> afterUserId == null || userId > afterUserId)
+                .sorted()
+                .toList()
+                .stream();
+        return limit > 0 ? userIds.limit(limit) : userIds;
+    }
+
+    private static Wishlist nextVersion(final Wishlist wishlist) {
+        return Wishlist.rehydrate(wishlist.getUserId(), wishlist.getProductIds(), wishlist.getVersion() + 1);
+    }
+
+}
@@ -0,0 +1,299 @@
+package com.luizalabs.wishlist_service.adapters.out.mongo;
+
+import com.luizalabs.wishlist_service.application.port.out.WishlistInvalidationPort;
+import com.mongodb.CursorType;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Carries invalidations between instances through a capped collection that each of them follows with a tailable
+ * cursor. Published userIds are queued and inserted by a background thread; a lost invalidation makes the other
+ * instances drop everything instead.
+ */
+@Slf4j
+@Component
+@Profile("!in-memory")
+public class MongoWishlistInvalidationAdapter implements WishlistInvalidationPort, AutoCloseable {
+
+    static final String COLLECTION = "wishlist_invalidations";
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    final String instanceId = UUID.randomUUID().toString();
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final DataSize collectionSize;
+    private final long maxDocuments;
+    private final Duration maxAwait;
+    private final Duration retryDelay;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final BlockingQueue<Long> pending;
+    private final AtomicBoolean missed = new AtomicBoolean();
+    private final AtomicBoolean publishing = new AtomicBoolean();
+    private final Thread publisher;
+    private final Counter published;
+    private final Counter publishFailed;
+    private final Counter received;
+    private final Counter gaps;
+    private final Timer lag;
+
+    private volatile boolean collectionReady;
+    private volatile boolean closed;
+    private volatile Thread tailer;
+    /**
+     * Position of the last document read from the feed. Only the tailer thread uses it.
+     */
+    private BsonTimestamp lastSeen;
+
+    public MongoWishlistInvalidationAdapter(final MongoTemplate mongoTemplate,
+                                            @Value("${wishlist.invalidation.enabled:true}") final boolean enabled,
+                                            @Value("${wishlist.invalidation.collection-size:16MB}") final DataSize collectionSize,
+                                            @Value("${wishlist.invalidation.max-documents:100000}") final long maxDocuments,
+                                            @Value("${wishlist.invalidation.queue-capacity:10000}") final int queueCapacity,
+                                            @Value("${wishlist.invalidation.max-await:1s}") final Duration maxAwait,
+                                            @Value("${wishlist.invalidation.retry-delay:1s}") final Duration retryDelay,
+                                            final MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.collectionSize = collectionSize;
+        this.maxDocuments = maxDocuments;
+        this.maxAwait = maxAwait;
+        this.retryDelay = retryDelay;
+        this.pending = new ArrayBlockingQueue<>(queueCapacity);
+        this.published = Counter.builder("wishlist.invalidation.published")
+                .description("Wishlists announced as written to the other instances")
+                .register(meterRegistry);
+        this.publishFailed = Counter.builder("wishlist.invalidation.publish.failed")
+                .description("Invalidations dropped because the queue was full or the insert failed")
+                .register(meterRegistry);
+        this.received = Counter.builder("wishlist.invalidation.received")
+                .description("Wishlists invalidated because another instance wrote them")
+                .register(meterRegistry);
+        this.gaps = Counter.builder("wishlist.invalidation.gaps")
+                .description("Times invalidations may have been missed, each of which flushes every cache")
+                .register(meterRegistry);
+        this.lag = Timer.builder("wishlist.invalidation.lag")
+                .description("Time from publishing an invalidation to receiving it on another instance")
+                .register(meterRegistry);
+        Gauge.builder("wishlist.invalidation.queue.depth", pending, BlockingQueue::size)
+                .description("Invalidations waiting to be published")
+                .register(meterRegistry);
+        this.publisher = new Thread(this::publishLoop, "wishlist-invalidation-publisher");
+        this.publisher.setDaemon(true);
+    }
+
+    /**
+     * Starts the publisher thread on the first call, so an instance that never writes never starts it.
+     */
+    @Override
+    public void publish(final Collection<Long> userIds) {
+        if (!enabled) return;
+        for (Long userId : userIds) {
+            if (!pending.offer(userId)) {
+                publishFailed.increment();
+                missed.set(true);
+            }
+        }
+        if (publishing.compareAndSet(false, true)) publisher.start();
+    }
+
+    @Override
+    public void subscribe(final Listener listener) {
+        listeners.add(listener);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void onApplicationReady() {
+        if (!enabled || listeners.isEmpty() || tailer != null || closed) return;
+        tailer = Thread.ofVirtual().name("wishlist-invalidation-tailer").start(this::tail);
+    }
+
+    /**
+     * Publishes what is still queued, giving up after {@code maxAwait} plus {@code retryDelay}, and stops following.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        long timeoutMillis = maxAwait.plus(retryDelay).toMillis();
+        if (publishing.get()) publisher.join(timeoutMillis);
+        var current = tailer;
+        if (current != null) current.join(timeoutMillis);
+    }
+
+    private void publishLoop() {
+        List<Long> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        try {
+            while (!closed || !pending.isEmpty()) {
+                Long first = pending.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null && !missed.get()) continue;
+                if (first != null) batch.add(first);
+                pending.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+                send(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(final List<Long> batch) throws InterruptedException {
+        boolean all = missed.getAndSet(false);
+        try {
+            ensureCollection();
+            // An empty timestamp is replaced by the server's on insert.
+            collection().insertOne(new Document("ts", new BsonTimestamp())
+                    .append("userIds", List.copyOf(new LinkedHashSet<>(batch)))
+                    .append("all", all)
+                    .append("instance", instanceId)
+                    .append("publishedAt", new Date()));
+            published.increment(batch.size());
+        } catch (RuntimeException e) {
+            missed.set(true);
+            publishFailed.increment(batch.size());
+            log.warn("Could not publish the invalidation of {} wishlists, retrying in {}", batch.size(), retryDelay, e);
+            Thread.sleep(retryDelay);
+        }
+    }
+
+    private void tail() {
+        while (!closed) {
+            try {
+                follow();
+            } catch (RuntimeException e) {
+                if (closed) return;
+                log.warn("Lost the wishlist invalidation feed, reconnecting in {}", retryDelay, e);
+                try {
+                    Thread.sleep(retryDelay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens a cursor on the feed, after the last document read when it is still there, and delivers what it
+     * reads until this adapter is closed or the cursor fails.
+     */
+    void follow() {
+        ensureCollection();
+        BsonTimestamp oldest = timestamp(edge(1));
+        BsonTimestamp newest = timestamp(edge(-1));
+        boolean resumed = lastSeen != null && oldest != null && oldest.compareTo(lastSeen) <= 0;
+        BsonTimestamp from = resumed ? lastSeen : newest;
+        long openedAt = System.currentTimeMillis();
+        // Matches the document at the position itself, since a tailable cursor whose query matches
+        // nothing yet is closed by the server at once.
+        try (MongoCursor<Document> cursor = collection().find(Filters.gte("ts", from))
+                .cursorType(CursorType.TailableAwait)
+                .maxAwaitTime(maxAwait.toMillis(), TimeUnit.MILLISECONDS)
+                .iterator()) {
+            if (!resumed) {
+                if (lastSeen != null) gaps.increment();
+                // Also on the first connection: reads may have been cached before it.
+                listeners.forEach(Listener::invalidatedAll);
+            }
+            lastSeen = from;
+            while (!closed) {
+                Document document = cursor.tryNext();
+                if (document != null) {
+                    BsonTimestamp ts = timestamp(document);
+                    if (ts == null || ts.compareTo(lastSeen) <= 0) continue;
+                    lastSeen = ts;
+                    deliver(document, openedAt);
+                } else if (cursor.getServerCursor() == null) {
+                    throw new IllegalStateException("The server closed the invalidation cursor");
+                }
+            }
+        }
+    }
+
+    /**
+     * Documents published before the cursor was opened are delivered, but left out of the lag.
+     */
+    private void deliver(final Document document,
+                         final long openedAt) {
+        if (instanceId.equals(document.getString("instance"))) return;
+        if (document.getBoolean("all", false)) {
+            gaps.increment();
+            listeners.forEach(Listener::invalidatedAll);
+        }
+        List<Long> userIds = document.getList("userIds", Long.class, List.of());
+        for (Long userId : userIds) {
+            listeners.forEach(listener -> listener.invalidated(userId));
+        }
+        received.increment(userIds.size());
+        long publishedAt = document.getDate("publishedAt").getTime();
+        if (publishedAt >= openedAt) {
+            lag.record(Math.max(0, System.currentTimeMillis() - publishedAt), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Document edge(final int naturalOrder) {
+        return collection().find(Filters.exists("ts")).sort(new Document("$natural", naturalOrder)).limit(1).first();
+    }
+
+    private static BsonTimestamp timestamp(final Document document) {
+        return document == null ? null : document.get("ts", BsonTimestamp.class);
+    }
+
+    /**
+     * Creates the capped collection, with a marker document to start following from.
+     */
+    void ensureCollection() {
+        if (collectionReady) return;
+        if (!mongoTemplate.collectionExists(COLLECTION)) {
+            try {
+                mongoTemplate.createCollection(COLLECTION, CollectionOptions.empty()
+                        .capped()
+                        .size(collectionSize.toBytes())
+                        .maxDocuments(maxDocuments));
+            } catch (RuntimeException e) {
+                // Another instance created it first.
+                if (!mongoTemplate.collectionExists(COLLECTION)) throw e;
+            }
+        }
+        if (edge(-1) == null) {
+            collection().insertOne(new Document("ts", new BsonTimestamp())
+                    .append("instance", instanceId)
+                    .append("publishedAt", new Date()));
+        }
+        collectionReady = true;
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+
+}
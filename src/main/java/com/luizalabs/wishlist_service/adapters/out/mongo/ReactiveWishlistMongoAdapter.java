@@ -0,0 +1,112 @@
+package com.luizalabs.wishlist_service.adapters.out.mongo;
+
+import com.luizalabs.wishlist_service.application.port.out.ReactiveWishlistRepositoryPort;
+import com.luizalabs.wishlist_service.domain.exception.ProductNotFoundException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistMaxLimitException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistNotFoundException;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistPage;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link WishlistMongoAdapter}, issuing the same queries through the reactive driver.
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveWishlistMongoAdapter implements ReactiveWishlistRepositoryPort {
+    private static final FindAndModifyOptions UPSERT_RETURN_NEW = FindAndModifyOptions.options().upsert(true).returnNew(true);
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final WishlistMapper mapper;
+
+    @Override
+    public Mono<Wishlist> save(final Wishlist wishlist) {
+        WishlistDocument doc = mapper.toDocument(wishlist);
+        Query query = new Query(Criteria.where("userId").is(doc.getUserId()));
+        Update update = new Update().set("productIds", doc.getProductIds()).inc("version", 1);
+
+        return mongoTemplate.upsert(query, update, WishlistDocument.class)
+                .then(mongoTemplate.findOne(query, WishlistDocument.class))
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public Mono<Wishlist> addProduct(final Long userId,
+                                     final Long productId,
+                                     final int maxItems) {
+        Query query = WishlistMongoAdapter.addProductQuery(userId, productId, maxItems);
+        Update update = new Update().addToSet("productIds", productId).inc("version", 1);
+
+        return mongoTemplate.findAndModify(query, update, UPSERT_RETURN_NEW, WishlistDocument.class)
+                .onErrorResume(DuplicateKeyException.class, e ->
+                        mongoTemplate.findAndModify(query, update, RETURN_NEW, WishlistDocument.class)
+                                .switchIfEmpty(Mono.error(() -> new WishlistMaxLimitException(
+                                        "Wishlist reached max size: " + maxItems
+                                ))))
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public Mono<Wishlist> compareAndSet(final Wishlist expected,
+                                        final Wishlist updated) {
+        return mongoTemplate.findAndModify(WishlistMongoAdapter.compareAndSetQuery(expected),
+                        WishlistMongoAdapter.compareAndSetUpdate(expected, updated), UPSERT_RETURN_NEW, WishlistDocument.class)
+                .map(mapper::toDomain)
+                .onErrorResume(DuplicateKeyException.class, e -> Mono.empty());
+    }
+
+    @Override
+    public Mono<Void> remove(final Long userId,
+                             final Long productId) {
+        Query query = new Query(Criteria.where("userId").is(userId));
+        return mongoTemplate.updateFirst(query, WishlistMongoAdapter.removal(productId), WishlistDocument.class)
+                .flatMap(result -> {
+                    if (result.getMatchedCount() == 0) {
+                        return Mono.error(new WishlistNotFoundException("Wishlist not found for user " + userId));
+                    }
+                    if (result.getModifiedCount() == 0) {
+                        return Mono.error(new ProductNotFoundException("Product not found in wishlist for user " + userId));
+                    }
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public Mono<Wishlist> findByUserId(final Long userId) {
+        Query query = new Query(Criteria.where("userId").is(userId));
+        query.fields().include("userId", "productIds", "version").exclude("_id");
+        return mongoTemplate.findOne(query, WishlistDocument.class)
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public Mono<Boolean> containsProduct(final Long userId,
+                                         final Long productId) {
+        Query query = new Query(Criteria.where("userId").is(userId).and("productIds").is(productId)).limit(1);
+        query.fields().include("userId").exclude("_id");
+        return mongoTemplate.findOne(query, WishlistDocument.class).hasElement();
+    }
+
+    @Override
+    public Mono<WishlistPage> findPage(final Long userId,
+                                       final WishlistPageCursor cursor,
+                                       final int limit) {
+        return mongoTemplate.findOne(WishlistMongoAdapter.pageQuery(userId, cursor, limit), Document.class,
+                        mongoTemplate.getCollectionName(WishlistDocument.class))
+                .map(WishlistMongoAdapter::toPage);
+    }
+
+}
@@ -1,12 +1,13 @@
 package com.luizalabs.wishlist_service.adapters.out.mongo;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.Optional;
 
 public interface SpringDataWishlistRepository extends MongoRepository<WishlistDocument, String> {
 
+    @Query(value = "{ 'userId': ?0 }", fields = "{ '_id': 0, 'userId': 1, 'productIds': 1, 'version': 1 }")
     Optional<WishlistDocument> findByUserId(Long userId);
-    Optional<WishlistDocument> findByUserIdAndProductIdsContaining(Long userId, Long productId);
 
 }
@@ -5,17 +5,19 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "wishlists")
+@CompoundIndex(name = "productIds_userId", def = "{'productIds': 1, 'userId': 1}")
 public class WishlistDocument {
 
     @Id
@@ -23,6 +25,7 @@ public class WishlistDocument {
     @Indexed(unique = true)
     private Long userId;
     @Builder.Default
-    private Set<Long> productIds = new LinkedHashSet<>();
+    private List<Long> productIds = new ArrayList<>();
+    private Long version;
 
 }
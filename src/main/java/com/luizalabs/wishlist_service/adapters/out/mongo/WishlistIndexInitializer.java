@@ -0,0 +1,33 @@
+package com.luizalabs.wishlist_service.adapters.out.mongo;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the indexes declared on {@link WishlistDocument} before the application starts, and fails the startup
+ * when it cannot: the upserts of {@link WishlistMongoAdapter} rely on the unique {@code userId} index.
+ */
+@Component
+@Profile("!in-memory")
+@RequiredArgsConstructor
+public class WishlistIndexInitializer implements SmartInitializingSingleton {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            var indexOps = mongoTemplate.indexOps(WishlistDocument.class);
+            new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext())
+                    .resolveIndexFor(WishlistDocument.class)
+                    .forEach(indexOps::ensureIndex);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Could not ensure the wishlist indexes", e);
+        }
+    }
+
+}
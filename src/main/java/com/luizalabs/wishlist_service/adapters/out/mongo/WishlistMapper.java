@@ -3,21 +3,28 @@ package com.luizalabs.wishlist_service.adapters.out.mongo;
 import com.luizalabs.wishlist_service.domain.model.Wishlist;
 import org.springframework.stereotype.Component;
 
-import java.util.LinkedHashSet;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 public class WishlistMapper {
     
     public Wishlist toDomain(final WishlistDocument document) {
         if (document == null) return null;
-        return Wishlist.rehydrate(document.getUserId(), document.getProductIds());
+        return Wishlist.rehydrate(document.getUserId(), document.getProductIds(),
+                document.getVersion() == null ? 0 : document.getVersion());
     }
 
     public WishlistDocument toDocument(final Wishlist model) {
         if (model == null) return null;
+        List<Long> productIds = new ArrayList<>(model.size());
+        for (int i = 0; i < model.size(); i++) {
+            productIds.add(model.productIdAt(i));
+        }
         return WishlistDocument.builder()
                 .userId(model.getUserId())
-                .productIds(new LinkedHashSet<>(model.items()))
+                .productIds(productIds)
+                .version(model.getVersion())
                 .build();
     }
 
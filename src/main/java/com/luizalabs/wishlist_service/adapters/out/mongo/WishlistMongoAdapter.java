@@ -1,19 +1,54 @@
 package com.luizalabs.wishlist_service.adapters.out.mongo;
 
+import com.luizalabs.wishlist_service.application.port.out.ProductFollowersPort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistBatchWritePort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistExportPort;
 import com.luizalabs.wishlist_service.application.port.out.WishlistRepositoryPort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistScanPort;
+import com.luizalabs.wishlist_service.domain.exception.ProductNotFoundException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistMaxLimitException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistNotFoundException;
 import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistPage;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Component
+@Profile("!in-memory")
+@Qualifier("wishlistStore")
 @RequiredArgsConstructor
-public class WishlistMongoAdapter implements WishlistRepositoryPort {
+public class WishlistMongoAdapter implements WishlistRepositoryPort, WishlistBatchWritePort, WishlistScanPort, WishlistExportPort, ProductFollowersPort {
+    private static final FindAndModifyOptions UPSERT_RETURN_NEW = FindAndModifyOptions.options().upsert(true).returnNew(true);
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+    private static final int SCAN_BATCH_SIZE = 1000;
+
     private final SpringDataWishlistRepository repository;
     private final WishlistMapper mapper;
     private final MongoTemplate mongoTemplate;
@@ -22,7 +57,7 @@ public class WishlistMongoAdapter implements WishlistRepositoryPort {
     public Wishlist save(final Wishlist wishlist) {
         WishlistDocument doc = mapper.toDocument(wishlist);
         Query query = new Query(Criteria.where("userId").is(doc.getUserId()));
-        Update update = new Update().set("productIds", doc.getProductIds());
+        Update update = new Update().set("productIds", doc.getProductIds()).inc("version", 1);
 
         mongoTemplate.upsert(query, update, WishlistDocument.class);
 
@@ -30,14 +65,100 @@ public class WishlistMongoAdapter implements WishlistRepositoryPort {
         return mapper.toDomain(saved);
     }
 
+    @Override
+    public void saveAll(final List<Wishlist> wishlists) {
+        if (wishlists.isEmpty()) return;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WishlistDocument.class);
+        for (Wishlist wishlist : wishlists) {
+            WishlistDocument doc = mapper.toDocument(wishlist);
+            bulk.upsert(new Query(Criteria.where("userId").is(doc.getUserId())),
+                    new Update().set("productIds", doc.getProductIds()).inc("version", 1));
+        }
+        bulk.execute();
+    }
+
+    @Override
+    public Wishlist addProduct(final Long userId,
+                               final Long productId,
+                               final int maxItems) {
+        Query query = addProductQuery(userId, productId, maxItems);
+        Update update = new Update().addToSet("productIds", productId).inc("version", 1);
+
+        try {
+            return mapper.toDomain(mongoTemplate.findAndModify(query, update, UPSERT_RETURN_NEW, WishlistDocument.class));
+        } catch (DuplicateKeyException e) {
+            // The guard did not match an existing document: either it is full, or a concurrent
+            // first add inserted it between our match and our insert. Retry once without upsert.
+            WishlistDocument updated = mongoTemplate.findAndModify(query, update, RETURN_NEW, WishlistDocument.class);
+            if (updated == null) {
+                throw new WishlistMaxLimitException(
+                        "Wishlist reached max size: " + maxItems
+                );
+            }
+            return mapper.toDomain(updated);
+        }
+    }
+
+    @Override
+    public Optional<Wishlist> compareAndSet(final Wishlist expected,
+                                            final Wishlist updated) {
+        try {
+            return Optional.ofNullable(mapper.toDomain(mongoTemplate.findAndModify(
+                    compareAndSetQuery(expected), compareAndSetUpdate(expected, updated), UPSERT_RETURN_NEW, WishlistDocument.class)));
+        } catch (DuplicateKeyException e) {
+            // The stored version moved on, so the upsert tried to insert.
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Map<Long, Wishlist> findAllByUserIds(final Collection<Long> userIds) {
+        Query query = new Query(Criteria.where("userId").in(userIds));
+        query.fields().include("userId", "productIds", "version").exclude("_id");
+        Map<Long, Wishlist> wishlists = new HashMap<>(userIds.size() * 2);
+        for (WishlistDocument document : mongoTemplate.find(query, WishlistDocument.class)) {
+            wishlists.put(document.getUserId(), mapper.toDomain(document));
+        }
+        return wishlists;
+    }
+
+    @Override
+    public List<Optional<Wishlist>> compareAndSetAll(final List<Wishlist> expected,
+                                                     final List<Wishlist> updated) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WishlistDocument.class);
+        for (int i = 0; i < expected.size(); i++) {
+            bulk.upsert(compareAndSetQuery(expected.get(i)), compareAndSetUpdate(expected.get(i), updated.get(i)));
+        }
+        Set<Integer> conflicts = Set.of();
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // As in compareAndSet, a version that moved on turns the upsert into a duplicate insert.
+            conflicts = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCategory() != ErrorCategory.DUPLICATE_KEY) throw e;
+                conflicts.add(error.getIndex());
+            }
+        }
+        List<Optional<Wishlist>> results = new ArrayList<>(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            results.add(conflicts.contains(i)
+                    ? Optional.empty()
+                    : Optional.of(Wishlist.rehydrate(expected.get(i).getUserId(), updated.get(i).getProductIds(), expected.get(i).getVersion() + 1)));
+        }
+        return results;
+    }
+
     @Override
     public void remove(final Long userId,
-                       final Long productId) throws Exception {
+                       final Long productId) {
         Query query = new Query(Criteria.where("userId").is(userId));
-        Update update = new Update().pull("productIds", productId);
-        var result = mongoTemplate.updateFirst(query, update, WishlistDocument.class);
+        var result = mongoTemplate.updateFirst(query, removal(productId), WishlistDocument.class);
         if (result.getMatchedCount() == 0) {
-            throw new Exception("Wishlist document not found for userId: " + userId);
+            throw new WishlistNotFoundException("Wishlist not found for user " + userId);
+        }
+        if (result.getModifiedCount() == 0) {
+            throw new ProductNotFoundException("Product not found in wishlist for user " + userId);
         }
     }
 
@@ -48,9 +169,200 @@ public class WishlistMongoAdapter implements WishlistRepositoryPort {
     }
 
     @Override
-    public Optional<Wishlist> findProductForUserWishlist(final Long userId,
-                                                         final Long productId) {
-        return repository.findByUserIdAndProductIdsContaining(userId, productId).map(mapper::toDomain);
+    public boolean containsProduct(final Long userId,
+                                   final Long productId) {
+        Query query = new Query(Criteria.where("userId").is(userId).and("productIds").is(productId));
+        query.fields().include("userId").exclude("_id");
+        return mongoTemplate.findOne(query, WishlistDocument.class) != null;
+    }
+
+    @Override
+    public Optional<WishlistPage> findPage(final Long userId,
+                                           final WishlistPageCursor cursor,
+                                           final int limit) {
+        Document page = mongoTemplate.findOne(pageQuery(userId, cursor, limit), Document.class,
+                mongoTemplate.getCollectionName(WishlistDocument.class));
+        return Optional.ofNullable(page).map(WishlistMongoAdapter::toPage);
+    }
+
+    @Override
+    public Stream<Long> streamUserIds() {
+        Query query = new Query().cursorBatchSize(SCAN_BATCH_SIZE);
+        query.fields().include("userId").exclude("_id");
+        return mongoTemplate.stream(query, WishlistDocument.class)
+                .map(WishlistDocument::getUserId);
+    }
+
+    @Override
+    public Stream<Wishlist> streamWishlists(final Long afterUserId,
+                                            final Long toUserId,
+                                            final int batchSize) {
+        Criteria criteria = new Criteria();
+        if (afterUserId != null || toUserId != null) {
+            criteria = Criteria.where("userId");
+            if (afterUserId != null) criteria.gt(afterUserId);
+            if (toUserId != null) criteria.lte(toUserId);
+        }
+        // A range scan of the unique userId index, so the cursor never sorts in memory and a range can be
+        // resumed from the last userId written.
+        Query query = new Query(criteria)
+                .with(Sort.by("userId"))
+                .cursorBatchSize(batchSize);
+        query.fields().include("userId", "productIds", "version").exclude("_id");
+        return mongoTemplate.stream(query, WishlistDocument.class)
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public Optional<Long> firstUserId() {
+        return boundaryUserId(Sort.Direction.ASC);
+    }
+
+    @Override
+    public Optional<Long> lastUserId() {
+        return boundaryUserId(Sort.Direction.DESC);
+    }
+
+    @Override
+    public Stream<Long> streamUserIdsByProduct(final Long productId,
+                                               final Long afterUserId,
+                                               final int limit,
+                                               final int batchSize) {
+        Criteria criteria = Criteria.where("productIds").is(productId);
+        if (afterUserId != null) {
+            criteria = criteria.and("userId").gt(afterUserId);
+        }
+        // Served by the {productIds: 1, userId: 1} index: equality on the product, then a range
+        // scan in userId order, so neither the filter nor the sort touches unrelated documents.
+        Query query = new Query(criteria)
+                .with(Sort.by("userId"))
+                .limit(limit)
+                .cursorBatchSize(batchSize);
+        query.fields().include("userId").exclude("_id");
+        return mongoTemplate.stream(query, WishlistDocument.class)
+                .map(WishlistDocument::getUserId);
+    }
+
+    private Optional<Long> boundaryUserId(final Sort.Direction direction) {
+        Query query = new Query().with(Sort.by(direction, "userId")).limit(1);
+        query.fields().include("userId").exclude("_id");
+        return Optional.ofNullable(mongoTemplate.findOne(query, WishlistDocument.class))
+                .map(WishlistDocument::getUserId);
+    }
+
+    /**
+     * Matches the wishlist if it already has the product, or if it has fewer than {@code maxItems}: position
+     * {@code maxItems - 1} of the array does not exist.
+     */
+    static Query addProductQuery(final Long userId,
+                                 final Long productId,
+                                 final int maxItems) {
+        return new Query(Criteria.where("userId").is(userId).orOperator(
+                Criteria.where("productIds").is(productId),
+                Criteria.where("productIds." + (maxItems - 1)).exists(false)
+        ));
+    }
+
+    static Query compareAndSetQuery(final Wishlist expected) {
+        return new Query(Criteria.where("userId").is(expected.getUserId())
+                .and("version").in(storedVersion(expected.getVersion())));
+    }
+
+    /**
+     * Sends only what changed when {@code updated} is {@code expected} with products removed and others appended,
+     * as {@link Wishlist#applyChanges} produces; any other change sets the whole array.
+     */
+    static UpdateDefinition compareAndSetUpdate(final Wishlist expected,
+                                                final Wishlist updated) {
+        List<Long> removed = new ArrayList<>();
+        for (int i = 0; i < expected.size(); i++) {
+            if (!updated.contains(expected.productIdAt(i))) removed.add(expected.productIdAt(i));
+        }
+        int kept = expected.size() - removed.size();
+        if (kept > updated.size()) return replacement(updated);
+        for (int i = 0, j = 0; i < expected.size(); i++) {
+            long productId = expected.productIdAt(i);
+            if (updated.contains(productId) && updated.productIdAt(j++) != productId) return replacement(updated);
+        }
+        List<Long> added = new ArrayList<>(updated.size() - kept);
+        for (int i = kept; i < updated.size(); i++) {
+            if (expected.contains(updated.productIdAt(i))) return replacement(updated);
+            added.add(updated.productIdAt(i));
+        }
+        if (removed.isEmpty()) {
+            return new Update().push("productIds").each(added.toArray()).inc("version", 1);
+        }
+        Document productIds = new Document("$ifNull", List.of("$productIds", List.of()));
+        Document set = new Document()
+                .append("productIds", new Document("$concatArrays", List.of(
+                        new Document("$filter", new Document("input", productIds)
+                                .append("cond", new Document("$not", List.of(new Document("$in", List.of("$$this", removed)))))),
+                        added)))
+                .append("version", new Document("$add", List.of(new Document("$ifNull", List.of("$version", 0L)), 1L)));
+        return AggregationUpdate.from(List.of(context -> new Document("$set", set)));
+    }
+
+    private static Update replacement(final Wishlist updated) {
+        List<Long> productIds = new ArrayList<>(updated.size());
+        for (int i = 0; i < updated.size(); i++) productIds.add(updated.productIdAt(i));
+        return new Update().set("productIds", productIds).inc("version", 1);
+    }
+
+    /**
+     * Projects only the requested slice of the product array, plus where it starts and the array's length, all
+     * computed on the server the way {@link WishlistPageCursor#start} does.
+     */
+    static Query pageQuery(final Long userId,
+                           final WishlistPageCursor cursor,
+                           final int limit) {
+        Document productIds = new Document("$ifNull", List.of("$productIds", List.of()));
+        Document size = new Document("$size", productIds);
+        Document position = new Document("$min", List.of(cursor.position(), size));
+        Document start = cursor.afterProductId() == null ? position : new Document("$let", new Document("vars",
+                new Document("found", new Document("$indexOfArray", List.of(productIds, cursor.afterProductId()))))
+                .append("in", new Document("$cond", List.of(
+                        new Document("$gte", List.of("$$found", 0)),
+                        new Document("$add", List.of("$$found", 1)),
+                        position))));
+        Document slice = new Document("$slice", List.of(productIds, start, limit));
+        Query query = new Query(Criteria.where("userId").is(userId));
+        query.fields().include("userId").exclude("_id");
+        query.fields().project(() -> slice).as("productIds");
+        query.fields().project(() -> start).as("offset");
+        query.fields().project(() -> size).as("total");
+        return query;
+    }
+
+    static WishlistPage toPage(final Document document) {
+        List<?> slice = document.getList("productIds", Object.class, List.of());
+        long[] productIds = new long[slice.size()];
+        for (int i = 0; i < productIds.length; i++) productIds[i] = ((Number) slice.get(i)).longValue();
+        return new WishlistPage(((Number) document.get("userId")).longValue(), productIds,
+                ((Number) document.get("offset")).intValue(), ((Number) document.get("total")).intValue());
+    }
+
+    /**
+     * Documents written before versioning have no version field, and count as version 0.
+     */
+    static Object[] storedVersion(final long version) {
+        return version == 0 ? new Object[]{0L, null} : new Object[]{version};
+    }
+
+    /**
+     * Pulls the product and bumps the version only if the product was there, so the modified count tells an
+     * absent product apart from a removed one.
+     */
+    static AggregationUpdate removal(final Long productId) {
+        Document productIds = new Document("$ifNull", List.of("$productIds", List.of()));
+        Document present = new Document("$in", List.of(productId, productIds));
+        Document set = new Document()
+                .append("productIds", new Document("$filter", new Document("input", productIds)
+                        .append("cond", new Document("$ne", List.of("$$this", productId)))))
+                .append("version", new Document("$cond", List.of(
+                        present,
+                        new Document("$add", List.of(new Document("$ifNull", List.of("$version", 0L)), 1L)),
+                        "$version")));
+        return AggregationUpdate.from(List.of(context -> new Document("$set", set)));
     }
 
 }
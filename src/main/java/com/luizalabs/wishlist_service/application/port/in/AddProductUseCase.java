@@ -3,5 +3,8 @@ package com.luizalabs.wishlist_service.application.port.in;
 import com.luizalabs.wishlist_service.domain.model.Wishlist;
 
 public interface AddProductUseCase {
-    Wishlist add(Long userId, Long productId);
+    /**
+     * Adds the product within the limit of the user's {@code tier}, or the default limit when it is null.
+     */
+    Wishlist add(Long userId, Long productId, String tier);
 }
@@ -0,0 +1,11 @@
+package com.luizalabs.wishlist_service.application.port.in;
+
+import com.luizalabs.wishlist_service.domain.model.WishlistBatchResult;
+
+import java.util.List;
+
+public interface BatchUpdateProductsUseCase {
+
+    WishlistBatchResult update(Long userId, List<Long> additions, List<Long> removals, String tier);
+
+}
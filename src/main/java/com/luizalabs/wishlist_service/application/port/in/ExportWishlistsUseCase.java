@@ -0,0 +1,19 @@
+package com.luizalabs.wishlist_service.application.port.in;
+
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistExportRange;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ExportWishlistsUseCase {
+
+    /**
+     * Splits the userIds after {@code afterUserId} (all of them when null) into at most {@code partitions}
+     * contiguous ranges, in ascending order, that can be exported independently.
+     */
+    List<WishlistExportRange> partition(Long afterUserId, int partitions);
+
+    Stream<Wishlist> export(WishlistExportRange range, int batchSize);
+
+}
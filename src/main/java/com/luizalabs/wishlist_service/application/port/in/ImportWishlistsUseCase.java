@@ -0,0 +1,17 @@
+package com.luizalabs.wishlist_service.application.port.in;
+
+import com.luizalabs.wishlist_service.domain.model.WishlistImportRecord;
+import com.luizalabs.wishlist_service.domain.model.WishlistImportResult;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+public interface ImportWishlistsUseCase {
+
+    /**
+     * Stores every valid record, replacing the products of wishlists that already exist, and reports progress
+     * to {@code progress} as it goes. Records are consumed no faster than they are written.
+     */
+    WishlistImportResult importWishlists(Iterator<WishlistImportRecord> records, Consumer<WishlistImportResult> progress);
+
+}
@@ -1,9 +1,16 @@
 package com.luizalabs.wishlist_service.application.port.in;
 
 import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistPage;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
 
 public interface ListProductsUseCase {
 
     Wishlist get(Long userId);
 
+    /**
+     * Up to {@code limit} products from {@code cursor} on; an empty page when the user has no wishlist.
+     */
+    WishlistPage page(Long userId, WishlistPageCursor cursor, int limit);
+
 }
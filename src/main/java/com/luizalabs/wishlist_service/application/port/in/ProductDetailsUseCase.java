@@ -0,0 +1,15 @@
+package com.luizalabs.wishlist_service.application.port.in;
+
+import com.luizalabs.wishlist_service.domain.model.ProductDetails;
+
+import java.util.Map;
+
+public interface ProductDetailsUseCase {
+
+    /**
+     * The details of the given products that could be resolved, keyed by productId. Never fails because of the
+     * catalog: products it could not resolve in time are simply missing from the map.
+     */
+    Map<Long, ProductDetails> details(long[] productIds);
+
+}
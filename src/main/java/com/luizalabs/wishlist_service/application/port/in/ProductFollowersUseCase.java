@@ -0,0 +1,9 @@
+package com.luizalabs.wishlist_service.application.port.in;
+
+import java.util.stream.Stream;
+
+public interface ProductFollowersUseCase {
+
+    Stream<Long> followers(Long productId, Long afterUserId, int limit, int batchSize);
+
+}
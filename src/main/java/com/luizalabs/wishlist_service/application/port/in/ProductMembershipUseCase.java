@@ -0,0 +1,13 @@
+package com.luizalabs.wishlist_service.application.port.in;
+
+import java.util.BitSet;
+import java.util.List;
+
+public interface ProductMembershipUseCase {
+
+    /**
+     * Bit {@code i} is set when {@code productIds.get(i)} is in the user's wishlist.
+     */
+    BitSet membership(Long userId, List<Long> productIds);
+
+}
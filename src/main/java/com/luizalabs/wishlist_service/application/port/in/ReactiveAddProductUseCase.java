@@ -0,0 +1,10 @@
+package com.luizalabs.wishlist_service.application.port.in;
+
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveAddProductUseCase {
+
+    Mono<Wishlist> add(Long userId, Long productId, String tier);
+
+}
@@ -0,0 +1,12 @@
+package com.luizalabs.wishlist_service.application.port.in;
+
+import com.luizalabs.wishlist_service.domain.model.WishlistBatchResult;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveBatchUpdateProductsUseCase {
+
+    Mono<WishlistBatchResult> update(Long userId, List<Long> additions, List<Long> removals, String tier);
+
+}
@@ -0,0 +1,14 @@
+package com.luizalabs.wishlist_service.application.port.in;
+
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistPage;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveListProductsUseCase {
+
+    Mono<Wishlist> get(Long userId);
+
+    Mono<WishlistPage> page(Long userId, WishlistPageCursor cursor, int limit);
+
+}
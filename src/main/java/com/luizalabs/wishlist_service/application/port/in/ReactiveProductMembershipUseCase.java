@@ -0,0 +1,12 @@
+package com.luizalabs.wishlist_service.application.port.in;
+
+import reactor.core.publisher.Mono;
+
+import java.util.BitSet;
+import java.util.List;
+
+public interface ReactiveProductMembershipUseCase {
+
+    Mono<BitSet> membership(Long userId, List<Long> productIds);
+
+}
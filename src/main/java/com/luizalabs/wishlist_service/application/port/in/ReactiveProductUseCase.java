@@ -0,0 +1,9 @@
+package com.luizalabs.wishlist_service.application.port.in;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveProductUseCase {
+
+    Mono<Long> getProductForUserWishlist(Long userId, Long productId);
+
+}
@@ -0,0 +1,9 @@
+package com.luizalabs.wishlist_service.application.port.in;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveRemoveProductUseCase {
+
+    Mono<Void> remove(Long userId, Long productId);
+
+}
@@ -0,0 +1,16 @@
+package com.luizalabs.wishlist_service.application.port.out;
+
+import com.luizalabs.wishlist_service.domain.model.ProductDetails;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface ProductCatalogPort {
+
+    /**
+     * Looks up the details of {@code productIds}, keyed by productId. Products the catalog does not know, or
+     * could not resolve in time, are left out.
+     */
+    Map<Long, ProductDetails> findAllByIds(Collection<Long> productIds);
+
+}
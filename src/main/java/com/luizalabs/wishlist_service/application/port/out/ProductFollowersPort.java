@@ -0,0 +1,14 @@
+package com.luizalabs.wishlist_service.application.port.out;
+
+import java.util.stream.Stream;
+
+public interface ProductFollowersPort {
+
+    /**
+     * Streams, in ascending order, the userIds whose wishlist contains {@code productId}, starting after
+     * {@code afterUserId} (from the first one when null) and stopping after {@code limit} ids (no limit when 0).
+     * The database cursor fetches {@code batchSize} ids per round trip. The stream must be closed.
+     */
+    Stream<Long> streamUserIdsByProduct(Long productId, Long afterUserId, int limit, int batchSize);
+
+}
@@ -0,0 +1,22 @@
+package com.luizalabs.wishlist_service.application.port.out;
+
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistPage;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link WishlistRepositoryPort}. Lookups complete empty when nothing matches, and
+ * {@link #compareAndSet} completes empty when the stored wishlist no longer equals {@code expected}.
+ */
+public interface ReactiveWishlistRepositoryPort {
+
+    Mono<Wishlist> findByUserId(Long userId);
+    Mono<Wishlist> save(Wishlist wishlist);
+    Mono<Wishlist> addProduct(Long userId, Long productId, int maxItems);
+    Mono<Wishlist> compareAndSet(Wishlist expected, Wishlist updated);
+    Mono<Boolean> containsProduct(Long userId, Long productId);
+    Mono<WishlistPage> findPage(Long userId, WishlistPageCursor cursor, int limit);
+    Mono<Void> remove(Long userId, Long productId);
+
+}
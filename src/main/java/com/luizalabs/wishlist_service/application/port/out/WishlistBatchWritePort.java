@@ -0,0 +1,25 @@
+package com.luizalabs.wishlist_service.application.port.out;
+
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface WishlistBatchWritePort {
+
+    /**
+     * Reads the stored wishlists of {@code userIds} in one round trip, keyed by userId. Users without a
+     * wishlist are left out.
+     */
+    Map<Long, Wishlist> findAllByUserIds(Collection<Long> userIds);
+
+    /**
+     * Applies {@code compareAndSet(expected.get(i), updated.get(i))} for every i in one unordered round trip.
+     * The result at index i is the stored wishlist, or empty when its version no longer matched. At most one
+     * change per userId.
+     */
+    List<Optional<Wishlist>> compareAndSetAll(List<Wishlist> expected, List<Wishlist> updated);
+
+}
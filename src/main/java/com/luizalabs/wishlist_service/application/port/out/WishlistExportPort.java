@@ -0,0 +1,27 @@
+package com.luizalabs.wishlist_service.application.port.out;
+
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface WishlistExportPort {
+
+    /**
+     * Streams, in ascending userId order, the wishlists with {@code afterUserId < userId <= toUserId}, either
+     * bound open when null. The database cursor fetches {@code batchSize} wishlists per round trip. The stream
+     * must be closed.
+     */
+    Stream<Wishlist> streamWishlists(Long afterUserId, Long toUserId, int batchSize);
+
+    /**
+     * The smallest stored userId, or empty when there are no wishlists.
+     */
+    Optional<Long> firstUserId();
+
+    /**
+     * The largest stored userId, or empty when there are no wishlists.
+     */
+    Optional<Long> lastUserId();
+
+}
@@ -0,0 +1,35 @@
+package com.luizalabs.wishlist_service.application.port.out;
+
+import java.util.Collection;
+
+/**
+ * Tells the other instances of the service which wishlists were written, so they stop serving what they cached
+ * of them.
+ */
+public interface WishlistInvalidationPort {
+
+    /**
+     * Announces a write to the wishlists of {@code userIds}. Called on the writing thread, so it must neither wait
+     * for the delivery nor fail the write: an invalidation that cannot be published is counted, and the other
+     * instances are told to drop everything instead.
+     */
+    void publish(Collection<Long> userIds);
+
+    /**
+     * Registers a listener for the invalidations published by the other instances. Listeners run on the thread
+     * that receives them and must not block.
+     */
+    void subscribe(Listener listener);
+
+    interface Listener {
+
+        void invalidated(Long userId);
+
+        /**
+         * Invalidations may have been missed, e.g. while reconnecting: anything cached may be stale.
+         */
+        void invalidatedAll();
+
+    }
+
+}
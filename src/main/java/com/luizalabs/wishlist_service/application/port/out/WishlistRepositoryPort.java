@@ -1,14 +1,37 @@
 package com.luizalabs.wishlist_service.application.port.out;
 
 import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistPage;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface WishlistRepositoryPort {
 
     Optional<Wishlist> findByUserId(Long userId);
     Wishlist save(Wishlist wishlist);
-    Optional<Wishlist> findProductForUserWishlist(Long userId, Long productId);
-    void remove(Long userId, Long productId) throws Exception;
+    /**
+     * Stores every wishlist like {@link #save}, in as few round trips as the store allows. At most one
+     * wishlist per userId.
+     */
+    void saveAll(List<Wishlist> wishlists);
+    /**
+     * Adds the product in one write, failing with {@code WishlistMaxLimitException} when the wishlist already
+     * holds {@code maxItems} products.
+     */
+    Wishlist addProduct(Long userId, Long productId, int maxItems);
+    Optional<Wishlist> compareAndSet(Wishlist expected, Wishlist updated);
+    boolean containsProduct(Long userId, Long productId);
+    /**
+     * Reads up to {@code limit} products from {@code cursor} on, without loading the rest of the wishlist.
+     * Empty when the user has no wishlist.
+     */
+    Optional<WishlistPage> findPage(Long userId, WishlistPageCursor cursor, int limit);
+    /**
+     * Removes the product in one write, failing with {@code WishlistNotFoundException} or
+     * {@code ProductNotFoundException} when there was nothing to remove.
+     */
+    void remove(Long userId, Long productId);
 
 }
@@ -0,0 +1,12 @@
+package com.luizalabs.wishlist_service.application.port.out;
+
+import java.util.stream.Stream;
+
+public interface WishlistScanPort {
+
+    /**
+     * Streams the userId of every stored wishlist. The stream holds a database cursor and must be closed.
+     */
+    Stream<Long> streamUserIds();
+
+}
@@ -0,0 +1,31 @@
+package com.luizalabs.wishlist_service.application.service;
+
+import com.luizalabs.wishlist_service.application.port.in.ProductDetailsUseCase;
+import com.luizalabs.wishlist_service.application.port.out.ProductCatalogPort;
+import com.luizalabs.wishlist_service.domain.model.ProductDetails;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductDetailsService implements ProductDetailsUseCase {
+
+    private final ProductCatalogPort catalog;
+
+    @Override
+    public Map<Long, ProductDetails> details(final long[] productIds) {
+        if (productIds.length == 0) return Map.of();
+        try {
+            return catalog.findAllByIds(Arrays.stream(productIds).boxed().toList());
+        } catch (RuntimeException e) {
+            log.warn("Product catalog lookup of {} products failed, answering without details", productIds.length, e);
+            return Map.of();
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.luizalabs.wishlist_service.application.service;
+
+import com.luizalabs.wishlist_service.application.port.in.ProductFollowersUseCase;
+import com.luizalabs.wishlist_service.application.port.out.ProductFollowersPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ProductFollowersService implements ProductFollowersUseCase {
+
+    private final ProductFollowersPort followersPort;
+
+    @Override
+    public Stream<Long> followers(final Long productId,
+                                  final Long afterUserId,
+                                  final int limit,
+                                  final int batchSize) {
+        if (productId == null) throw new IllegalArgumentException("productId is required");
+        return followersPort.streamUserIdsByProduct(productId, afterUserId, limit, batchSize);
+    }
+
+}
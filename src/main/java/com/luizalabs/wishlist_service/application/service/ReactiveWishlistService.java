@@ -0,0 +1,115 @@
+package com.luizalabs.wishlist_service.application.service;
+
+import com.luizalabs.wishlist_service.application.port.in.ReactiveAddProductUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ReactiveBatchUpdateProductsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ReactiveListProductsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ReactiveProductMembershipUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ReactiveProductUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ReactiveRemoveProductUseCase;
+import com.luizalabs.wishlist_service.application.port.out.ReactiveWishlistRepositoryPort;
+import com.luizalabs.wishlist_service.domain.exception.WishlistConflictException;
+import com.luizalabs.wishlist_service.domain.model.ProductChangeOutcome;
+import com.luizalabs.wishlist_service.domain.model.ProductChangeResult;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistBatchResult;
+import com.luizalabs.wishlist_service.domain.model.WishlistLimits;
+import com.luizalabs.wishlist_service.domain.model.WishlistPage;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static com.luizalabs.wishlist_service.application.service.WishlistService.MAX_CONFLICT_RETRIES;
+
+/**
+ * Non-blocking counterpart of {@link WishlistService}, with the same rules and outcomes.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveWishlistService implements ReactiveAddProductUseCase,
+        ReactiveRemoveProductUseCase,
+        ReactiveListProductsUseCase,
+        ReactiveProductUseCase,
+        ReactiveBatchUpdateProductsUseCase,
+        ReactiveProductMembershipUseCase {
+
+    private final ReactiveWishlistRepositoryPort repository;
+    private final WishlistLimits limits;
+
+    @Override
+    public Mono<Wishlist> add(final Long userId,
+                              final Long productId,
+                              final String tier) {
+        if (productId == null) return Mono.error(new IllegalArgumentException("productId is required"));
+        return repository.addProduct(userId, productId, limits.maxItems(tier));
+    }
+
+    @Override
+    public Mono<WishlistBatchResult> update(final Long userId,
+                                            final List<Long> additions,
+                                            final List<Long> removals,
+                                            final String tier) {
+        return update(userId, additions, removals, limits.maxItems(tier), 1);
+    }
+
+    private Mono<WishlistBatchResult> update(final Long userId,
+                                             final List<Long> additions,
+                                             final List<Long> removals,
+                                             final int maxItems,
+                                             final int attempt) {
+        return get(userId).flatMap(current -> {
+            final var updated = current.copy();
+            final var results = updated.applyChanges(additions, removals, maxItems);
+            if (results.stream().map(ProductChangeResult::outcome).noneMatch(ProductChangeOutcome::changesWishlist)) {
+                return Mono.just(new WishlistBatchResult(current, results));
+            }
+            return repository.compareAndSet(current, updated)
+                    .map(stored -> new WishlistBatchResult(stored, results))
+                    .switchIfEmpty(Mono.defer(() -> attempt >= MAX_CONFLICT_RETRIES
+                            ? Mono.error(new WishlistConflictException("Wishlist for user " + userId + " is being modified concurrently"))
+                            : update(userId, additions, removals, maxItems, attempt + 1)));
+        });
+    }
+
+    @Override
+    public Mono<Void> remove(final Long userId,
+                             final Long productId) {
+        return repository.remove(userId, productId);
+    }
+
+    @Override
+    public Mono<Wishlist> get(final Long userId) {
+        return repository.findByUserId(userId)
+                .switchIfEmpty(Mono.fromSupplier(() -> Wishlist.create(userId)));
+    }
+
+    @Override
+    public Mono<WishlistPage> page(final Long userId,
+                                   final WishlistPageCursor cursor,
+                                   final int limit) {
+        return repository.findPage(userId, cursor, limit)
+                .switchIfEmpty(Mono.fromSupplier(() -> WishlistPage.empty(userId)));
+    }
+
+    @Override
+    public Mono<Long> getProductForUserWishlist(final Long userId,
+                                                final Long productId) {
+        return repository.containsProduct(userId, productId)
+                .filter(Boolean::booleanValue)
+                .map(found -> productId);
+    }
+
+    @Override
+    public Mono<BitSet> membership(final Long userId,
+                                   final List<Long> productIds) {
+        return repository.findByUserId(userId)
+                .map(wishlist -> wishlist.containsEach(productIds))
+                .switchIfEmpty(Mono.fromSupplier(BitSet::new));
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.luizalabs.wishlist_service.application.service;
+
+import com.luizalabs.wishlist_service.application.port.in.ExportWishlistsUseCase;
+import com.luizalabs.wishlist_service.application.port.out.WishlistExportPort;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistExportRange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Ranges are split by userId value, not by count, so they hold about the same number of wishlists only when
+ * userIds are spread evenly. The last range is left open so wishlists created during the export are included.
+ */
+@Service
+@RequiredArgsConstructor
+public class WishlistExportService implements ExportWishlistsUseCase {
+
+    private final WishlistExportPort exportPort;
+
+    @Override
+    public List<WishlistExportRange> partition(final Long afterUserId,
+                                               final int partitions) {
+        if (partitions < 1) throw new IllegalArgumentException("partitions must be positive");
+        Optional<Long> last = exportPort.lastUserId();
+        if (partitions == 1 || last.isEmpty()) return List.of(new WishlistExportRange(afterUserId, null));
+
+        if (afterUserId != null && last.get() <= afterUserId) return List.of(new WishlistExportRange(afterUserId, null));
+
+        // The span is unsigned, since userIds from both ends of the long range are further apart than
+        // Long.MAX_VALUE. Boundaries fall between from and the last userId, so their wrapping sums are exact.
+        long from = afterUserId != null ? afterUserId : exportPort.firstUserId().orElseThrow() - 1;
+        long span = last.get() - from;
+        if (span == 0) span = -1L; // Every long is a userId: 2^64 of them, one more than fits.
+
+        int count = Long.compareUnsigned(span, partitions) < 0 ? (int) span : partitions;
+        long step = Long.divideUnsigned(span, count);
+        List<WishlistExportRange> ranges = new ArrayList<>(count);
+        Long lower = afterUserId;
+        for (int i = 1; i <= count; i++) {
+            Long upper = i == count ? null : from + step * i;
+            ranges.add(new WishlistExportRange(lower, upper));
+            lower = upper;
+        }
+        return ranges;
+    }
+
+    @Override
+    public Stream<Wishlist> export(final WishlistExportRange range,
+                                   final int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("batchSize must be positive");
+        return exportPort.streamWishlists(range.afterUserId(), range.toUserId(), batchSize);
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.luizalabs.wishlist_service.application.service;
+
+import com.luizalabs.wishlist_service.application.port.in.ImportWishlistsUseCase;
+import com.luizalabs.wishlist_service.application.port.out.WishlistRepositoryPort;
+import com.luizalabs.wishlist_service.domain.exception.WishlistMaxLimitException;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistImportRecord;
+import com.luizalabs.wishlist_service.domain.model.WishlistImportResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Validates records through {@link Wishlist#rehydrate} and stores them {@code batchSize} at a time, in
+ * {@code parallelism} lanes split by userId so a repeated userId keeps its last record.
+ */
+@Slf4j
+public class WishlistImportService implements ImportWishlistsUseCase {
+
+    private static final int LOGGED_REJECTIONS = 100;
+
+    private final WishlistRepositoryPort repository;
+    private final int maxItems;
+    private final int batchSize;
+    private final int parallelism;
+    private final long progressInterval;
+
+    public WishlistImportService(final WishlistRepositoryPort repository,
+                                 final int maxItems,
+                                 final int batchSize,
+                                 final int parallelism,
+                                 final long progressInterval) {
+        if (batchSize < 1 || parallelism < 1 || progressInterval < 1) {
+            throw new IllegalArgumentException("batchSize, parallelism and progressInterval must be positive");
+        }
+        this.repository = repository;
+        this.maxItems = maxItems;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.progressInterval = progressInterval;
+    }
+
+    @Override
+    public WishlistImportResult importWishlists(final Iterator<WishlistImportRecord> records,
+                                                final Consumer<WishlistImportResult> progress) {
+        long startedAt = System.nanoTime();
+        long read = 0;
+        long rejected = 0;
+        AtomicLong imported = new AtomicLong();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Semaphore[] lanes = new Semaphore[parallelism];
+        List<Map<Long, Wishlist>> batches = new ArrayList<>(parallelism);
+        for (int lane = 0; lane < parallelism; lane++) {
+            lanes[lane] = new Semaphore(1);
+            batches.add(new LinkedHashMap<>());
+        }
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (failure.get() == null && records.hasNext()) {
+                WishlistImportRecord record = records.next();
+                read++;
+                try {
+                    Wishlist wishlist = validate(record);
+                    int lane = Math.floorMod(Long.hashCode(wishlist.getUserId()), parallelism);
+                    Map<Long, Wishlist> batch = batches.get(lane);
+                    batch.put(wishlist.getUserId(), wishlist);
+                    if (batch.size() == batchSize) {
+                        submit(batch, executor, lanes[lane], imported, failure);
+                        batches.set(lane, new LinkedHashMap<>());
+                    }
+                } catch (IllegalArgumentException | WishlistMaxLimitException e) {
+                    if (++rejected <= LOGGED_REJECTIONS) {
+                        log.warn("Rejected import record at line {}: {}", record.line(), e.getMessage());
+                    }
+                }
+                if (read % progressInterval == 0) {
+                    progress.accept(new WishlistImportResult(read, imported.get(), rejected, elapsed(startedAt)));
+                }
+            }
+            for (int lane = 0; lane < parallelism && failure.get() == null; lane++) {
+                if (!batches.get(lane).isEmpty()) submit(batches.get(lane), executor, lanes[lane], imported, failure);
+            }
+        }
+        if (failure.get() != null) throw failure.get();
+
+        WishlistImportResult result = new WishlistImportResult(read, imported.get(), rejected, elapsed(startedAt));
+        log.info("Imported {} wishlists from {} records ({} rejected) in {} ms, {} per second",
+                result.imported(), result.read(), result.rejected(), result.elapsed().toMillis(),
+                Math.round(result.importedPerSecond()));
+        progress.accept(result);
+        return result;
+    }
+
+    private Wishlist validate(final WishlistImportRecord record) {
+        if (record.error() != null) throw new IllegalArgumentException(record.error());
+        if (record.productIds() == null) throw new IllegalArgumentException("productIds is required");
+        Wishlist wishlist = Wishlist.rehydrate(record.userId(), record.productIds());
+        if (wishlist.size() > maxItems) {
+            throw new WishlistMaxLimitException("Wishlist exceeds max size: " + maxItems);
+        }
+        return wishlist;
+    }
+
+    private void submit(final Map<Long, Wishlist> batch,
+                        final ExecutorService executor,
+                        final Semaphore lane,
+                        final AtomicLong imported,
+                        final AtomicReference<RuntimeException> failure) {
+        var wishlists = new ArrayList<>(batch.values());
+        lane.acquireUninterruptibly();
+        executor.execute(() -> {
+            try {
+                repository.saveAll(wishlists);
+                imported.addAndGet(wishlists.size());
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                lane.release();
+            }
+        });
+    }
+
+    private static Duration elapsed(final long startedAt) {
+        return Duration.ofNanos(System.nanoTime() - startedAt);
+    }
+
+}
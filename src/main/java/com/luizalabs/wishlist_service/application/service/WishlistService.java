@@ -1,16 +1,25 @@
 package com.luizalabs.wishlist_service.application.service;
 
 import com.luizalabs.wishlist_service.application.port.in.AddProductUseCase;
+import com.luizalabs.wishlist_service.application.port.in.BatchUpdateProductsUseCase;
 import com.luizalabs.wishlist_service.application.port.in.ProductUseCase;
 import com.luizalabs.wishlist_service.application.port.in.ListProductsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ProductMembershipUseCase;
 import com.luizalabs.wishlist_service.application.port.in.RemoveProductUseCase;
 import com.luizalabs.wishlist_service.application.port.out.WishlistRepositoryPort;
-import com.luizalabs.wishlist_service.domain.exception.ProductNotFoundException;
-import com.luizalabs.wishlist_service.domain.exception.WishlistNotFoundException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistConflictException;
+import com.luizalabs.wishlist_service.domain.model.ProductChangeOutcome;
+import com.luizalabs.wishlist_service.domain.model.ProductChangeResult;
 import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistBatchResult;
+import com.luizalabs.wishlist_service.domain.model.WishlistLimits;
+import com.luizalabs.wishlist_service.domain.model.WishlistPage;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.BitSet;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -18,28 +27,50 @@ import java.util.Optional;
 public class WishlistService implements AddProductUseCase,
         RemoveProductUseCase,
         ListProductsUseCase,
-        ProductUseCase {
+        ProductUseCase,
+        BatchUpdateProductsUseCase,
+        ProductMembershipUseCase {
+
+    static final int MAX_CONFLICT_RETRIES = 5;
 
     private final WishlistRepositoryPort repository;
+    private final WishlistLimits limits;
 
     @Override
     public Wishlist add(final Long userId,
-                        final Long productId) {
-        final var wishlist = repository.findByUserId(userId)
-                .orElseGet(() -> Wishlist.create(userId));
-        wishlist.addProduct(productId);
-        return repository.save(wishlist);
+                        final Long productId,
+                        final String tier) {
+        if (productId == null) throw new IllegalArgumentException("productId is required");
+        return repository.addProduct(userId, productId, limits.maxItems(tier));
     }
 
     @Override
-    public void remove(final Long userId,
-                       final Long productId) throws Exception {
-        var wishlist = repository.findByUserId(userId)
-                .orElseThrow(() -> new WishlistNotFoundException("Wishlist not found for user " + userId));
-        if (!wishlist.getProductIds().contains(productId)) {
-            throw new ProductNotFoundException("Product not found in wishlist for user " + userId);
+    public WishlistBatchResult update(final Long userId,
+                                      final List<Long> additions,
+                                      final List<Long> removals,
+                                      final String tier) {
+        final int maxItems = limits.maxItems(tier);
+        for (int attempt = 1; ; attempt++) {
+            final var current = repository.findByUserId(userId)
+                    .orElseGet(() -> Wishlist.create(userId));
+            final var updated = current.copy();
+            final var results = updated.applyChanges(additions, removals, maxItems);
+            if (results.stream().map(ProductChangeResult::outcome).noneMatch(ProductChangeOutcome::changesWishlist)) {
+                return new WishlistBatchResult(current, results);
+            }
+            final var stored = repository.compareAndSet(current, updated);
+            if (stored.isPresent()) {
+                return new WishlistBatchResult(stored.get(), results);
+            }
+            if (attempt >= MAX_CONFLICT_RETRIES) {
+                throw new WishlistConflictException("Wishlist for user " + userId + " is being modified concurrently");
+            }
         }
-        wishlist.removeProduct(productId);
+    }
+
+    @Override
+    public void remove(final Long userId,
+                       final Long productId) {
         repository.remove(userId, productId);
     }
 
@@ -49,12 +80,26 @@ public class WishlistService implements AddProductUseCase,
                 .orElseGet(() -> Wishlist.create(userId));
     }
 
+    @Override
+    public WishlistPage page(final Long userId,
+                             final WishlistPageCursor cursor,
+                             final int limit) {
+        return repository.findPage(userId, cursor, limit)
+                .orElseGet(() -> WishlistPage.empty(userId));
+    }
+
 
     @Override
     public Optional<Long> getProductForUserWishlist(final Long userId,
                                                     final Long productId) {
-        return repository.findProductForUserWishlist(userId, productId)
-                .filter(wishlist -> wishlist.getProductIds().contains(productId))
-                .map(wishlist -> productId);
+        return repository.containsProduct(userId, productId) ? Optional.of(productId) : Optional.empty();
+    }
+
+    @Override
+    public BitSet membership(final Long userId,
+                             final List<Long> productIds) {
+        return repository.findByUserId(userId)
+                .map(wishlist -> wishlist.containsEach(productIds))
+                .orElseGet(BitSet::new);
     }
 }
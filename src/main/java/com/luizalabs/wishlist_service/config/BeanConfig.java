@@ -1,22 +1,176 @@
 package com.luizalabs.wishlist_service.config;
 
+import com.luizalabs.wishlist_service.adapters.in.ratelimit.UserRateLimiter;
+import com.luizalabs.wishlist_service.adapters.out.batch.BatchingProductCatalog;
+import com.luizalabs.wishlist_service.adapters.out.batch.CoalescingWishlistRepository;
+import com.luizalabs.wishlist_service.adapters.out.batch.SingleFlightWishlistRepository;
+import com.luizalabs.wishlist_service.adapters.out.cache.BroadcastingWishlistRepository;
+import com.luizalabs.wishlist_service.adapters.out.cache.CachingProductCatalog;
+import com.luizalabs.wishlist_service.adapters.out.cache.CachingWishlistRepository;
+import com.luizalabs.wishlist_service.adapters.out.cache.NegativeLookupWishlistRepository;
+import com.luizalabs.wishlist_service.adapters.out.cache.ReactiveBroadcastingWishlistRepository;
 import com.luizalabs.wishlist_service.application.port.in.AddProductUseCase;
+import com.luizalabs.wishlist_service.application.port.in.BatchUpdateProductsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ImportWishlistsUseCase;
 import com.luizalabs.wishlist_service.application.port.in.ProductUseCase;
 import com.luizalabs.wishlist_service.application.port.in.ListProductsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ProductMembershipUseCase;
 import com.luizalabs.wishlist_service.application.port.in.RemoveProductUseCase;
+import com.luizalabs.wishlist_service.application.port.out.ProductCatalogPort;
+import com.luizalabs.wishlist_service.application.port.out.ReactiveWishlistRepositoryPort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistBatchWritePort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistInvalidationPort;
 import com.luizalabs.wishlist_service.application.port.out.WishlistRepositoryPort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistScanPort;
+import com.luizalabs.wishlist_service.application.service.WishlistImportService;
 import com.luizalabs.wishlist_service.application.service.WishlistService;
+import com.luizalabs.wishlist_service.domain.model.WishlistLimits;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
 
 @Configuration
 public class BeanConfig {
 
+    @Bean
+    public WishlistLimits wishlistLimits(@Value("${wishlist.limits.max-items:20}") int defaultMaxItems,
+                                         @Value("${wishlist.limits.tiers:}") String tiers) {
+        return WishlistLimits.parse(defaultMaxItems, tiers);
+    }
+
+    @Bean
+    public WishlistRepositoryPort wishlistWriteStore(@Qualifier("wishlistStore") WishlistRepositoryPort store,
+                                                     WishlistBatchWritePort batchPort,
+                                                     @Value("${wishlist.write-coalescing.enabled:false}") boolean enabled,
+                                                     @Value("${wishlist.write-coalescing.window:2ms}") Duration window,
+                                                     @Value("${wishlist.write-coalescing.max-batch-size:500}") int maxBatchSize,
+                                                     @Value("${wishlist.write-coalescing.queue-capacity:10000}") int queueCapacity,
+                                                     MeterRegistry meterRegistry) {
+        if (!enabled) {
+            return store;
+        }
+        return new CoalescingWishlistRepository(store, batchPort, window, maxBatchSize, queueCapacity, meterRegistry);
+    }
+
+    @Bean
+    public NegativeLookupWishlistRepository negativeLookupWishlistRepository(@Qualifier("wishlistWriteStore") WishlistRepositoryPort store,
+                                                                             WishlistScanPort scanPort,
+                                                                             @Value("${wishlist.negative-cache.enabled:true}") boolean enabled,
+                                                                             @Value("${wishlist.negative-cache.expected-insertions:1000000}") long expectedInsertions,
+                                                                             @Value("${wishlist.negative-cache.false-positive-rate:0.01}") double falsePositiveRate,
+                                                                             @Value("${wishlist.invalidation.enabled:true}") boolean invalidationEnabled,
+                                                                             MeterRegistry meterRegistry) {
+        if (enabled && !invalidationEnabled) {
+            throw new IllegalStateException("wishlist.negative-cache.enabled requires wishlist.invalidation.enabled, "
+                    + "or users written by other instances are answered as absent");
+        }
+        return new NegativeLookupWishlistRepository(store, scanPort, enabled, expectedInsertions, falsePositiveRate, meterRegistry);
+    }
+
+    @Bean
+    public WishlistRepositoryPort wishlistReadStore(NegativeLookupWishlistRepository negativeLookupRepository,
+                                                    @Value("${wishlist.read-coalescing.enabled:true}") boolean enabled,
+                                                    MeterRegistry meterRegistry) {
+        if (!enabled) {
+            return negativeLookupRepository;
+        }
+        return new SingleFlightWishlistRepository(negativeLookupRepository, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public WishlistRepositoryPort wishlistRepository(@Qualifier("wishlistReadStore") WishlistRepositoryPort store,
+                                                     NegativeLookupWishlistRepository negativeLookupRepository,
+                                                     WishlistInvalidationPort invalidations,
+                                                     @Value("${wishlist.cache.enabled:true}") boolean cacheEnabled,
+                                                     @Value("${wishlist.cache.maximum-size:100000}") long cacheMaximumSize,
+                                                     @Value("${wishlist.cache.ttl:5m}") Duration cacheTtl,
+                                                     @Value("${wishlist.invalidation.enabled:true}") boolean invalidationEnabled,
+                                                     MeterRegistry meterRegistry) {
+        WishlistRepositoryPort repository = store;
+        if (invalidationEnabled) {
+            if (negativeLookupRepository.isEnabled()) invalidations.subscribe(negativeLookupRepository);
+            // Before the cache, so a read the cache lets through does not join a load that started before the write.
+            if (store instanceof SingleFlightWishlistRepository singleFlight) invalidations.subscribe(singleFlight);
+        }
+        if (cacheEnabled) {
+            var cache = new CachingWishlistRepository(store, cacheMaximumSize, cacheTtl, meterRegistry);
+            if (invalidationEnabled) invalidations.subscribe(cache);
+            repository = cache;
+        }
+        if (!invalidationEnabled) {
+            return repository;
+        }
+        return new BroadcastingWishlistRepository(repository, invalidations);
+    }
+
+    @Bean
+    @Primary
+    @Profile("reactive")
+    public ReactiveWishlistRepositoryPort reactiveWishlistRepository(@Qualifier("reactiveWishlistMongoAdapter") ReactiveWishlistRepositoryPort store,
+                                                                     WishlistInvalidationPort invalidations,
+                                                                     @Value("${wishlist.invalidation.enabled:true}") boolean invalidationEnabled) {
+        if (!invalidationEnabled) {
+            return store;
+        }
+        return new ReactiveBroadcastingWishlistRepository(store, invalidations);
+    }
+
+    @Bean
+    public BatchingProductCatalog batchingProductCatalog(@Qualifier("catalogClient") ProductCatalogPort client,
+                                                         @Value("${wishlist.catalog.batch-size:100}") int batchSize,
+                                                         @Value("${wishlist.catalog.max-concurrent-lookups:64}") int maxConcurrentLookups,
+                                                         @Value("${wishlist.catalog.deadline:150ms}") Duration deadline,
+                                                         MeterRegistry meterRegistry) {
+        return new BatchingProductCatalog(client, batchSize, maxConcurrentLookups, deadline, meterRegistry);
+    }
+
     @Bean
     @Primary
-    public WishlistService wishlistService(WishlistRepositoryPort repository) {
-        return new WishlistService(repository);
+    public ProductCatalogPort productCatalog(BatchingProductCatalog batchingCatalog,
+                                             @Value("${wishlist.catalog.cache.enabled:true}") boolean cacheEnabled,
+                                             @Value("${wishlist.catalog.cache.maximum-size:500000}") long cacheMaximumSize,
+                                             @Value("${wishlist.catalog.cache.ttl:10m}") Duration cacheTtl,
+                                             MeterRegistry meterRegistry) {
+        if (!cacheEnabled) {
+            return batchingCatalog;
+        }
+        return new CachingProductCatalog(batchingCatalog, cacheMaximumSize, cacheTtl, meterRegistry);
+    }
+
+    @Bean
+    public UserRateLimiter userRateLimiter(@Value("${wishlist.rate-limit.enabled:true}") boolean enabled,
+                                           @Value("${wishlist.rate-limit.read.per-second:50}") double readPerSecond,
+                                           @Value("${wishlist.rate-limit.read.burst:100}") int readBurst,
+                                           @Value("${wishlist.rate-limit.write.per-second:10}") double writePerSecond,
+                                           @Value("${wishlist.rate-limit.write.burst:20}") int writeBurst,
+                                           @Value("${wishlist.rate-limit.idle-timeout:1m}") Duration idleTimeout,
+                                           @Value("${wishlist.rate-limit.maximum-users:1000000}") long maximumUsers,
+                                           MeterRegistry meterRegistry) {
+        return new UserRateLimiter(enabled, new UserRateLimiter.Rate(readPerSecond, readBurst),
+                new UserRateLimiter.Rate(writePerSecond, writeBurst), idleTimeout, maximumUsers, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public WishlistService wishlistService(WishlistRepositoryPort repository,
+                                           WishlistLimits limits) {
+        return new WishlistService(repository, limits);
+    }
+
+    @Bean
+    public ImportWishlistsUseCase importWishlistsUseCase(WishlistRepositoryPort repository,
+                                                         WishlistLimits limits,
+                                                         @Value("${wishlist.import.batch-size:1000}") int batchSize,
+                                                         @Value("${wishlist.import.parallelism:4}") int parallelism,
+                                                         @Value("${wishlist.import.progress-interval:100000}") long progressInterval) {
+        return new WishlistImportService(repository, limits.highest(), batchSize, parallelism, progressInterval);
     }
 
     @Bean
@@ -39,4 +193,14 @@ public class BeanConfig {
         return service;
     }
 
+    @Bean
+    public BatchUpdateProductsUseCase batchUpdateProductsUseCase(WishlistService service) {
+        return service;
+    }
+
+    @Bean
+    public ProductMembershipUseCase productMembershipUseCase(WishlistService service) {
+        return service;
+    }
+
 }
\ No newline at end of file
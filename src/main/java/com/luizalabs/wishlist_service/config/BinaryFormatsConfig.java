@@ -0,0 +1,70 @@
+package com.luizalabs.wishlist_service.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Lets clients exchange request and response bodies as CBOR ({@code application/cbor}) or Smile
+ * ({@code application/x-jackson-smile}) instead of JSON, chosen through {@code Accept} and {@code Content-Type}.
+ * Both encode the same objects with the same {@code ObjectMapper} settings as JSON. They are registered after
+ * the JSON converter, so JSON is still what requests without an {@code Accept}, or with a wildcard one, get.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Bean
+    @Profile("!reactive")
+    public WebMvcConfigurer binaryMessageConverters(final Jackson2ObjectMapperBuilder builder) {
+        final ObjectMapper cbor = builder.factory(new CBORFactory()).build();
+        final ObjectMapper smile = builder.factory(new SmileFactory()).build();
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(final List<HttpMessageConverter<?>> converters) {
+                converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                        || converter instanceof MappingJackson2SmileHttpMessageConverter);
+                int json = 0;
+                while (json < converters.size() && !(converters.get(json) instanceof MappingJackson2HttpMessageConverter)) {
+                    json++;
+                }
+                int at = Math.min(json + 1, converters.size());
+                converters.add(at, new MappingJackson2SmileHttpMessageConverter(smile));
+                converters.add(at, new MappingJackson2CborHttpMessageConverter(cbor));
+            }
+        };
+    }
+
+    @Bean
+    @Profile("reactive")
+    public CodecCustomizer binaryCodecs(final Jackson2ObjectMapperBuilder builder) {
+        final ObjectMapper cbor = builder.factory(new CBORFactory()).build();
+        final ObjectMapper smile = builder.factory(new SmileFactory()).build();
+        // Custom object codecs come after the default ones, JSON included.
+        return configurer -> {
+            configurer.customCodecs().register(new Jackson2CborDecoder(cbor));
+            configurer.customCodecs().register(new Jackson2CborEncoder(cbor));
+            configurer.customCodecs().register(new Jackson2SmileDecoder(smile));
+            configurer.customCodecs().register(new Jackson2SmileEncoder(smile));
+        };
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.luizalabs.wishlist_service.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers tokens the delegate verified, keyed by their SHA-256 digest, until their {@code exp} or
+ * {@code maximumTtl}, whichever comes first. Rejected tokens are never cached.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    public static final String CACHE_NAME = "jwts";
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> cache;
+    private final Clock clock;
+    private final Timer decodeTimer;
+
+    public CachingJwtDecoder(final JwtDecoder delegate,
+                             final long maximumSize,
+                             final Duration maximumTtl,
+                             final MeterRegistry meterRegistry) {
+        this(delegate, maximumSize, maximumTtl, Clock.systemUTC(), meterRegistry);
+    }
+
+    CachingJwtDecoder(final JwtDecoder delegate,
+                      final long maximumSize,
+                      final Duration maximumTtl,
+                      final Clock clock,
+                      final MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenLifetime(maximumTtl, clock))
+                .recordStats()
+                .build();
+        this.decodeTimer = Timer.builder("jwt.decoder.decode")
+                .description("Time to parse and verify tokens that were not cached")
+                .register(meterRegistry);
+        Gauge.builder("jwt.decoder.cache.time.saved", this, CachingJwtDecoder::estimatedSecondsSaved)
+                .description("Estimated verification time avoided by cache hits")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Jwt decode(final String token) throws JwtException {
+        var key = digest(token);
+        var cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (isCurrent(cached)) return cached;
+            cache.invalidate(key);
+        }
+        long startedAt = System.nanoTime();
+        var jwt = delegate.decode(token);
+        decodeTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        if (isCurrent(jwt)) cache.put(key, jwt);
+        return jwt;
+    }
+
+    private boolean isCurrent(final Jwt jwt) {
+        Instant now = clock.instant();
+        return (jwt.getExpiresAt() == null || jwt.getExpiresAt().isAfter(now))
+                && (jwt.getNotBefore() == null || !jwt.getNotBefore().isAfter(now));
+    }
+
+    private double estimatedSecondsSaved() {
+        return cache.stats().hitCount() * decodeTimer.mean(TimeUnit.SECONDS);
+    }
+
+    private static String digest(final String token) {
+        try {
+            var sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record TokenLifetime(Duration maximumTtl, Clock clock) implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(final String key,
+                                      final Jwt jwt,
+                                      final long currentTime) {
+            var ttl = maximumTtl;
+            if (jwt.getExpiresAt() != null) {
+                var untilExpiry = Duration.between(clock.instant(), jwt.getExpiresAt());
+                if (untilExpiry.compareTo(ttl) < 0) ttl = untilExpiry.isNegative() ? Duration.ZERO : untilExpiry;
+            }
+            return ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key,
+                                      final Jwt jwt,
+                                      final long currentTime,
+                                      final long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String key,
+                                    final Jwt jwt,
+                                    final long currentTime,
+                                    final long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+}
@@ -1,14 +1,19 @@
 package com.luizalabs.wishlist_service.config;
 
+import com.luizalabs.wishlist_service.adapters.in.ratelimit.RateLimitExceededException;
 import com.luizalabs.wishlist_service.adapters.in.web.dto.response.ApiErrorResponse;
 import com.luizalabs.wishlist_service.domain.exception.ProductNotFoundException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistConflictException;
 import com.luizalabs.wishlist_service.domain.exception.WishlistMaxLimitException;
 import com.luizalabs.wishlist_service.domain.exception.WishlistNotFoundException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 @RestControllerAdvice
 public class ExceptionHandlerAdvice {
@@ -33,9 +38,37 @@ public class ExceptionHandlerAdvice {
         );
     }
 
+    @ExceptionHandler(WishlistConflictException.class)
+    public ResponseEntity<ApiErrorResponse> handleConflict(WishlistConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(
+                ApiErrorResponse.builder()
+                        .error("WISHLIST_CONFLICT")
+                        .message(ex.getMessage())
+                        .build()
+        );
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ApiErrorResponse> handleRateLimit(RateLimitExceededException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiErrorResponse.builder()
+                        .error("RATE_LIMITED")
+                        .message(ex.getMessage())
+                        .build());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiErrorResponse> handleValidation(MethodArgumentNotValidException ex) {
-        var field = ex.getBindingResult().getFieldError();
+        return validationError(ex.getBindingResult().getFieldError());
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ApiErrorResponse> handleReactiveValidation(WebExchangeBindException ex) {
+        return validationError(ex.getFieldError());
+    }
+
+    private ResponseEntity<ApiErrorResponse> validationError(FieldError field) {
         var msg = field != null ? field.getField() + " " + field.getDefaultMessage() : "invalid request";
         return ResponseEntity.badRequest().body(
                 ApiErrorResponse.builder()
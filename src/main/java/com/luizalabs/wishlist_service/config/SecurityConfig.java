@@ -1,8 +1,10 @@
 package com.luizalabs.wishlist_service.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
@@ -11,18 +13,33 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 
 import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
 
 @Configuration
+@Profile("!reactive & !cli")
 public class SecurityConfig {
 
     @Value("${spring.security.oauth2.resourceserver.jwt.secret}")
     private String jwtSecret;
 
+    @Value("${wishlist.jwt-cache.enabled:true}")
+    private boolean jwtCacheEnabled;
+
+    @Value("${wishlist.jwt-cache.maximum-size:10000}")
+    private long jwtCacheMaximumSize;
+
+    @Value("${wishlist.jwt-cache.maximum-ttl:10m}")
+    private Duration jwtCacheMaximumTtl;
+
     @Bean
-    public JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withSecretKey(
+    public JwtDecoder jwtDecoder(MeterRegistry meterRegistry) {
+        JwtDecoder decoder = NimbusJwtDecoder.withSecretKey(
             new SecretKeySpec(jwtSecret.getBytes(), "HmacSHA256")
         ).build();
+        if (!jwtCacheEnabled) {
+            return decoder;
+        }
+        return new CachingJwtDecoder(decoder, jwtCacheMaximumSize, jwtCacheMaximumTtl, meterRegistry);
     }
 
     @Bean
@@ -31,6 +48,8 @@ public class SecurityConfig {
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/v1/wishlists/**").authenticated()
+                .requestMatchers("/internal/**").hasAuthority("SCOPE_internal")
+                .requestMatchers("/admin/**").hasAuthority("SCOPE_admin")
                 .anyRequest().permitAll()
             )
             .oauth2ResourceServer(oauth2 -> oauth2
@@ -0,0 +1,7 @@
+package com.luizalabs.wishlist_service.domain.exception;
+
+public class WishlistConflictException extends RuntimeException {
+    public WishlistConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,108 @@
+package com.luizalabs.wishlist_service.domain.model;
+
+/**
+ * Open-addressing set of primitive longs with linear probing, kept at most half full. Deletion shifts the
+ * following entries back instead of leaving tombstones, so lookups never slow down as products come and go.
+ * Slot value 0 marks an empty slot; the key 0 itself is tracked by a flag.
+ */
+final class LongHashSet {
+
+    private static final long EMPTY = 0L;
+
+    private long[] slots;
+    private int size;
+    private boolean hasEmptyKey;
+
+    LongHashSet(final int expectedSize) {
+        this.slots = new long[tableSize(expectedSize)];
+    }
+
+    private LongHashSet(final long[] slots,
+                        final int size,
+                        final boolean hasEmptyKey) {
+        this.slots = slots;
+        this.size = size;
+        this.hasEmptyKey = hasEmptyKey;
+    }
+
+    LongHashSet copy() {
+        return new LongHashSet(slots.clone(), size, hasEmptyKey);
+    }
+
+    boolean contains(final long key) {
+        if (key == EMPTY) return hasEmptyKey;
+        int mask = slots.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            long slot = slots[i];
+            if (slot == EMPTY) return false;
+            if (slot == key) return true;
+        }
+    }
+
+    boolean add(final long key) {
+        if (key == EMPTY) {
+            boolean added = !hasEmptyKey;
+            hasEmptyKey = true;
+            return added;
+        }
+        if ((size + 1) * 2 > slots.length) rehash(slots.length * 2);
+        int mask = slots.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            long slot = slots[i];
+            if (slot == key) return false;
+            if (slot == EMPTY) {
+                slots[i] = key;
+                size++;
+                return true;
+            }
+        }
+    }
+
+    boolean remove(final long key) {
+        if (key == EMPTY) {
+            boolean removed = hasEmptyKey;
+            hasEmptyKey = false;
+            return removed;
+        }
+        int mask = slots.length - 1;
+        int hole = hash(key) & mask;
+        while (slots[hole] != key) {
+            if (slots[hole] == EMPTY) return false;
+            hole = (hole + 1) & mask;
+        }
+        for (int i = (hole + 1) & mask; slots[i] != EMPTY; i = (i + 1) & mask) {
+            int home = hash(slots[i]) & mask;
+            // Move the entry back unless its home lies cyclically in (hole, i], where it would no longer be found.
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                slots[hole] = slots[i];
+                hole = i;
+            }
+        }
+        slots[hole] = EMPTY;
+        size--;
+        return true;
+    }
+
+    private void rehash(final int capacity) {
+        long[] old = slots;
+        slots = new long[capacity];
+        int mask = capacity - 1;
+        for (long key : old) {
+            if (key == EMPTY) continue;
+            int i = hash(key) & mask;
+            while (slots[i] != EMPTY) i = (i + 1) & mask;
+            slots[i] = key;
+        }
+    }
+
+    private static int tableSize(final int expectedSize) {
+        int wanted = Math.max(8, expectedSize * 2);
+        return Integer.highestOneBit(wanted - 1) << 1;
+    }
+
+    private static int hash(final long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+}
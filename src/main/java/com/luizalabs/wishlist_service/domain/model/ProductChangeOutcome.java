@@ -0,0 +1,13 @@
+package com.luizalabs.wishlist_service.domain.model;
+
+public enum ProductChangeOutcome {
+    ADDED,
+    ALREADY_PRESENT,
+    LIMIT_REACHED,
+    REMOVED,
+    NOT_PRESENT;
+
+    public boolean changesWishlist() {
+        return this == ADDED || this == REMOVED;
+    }
+}
@@ -0,0 +1,6 @@
+package com.luizalabs.wishlist_service.domain.model;
+
+public enum ProductChangeType {
+    ADD,
+    REMOVE
+}
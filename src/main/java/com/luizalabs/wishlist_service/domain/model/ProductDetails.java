@@ -0,0 +1,12 @@
+package com.luizalabs.wishlist_service.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * What the catalog knows about a product, as shown next to it in a wishlist.
+ */
+public record ProductDetails(Long productId,
+                             String name,
+                             BigDecimal price,
+                             String imageUrl) {
+}
@@ -1,65 +1,259 @@
 package com.luizalabs.wishlist_service.domain.model;
 
 import com.luizalabs.wishlist_service.domain.exception.WishlistMaxLimitException;
-import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
 import java.util.*;
 
-@Getter
-@Builder
+/**
+ * A user's wishlist: an insertion-ordered set of product ids. Mutations take the user's limit (see
+ * {@link WishlistLimits}); stored wishlists are only checked against {@link #MAX_ITEMS_CEILING}.
+ */
 @EqualsAndHashCode(of = "userId")
 public class Wishlist {
 
-    public static final int MAX_ITEMS = 20;
+    public static final int DEFAULT_MAX_ITEMS = 20;
+    /**
+     * Largest limit a tier may have. Keeps a wishlist document in the hundreds of kilobytes.
+     */
+    public static final int MAX_ITEMS_CEILING = 10_000;
 
+    static final int INDEX_THRESHOLD = 32;
+    private static final long[] EMPTY = new long[0];
+    private static final int MIN_CAPACITY = 4;
+
+    @Getter
     private final Long userId;
-    private final List<Long> productIds;
+    /**
+     * Version of the stored wishlist this one was read from, 0 if it was never stored. Every write to the
+     * stored wishlist increments it, and a compare-and-set only applies while it is unchanged.
+     */
+    @Getter
+    private final long version;
+    private long[] productIds;
+    private int size;
+    /**
+     * Same ids as {@code productIds[0, size)}, or null while the wishlist is small enough to scan.
+     */
+    private LongHashSet index;
 
     private Wishlist(final Long userId,
-                     final Collection<Long> initialItems) {
+                     final long[] productIds,
+                     final int size,
+                     final LongHashSet index,
+                     final long version) {
         if (userId == null) throw new IllegalArgumentException("userId is required");
-        this.userId = userId;
-        this.productIds = new ArrayList<>(new LinkedHashSet<>(initialItems));
-        if (this.productIds.size() > MAX_ITEMS) {
+        if (size > MAX_ITEMS_CEILING) {
             throw new WishlistMaxLimitException(
-                    "Wishlist exceeds max size: " + MAX_ITEMS
+                    "Wishlist exceeds max size: " + MAX_ITEMS_CEILING
             );
         }
+        this.userId = userId;
+        this.productIds = productIds;
+        this.size = size;
+        this.index = index;
+        this.version = version;
     }
 
     public static Wishlist create(final Long userId) {
-        return new Wishlist(userId, Set.of());
+        return new Wishlist(userId, EMPTY, 0, null, 0);
     }
 
     public static Wishlist rehydrate(final Long userId,
                                      final Collection<Long> items) {
-        return new Wishlist(userId, items);
+        return rehydrate(userId, items, 0);
+    }
+
+    public static Wishlist rehydrate(final Long userId,
+                                     final Collection<Long> items,
+                                     final long version) {
+        long[] ids = new long[items.size()];
+        int i = 0;
+        for (Long item : items) {
+            requireProduct(item);
+            ids[i++] = item;
+        }
+        return deduplicated(userId, ids, version);
+    }
+
+    public static Wishlist rehydrate(final Long userId,
+                                     final long[] items) {
+        return rehydrate(userId, items, 0);
+    }
+
+    public static Wishlist rehydrate(final Long userId,
+                                     final long[] items,
+                                     final long version) {
+        return deduplicated(userId, items.clone(), version);
+    }
+
+    public Wishlist copy() {
+        return new Wishlist(userId, Arrays.copyOf(productIds, size), size, index == null ? null : index.copy(), version);
     }
 
-    public void addProduct(final Long productId) {
+    /**
+     * Adds the product unless it is already there, failing with {@link WishlistMaxLimitException} when the
+     * wishlist already holds {@code maxItems} products.
+     */
+    public void addProduct(final Long productId,
+                           final int maxItems) {
         requireProduct(productId);
-        if (productIds.contains(productId)) return;
-        if (productIds.size() >= MAX_ITEMS) {
+        if (contains(productId)) return;
+        if (size >= maxItems) {
             throw new WishlistMaxLimitException(
-                    "Wishlist reached max size: " + MAX_ITEMS
+                    "Wishlist reached max size: " + maxItems
             );
         }
-        productIds.add(productId);
+        if (size == productIds.length) {
+            productIds = Arrays.copyOf(productIds, Math.min(maxItems, Math.max(MIN_CAPACITY, size * 2)));
+        }
+        productIds[size++] = productId;
+        if (index != null) {
+            index.add(productId);
+        } else if (size > INDEX_THRESHOLD) {
+            index = indexOf(productIds, size);
+        }
     }
 
     public void removeProduct(final Long productId) {
         requireProduct(productId);
-        productIds.remove(productId);
+        if (index != null && !index.remove(productId)) return;
+        int position = positionOf(productIds, size, productId);
+        if (position < 0) return;
+        System.arraycopy(productIds, position + 1, productIds, position, size - position - 1);
+        size--;
+    }
+
+    /**
+     * Applies removals first, then additions, reporting an outcome per item. Additions that do not fit
+     * are reported as {@link ProductChangeOutcome#LIMIT_REACHED} instead of failing the whole batch.
+     */
+    public List<ProductChangeResult> applyChanges(final List<Long> additions,
+                                                  final List<Long> removals,
+                                                  final int maxItems) {
+        List<ProductChangeResult> results = new ArrayList<>(additions.size() + removals.size());
+        if (!removals.isEmpty()) {
+            var removed = new LongHashSet(removals.size());
+            for (Long productId : removals) {
+                requireProduct(productId);
+                var outcome = contains(productId) && removed.add(productId)
+                        ? ProductChangeOutcome.REMOVED : ProductChangeOutcome.NOT_PRESENT;
+                results.add(new ProductChangeResult(productId, ProductChangeType.REMOVE, outcome));
+            }
+            removeAll(removed);
+        }
+        for (Long productId : additions) {
+            requireProduct(productId);
+            ProductChangeOutcome outcome;
+            if (contains(productId)) {
+                outcome = ProductChangeOutcome.ALREADY_PRESENT;
+            } else if (size >= maxItems) {
+                outcome = ProductChangeOutcome.LIMIT_REACHED;
+            } else {
+                addProduct(productId, maxItems);
+                outcome = ProductChangeOutcome.ADDED;
+            }
+            results.add(new ProductChangeResult(productId, ProductChangeType.ADD, outcome));
+        }
+        return results;
+    }
+
+    public boolean contains(final long productId) {
+        return index != null ? index.contains(productId) : positionOf(productIds, size, productId) >= 0;
+    }
+
+    /**
+     * Position of the product in insertion order, or -1 when it is not in this wishlist.
+     */
+    public int positionOf(final long productId) {
+        if (index != null && !index.contains(productId)) return -1;
+        return positionOf(productIds, size, productId);
+    }
+
+    /**
+     * Bit {@code i} is set when {@code productIds.get(i)} is in this wishlist.
+     */
+    public BitSet containsEach(final List<Long> productIds) {
+        BitSet membership = new BitSet(productIds.size());
+        for (int i = 0; i < productIds.size(); i++) {
+            if (contains(productIds.get(i))) membership.set(i);
+        }
+        return membership;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long productIdAt(final int index) {
+        Objects.checkIndex(index, size);
+        return productIds[index];
+    }
+
+    /**
+     * Product ids in insertion order, as a new array the caller owns.
+     */
+    public long[] getProductIds() {
+        return Arrays.copyOf(productIds, size);
     }
 
     public List<Long> items() {
-        return List.copyOf(productIds);
+        List<Long> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) items.add(productIds[i]);
+        return Collections.unmodifiableList(items);
+    }
+
+    private void removeAll(final LongHashSet removed) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            long productId = productIds[i];
+            if (!removed.contains(productId)) {
+                productIds[kept++] = productId;
+            } else if (index != null) {
+                index.remove(productId);
+            }
+        }
+        size = kept;
+    }
+
+    /**
+     * Drops repeated ids from {@code ids}, which the new wishlist takes ownership of, keeping first occurrences.
+     */
+    private static Wishlist deduplicated(final Long userId,
+                                         final long[] ids,
+                                         final long version) {
+        int count = 0;
+        if (ids.length > INDEX_THRESHOLD) {
+            var seen = new LongHashSet(ids.length);
+            for (long id : ids) {
+                if (seen.add(id)) ids[count++] = id;
+            }
+            return new Wishlist(userId, ids, count, count > INDEX_THRESHOLD ? seen : null, version);
+        }
+        for (long id : ids) {
+            if (positionOf(ids, count, id) < 0) ids[count++] = id;
+        }
+        return new Wishlist(userId, ids, count, null, version);
+    }
+
+    private static LongHashSet indexOf(final long[] ids,
+                                       final int count) {
+        var index = new LongHashSet(count);
+        for (int i = 0; i < count; i++) index.add(ids[i]);
+        return index;
+    }
+
+    private static int positionOf(final long[] ids,
+                                  final int count,
+                                  final long productId) {
+        for (int i = 0; i < count; i++) {
+            if (ids[i] == productId) return i;
+        }
+        return -1;
     }
 
     private static void requireProduct(final Long productId) {
         if (productId == null) throw new IllegalArgumentException("productId is required");
     }
 }
-
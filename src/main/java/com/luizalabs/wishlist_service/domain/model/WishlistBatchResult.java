@@ -0,0 +1,7 @@
+package com.luizalabs.wishlist_service.domain.model;
+
+import java.util.List;
+
+public record WishlistBatchResult(Wishlist wishlist,
+                                  List<ProductChangeResult> results) {
+}
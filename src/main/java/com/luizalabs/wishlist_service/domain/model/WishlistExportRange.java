@@ -0,0 +1,14 @@
+package com.luizalabs.wishlist_service.domain.model;
+
+/**
+ * The userIds {@code afterUserId < userId <= toUserId} of an export. A null bound leaves that side open, so a
+ * range with both bounds null covers every wishlist.
+ */
+public record WishlistExportRange(Long afterUserId,
+                                  Long toUserId) {
+
+    public static WishlistExportRange all() {
+        return new WishlistExportRange(null, null);
+    }
+
+}
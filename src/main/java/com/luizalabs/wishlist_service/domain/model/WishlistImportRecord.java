@@ -0,0 +1,25 @@
+package com.luizalabs.wishlist_service.domain.model;
+
+import java.util.List;
+
+/**
+ * One wishlist as read from an import source, before validation. {@code line} locates it in the source, and
+ * {@code error} is set when the record could not even be parsed.
+ */
+public record WishlistImportRecord(long line,
+                                   Long userId,
+                                   List<Long> productIds,
+                                   String error) {
+
+    public static WishlistImportRecord of(final long line,
+                                          final Long userId,
+                                          final List<Long> productIds) {
+        return new WishlistImportRecord(line, userId, productIds, null);
+    }
+
+    public static WishlistImportRecord malformed(final long line,
+                                                 final String error) {
+        return new WishlistImportRecord(line, null, null, error);
+    }
+
+}
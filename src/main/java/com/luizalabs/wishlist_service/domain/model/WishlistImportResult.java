@@ -0,0 +1,18 @@
+package com.luizalabs.wishlist_service.domain.model;
+
+import java.time.Duration;
+
+/**
+ * Progress of an import: records read from the source, wishlists stored so far and records rejected.
+ */
+public record WishlistImportResult(long read,
+                                   long imported,
+                                   long rejected,
+                                   Duration elapsed) {
+
+    public double importedPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : imported * 1e9 / nanos;
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.luizalabs.wishlist_service.domain.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maximum number of products per wishlist, by user tier. Users without a tier, or with one that is not
+ * configured, get the default. No limit may exceed {@link Wishlist#MAX_ITEMS_CEILING}.
+ */
+public final class WishlistLimits {
+
+    private final int defaultMaxItems;
+    private final Map<String, Integer> tiers;
+
+    public WishlistLimits(final int defaultMaxItems,
+                          final Map<String, Integer> tiers) {
+        requireValid("default", defaultMaxItems);
+        tiers.forEach(WishlistLimits::requireValid);
+        this.defaultMaxItems = defaultMaxItems;
+        this.tiers = Map.copyOf(tiers);
+    }
+
+    /**
+     * Parses tiers written as {@code premium:5000,gold:1000}; a blank string configures none.
+     */
+    public static WishlistLimits parse(final int defaultMaxItems,
+                                       final String tiers) {
+        Map<String, Integer> parsed = new HashMap<>();
+        for (String entry : tiers.split(",")) {
+            if (entry.isBlank()) continue;
+            int separator = entry.indexOf(':');
+            if (separator < 0) throw new IllegalArgumentException("Expected tier:maxItems but got '" + entry.trim() + "'");
+            parsed.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+        }
+        return new WishlistLimits(defaultMaxItems, parsed);
+    }
+
+    public static WishlistLimits defaults() {
+        return new WishlistLimits(Wishlist.DEFAULT_MAX_ITEMS, Map.of());
+    }
+
+    public int maxItems(final String tier) {
+        return tier == null ? defaultMaxItems : tiers.getOrDefault(tier, defaultMaxItems);
+    }
+
+    /**
+     * The largest limit of any tier, for writes that are not made on behalf of a user.
+     */
+    public int highest() {
+        return tiers.values().stream().reduce(defaultMaxItems, Math::max);
+    }
+
+    private static void requireValid(final String tier,
+                                     final int maxItems) {
+        if (maxItems < 1 || maxItems > Wishlist.MAX_ITEMS_CEILING) {
+            throw new IllegalArgumentException("Max items of tier " + tier + " must be between 1 and "
+                    + Wishlist.MAX_ITEMS_CEILING + " but was " + maxItems);
+        }
+    }
+
+}
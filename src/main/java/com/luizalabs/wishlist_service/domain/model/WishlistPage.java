@@ -0,0 +1,37 @@
+package com.luizalabs.wishlist_service.domain.model;
+
+/**
+ * Up to {@code limit} products of a wishlist, in insertion order, starting at position {@code offset}, along
+ * with the size of the whole wishlist.
+ */
+public record WishlistPage(Long userId,
+                           long[] productIds,
+                           int offset,
+                           int total) {
+
+    private static final long[] NONE = new long[0];
+
+    public static WishlistPage of(final Wishlist wishlist,
+                                  final WishlistPageCursor cursor,
+                                  final int limit) {
+        int from = cursor.start(wishlist);
+        int to = (int) Math.min((long) from + limit, wishlist.size());
+        long[] productIds = new long[to - from];
+        for (int i = from; i < to; i++) productIds[i - from] = wishlist.productIdAt(i);
+        return new WishlistPage(wishlist.getUserId(), productIds, from, wishlist.size());
+    }
+
+    public static WishlistPage empty(final Long userId) {
+        return new WishlistPage(userId, NONE, 0, 0);
+    }
+
+    /**
+     * Cursor of the next page, after the last product of this one, or null when this is the last page.
+     */
+    public WishlistPageCursor next() {
+        int last = offset + productIds.length - 1;
+        if (productIds.length == 0 || last + 1 >= total) return null;
+        return new WishlistPageCursor(productIds[productIds.length - 1], last);
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.luizalabs.wishlist_service.domain.model;
+
+/**
+ * Where a page of a wishlist starts: right after {@code afterProductId}, or at {@code position}, the position
+ * that product had, when it is null or was removed since.
+ */
+public record WishlistPageCursor(Long afterProductId,
+                                 int position) {
+
+    public static final WishlistPageCursor FIRST = new WishlistPageCursor(null, 0);
+
+    public WishlistPageCursor {
+        if (position < 0) throw new IllegalArgumentException("position must not be negative");
+    }
+
+    public int start(final Wishlist wishlist) {
+        int found = afterProductId == null ? -1 : wishlist.positionOf(afterProductId);
+        return found >= 0 ? found + 1 : Math.min(position, wishlist.size());
+    }
+
+}
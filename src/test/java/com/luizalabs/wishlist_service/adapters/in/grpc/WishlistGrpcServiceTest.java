@@ -0,0 +1,237 @@
+package com.luizalabs.wishlist_service.adapters.in.grpc;
+
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.AddProductRequest;
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.GetProductRequest;
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.ListProductsRequest;
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.MembershipRequest;
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.MembershipResponse;
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.RemoveProductRequest;
+import com.luizalabs.wishlist_service.adapters.in.grpc.proto.WishlistServiceGrpc;
+import com.luizalabs.wishlist_service.adapters.in.ratelimit.RateLimitExceededException;
+import com.luizalabs.wishlist_service.adapters.in.ratelimit.UserRateLimiter;
+import com.luizalabs.wishlist_service.adapters.in.ratelimit.UserRateLimiter.Access;
+import com.luizalabs.wishlist_service.application.port.in.AddProductUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ListProductsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ProductMembershipUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ProductUseCase;
+import com.luizalabs.wishlist_service.application.port.in.RemoveProductUseCase;
+import com.luizalabs.wishlist_service.domain.exception.WishlistMaxLimitException;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import io.grpc.ClientInterceptor;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class WishlistGrpcServiceTest {
+
+    private AddProductUseCase addProduct;
+    private RemoveProductUseCase removeProduct;
+    private ListProductsUseCase listProducts;
+    private ProductUseCase productUseCase;
+    private ProductMembershipUseCase productMembership;
+    private UserRateLimiter rateLimiter;
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        addProduct = mock(AddProductUseCase.class);
+        removeProduct = mock(RemoveProductUseCase.class);
+        listProducts = mock(ListProductsUseCase.class);
+        productUseCase = mock(ProductUseCase.class);
+        productMembership = mock(ProductMembershipUseCase.class);
+        rateLimiter = mock(UserRateLimiter.class);
+        JwtDecoder jwtDecoder = mock(JwtDecoder.class);
+        when(jwtDecoder.decode("token")).thenReturn(Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .claim("user_id", "1")
+                .claim("tier", "premium")
+                .build());
+        when(jwtDecoder.decode("expired")).thenThrow(new BadJwtException("expired"));
+
+        var service = new WishlistGrpcService(addProduct, removeProduct, listProducts, productUseCase, productMembership,
+                rateLimiter);
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(service, new JwtServerInterceptor(jwtDecoder)))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow();
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("addProduct should add within the caller's tier and return the wishlist")
+    void addProductReturnsWishlist() {
+        when(addProduct.add(1L, 2L, "premium")).thenReturn(Wishlist.rehydrate(1L, List.of(5L, 2L)));
+
+        var response = blockingStub("token").addProduct(AddProductRequest.newBuilder().setUserId(1).setProductId(2).build());
+
+        assertThat(response.getUserId()).isEqualTo(1L);
+        assertThat(response.getProductIdsList()).containsExactly(5L, 2L);
+    }
+
+    @Test
+    @DisplayName("Calls without a valid bearer token should be UNAUTHENTICATED")
+    void callsRequireValidToken() {
+        var request = ListProductsRequest.newBuilder().setUserId(1).build();
+
+        assertStatus(() -> WishlistServiceGrpc.newBlockingStub(channel).listProducts(request), Status.Code.UNAUTHENTICATED);
+        assertStatus(() -> blockingStub("expired").listProducts(request), Status.Code.UNAUTHENTICATED);
+        verifyNoInteractions(listProducts);
+    }
+
+    @Test
+    @DisplayName("Calls for another user than the token's should be PERMISSION_DENIED")
+    void callsRequireSameUser() {
+        var request = RemoveProductRequest.newBuilder().setUserId(2).setProductId(3).build();
+
+        assertStatus(() -> blockingStub("token").removeProduct(request), Status.Code.PERMISSION_DENIED);
+        verifyNoInteractions(removeProduct);
+    }
+
+    @Test
+    @DisplayName("addProduct should be FAILED_PRECONDITION when the wishlist is full")
+    void addProductMapsLimitReached() {
+        when(addProduct.add(1L, 2L, "premium")).thenThrow(new WishlistMaxLimitException("Wishlist is full"));
+        var request = AddProductRequest.newBuilder().setUserId(1).setProductId(2).build();
+
+        assertStatus(() -> blockingStub("token").addProduct(request), Status.Code.FAILED_PRECONDITION);
+    }
+
+    @Test
+    @DisplayName("Rate-limited calls should be RESOURCE_EXHAUSTED with a retry-after trailer")
+    void rateLimitedCallsCarryRetryAfter() {
+        doThrow(new RateLimitExceededException(Duration.ofMillis(1500))).when(rateLimiter).acquire(1L, Access.READ);
+        var request = ListProductsRequest.newBuilder().setUserId(1).build();
+
+        assertThatThrownBy(() -> blockingStub("token").listProducts(request))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                    assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+                    assertThat(e.getTrailers().get(GrpcRequests.RETRY_AFTER)).isEqualTo("2");
+                });
+        verifyNoInteractions(listProducts);
+    }
+
+    @Test
+    @DisplayName("getProduct should be NOT_FOUND when the product is not in the wishlist")
+    void getProductNotFound() {
+        when(productUseCase.getProductForUserWishlist(1L, 2L)).thenReturn(Optional.empty());
+        when(productUseCase.getProductForUserWishlist(1L, 3L)).thenReturn(Optional.of(3L));
+
+        assertThat(blockingStub("token").getProduct(GetProductRequest.newBuilder().setUserId(1).setProductId(3).build())
+                .getProductId()).isEqualTo(3L);
+        assertStatus(() -> blockingStub("token").getProduct(GetProductRequest.newBuilder().setUserId(1).setProductId(2).build()),
+                Status.Code.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("checkMembership should answer every request of the stream, in order")
+    void checkMembershipAnswersEachRequest() throws Exception {
+        BitSet first = new BitSet();
+        first.set(1);
+        when(productMembership.membership(1L, List.of(10L, 11L))).thenReturn(first);
+        when(productMembership.membership(1L, List.of(12L))).thenReturn(new BitSet());
+        var responses = new CollectingObserver();
+
+        var requests = asyncStub("token").checkMembership(responses);
+        requests.onNext(MembershipRequest.newBuilder().setUserId(1).addProductIds(10).addProductIds(11).build());
+        requests.onNext(MembershipRequest.newBuilder().setUserId(1).addProductIds(12).build());
+        requests.onCompleted();
+
+        List<MembershipResponse> received = responses.done.get(5, TimeUnit.SECONDS);
+        assertThat(received).hasSize(2);
+        assertThat(received.get(0).getInWishlistList()).containsExactly(false, true);
+        assertThat(received.get(1).getInWishlistList()).containsExactly(false);
+    }
+
+    @Test
+    @DisplayName("checkMembership should end the stream at the first request for another user")
+    void checkMembershipStopsAtForeignUser() throws Exception {
+        when(productMembership.membership(1L, List.of(10L))).thenReturn(new BitSet());
+        var responses = new CollectingObserver();
+
+        var requests = asyncStub("token").checkMembership(responses);
+        requests.onNext(MembershipRequest.newBuilder().setUserId(1).addProductIds(10).build());
+        requests.onNext(MembershipRequest.newBuilder().setUserId(2).addProductIds(10).build());
+
+        Throwable error = responses.done.handle((received, e) -> e).get(5, TimeUnit.SECONDS);
+        assertThat(responses.received).hasSize(1);
+        assertThat(Status.fromThrowable(error).getCode()).isEqualTo(Status.Code.PERMISSION_DENIED);
+        verify(productMembership, never()).membership(eq(2L), any());
+    }
+
+    private WishlistServiceGrpc.WishlistServiceBlockingStub blockingStub(final String token) {
+        return WishlistServiceGrpc.newBlockingStub(channel).withInterceptors(bearer(token));
+    }
+
+    private WishlistServiceGrpc.WishlistServiceStub asyncStub(final String token) {
+        return WishlistServiceGrpc.newStub(channel).withInterceptors(bearer(token));
+    }
+
+    private static ClientInterceptor bearer(final String token) {
+        Metadata headers = new Metadata();
+        headers.put(Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER), "Bearer " + token);
+        return MetadataUtils.newAttachHeadersInterceptor(headers);
+    }
+
+    private static void assertStatus(final Runnable call,
+                                     final Status.Code code) {
+        assertThatThrownBy(call::run)
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e -> assertThat(e.getStatus().getCode()).isEqualTo(code));
+    }
+
+    private static final class CollectingObserver implements StreamObserver<MembershipResponse> {
+
+        private final List<MembershipResponse> received = new ArrayList<>();
+        private final CompletableFuture<List<MembershipResponse>> done = new CompletableFuture<>();
+
+        @Override
+        public void onNext(final MembershipResponse response) {
+            received.add(response);
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            done.completeExceptionally(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            done.complete(received);
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.luizalabs.wishlist_service.adapters.in.ndjson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistImportRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WishlistExportWriterTest {
+
+    private static final List<Wishlist> WISHLISTS = List.of(
+            Wishlist.rehydrate(1L, List.of(10L, 11L), 3),
+            Wishlist.rehydrate(2L, List.of(), 1));
+
+    @Test
+    @DisplayName("NDJSON export should write one object per line that the import reads back")
+    void ndjsonRoundTripsThroughImport() throws IOException {
+        byte[] exported = export(WishlistExportFormat.NDJSON);
+
+        assertThat(new String(exported, StandardCharsets.UTF_8)).isEqualTo("""
+                {"userId":1,"productIds":[10,11],"version":3}
+                {"userId":2,"productIds":[],"version":1}
+                """);
+        List<WishlistImportRecord> records = new ArrayList<>();
+        new WishlistNdjsonReader(new ByteArrayInputStream(exported)).forEachRemaining(records::add);
+        assertThat(records).containsExactly(
+                WishlistImportRecord.of(1, 1L, List.of(10L, 11L)),
+                WishlistImportRecord.of(2, 2L, List.of()));
+    }
+
+    @Test
+    @DisplayName("CBOR export should write a sequence of the same objects, smaller than the NDJSON")
+    void cborWritesSequence() throws IOException {
+        byte[] exported = export(WishlistExportFormat.CBOR);
+
+        List<JsonNode> objects = new CBORMapper().readerFor(JsonNode.class).<JsonNode>readValues(exported).readAll();
+        assertThat(objects).hasSize(2);
+        assertThat(objects.get(0).get("userId").asLong()).isEqualTo(1L);
+        assertThat(objects.get(0).get("productIds").get(1).asLong()).isEqualTo(11L);
+        assertThat(objects.get(1).get("version").asLong()).isEqualTo(1L);
+        assertThat(exported.length).isLessThan(export(WishlistExportFormat.NDJSON).length);
+    }
+
+    @Test
+    @DisplayName("writer should track how many wishlists it wrote and the last userId flushed, to resume from")
+    void tracksResumePoint() throws IOException {
+        var out = new ByteArrayOutputStream();
+        var writer = new WishlistExportWriter(out, WishlistExportFormat.NDJSON, 2);
+        writer.write(WISHLISTS.get(0));
+        assertThat(writer.written()).isEqualTo(1);
+        assertThat(writer.flushedUserId()).isNull();
+
+        writer.write(WISHLISTS.get(1));
+        writer.write(Wishlist.rehydrate(3L, List.of(), 1));
+        assertThat(out.size()).isPositive();
+        assertThat(writer.flushedUserId()).isEqualTo(2L);
+
+        writer.close();
+        assertThat(writer.written()).isEqualTo(3);
+        assertThat(writer.flushedUserId()).isEqualTo(3L);
+    }
+
+    private static byte[] export(final WishlistExportFormat format) throws IOException {
+        var out = new ByteArrayOutputStream();
+        try (var writer = new WishlistExportWriter(out, format, 100)) {
+            for (Wishlist wishlist : WISHLISTS) writer.write(wishlist);
+        }
+        return out.toByteArray();
+    }
+
+}
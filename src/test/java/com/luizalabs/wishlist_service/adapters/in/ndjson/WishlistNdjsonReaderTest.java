@@ -0,0 +1,69 @@
+package com.luizalabs.wishlist_service.adapters.in.ndjson;
+
+import com.luizalabs.wishlist_service.domain.model.WishlistImportRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WishlistNdjsonReaderTest {
+
+    @Test
+    @DisplayName("should read one record per line, skipping blank lines and ignoring unknown fields")
+    void readsRecords() throws Exception {
+        List<WishlistImportRecord> records = readAll("""
+                {"userId":1,"productIds":[10,11]}
+
+                {"userId":2,"productIds":[],"source":"legacy"}
+                """);
+
+        assertThat(records).containsExactly(
+                WishlistImportRecord.of(1, 1L, List.of(10L, 11L)),
+                WishlistImportRecord.of(3, 2L, List.of()));
+    }
+
+    @Test
+    @DisplayName("should turn a malformed line into a malformed record and continue with the next one")
+    void reportsMalformedLines() throws Exception {
+        List<WishlistImportRecord> records = readAll("""
+                {"userId":1,"productIds":[10
+                {"userId":"x"}
+                {"userId":3,"productIds":[30]}
+                """);
+
+        assertThat(records).hasSize(3);
+        assertThat(records.get(0).line()).isEqualTo(1);
+        assertThat(records.get(0).error()).startsWith("malformed JSON");
+        assertThat(records.get(1).error()).startsWith("malformed JSON");
+        assertThat(records.get(2)).isEqualTo(WishlistImportRecord.of(3, 3L, List.of(30L)));
+    }
+
+    @Test
+    @DisplayName("next should fail once the input is exhausted")
+    void nextFailsWhenExhausted() throws Exception {
+        try (var reader = reader("")) {
+            assertThat(reader.hasNext()).isFalse();
+            assertThatThrownBy(reader::next).isInstanceOf(NoSuchElementException.class);
+        }
+    }
+
+    private static List<WishlistImportRecord> readAll(final String ndjson) throws Exception {
+        List<WishlistImportRecord> records = new ArrayList<>();
+        try (var reader = reader(ndjson)) {
+            reader.forEachRemaining(records::add);
+        }
+        return records;
+    }
+
+    private static WishlistNdjsonReader reader(final String ndjson) {
+        return new WishlistNdjsonReader(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
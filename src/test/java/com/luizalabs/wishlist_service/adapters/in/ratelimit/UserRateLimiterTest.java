@@ -0,0 +1,121 @@
+package com.luizalabs.wishlist_service.adapters.in.ratelimit;
+
+import com.luizalabs.wishlist_service.adapters.in.ratelimit.UserRateLimiter.Access;
+import com.luizalabs.wishlist_service.adapters.in.ratelimit.UserRateLimiter.Rate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserRateLimiterTest {
+
+    private AtomicLong nanos;
+    private SimpleMeterRegistry meterRegistry;
+    private UserRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        nanos = new AtomicLong(1_000_000_000L);
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = limiter(true);
+    }
+
+    @Test
+    @DisplayName("acquire should allow a full burst, then reject with the time until the next token")
+    void acquireAllowsBurstThenRejects() {
+        for (int i = 0; i < 4; i++) limiter.acquire(1L, Access.WRITE);
+
+        assertThatThrownBy(() -> limiter.acquire(1L, Access.WRITE))
+                .isInstanceOfSatisfying(RateLimitExceededException.class, e -> {
+                    assertThat(e.getRetryAfter()).isEqualTo(Duration.ofMillis(500));
+                    assertThat(e.getRetryAfterSeconds()).isEqualTo(1);
+                });
+        assertThat(meterRegistry.get("wishlist.rate-limit.rejected").tag("access", "write").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("acquire should refill the bucket at the configured rate")
+    void acquireRefills() {
+        for (int i = 0; i < 4; i++) limiter.acquire(1L, Access.WRITE);
+
+        nanos.addAndGet(Duration.ofMillis(500).toNanos());
+        limiter.acquire(1L, Access.WRITE);
+        assertThatThrownBy(() -> limiter.acquire(1L, Access.WRITE)).isInstanceOf(RateLimitExceededException.class);
+
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+        for (int i = 0; i < 4; i++) limiter.acquire(1L, Access.WRITE);
+        assertThatThrownBy(() -> limiter.acquire(1L, Access.WRITE)).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    @DisplayName("acquire should keep separate buckets per user and for reads and writes")
+    void acquireSeparatesUsersAndAccess() {
+        for (int i = 0; i < 4; i++) limiter.acquire(1L, Access.WRITE);
+
+        assertThatCode(() -> limiter.acquire(2L, Access.WRITE)).doesNotThrowAnyException();
+        for (int i = 0; i < 10; i++) limiter.acquire(1L, Access.READ);
+        assertThatThrownBy(() -> limiter.acquire(1L, Access.READ)).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    @DisplayName("acquire should never reject when rate limiting is disabled")
+    void acquireIgnoresLimitsWhenDisabled() {
+        UserRateLimiter disabled = limiter(false);
+
+        assertThatCode(() -> {
+            for (int i = 0; i < 100; i++) disabled.acquire(1L, Access.WRITE);
+        }).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("concurrent acquires of one user should never take more tokens than the bucket holds")
+    void concurrentAcquiresRespectBurst() throws InterruptedException {
+        int threads = 16;
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < 100; i++) {
+                            try {
+                                limiter.acquire(1L, Access.READ);
+                                allowed.incrementAndGet();
+                            } catch (RateLimitExceededException e) {
+                                // Expected once the burst is spent.
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(allowed.get()).isEqualTo(10);
+    }
+
+    private UserRateLimiter limiter(final boolean enabled) {
+        return new UserRateLimiter(enabled, new Rate(5, 10), new Rate(2, 4), Duration.ofMinutes(1), 1000,
+                nanos::get, meterRegistry);
+    }
+
+}
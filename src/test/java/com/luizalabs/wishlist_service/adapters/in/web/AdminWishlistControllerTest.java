@@ -0,0 +1,133 @@
+package com.luizalabs.wishlist_service.adapters.in.web;
+
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.WishlistImportResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.mapper.WishlistWebMapper;
+import com.luizalabs.wishlist_service.application.port.in.ExportWishlistsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ImportWishlistsUseCase;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistExportRange;
+import com.luizalabs.wishlist_service.domain.model.WishlistImportRecord;
+import com.luizalabs.wishlist_service.domain.model.WishlistImportResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AdminWishlistController.class)
+class AdminWishlistControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ImportWishlistsUseCase importWishlistsUseCase;
+    @MockitoBean
+    private ExportWishlistsUseCase exportWishlistsUseCase;
+    @MockitoBean
+    private WishlistWebMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.reset(importWishlistsUseCase, exportWishlistsUseCase, mapper);
+    }
+
+    @Test
+    @DisplayName("importWishlists reads the NDJSON body record by record and returns the counts")
+    void importWishlists_ReadsBody() throws Exception {
+        List<WishlistImportRecord> received = new ArrayList<>();
+        WishlistImportResult result = new WishlistImportResult(2, 1, 1, Duration.ofMillis(5));
+        Mockito.when(importWishlistsUseCase.importWishlists(any(), any())).thenAnswer(invocation -> {
+            Iterator<WishlistImportRecord> records = invocation.getArgument(0);
+            records.forEachRemaining(received::add);
+            return result;
+        });
+        Mockito.when(mapper.importResultToResponse(result)).thenReturn(WishlistImportResponse.builder()
+                .read(2).imported(1).rejected(1).elapsedMillis(5).build());
+
+        mockMvc.perform(post("/admin/wishlists/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"userId\":1,\"productIds\":[2]}\nnot json\n")
+                        .with(csrf())
+                        .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_admin"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1));
+        assertThat(received).hasSize(2);
+        assertThat(received.get(0)).isEqualTo(WishlistImportRecord.of(1, 1L, List.of(2L)));
+        assertThat(received.get(1).error()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("exportWishlists streams the requested range as NDJSON and closes the stream")
+    void exportWishlists_WritesNdjson() throws Exception {
+        boolean[] closed = new boolean[1];
+        Mockito.when(exportWishlistsUseCase.export(new WishlistExportRange(10L, 20L), 2))
+                .thenReturn(Stream.of(Wishlist.rehydrate(11L, List.of(5L), 1), Wishlist.rehydrate(12L, List.of(), 4))
+                        .onClose(() -> closed[0] = true));
+
+        MvcResult result = mockMvc.perform(get("/admin/wishlists/export")
+                        .param("after", "10")
+                        .param("until", "20")
+                        .param("batchSize", "2")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_admin"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"userId\":11,\"productIds\":[5],\"version\":1}\n"
+                        + "{\"userId\":12,\"productIds\":[],\"version\":4}\n"));
+        assertThat(closed[0]).isTrue();
+    }
+
+    @Test
+    @DisplayName("exportWishlists returns a CBOR sequence when asked for it")
+    void exportWishlists_WritesCbor() throws Exception {
+        Mockito.when(exportWishlistsUseCase.export(WishlistExportRange.all(), 1000))
+                .thenReturn(Stream.of(Wishlist.rehydrate(11L, List.of(5L), 1)));
+
+        MvcResult result = mockMvc.perform(get("/admin/wishlists/export")
+                        .param("format", "CBOR")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_admin"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor-seq"));
+    }
+
+    @Test
+    @DisplayName("exportWishlists returns 400 for an unknown format")
+    void exportWishlists_ReturnsBadRequest_WhenFormatUnknown() throws Exception {
+        mockMvc.perform(get("/admin/wishlists/export")
+                        .param("format", "XML")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_admin"))))
+                .andExpect(status().isBadRequest());
+        Mockito.verifyNoInteractions(exportWishlistsUseCase);
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.luizalabs.wishlist_service.adapters.in.web;
+
+import com.luizalabs.wishlist_service.application.port.in.ProductFollowersUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(InternalProductController.class)
+class InternalProductControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ProductFollowersUseCase productFollowersUseCase;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.reset(productFollowersUseCase);
+    }
+
+    @Test
+    @DisplayName("streamFollowers writes one NDJSON line per userId and closes the stream")
+    void streamFollowers_WritesNdjson() throws Exception {
+        Stream<Long> userIds = Stream.of(11L, 12L, 13L);
+        boolean[] closed = new boolean[1];
+        Mockito.when(productFollowersUseCase.followers(5L, 10L, 0, 2))
+                .thenReturn(userIds.onClose(() -> closed[0] = true));
+
+        MvcResult result = mockMvc.perform(get("/internal/products/{productId}/followers", 5L)
+                        .param("after", "10")
+                        .param("batchSize", "2")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_internal"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"userId\":11}\n{\"userId\":12}\n{\"userId\":13}\n"));
+        assertThat(closed[0]).isTrue();
+    }
+
+    @Test
+    @DisplayName("streamFollowers returns 400 when batchSize is out of range")
+    void streamFollowers_ReturnsBadRequest_WhenBatchSizeOutOfRange() throws Exception {
+        mockMvc.perform(get("/internal/products/{productId}/followers", 5L)
+                        .param("batchSize", String.valueOf(InternalProductController.MAX_BATCH_SIZE + 1))
+                        .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_internal"))))
+                .andExpect(status().isBadRequest());
+        Mockito.verifyNoInteractions(productFollowersUseCase);
+    }
+
+}
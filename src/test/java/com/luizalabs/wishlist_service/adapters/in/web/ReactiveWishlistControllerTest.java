@@ -0,0 +1,255 @@
+package com.luizalabs.wishlist_service.adapters.in.web;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.luizalabs.wishlist_service.adapters.in.ratelimit.RateLimitExceededException;
+import com.luizalabs.wishlist_service.adapters.in.ratelimit.UserRateLimiter;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.request.AddProductRequest;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.request.ProductMembershipRequest;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.WishlistResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.mapper.WishlistWebMapper;
+import com.luizalabs.wishlist_service.application.port.in.ProductDetailsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ReactiveAddProductUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ReactiveBatchUpdateProductsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ReactiveListProductsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ReactiveProductMembershipUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ReactiveProductUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ReactiveRemoveProductUseCase;
+import com.luizalabs.wishlist_service.config.BinaryFormatsConfig;
+import com.luizalabs.wishlist_service.domain.exception.ProductNotFoundException;
+import com.luizalabs.wishlist_service.domain.model.ProductDetails;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistPage;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.csrf;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockJwt;
+
+@WebFluxTest(ReactiveWishlistController.class)
+@ActiveProfiles("reactive")
+@Import({WishlistWebMapper.class, BinaryFormatsConfig.class})
+class ReactiveWishlistControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ReactiveAddProductUseCase addProductUseCase;
+    @MockitoBean
+    private ReactiveRemoveProductUseCase removeProductUseCase;
+    @MockitoBean
+    private ReactiveListProductsUseCase listProductsUseCase;
+    @MockitoBean
+    private ReactiveProductUseCase productUseCase;
+    @MockitoBean
+    private ReactiveBatchUpdateProductsUseCase batchUpdateProductsUseCase;
+    @MockitoBean
+    private ReactiveProductMembershipUseCase productMembershipUseCase;
+    @MockitoBean
+    private ProductDetailsUseCase productDetailsUseCase;
+    @MockitoBean
+    private UserRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.reset(addProductUseCase, removeProductUseCase, listProductsUseCase, productUseCase,
+                batchUpdateProductsUseCase, productMembershipUseCase, productDetailsUseCase, rateLimiter);
+    }
+
+    @Test
+    @DisplayName("addProduct returns 201 with a Location header when userId matches JWT")
+    void addProduct_ReturnsCreated_WhenUserIdMatchesJwt() {
+        Mockito.when(addProductUseCase.add(1L, 42L, null)).thenReturn(Mono.just(Wishlist.rehydrate(1L, List.of(42L))));
+
+        webTestClient.mutateWith(csrf()).mutateWith(mockJwt().jwt(jwt -> jwt.subject("1")))
+                .post().uri("/v1/wishlists/{userId}/product", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new AddProductRequest(42L))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueMatches("Location", ".*/v1/wishlists/1/product/42")
+                .expectBody()
+                .jsonPath("$.userId").isEqualTo(1)
+                .jsonPath("$.productIds[0]").isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("getAllProductsFromWishList returns 429 with Retry-After when the user's read bucket is empty")
+    void getAllProducts_ReturnsTooManyRequests_WhenRateLimited() {
+        Mockito.doThrow(new RateLimitExceededException(Duration.ofMillis(200)))
+                .when(rateLimiter).acquire(1L, UserRateLimiter.Access.READ);
+
+        webTestClient.mutateWith(mockJwt().jwt(jwt -> jwt.subject("1")))
+                .get().uri("/v1/wishlists/{userId}/products", 1L)
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().valueEquals("Retry-After", "1")
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("RATE_LIMITED");
+
+        Mockito.verifyNoInteractions(listProductsUseCase);
+    }
+
+    @Test
+    @DisplayName("addProduct returns 403 when userId does not match JWT")
+    void addProduct_ReturnsForbidden_WhenUserIdDoesNotMatchJwt() {
+        webTestClient.mutateWith(csrf()).mutateWith(mockJwt().jwt(jwt -> jwt.subject("2")))
+                .post().uri("/v1/wishlists/{userId}/product", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new AddProductRequest(42L))
+                .exchange()
+                .expectStatus().isForbidden();
+        Mockito.verifyNoInteractions(addProductUseCase);
+    }
+
+    @Test
+    @DisplayName("addProduct returns 400 when productId is null")
+    void addProduct_ReturnsBadRequest_WhenProductIdIsNull() {
+        webTestClient.mutateWith(csrf()).mutateWith(mockJwt().jwt(jwt -> jwt.subject("1")))
+                .post().uri("/v1/wishlists/{userId}/product", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new AddProductRequest(null))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("VALIDATION_ERROR");
+    }
+
+    @Test
+    @DisplayName("removeProduct returns 204 when the product is removed")
+    void removeProduct_ReturnsNoContent() {
+        Mockito.when(removeProductUseCase.remove(1L, 42L)).thenReturn(Mono.empty());
+
+        webTestClient.mutateWith(csrf()).mutateWith(mockJwt().jwt(jwt -> jwt.subject("1")))
+                .delete().uri("/v1/wishlists/{userId}/product/{productId}", 1L, 42L)
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    @DisplayName("removeProduct returns 404 when the product is not in the wishlist")
+    void removeProduct_ReturnsNotFound_WhenProductNotFound() {
+        Mockito.when(removeProductUseCase.remove(1L, 42L))
+                .thenReturn(Mono.error(new ProductNotFoundException("Product not found")));
+
+        webTestClient.mutateWith(csrf()).mutateWith(mockJwt().jwt(jwt -> jwt.subject("1")))
+                .delete().uri("/v1/wishlists/{userId}/product/{productId}", 1L, 42L)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("PRODUCT_NOT_FOUND");
+    }
+
+    @Test
+    @DisplayName("getAllProductsFromWishList returns 200 with the wishlist")
+    void getAllProductsFromWishList_ReturnsOk() {
+        Mockito.when(listProductsUseCase.get(1L)).thenReturn(Mono.just(Wishlist.rehydrate(1L, List.of(5L, 6L))));
+
+        webTestClient.mutateWith(mockJwt().jwt(jwt -> jwt.claim("user_id", "1")))
+                .get().uri("/v1/wishlists/{userId}/products", 1L)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.productIds.length()").isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getAllProductsFromWishList answers in CBOR when the client accepts it")
+    void getAllProductsFromWishList_WritesCbor_WhenNegotiated() throws Exception {
+        Mockito.when(listProductsUseCase.get(1L)).thenReturn(Mono.just(Wishlist.rehydrate(1L, List.of(5L, 6L))));
+
+        byte[] body = webTestClient.mutateWith(mockJwt().jwt(jwt -> jwt.subject("1")))
+                .get().uri("/v1/wishlists/{userId}/products", 1L)
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        WishlistResponse decoded = new CBORMapper().readValue(body, WishlistResponse.class);
+        assertThat(decoded.getProductIds()).containsExactly(5L, 6L);
+    }
+
+    @Test
+    @DisplayName("getAllProductsFromWishList with expand=details returns the catalog details of each product")
+    void getAllProductsFromWishList_ReturnsDetails_WhenExpanded() {
+        Wishlist wishlist = Wishlist.rehydrate(1L, List.of(5L, 6L));
+        Mockito.when(listProductsUseCase.get(1L)).thenReturn(Mono.just(wishlist));
+        Mockito.when(productDetailsUseCase.details(wishlist.getProductIds()))
+                .thenReturn(Map.of(6L, new ProductDetails(6L, "Mug", BigDecimal.TEN, null)));
+
+        webTestClient.mutateWith(mockJwt().jwt(jwt -> jwt.subject("1")))
+                .get().uri("/v1/wishlists/{userId}/products?expand=details", 1L)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.products[0].productId").isEqualTo(5)
+                .jsonPath("$.products[0].name").doesNotExist()
+                .jsonPath("$.products[1].name").isEqualTo("Mug");
+    }
+
+    @Test
+    @DisplayName("getProductsPage returns the last page without a cursor")
+    void getProductsPage_ReturnsLastPage() {
+        Mockito.when(listProductsUseCase.page(1L, new WishlistPageCursor(6L, 1), 100))
+                .thenReturn(Mono.just(new WishlistPage(1L, new long[]{7L}, 2, 3)));
+
+        webTestClient.mutateWith(mockJwt().jwt(jwt -> jwt.subject("1")))
+                .get().uri("/v1/wishlists/{userId}/products/page?cursor={cursor}", 1L, WishlistRequests.encodeCursor(new WishlistPageCursor(6L, 1)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.productIds[0]").isEqualTo(7)
+                .jsonPath("$.total").isEqualTo(3)
+                .jsonPath("$.nextCursor").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("getProductForUserWishlist returns 404 when the product is not in the wishlist")
+    void getProductForUserWishlist_ReturnsNotFound_WhenProductDoesNotExist() {
+        Mockito.when(productUseCase.getProductForUserWishlist(1L, 9L)).thenReturn(Mono.empty());
+
+        webTestClient.mutateWith(mockJwt().jwt(jwt -> jwt.subject("1")))
+                .get().uri("/v1/wishlists/{userId}/product/{productId}", 1L, 9L)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("checkProductsInWishlist returns a bit vector when octet-stream is accepted")
+    void checkProductsInWishlist_ReturnsBitVector_WhenOctetStreamAccepted() {
+        BitSet membership = new BitSet();
+        membership.set(1);
+        Mockito.when(productMembershipUseCase.membership(1L, List.of(10L, 20L, 30L))).thenReturn(Mono.just(membership));
+
+        webTestClient.mutateWith(csrf()).mutateWith(mockJwt().jwt(jwt -> jwt.subject("1")))
+                .post().uri("/v1/wishlists/{userId}/products/membership", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_OCTET_STREAM)
+                .bodyValue(new ProductMembershipRequest(List.of(10L, 20L, 30L)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .expectBody(byte[].class).isEqualTo(new byte[]{0b010});
+    }
+
+}
@@ -1,38 +1,72 @@
 package com.luizalabs.wishlist_service.adapters.in.web;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.luizalabs.wishlist_service.adapters.in.ratelimit.RateLimitExceededException;
+import com.luizalabs.wishlist_service.adapters.in.ratelimit.UserRateLimiter;
 import com.luizalabs.wishlist_service.adapters.in.web.dto.request.AddProductRequest;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.request.BatchUpdateProductsRequest;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.request.ProductMembershipRequest;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.BatchUpdateProductsResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.ApiErrorResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.ProductChangeResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.ProductDetailsResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.ProductMembershipResponse;
 import com.luizalabs.wishlist_service.adapters.in.web.dto.response.ProductResponse;
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.WishlistPageResponse;
 import com.luizalabs.wishlist_service.adapters.in.web.dto.response.WishlistResponse;
 import com.luizalabs.wishlist_service.adapters.in.web.mapper.WishlistWebMapper;
 import com.luizalabs.wishlist_service.application.port.in.AddProductUseCase;
+import com.luizalabs.wishlist_service.application.port.in.BatchUpdateProductsUseCase;
 import com.luizalabs.wishlist_service.application.port.in.ListProductsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ProductDetailsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ProductMembershipUseCase;
 import com.luizalabs.wishlist_service.application.port.in.ProductUseCase;
 import com.luizalabs.wishlist_service.application.port.in.RemoveProductUseCase;
+import com.luizalabs.wishlist_service.config.BinaryFormatsConfig;
+import com.luizalabs.wishlist_service.domain.exception.WishlistConflictException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistMaxLimitException;
+import com.luizalabs.wishlist_service.domain.model.ProductChangeOutcome;
+import com.luizalabs.wishlist_service.domain.model.ProductChangeResult;
+import com.luizalabs.wishlist_service.domain.model.ProductChangeType;
+import com.luizalabs.wishlist_service.domain.model.ProductDetails;
 import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistBatchResult;
+import com.luizalabs.wishlist_service.domain.model.WishlistPage;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(WishlistController.class)
+@Import(BinaryFormatsConfig.class)
 class WishlistControllerTest {
 
     @Autowired
@@ -47,14 +81,23 @@ class WishlistControllerTest {
     @MockitoBean
     private ProductUseCase productUseCase;
     @MockitoBean
+    private BatchUpdateProductsUseCase batchUpdateProductsUseCase;
+    @MockitoBean
+    private ProductMembershipUseCase productMembershipUseCase;
+    @MockitoBean
+    private ProductDetailsUseCase productDetailsUseCase;
+    @MockitoBean
     private WishlistWebMapper mapper;
+    @MockitoBean
+    private UserRateLimiter rateLimiter;
 
     @Autowired
     private ObjectMapper objectMapper;
 
     @BeforeEach
     void setUp() {
-        Mockito.reset(addProductUseCase, removeProductUseCase, listProductsUseCase, productUseCase, mapper);
+        Mockito.reset(addProductUseCase, removeProductUseCase, listProductsUseCase, productUseCase, batchUpdateProductsUseCase,
+                productMembershipUseCase, productDetailsUseCase, mapper, rateLimiter);
     }
 
     @Test
@@ -64,21 +107,85 @@ class WishlistControllerTest {
         Long productId = 42L;
         AddProductRequest request = new AddProductRequest(productId);
         Wishlist wishlist = Wishlist.rehydrate(userId, List.of(productId));
-        WishlistResponse response = WishlistResponse.builder().userId(userId).productIds(List.of(productId)).build();
+        WishlistResponse response = WishlistResponse.builder().userId(userId).productIds(new long[]{productId}).build();
 
-        Mockito.when(addProductUseCase.add(eq(userId), eq(productId))).thenReturn(wishlist);
+        Mockito.when(addProductUseCase.add(eq(userId), eq(productId), eq("premium"))).thenReturn(wishlist);
         Mockito.when(mapper.wishlistToResponse(wishlist)).thenReturn(response);
 
         mockMvc.perform(post("/v1/wishlists/{userId}/product", userId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request))
                 .with(csrf())
-                .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(userId)))))
+                .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(userId)).claim("tier", "premium"))))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.userId").value(userId))
                 .andExpect(jsonPath("$.productIds[0]").value(productId));
     }
 
+    @Test
+    @DisplayName("addProduct reads and writes CBOR when the client sends and accepts it")
+    void addProduct_SpeaksCbor_WhenNegotiated() throws Exception {
+        Long userId = 1L;
+        Wishlist wishlist = Wishlist.rehydrate(userId, List.of(42L));
+        WishlistResponse response = WishlistResponse.builder().userId(userId).productIds(new long[]{42L}).build();
+        Mockito.when(addProductUseCase.add(userId, 42L, null)).thenReturn(wishlist);
+        Mockito.when(mapper.wishlistToResponse(wishlist)).thenReturn(response);
+        CBORMapper cbor = new CBORMapper();
+
+        byte[] body = mockMvc.perform(post("/v1/wishlists/{userId}/product", userId)
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .content(cbor.writeValueAsBytes(new AddProductRequest(42L)))
+                .with(csrf())
+                .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(userId)))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        WishlistResponse decoded = cbor.readValue(body, WishlistResponse.class);
+        assertThat(decoded.getUserId()).isEqualTo(userId);
+        assertThat(decoded.getProductIds()).containsExactly(42L);
+        assertThat(body.length).isLessThan(objectMapper.writeValueAsBytes(response).length);
+    }
+
+    @Test
+    @DisplayName("addProduct answers errors in Smile when the client accepts it")
+    void addProduct_WritesSmileError_WhenNegotiated() throws Exception {
+        Long userId = 1L;
+        Mockito.when(addProductUseCase.add(userId, 42L, null)).thenThrow(new WishlistMaxLimitException("Wishlist is full"));
+
+        byte[] body = mockMvc.perform(post("/v1/wishlists/{userId}/product", userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(BinaryFormatsConfig.APPLICATION_SMILE)
+                .content(objectMapper.writeValueAsString(new AddProductRequest(42L)))
+                .with(csrf())
+                .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(userId)))))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(content().contentType(BinaryFormatsConfig.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(new SmileMapper().readValue(body, ApiErrorResponse.class).getError()).isEqualTo("LIMIT_REACHED");
+    }
+
+    @Test
+    @DisplayName("addProduct returns 429 with Retry-After when the user's write bucket is empty")
+    void addProduct_ReturnsTooManyRequests_WhenRateLimited() throws Exception {
+        Long userId = 1L;
+        Mockito.doThrow(new RateLimitExceededException(Duration.ofMillis(1500)))
+                .when(rateLimiter).acquire(userId, UserRateLimiter.Access.WRITE);
+
+        mockMvc.perform(post("/v1/wishlists/{userId}/product", userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new AddProductRequest(42L)))
+                .with(csrf())
+                .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(userId)))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.error").value("RATE_LIMITED"));
+
+        Mockito.verifyNoInteractions(addProductUseCase);
+    }
+
     @Test
     @DisplayName("addProduct returns 403 when userId does not match JWT")
     void addProduct_ReturnsForbidden_WhenUserIdDoesNotMatchJwt() throws Exception {
@@ -109,6 +216,153 @@ class WishlistControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("batchUpdateProducts returns 200 with per-item outcomes when userId matches JWT")
+    void batchUpdateProducts_ReturnsOk_WhenUserIdMatchesJwt() throws Exception {
+        Long userId = 1L;
+        BatchUpdateProductsRequest request = new BatchUpdateProductsRequest(List.of(42L), List.of(7L));
+        WishlistBatchResult result = new WishlistBatchResult(
+                Wishlist.rehydrate(userId, List.of(42L)),
+                List.of(new ProductChangeResult(7L, ProductChangeType.REMOVE, ProductChangeOutcome.REMOVED),
+                        new ProductChangeResult(42L, ProductChangeType.ADD, ProductChangeOutcome.ADDED)));
+        BatchUpdateProductsResponse response = BatchUpdateProductsResponse.builder()
+                .userId(userId)
+                .productIds(new long[]{42L})
+                .results(List.of(
+                        new ProductChangeResponse(7L, ProductChangeType.REMOVE, ProductChangeOutcome.REMOVED),
+                        new ProductChangeResponse(42L, ProductChangeType.ADD, ProductChangeOutcome.ADDED)))
+                .build();
+
+        Mockito.when(batchUpdateProductsUseCase.update(userId, List.of(42L), List.of(7L), null)).thenReturn(result);
+        Mockito.when(mapper.batchResultToResponse(result)).thenReturn(response);
+
+        mockMvc.perform(patch("/v1/wishlists/{userId}/products", userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request))
+                .with(csrf())
+                .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(userId)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productIds[0]").value(42L))
+                .andExpect(jsonPath("$.results[0].outcome").value("REMOVED"))
+                .andExpect(jsonPath("$.results[1].operation").value("ADD"));
+    }
+
+    @Test
+    @DisplayName("batchUpdateProducts returns 403 when userId does not match JWT")
+    void batchUpdateProducts_ReturnsForbidden_WhenUserIdDoesNotMatchJwt() throws Exception {
+        BatchUpdateProductsRequest request = new BatchUpdateProductsRequest(List.of(42L), List.of());
+
+        mockMvc.perform(patch("/v1/wishlists/{userId}/products", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request))
+                .with(csrf())
+                .with(jwt().jwt(jwt -> jwt.subject("2"))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("batchUpdateProducts returns 400 when a productId is null")
+    void batchUpdateProducts_ReturnsBadRequest_WhenProductIdIsNull() throws Exception {
+        Long userId = 1L;
+
+        mockMvc.perform(patch("/v1/wishlists/{userId}/products", userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"add\":[null],\"remove\":[]}")
+                .with(csrf())
+                .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(userId)))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("batchUpdateProducts returns 409 when the wishlist keeps changing concurrently")
+    void batchUpdateProducts_ReturnsConflict_WhenRetriesAreExhausted() throws Exception {
+        Long userId = 1L;
+        Mockito.when(batchUpdateProductsUseCase.update(userId, List.of(42L), List.of(), null))
+                .thenThrow(new WishlistConflictException("busy"));
+
+        mockMvc.perform(patch("/v1/wishlists/{userId}/products", userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchUpdateProductsRequest(List.of(42L), List.of())))
+                .with(csrf())
+                .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(userId)))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("WISHLIST_CONFLICT"));
+    }
+
+    @Test
+    @DisplayName("checkProductsInWishlist returns JSON membership by default")
+    void checkProductsInWishlist_ReturnsJson_ByDefault() throws Exception {
+        Long userId = 1L;
+        List<Long> productIds = List.of(10L, 20L, 30L);
+        BitSet membership = new BitSet();
+        membership.set(1);
+        ProductMembershipResponse response = ProductMembershipResponse.builder()
+                .userId(userId)
+                .productIds(new long[]{20L})
+                .inWishlist(new boolean[]{false, true, false})
+                .build();
+
+        Mockito.when(productMembershipUseCase.membership(userId, productIds)).thenReturn(membership);
+        Mockito.when(mapper.membershipToResponse(userId, productIds, membership)).thenReturn(response);
+
+        mockMvc.perform(post("/v1/wishlists/{userId}/products/membership", userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ProductMembershipRequest(productIds)))
+                .with(csrf())
+                .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(userId)))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.productIds[0]").value(20L))
+                .andExpect(jsonPath("$.inWishlist[1]").value(true));
+    }
+
+    @Test
+    @DisplayName("checkProductsInWishlist returns a bit vector when octet-stream is accepted")
+    void checkProductsInWishlist_ReturnsBitVector_WhenOctetStreamAccepted() throws Exception {
+        Long userId = 1L;
+        List<Long> productIds = List.of(10L, 20L, 30L);
+        BitSet membership = new BitSet();
+        membership.set(1);
+
+        Mockito.when(productMembershipUseCase.membership(userId, productIds)).thenReturn(membership);
+        Mockito.when(mapper.membershipToBitVector(membership, 3)).thenReturn(new byte[]{0b010});
+
+        mockMvc.perform(post("/v1/wishlists/{userId}/products/membership", userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_OCTET_STREAM)
+                .content(objectMapper.writeValueAsString(new ProductMembershipRequest(productIds)))
+                .with(csrf())
+                .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(userId)))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(content().bytes(new byte[]{0b010}));
+    }
+
+    @Test
+    @DisplayName("checkProductsInWishlist returns 400 when productIds is empty")
+    void checkProductsInWishlist_ReturnsBadRequest_WhenProductIdsEmpty() throws Exception {
+        Long userId = 1L;
+
+        mockMvc.perform(post("/v1/wishlists/{userId}/products/membership", userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ProductMembershipRequest(List.of())))
+                .with(csrf())
+                .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(userId)))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("checkProductsInWishlist returns 403 when userId does not match JWT")
+    void checkProductsInWishlist_ReturnsForbidden_WhenUserIdDoesNotMatchJwt() throws Exception {
+        mockMvc.perform(post("/v1/wishlists/{userId}/products/membership", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ProductMembershipRequest(List.of(10L))))
+                .with(csrf())
+                .with(jwt().jwt(jwt -> jwt.subject("2"))))
+                .andExpect(status().isForbidden());
+        Mockito.verifyNoInteractions(productMembershipUseCase);
+    }
+
     @Test
     @DisplayName("removeProduct returns 204 when userId matches JWT and product is removed")
     void removeProduct_ReturnsNoContent_WhenUserIdMatchesJwt() throws Exception {
@@ -154,18 +408,110 @@ class WishlistControllerTest {
         Long userId = 1L;
         List<Long> productIds = List.of(10L, 20L);
         Wishlist wishlist = Wishlist.rehydrate(userId, productIds);
-        WishlistResponse response = WishlistResponse.builder().userId(userId).productIds(productIds).build();
+        WishlistResponse response = WishlistResponse.builder().userId(userId).productIds(new long[]{10L, 20L}).build();
         Mockito.when(listProductsUseCase.get(userId)).thenReturn(wishlist);
         Mockito.when(mapper.wishlistToResponse(wishlist)).thenReturn(response);
 
         mockMvc.perform(get("/v1/wishlists/{userId}/products", userId)
                 .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(userId)))))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.userId").value(userId))
                 .andExpect(jsonPath("$.productIds[0]").value(10L))
                 .andExpect(jsonPath("$.productIds[1]").value(20L));
     }
 
+    @Test
+    @DisplayName("getAllProductsFromWishList with expand=details returns each product with its catalog details")
+    void getAllProductsFromWishList_ReturnsDetails_WhenExpanded() throws Exception {
+        Long userId = 1L;
+        Wishlist wishlist = Wishlist.rehydrate(userId, List.of(10L, 20L));
+        Map<Long, ProductDetails> details = Map.of(10L, new ProductDetails(10L, "Kettle", new BigDecimal("99.90"), null));
+        WishlistResponse response = WishlistResponse.builder()
+                .userId(userId)
+                .productIds(new long[]{10L, 20L})
+                .products(List.of(
+                        ProductDetailsResponse.builder().productId(10L).name("Kettle").price(new BigDecimal("99.90")).build(),
+                        ProductDetailsResponse.builder().productId(20L).build()))
+                .build();
+        Mockito.when(listProductsUseCase.get(userId)).thenReturn(wishlist);
+        Mockito.when(productDetailsUseCase.details(wishlist.getProductIds())).thenReturn(details);
+        Mockito.when(mapper.wishlistToResponse(wishlist, details)).thenReturn(response);
+
+        mockMvc.perform(get("/v1/wishlists/{userId}/products", userId)
+                .param("expand", "details")
+                .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(userId)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].name").value("Kettle"))
+                .andExpect(jsonPath("$.products[1].productId").value(20L))
+                .andExpect(jsonPath("$.products[1].name").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("getAllProductsFromWishList leaves the catalog alone without expand and rejects unknown expands")
+    void getAllProductsFromWishList_ExpandsOnlyDetails() throws Exception {
+        Long userId = 1L;
+        Wishlist wishlist = Wishlist.rehydrate(userId, List.of(10L));
+        Mockito.when(listProductsUseCase.get(userId)).thenReturn(wishlist);
+        Mockito.when(mapper.wishlistToResponse(wishlist)).thenReturn(
+                WishlistResponse.builder().userId(userId).productIds(new long[]{10L}).build());
+
+        mockMvc.perform(get("/v1/wishlists/{userId}/products", userId)
+                .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(userId)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products").doesNotExist());
+        mockMvc.perform(get("/v1/wishlists/{userId}/products", userId)
+                .param("expand", "reviews")
+                .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(userId)))))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(productDetailsUseCase);
+    }
+
+    @Test
+    @DisplayName("getProductsPage returns one page with a cursor that resumes after it")
+    void getProductsPage_ReturnsPageAndCursor() throws Exception {
+        Long userId = 1L;
+        WishlistPage first = new WishlistPage(userId, new long[]{10L, 20L}, 0, 5);
+        WishlistPage second = new WishlistPage(userId, new long[]{30L, 40L}, 2, 5);
+        String cursor = WishlistRequests.encodeCursor(new WishlistPageCursor(20L, 1));
+        Mockito.when(listProductsUseCase.page(userId, WishlistPageCursor.FIRST, 2)).thenReturn(first);
+        Mockito.when(listProductsUseCase.page(userId, new WishlistPageCursor(20L, 1), 2)).thenReturn(second);
+        Mockito.when(mapper.pageToResponse(first, cursor)).thenReturn(
+                WishlistPageResponse.builder().userId(userId).productIds(first.productIds()).total(5).nextCursor(cursor).build());
+
+        mockMvc.perform(get("/v1/wishlists/{userId}/products/page", userId)
+                .param("limit", "2")
+                .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(userId)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productIds[1]").value(20L))
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.nextCursor").value(cursor));
+        mockMvc.perform(get("/v1/wishlists/{userId}/products/page", userId)
+                .param("limit", "2")
+                .param("cursor", cursor)
+                .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(userId)))))
+                .andExpect(status().isOk());
+
+        Mockito.verify(listProductsUseCase).page(userId, new WishlistPageCursor(20L, 1), 2);
+        Mockito.verify(mapper).pageToResponse(second, WishlistRequests.encodeCursor(new WishlistPageCursor(40L, 3)));
+    }
+
+    @Test
+    @DisplayName("getProductsPage returns 400 for a cursor it did not issue or a limit out of range")
+    void getProductsPage_ReturnsBadRequest_WhenCursorOrLimitInvalid() throws Exception {
+        mockMvc.perform(get("/v1/wishlists/{userId}/products/page", 1L)
+                .param("cursor", "not-a-cursor")
+                .with(jwt().jwt(jwt -> jwt.subject("1"))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/v1/wishlists/{userId}/products/page", 1L)
+                .param("limit", String.valueOf(WishlistController.MAX_PAGE_SIZE + 1))
+                .with(jwt().jwt(jwt -> jwt.subject("1"))))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(listProductsUseCase);
+    }
+
     @Test
     @DisplayName("getAllProductsFromWishList returns 403 when userId does not match JWT")
     void getAllProductsFromWishList_ReturnsForbidden_WhenUserIdDoesNotMatchJwt() throws Exception {
@@ -237,7 +583,7 @@ class WishlistControllerTest {
         try {
             var method = WishlistController.class.getDeclaredMethod("validateUserId", Long.class, Jwt.class);
             method.setAccessible(true);
-            method.invoke(new WishlistController(null, null, null, null, null), pathUserId, jwt);
+            method.invoke(new WishlistController(null, null, null, null, null, null, null), pathUserId, jwt);
         } catch (Exception e) {
             throw new AssertionError("Should not throw", e);
         }
@@ -254,7 +600,7 @@ class WishlistControllerTest {
         try {
             var method = WishlistController.class.getDeclaredMethod("validateUserId", Long.class, Jwt.class);
             method.setAccessible(true);
-            method.invoke(new WishlistController(null, null, null, null, null), pathUserId, jwt);
+            method.invoke(new WishlistController(null, null, null, null, null, null, null), pathUserId, jwt);
             throw new AssertionError("Should have thrown ResponseStatusException");
         } catch (Exception e) {
             Throwable cause = e.getCause();
@@ -275,7 +621,7 @@ class WishlistControllerTest {
         try {
             var method = WishlistController.class.getDeclaredMethod("validateUserId", Long.class, Jwt.class);
             method.setAccessible(true);
-            method.invoke(new WishlistController(null, null, null, null, null), pathUserId, jwt);
+            method.invoke(new WishlistController(null, null, null, null, null, null, null), pathUserId, jwt);
             throw new AssertionError("Should have thrown ResponseStatusException");
         } catch (Exception e) {
             Throwable cause = e.getCause();
@@ -1,15 +1,21 @@
 package com.luizalabs.wishlist_service.adapters.in.web.mapper;
 
+import com.luizalabs.wishlist_service.adapters.in.web.dto.response.ProductMembershipResponse;
 import com.luizalabs.wishlist_service.adapters.in.web.dto.response.ProductResponse;
 import com.luizalabs.wishlist_service.adapters.in.web.dto.response.WishlistResponse;
+import com.luizalabs.wishlist_service.domain.model.ProductDetails;
 import com.luizalabs.wishlist_service.domain.model.Wishlist;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 class WishlistWebMapperTest {
     private final WishlistWebMapper mapper = new WishlistWebMapper();
@@ -23,6 +29,45 @@ class WishlistWebMapperTest {
         assertThat(response.getProductIds()).containsExactlyInAnyOrder(2L, 3L);
     }
 
+    @Test
+    @DisplayName("wishlistToResponse with details should list every product in order, with details where found")
+    void wishlistToResponseWithDetailsKeepsOrder() {
+        Wishlist domain = Wishlist.rehydrate(1L, List.of(3L, 2L));
+        Map<Long, ProductDetails> details = Map.of(2L, new ProductDetails(2L, "Lamp", new BigDecimal("12.50"), "lamp.jpg"));
+
+        WishlistResponse response = mapper.wishlistToResponse(domain, details);
+
+        assertThat(response.getProductIds()).containsExactly(3L, 2L);
+        assertThat(response.getProducts()).extracting("productId", "name", "price", "imageUrl").containsExactly(
+                tuple(3L, null, null, null),
+                tuple(2L, "Lamp", new BigDecimal("12.50"), "lamp.jpg"));
+    }
+
+    @Test
+    @DisplayName("membershipToResponse should list present products and flags in request order")
+    void membershipToResponseMapsInRequestOrder() {
+        BitSet membership = new BitSet();
+        membership.set(0);
+        membership.set(2);
+
+        ProductMembershipResponse response = mapper.membershipToResponse(1L, List.of(7L, 8L, 9L), membership);
+
+        assertThat(response.getUserId()).isEqualTo(1L);
+        assertThat(response.getProductIds()).containsExactly(7L, 9L);
+        assertThat(response.getInWishlist()).containsExactly(true, false, true);
+    }
+
+    @Test
+    @DisplayName("membershipToBitVector should pack one bit per requested product, padded to whole bytes")
+    void membershipToBitVectorPacksBits() {
+        BitSet membership = new BitSet();
+        membership.set(0);
+        membership.set(9);
+
+        assertThat(mapper.membershipToBitVector(membership, 12)).containsExactly(0b1, 0b10);
+        assertThat(mapper.membershipToBitVector(new BitSet(), 17)).containsExactly(0, 0, 0);
+    }
+
     @Test
     @DisplayName("wishlistToProductResponse should map first product correctly")
     void wishlistToProductResponseMapsFirstProduct() {
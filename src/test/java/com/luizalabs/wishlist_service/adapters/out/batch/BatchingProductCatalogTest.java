@@ -0,0 +1,114 @@
+package com.luizalabs.wishlist_service.adapters.out.batch;
+
+import com.luizalabs.wishlist_service.adapters.out.catalog.StubProductCatalogAdapter;
+import com.luizalabs.wishlist_service.application.port.out.ProductCatalogPort;
+import com.luizalabs.wishlist_service.domain.model.ProductDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class BatchingProductCatalogTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BatchingProductCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (catalog != null) catalog.close();
+    }
+
+    @Test
+    @DisplayName("findAllByIds should split the lookup into batches of at most batchSize products")
+    void findAllByIdsSplitsIntoBatches() {
+        ProductCatalogPort delegate = spy(new StubProductCatalogAdapter(Duration.ZERO));
+        catalog = new BatchingProductCatalog(delegate, 10, 4, Duration.ofSeconds(5), meterRegistry);
+        List<Long> productIds = LongStream.rangeClosed(1, 25).boxed().toList();
+
+        Map<Long, ProductDetails> found = catalog.findAllByIds(productIds);
+
+        assertThat(found).hasSize(25).containsKeys(1L, 10L, 11L, 25L);
+        verify(delegate, times(3)).findAllByIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("findAllByIds should run the batches in parallel, within the deadline of a single one")
+    void findAllByIdsRunsBatchesInParallel() {
+        catalog = new BatchingProductCatalog(new StubProductCatalogAdapter(Duration.ofMillis(100)), 1, 20, Duration.ofSeconds(1),
+                meterRegistry);
+
+        long startedAt = System.nanoTime();
+        Map<Long, ProductDetails> found = catalog.findAllByIds(LongStream.rangeClosed(1, 20).boxed().toList());
+
+        assertThat(found).hasSize(20);
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofMillis(900));
+    }
+
+    @Test
+    @DisplayName("findAllByIds should return what arrived by the deadline and drop the slow batches")
+    void findAllByIdsDropsBatchesPastDeadline() {
+        ProductCatalogPort delegate = new ProductCatalogPort() {
+            @Override
+            public Map<Long, ProductDetails> findAllByIds(final Collection<Long> productIds) {
+                long productId = productIds.iterator().next();
+                if (productId == 2L) {
+                    try {
+                        Thread.sleep(5_000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return Map.of(productId, new ProductDetails(productId, "p" + productId, BigDecimal.ONE, null));
+            }
+        };
+        catalog = new BatchingProductCatalog(delegate, 1, 4, Duration.ofMillis(100), meterRegistry);
+
+        long startedAt = System.nanoTime();
+        Map<Long, ProductDetails> found = catalog.findAllByIds(List.of(1L, 2L, 3L));
+
+        assertThat(found).containsOnlyKeys(1L, 3L);
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(2));
+        assertThat(meterRegistry.get("wishlist.catalog.lookups.timed-out").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findAllByIds should leave out the batches that fail instead of failing the lookup")
+    void findAllByIdsDropsFailedBatches() {
+        ProductCatalogPort delegate = mock(ProductCatalogPort.class);
+        when(delegate.findAllByIds(List.of(1L))).thenThrow(new IllegalStateException("catalog down"));
+        when(delegate.findAllByIds(List.of(2L))).thenReturn(Map.of(2L, new ProductDetails(2L, "p2", BigDecimal.TEN, null)));
+        catalog = new BatchingProductCatalog(delegate, 1, 4, Duration.ofSeconds(5), meterRegistry);
+
+        Map<Long, ProductDetails> found = catalog.findAllByIds(List.of(1L, 2L));
+
+        assertThat(found).containsOnlyKeys(2L);
+        assertThat(meterRegistry.get("wishlist.catalog.lookups.failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findAllByIds should not call the delegate for an empty lookup")
+    void findAllByIdsSkipsEmptyLookup() {
+        ProductCatalogPort delegate = mock(ProductCatalogPort.class);
+        catalog = new BatchingProductCatalog(delegate, 10, 4, Duration.ofSeconds(5), meterRegistry);
+
+        assertThat(catalog.findAllByIds(List.of())).isEmpty();
+        verifyNoInteractions(delegate);
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.luizalabs.wishlist_service.adapters.out.batch;
+
+import com.luizalabs.wishlist_service.adapters.out.batch.CoalescingWishlistRepository.PendingWrite;
+import com.luizalabs.wishlist_service.adapters.out.memory.InMemoryWishlistRepository;
+import com.luizalabs.wishlist_service.application.port.out.WishlistBatchWritePort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistRepositoryPort;
+import com.luizalabs.wishlist_service.domain.exception.ProductNotFoundException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistMaxLimitException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistNotFoundException;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class CoalescingWishlistRepositoryTest {
+
+    private InMemoryWishlistRepository store;
+    private SimpleMeterRegistry meterRegistry;
+    private CoalescingWishlistRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        store = spy(new InMemoryWishlistRepository());
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new CoalescingWishlistRepository(store, store, Duration.ofMillis(50), 500, 1000, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("flush should apply writes to the same user in arrival order, one round per write")
+    void flushKeepsPerUserOrder() {
+        PendingWrite first = new PendingWrite(1L, 10L, Wishlist.DEFAULT_MAX_ITEMS);
+        PendingWrite other = new PendingWrite(2L, 20L, Wishlist.DEFAULT_MAX_ITEMS);
+        PendingWrite removal = new PendingWrite(1L, 10L, 0);
+        PendingWrite last = new PendingWrite(1L, 11L, Wishlist.DEFAULT_MAX_ITEMS);
+
+        repository.flush(List.of(first, other, removal, last));
+
+        assertThat(first.result().join().getProductIds()).containsExactly(10L);
+        assertThat(other.result().join().getProductIds()).containsExactly(20L);
+        assertThat(removal.result()).isCompleted();
+        assertThat(last.result().join().getProductIds()).containsExactly(11L);
+        assertThat(store.findByUserId(1L).orElseThrow().getVersion()).isEqualTo(3);
+        verify(store, times(3)).findAllByUserIds(any());
+        verify(store, times(3)).compareAndSetAll(any(), any());
+        verify(store, never()).addProduct(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("flush should fail each write with the exception of the single-write path")
+    void flushFailsWritesIndividually() {
+        store.save(Wishlist.rehydrate(1L, LongStream.rangeClosed(1, Wishlist.DEFAULT_MAX_ITEMS).toArray()));
+        PendingWrite full = new PendingWrite(1L, 99L, Wishlist.DEFAULT_MAX_ITEMS);
+        PendingWrite noWishlist = new PendingWrite(2L, 5L, 0);
+        PendingWrite noProduct = new PendingWrite(1L, 98L, 0);
+        PendingWrite added = new PendingWrite(3L, 5L, Wishlist.DEFAULT_MAX_ITEMS);
+
+        repository.flush(List.of(full, noWishlist, noProduct, added));
+
+        assertThat(full.result()).failsWithin(Duration.ZERO).withThrowableOfType(Exception.class)
+                .withCauseInstanceOf(WishlistMaxLimitException.class);
+        assertThat(noWishlist.result()).failsWithin(Duration.ZERO).withThrowableOfType(Exception.class)
+                .withCauseInstanceOf(WishlistNotFoundException.class);
+        assertThat(noProduct.result()).failsWithin(Duration.ZERO).withThrowableOfType(Exception.class)
+                .withCauseInstanceOf(ProductNotFoundException.class);
+        assertThat(added.result().join().getProductIds()).containsExactly(5L);
+    }
+
+    @Test
+    @DisplayName("flush should not write products that are already in the wishlist")
+    void flushSkipsRedundantAdds() {
+        Wishlist stored = store.addProduct(1L, 10L, Wishlist.DEFAULT_MAX_ITEMS);
+        PendingWrite duplicate = new PendingWrite(1L, 10L, Wishlist.DEFAULT_MAX_ITEMS);
+
+        repository.flush(List.of(duplicate));
+
+        assertThat(duplicate.result().join().getVersion()).isEqualTo(stored.getVersion());
+        verify(store, never()).compareAndSetAll(any(), any());
+    }
+
+    @Test
+    @DisplayName("flush should retry writes that lose their compare-and-set, then send them to the delegate alone")
+    void flushBypassesAfterRepeatedConflicts() throws InterruptedException {
+        WishlistRepositoryPort delegate = mock(WishlistRepositoryPort.class);
+        WishlistBatchWritePort batchPort = mock(WishlistBatchWritePort.class);
+        Wishlist stored = Wishlist.rehydrate(1L, List.of(10L), 9);
+        when(batchPort.findAllByUserIds(any())).thenReturn(Map.of());
+        when(batchPort.compareAndSetAll(any(), any())).thenReturn(List.of(Optional.empty()));
+        when(delegate.addProduct(1L, 10L, Wishlist.DEFAULT_MAX_ITEMS)).thenReturn(stored);
+        SimpleMeterRegistry conflictedRegistry = new SimpleMeterRegistry();
+        var conflicted = new CoalescingWishlistRepository(delegate, batchPort, Duration.ofMillis(1), 10, 10, conflictedRegistry);
+        PendingWrite write = new PendingWrite(1L, 10L, Wishlist.DEFAULT_MAX_ITEMS);
+
+        conflicted.flush(List.of(write));
+        conflicted.close();
+
+        assertThat(write.result().join()).isSameAs(stored);
+        verify(batchPort, times(CoalescingWishlistRepository.MAX_ATTEMPTS)).compareAndSetAll(any(), any());
+        assertThat(conflictedRegistry.get("wishlist.write.bypassed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("flush should fail every write of the batch when the database call fails")
+    void flushFailsBatchOnDatabaseError() {
+        doThrow(new IllegalStateException("down")).when(store).compareAndSetAll(any(), any());
+        PendingWrite first = new PendingWrite(1L, 10L, Wishlist.DEFAULT_MAX_ITEMS);
+        PendingWrite second = new PendingWrite(2L, 10L, Wishlist.DEFAULT_MAX_ITEMS);
+
+        repository.flush(List.of(first, second));
+
+        assertThat(first.result()).isCompletedExceptionally();
+        assertThat(second.result()).isCompletedExceptionally();
+    }
+
+    @Test
+    @DisplayName("concurrent writers should be settled together in shared batches")
+    void concurrentWritersShareBatches() throws InterruptedException {
+        int writers = 64;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            for (int i = 0; i < writers; i++) {
+                long userId = i;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        repository.addProduct(userId, 1L, Wishlist.DEFAULT_MAX_ITEMS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        for (long userId = 0; userId < writers; userId++) {
+            assertThat(store.containsProduct(userId, 1L)).isTrue();
+        }
+        var batchSizes = meterRegistry.get("wishlist.write.batch.size").summary();
+        assertThat(batchSizes.totalAmount()).isEqualTo(writers);
+        assertThat(batchSizes.count()).isLessThan(writers);
+        verify(store, never()).addProduct(any(), any(), anyInt());
+    }
+
+}
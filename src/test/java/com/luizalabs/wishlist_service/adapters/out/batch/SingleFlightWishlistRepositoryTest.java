@@ -0,0 +1,177 @@
+package com.luizalabs.wishlist_service.adapters.out.batch;
+
+import com.luizalabs.wishlist_service.application.port.out.WishlistRepositoryPort;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class SingleFlightWishlistRepositoryTest {
+
+    private WishlistRepositoryPort delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlightWishlistRepository repository;
+    private ExecutorService executor;
+    private CountDownLatch loading;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(WishlistRepositoryPort.class);
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new SingleFlightWishlistRepository(delegate, meterRegistry);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        loading = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("findByUserId should share one delegate call between concurrent reads of the same user")
+    void findByUserIdSharesConcurrentReads() throws Exception {
+        when(delegate.findByUserId(1L)).thenAnswer(invocation -> blockingLoad(Optional.of(Wishlist.rehydrate(1L, List.of(2L)))));
+        Future<Optional<Wishlist>> leader = executor.submit(() -> repository.findByUserId(1L));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<Future<Optional<Wishlist>>> followers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) followers.add(executor.submit(() -> repository.findByUserId(1L)));
+        awaitCount("wishlist.read.coalesced", "findByUserId", 8);
+        release.countDown();
+
+        Wishlist led = leader.get(5, TimeUnit.SECONDS).orElseThrow();
+        for (Future<Optional<Wishlist>> follower : followers) {
+            Wishlist shared = follower.get(5, TimeUnit.SECONDS).orElseThrow();
+            assertThat(shared.getProductIds()).containsExactly(2L);
+            assertThat(shared).isNotSameAs(led);
+        }
+        verify(delegate, times(1)).findByUserId(1L);
+        assertThat(meterRegistry.get("wishlist.read.loads").tag("operation", "findByUserId").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findByUserId should not join a read that started before a completed write to the same user")
+    void findByUserIdObservesCompletedWrites() throws Exception {
+        Wishlist afterWrite = Wishlist.rehydrate(1L, List.of(2L, 3L));
+        when(delegate.findByUserId(1L))
+                .thenAnswer(invocation -> blockingLoad(Optional.of(Wishlist.rehydrate(1L, List.of(2L)))))
+                .thenReturn(Optional.of(afterWrite));
+        when(delegate.addProduct(1L, 3L, Wishlist.DEFAULT_MAX_ITEMS)).thenReturn(afterWrite);
+        Future<Optional<Wishlist>> stale = executor.submit(() -> repository.findByUserId(1L));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        repository.addProduct(1L, 3L, Wishlist.DEFAULT_MAX_ITEMS);
+        Optional<Wishlist> fresh = repository.findByUserId(1L);
+        release.countDown();
+
+        assertThat(fresh.orElseThrow().getProductIds()).containsExactly(2L, 3L);
+        assertThat(stale.get(5, TimeUnit.SECONDS).orElseThrow().getProductIds()).containsExactly(2L);
+        verify(delegate, times(2)).findByUserId(1L);
+    }
+
+    @Test
+    @DisplayName("findByUserId should not join a read that started before another instance's write was invalidated")
+    void findByUserIdObservesInvalidatedWrites() throws Exception {
+        Wishlist afterWrite = Wishlist.rehydrate(1L, List.of(2L, 3L));
+        when(delegate.findByUserId(1L))
+                .thenAnswer(invocation -> blockingLoad(Optional.of(Wishlist.rehydrate(1L, List.of(2L)))))
+                .thenReturn(Optional.of(afterWrite));
+        Future<Optional<Wishlist>> stale = executor.submit(() -> repository.findByUserId(1L));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Another instance writes, and its invalidation evicts the cache above: the next read reaches this layer.
+        repository.invalidated(1L);
+        Optional<Wishlist> fresh = repository.findByUserId(1L);
+        release.countDown();
+
+        assertThat(fresh.orElseThrow().getProductIds()).containsExactly(2L, 3L);
+        assertThat(stale.get(5, TimeUnit.SECONDS).orElseThrow().getProductIds()).containsExactly(2L);
+        verify(delegate, times(2)).findByUserId(1L);
+    }
+
+    @Test
+    @DisplayName("containsProduct should not join a read that started before invalidations may have been missed")
+    void containsProductObservesInvalidatedAll() throws Exception {
+        when(delegate.containsProduct(1L, 2L))
+                .thenAnswer(invocation -> blockingLoad(false))
+                .thenReturn(true);
+        Future<Boolean> stale = executor.submit(() -> repository.containsProduct(1L, 2L));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        repository.invalidatedAll();
+        boolean fresh = repository.containsProduct(1L, 2L);
+        release.countDown();
+
+        assertThat(fresh).isTrue();
+        assertThat(stale.get(5, TimeUnit.SECONDS)).isFalse();
+        verify(delegate, times(2)).containsProduct(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("findByUserId should not keep a failed read for later callers")
+    void findByUserIdRetriesAfterFailure() {
+        when(delegate.findByUserId(1L))
+                .thenThrow(new IllegalStateException("down"))
+                .thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> repository.findByUserId(1L)).isInstanceOf(IllegalStateException.class);
+        assertThat(repository.findByUserId(1L)).isEmpty();
+        verify(delegate, times(2)).findByUserId(1L);
+    }
+
+    @Test
+    @DisplayName("containsProduct should share one delegate call between concurrent checks of the same product")
+    void containsProductSharesConcurrentChecks() throws Exception {
+        when(delegate.containsProduct(1L, 2L)).thenAnswer(invocation -> blockingLoad(true));
+        when(delegate.containsProduct(1L, 3L)).thenReturn(false);
+        Future<Boolean> leader = executor.submit(() -> repository.containsProduct(1L, 2L));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<Boolean> follower = executor.submit(() -> repository.containsProduct(1L, 2L));
+        awaitCount("wishlist.read.coalesced", "containsProduct", 1);
+        boolean otherProduct = repository.containsProduct(1L, 3L);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(otherProduct).isFalse();
+        verify(delegate, times(1)).containsProduct(1L, 2L);
+    }
+
+    private <T> T blockingLoad(final T value) throws InterruptedException {
+        loading.countDown();
+        assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+        return value;
+    }
+
+    private void awaitCount(final String name,
+                            final String operation,
+                            final double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(name).tag("operation", operation).counter().count() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(meterRegistry.get(name).tag("operation", operation).counter().count()).isEqualTo(expected);
+    }
+
+}
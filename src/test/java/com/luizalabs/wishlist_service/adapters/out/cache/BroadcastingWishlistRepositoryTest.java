@@ -0,0 +1,79 @@
+package com.luizalabs.wishlist_service.adapters.out.cache;
+
+import com.luizalabs.wishlist_service.application.port.out.WishlistInvalidationPort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistRepositoryPort;
+import com.luizalabs.wishlist_service.domain.exception.WishlistMaxLimitException;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class BroadcastingWishlistRepositoryTest {
+
+    private WishlistRepositoryPort delegate;
+    private WishlistInvalidationPort invalidations;
+    private BroadcastingWishlistRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(WishlistRepositoryPort.class);
+        invalidations = mock(WishlistInvalidationPort.class);
+        repository = new BroadcastingWishlistRepository(delegate, invalidations);
+    }
+
+    @Test
+    @DisplayName("writes should publish the users they wrote")
+    void writesPublish() {
+        repository.addProduct(1L, 2L, Wishlist.DEFAULT_MAX_ITEMS);
+        repository.remove(3L, 2L);
+        repository.saveAll(List.of(Wishlist.rehydrate(4L, List.of(2L)), Wishlist.rehydrate(5L, List.of(2L))));
+
+        verify(invalidations).publish(List.of(1L));
+        verify(invalidations).publish(List.of(3L));
+        verify(invalidations).publish(List.of(4L, 5L));
+    }
+
+    @Test
+    @DisplayName("a failed write should still publish, since it may have been applied")
+    void failedWritePublishes() {
+        when(delegate.addProduct(1L, 2L, Wishlist.DEFAULT_MAX_ITEMS)).thenThrow(new WishlistMaxLimitException("full"));
+
+        assertThatThrownBy(() -> repository.addProduct(1L, 2L, Wishlist.DEFAULT_MAX_ITEMS))
+                .isInstanceOf(WishlistMaxLimitException.class);
+        verify(invalidations).publish(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("compareAndSet should publish only when it won")
+    void compareAndSetPublishesOnlyWhenApplied() {
+        Wishlist expected = Wishlist.rehydrate(1L, List.of(2L));
+        Wishlist updated = Wishlist.rehydrate(1L, List.of(2L, 3L));
+        when(delegate.compareAndSet(expected, updated)).thenReturn(Optional.empty()).thenReturn(Optional.of(updated));
+
+        assertThat(repository.compareAndSet(expected, updated)).isEmpty();
+        verify(invalidations, never()).publish(any());
+        assertThat(repository.compareAndSet(expected, updated)).contains(updated);
+        verify(invalidations).publish(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("reads should not publish")
+    void readsDoNotPublish() {
+        when(delegate.findByUserId(1L)).thenReturn(Optional.empty());
+
+        repository.findByUserId(1L);
+        repository.containsProduct(1L, 2L);
+        repository.findPage(1L, WishlistPageCursor.FIRST, 10);
+
+        verifyNoInteractions(invalidations);
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.luizalabs.wishlist_service.adapters.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.luizalabs.wishlist_service.application.port.out.ProductCatalogPort;
+import com.luizalabs.wishlist_service.domain.model.ProductDetails;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class CachingProductCatalogTest {
+
+    private ProductCatalogPort delegate;
+    private Cache<Long, ProductDetails> cache;
+    private CachingProductCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(ProductCatalogPort.class);
+        cache = Caffeine.newBuilder().maximumSize(10).recordStats().build();
+        catalog = new CachingProductCatalog(delegate, cache);
+    }
+
+    @Test
+    @DisplayName("findAllByIds should only ask the delegate for the products it has not cached")
+    void findAllByIdsLoadsOnlyMisses() {
+        when(delegate.findAllByIds(anyCollection())).thenAnswer(invocation -> Map.of(1L, details(1L)))
+                .thenAnswer(invocation -> Map.of(2L, details(2L)));
+
+        catalog.findAllByIds(List.of(1L));
+        Map<Long, ProductDetails> found = catalog.findAllByIds(List.of(1L, 2L));
+
+        assertThat(found).containsOnlyKeys(1L, 2L);
+        verify(delegate).findAllByIds(argThat(ids -> Set.copyOf(ids).equals(Set.of(1L))));
+        verify(delegate).findAllByIds(argThat(ids -> Set.copyOf(ids).equals(Set.of(2L))));
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findAllByIds should not call the delegate when every product is cached")
+    void findAllByIdsAnswersFromCache() {
+        cache.put(1L, details(1L));
+        cache.put(2L, details(2L));
+
+        assertThat(catalog.findAllByIds(List.of(1L, 2L))).containsOnlyKeys(1L, 2L);
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    @DisplayName("findAllByIds should not cache products the delegate left out")
+    void findAllByIdsDoesNotCacheMissingProducts() {
+        when(delegate.findAllByIds(anyCollection())).thenReturn(Map.of());
+
+        assertThat(catalog.findAllByIds(List.of(1L))).isEmpty();
+        assertThat(catalog.findAllByIds(List.of(1L))).isEmpty();
+
+        verify(delegate, times(2)).findAllByIds(anyCollection());
+    }
+
+    private static ProductDetails details(final long productId) {
+        return new ProductDetails(productId, "Product " + productId, BigDecimal.valueOf(productId), null);
+    }
+
+}
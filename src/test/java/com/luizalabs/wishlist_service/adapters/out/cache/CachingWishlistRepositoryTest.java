@@ -0,0 +1,288 @@
+package com.luizalabs.wishlist_service.adapters.out.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.luizalabs.wishlist_service.application.port.out.WishlistRepositoryPort;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistPage;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class CachingWishlistRepositoryTest {
+
+    private WishlistRepositoryPort delegate;
+    private AsyncCache<Long, Optional<Wishlist>> cache;
+    private CachingWishlistRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(WishlistRepositoryPort.class);
+        cache = Caffeine.newBuilder().maximumSize(10).recordStats().buildAsync();
+        repository = new CachingWishlistRepository(delegate, cache);
+    }
+
+    @Test
+    @DisplayName("findByUserId should hit the delegate only once for repeated reads")
+    void findByUserIdReadsThrough() {
+        when(delegate.findByUserId(1L)).thenReturn(Optional.of(Wishlist.rehydrate(1L, List.of(2L))));
+
+        repository.findByUserId(1L);
+        Optional<Wishlist> result = repository.findByUserId(1L);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getProductIds()).containsExactly(2L);
+        verify(delegate, times(1)).findByUserId(1L);
+        assertThat(cache.synchronous().stats().hitCount()).isEqualTo(1);
+        assertThat(cache.synchronous().stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findByUserId should cache absent wishlists")
+    void findByUserIdCachesAbsentWishlists() {
+        when(delegate.findByUserId(1L)).thenReturn(Optional.empty());
+
+        assertThat(repository.findByUserId(1L)).isEmpty();
+        assertThat(repository.findByUserId(1L)).isEmpty();
+
+        verify(delegate, times(1)).findByUserId(1L);
+    }
+
+    @Test
+    @DisplayName("findByUserId should return copies so callers cannot mutate the cached entry")
+    void findByUserIdReturnsCopies() {
+        when(delegate.findByUserId(1L)).thenReturn(Optional.of(Wishlist.rehydrate(1L, List.of(2L))));
+
+        repository.findByUserId(1L).orElseThrow().addProduct(3L, Wishlist.DEFAULT_MAX_ITEMS);
+
+        assertThat(repository.findByUserId(1L).orElseThrow().getProductIds()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("addProduct should refresh the cached entry with the stored post-image")
+    void addProductRefreshesEntry() {
+        when(delegate.findByUserId(1L)).thenReturn(Optional.empty());
+        when(delegate.addProduct(1L, 2L, Wishlist.DEFAULT_MAX_ITEMS)).thenReturn(Wishlist.rehydrate(1L, List.of(2L)));
+
+        repository.findByUserId(1L);
+        repository.addProduct(1L, 2L, Wishlist.DEFAULT_MAX_ITEMS);
+
+        assertThat(repository.findByUserId(1L).orElseThrow().getProductIds()).containsExactly(2L);
+        verify(delegate, times(1)).findByUserId(1L);
+    }
+
+    @Test
+    @DisplayName("a write that returns after a newer one should not replace it in the cache")
+    void olderPostImageDoesNotReplaceNewer() {
+        when(delegate.addProduct(1L, 3L, Wishlist.DEFAULT_MAX_ITEMS)).thenReturn(Wishlist.rehydrate(1L, List.of(2L, 3L), 2));
+        when(delegate.addProduct(1L, 2L, Wishlist.DEFAULT_MAX_ITEMS)).thenReturn(Wishlist.rehydrate(1L, List.of(2L), 1));
+
+        repository.addProduct(1L, 3L, Wishlist.DEFAULT_MAX_ITEMS);
+        repository.addProduct(1L, 2L, Wishlist.DEFAULT_MAX_ITEMS);
+
+        assertThat(repository.findByUserId(1L).orElseThrow().getProductIds()).containsExactly(2L, 3L);
+        verify(delegate, never()).findByUserId(1L);
+    }
+
+    @Test
+    @DisplayName("a write that returns after a removal invalidated the user should not cache its post-image")
+    void postImageIsNotCachedAfterRemoval() {
+        when(delegate.addProduct(1L, 2L, Wishlist.DEFAULT_MAX_ITEMS)).thenAnswer(invocation -> {
+            repository.remove(1L, 2L);
+            return Wishlist.rehydrate(1L, List.of(2L), 1);
+        });
+        when(delegate.findByUserId(1L)).thenReturn(Optional.of(Wishlist.rehydrate(1L, List.of(), 2)));
+
+        repository.addProduct(1L, 2L, Wishlist.DEFAULT_MAX_ITEMS);
+
+        assertThat(repository.findByUserId(1L).orElseThrow().getProductIds()).isEmpty();
+        verify(delegate).findByUserId(1L);
+    }
+
+    @Test
+    @DisplayName("findPage should slice a cached wishlist, and otherwise read the page without caching it")
+    void findPageUsesCachedEntry() {
+        when(delegate.findPage(2L, WishlistPageCursor.FIRST, 1)).thenReturn(Optional.of(new WishlistPage(2L, new long[]{8L}, 0, 3)));
+        when(delegate.findByUserId(1L)).thenReturn(Optional.of(Wishlist.rehydrate(1L, List.of(5L, 6L, 7L))));
+        repository.findByUserId(1L);
+
+        assertThat(repository.findPage(1L, new WishlistPageCursor(5L, 0), 5)).hasValueSatisfying(page -> {
+            assertThat(page.productIds()).containsExactly(6L, 7L);
+            assertThat(page.total()).isEqualTo(3);
+        });
+        assertThat(repository.findPage(2L, WishlistPageCursor.FIRST, 1)).hasValueSatisfying(page -> assertThat(page.productIds()).containsExactly(8L));
+        verify(delegate, never()).findPage(eq(1L), any(), anyInt());
+        verify(delegate, never()).findByUserId(2L);
+    }
+
+    @Test
+    @DisplayName("save should refresh the cached entry with the stored post-image")
+    void saveRefreshesEntry() {
+        Wishlist stored = Wishlist.rehydrate(1L, List.of(5L));
+        when(delegate.save(any(Wishlist.class))).thenReturn(stored);
+
+        repository.save(Wishlist.rehydrate(1L, List.of(5L)));
+
+        assertThat(repository.findByUserId(1L).orElseThrow().getProductIds()).containsExactly(5L);
+        verify(delegate, never()).findByUserId(1L);
+    }
+
+    @Test
+    @DisplayName("compareAndSet should cache the stored post-image on success and invalidate on conflict")
+    void compareAndSetRefreshesOrInvalidates() {
+        Wishlist expected = Wishlist.rehydrate(1L, List.of(2L));
+        Wishlist updated = Wishlist.rehydrate(1L, List.of(2L, 3L));
+        when(delegate.compareAndSet(expected, updated)).thenReturn(Optional.of(updated)).thenReturn(Optional.empty());
+
+        repository.compareAndSet(expected, updated);
+        assertThat(repository.findByUserId(1L).orElseThrow().getProductIds()).containsExactly(2L, 3L);
+        verify(delegate, never()).findByUserId(1L);
+
+        assertThat(repository.compareAndSet(expected, updated)).isEmpty();
+        assertThat(cache.synchronous().getIfPresent(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("remove should invalidate the cached entry even when the delegate fails")
+    void removeInvalidatesEntry() {
+        when(delegate.findByUserId(1L)).thenReturn(Optional.of(Wishlist.rehydrate(1L, List.of(2L))));
+        doThrow(new IllegalStateException("boom")).when(delegate).remove(1L, 2L);
+
+        repository.findByUserId(1L);
+        assertThatThrownBy(() -> repository.remove(1L, 2L)).hasMessage("boom");
+
+        assertThat(cache.synchronous().getIfPresent(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("saveAll should invalidate the cached entries even when the delegate fails")
+    void saveAllInvalidatesEntries() {
+        when(delegate.findByUserId(1L)).thenReturn(Optional.of(Wishlist.rehydrate(1L, List.of(2L))));
+        when(delegate.findByUserId(3L)).thenReturn(Optional.of(Wishlist.rehydrate(3L, List.of(4L))));
+        doThrow(new IllegalStateException("boom")).when(delegate).saveAll(anyList());
+
+        repository.findByUserId(1L);
+        repository.findByUserId(3L);
+        assertThatThrownBy(() -> repository.saveAll(List.of(Wishlist.rehydrate(1L, List.of(5L)))))
+                .hasMessage("boom");
+
+        assertThat(cache.synchronous().getIfPresent(1L)).isNull();
+        assertThat(cache.synchronous().getIfPresent(3L)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("containsProduct should be answered from the cached wishlist")
+    void containsProductUsesCache() {
+        when(delegate.findByUserId(1L)).thenReturn(Optional.of(Wishlist.rehydrate(1L, List.of(2L))));
+        repository.findByUserId(1L);
+
+        assertThat(repository.containsProduct(1L, 2L)).isTrue();
+        assertThat(repository.containsProduct(1L, 3L)).isFalse();
+
+        verify(delegate, times(1)).findByUserId(1L);
+        verify(delegate, never()).containsProduct(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("containsProduct should ask the delegate without loading the wishlist on a miss")
+    void containsProductDelegatesOnMiss() {
+        when(delegate.containsProduct(1L, 2L)).thenReturn(true);
+
+        assertThat(repository.containsProduct(1L, 2L)).isTrue();
+
+        verify(delegate, never()).findByUserId(anyLong());
+        assertThat(cache.synchronous().getIfPresent(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("concurrent misses for the same user should share one load")
+    void concurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.findByUserId(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return Optional.of(Wishlist.rehydrate(1L, List.of(2L)));
+        });
+
+        Thread first = Thread.ofVirtual().start(() -> repository.findByUserId(1L));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread second = Thread.ofVirtual().start(() -> assertThat(repository.findByUserId(1L)).isPresent());
+        release.countDown();
+        first.join(5_000);
+        second.join(5_000);
+
+        verify(delegate, times(1)).findByUserId(1L);
+    }
+
+    @Test
+    @DisplayName("a write should not wait for an in-flight load of the same user")
+    void writeDoesNotWaitForInFlightLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.findByUserId(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return Optional.empty();
+        });
+        when(delegate.addProduct(1L, 2L, Wishlist.DEFAULT_MAX_ITEMS)).thenReturn(Wishlist.rehydrate(1L, List.of(2L)));
+
+        Thread reader = Thread.ofVirtual().start(() -> repository.findByUserId(1L));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread writer = Thread.ofVirtual().start(() -> repository.addProduct(1L, 2L, Wishlist.DEFAULT_MAX_ITEMS));
+
+        assertThat(writer.join(Duration.ofSeconds(5))).isTrue();
+        release.countDown();
+        reader.join(5_000);
+        assertThat(repository.findByUserId(1L).orElseThrow().getProductIds()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("a failed load should not be cached")
+    void failedLoadIsNotCached() {
+        when(delegate.findByUserId(1L))
+                .thenThrow(new IllegalStateException("mongo down"))
+                .thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> repository.findByUserId(1L)).hasMessage("mongo down");
+        assertThat(repository.findByUserId(1L)).isEmpty();
+        verify(delegate, times(2)).findByUserId(1L);
+    }
+
+    @Test
+    @DisplayName("invalidated should make the next read of the user go to the delegate")
+    void invalidatedDropsEntry() {
+        when(delegate.findByUserId(1L))
+                .thenReturn(Optional.of(Wishlist.rehydrate(1L, List.of(2L))))
+                .thenReturn(Optional.of(Wishlist.rehydrate(1L, List.of(2L, 3L))));
+        repository.findByUserId(1L);
+
+        repository.invalidated(1L);
+
+        assertThat(repository.findByUserId(1L).orElseThrow().getProductIds()).containsExactly(2L, 3L);
+        verify(delegate, times(2)).findByUserId(1L);
+    }
+
+    @Test
+    @DisplayName("public constructor should register cache metrics")
+    void publicConstructorRegistersMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new CachingWishlistRepository(delegate, 10, Duration.ofMinutes(1), registry);
+
+        assertThat(registry.find("cache.gets").tag("cache", CachingWishlistRepository.CACHE_NAME).meters()).isNotEmpty();
+        assertThat(registry.find("cache.evictions").tag("cache", CachingWishlistRepository.CACHE_NAME).meters()).isNotEmpty();
+    }
+
+}
@@ -0,0 +1,199 @@
+package com.luizalabs.wishlist_service.adapters.out.cache;
+
+import com.luizalabs.wishlist_service.application.port.out.WishlistRepositoryPort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistScanPort;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class NegativeLookupWishlistRepositoryTest {
+
+    private WishlistRepositoryPort delegate;
+    private WishlistScanPort scanPort;
+    private SimpleMeterRegistry meterRegistry;
+    private NegativeLookupWishlistRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(WishlistRepositoryPort.class);
+        scanPort = mock(WishlistScanPort.class);
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new NegativeLookupWishlistRepository(delegate, scanPort, true, 1000, 0.01, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("lookups should go to the delegate until the filter has been built")
+    void lookupsPassThroughBeforeRebuild() {
+        when(delegate.findByUserId(1L)).thenReturn(Optional.empty());
+
+        assertThat(repository.isReady()).isFalse();
+        assertThat(repository.findByUserId(1L)).isEmpty();
+        verify(delegate).findByUserId(1L);
+    }
+
+    @Test
+    @DisplayName("findByUserId should skip the delegate for users that have no wishlist")
+    void findByUserIdSkipsDelegateForUnknownUsers() {
+        when(scanPort.streamUserIds()).thenReturn(Stream.of(1L, 2L));
+        repository.rebuild();
+
+        assertThat(repository.isReady()).isTrue();
+        assertThat(repository.findByUserId(99L)).isEmpty();
+        assertThat(repository.containsProduct(99L, 5L)).isFalse();
+        verifyNoInteractions(delegate);
+        assertThat(meterRegistry.get("wishlist.negative.cache.skipped").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("remove should reach the delegate even for users the filter has not seen")
+    void removeReachesDelegateForUnknownUsers() {
+        when(scanPort.streamUserIds()).thenReturn(Stream.of(1L));
+        repository.rebuild();
+
+        repository.remove(99L, 5L);
+
+        verify(delegate).remove(99L, 5L);
+    }
+
+    @Test
+    @DisplayName("invalidated should make users written by another instance known to the filter")
+    void invalidatedRemembersUser() {
+        when(scanPort.streamUserIds()).thenReturn(Stream.of(1L));
+        when(delegate.findByUserId(99L)).thenReturn(Optional.of(Wishlist.rehydrate(99L, List.of(5L))));
+        repository.rebuild();
+
+        repository.invalidated(99L);
+
+        assertThat(repository.findByUserId(99L)).isPresent();
+        verify(delegate).findByUserId(99L);
+    }
+
+    @Test
+    @DisplayName("findByUserId should query the delegate for users that may have a wishlist")
+    void findByUserIdQueriesDelegateForKnownUsers() {
+        Wishlist wishlist = Wishlist.rehydrate(1L, List.of(5L));
+        when(scanPort.streamUserIds()).thenReturn(Stream.of(1L));
+        when(delegate.findByUserId(1L)).thenReturn(Optional.of(wishlist));
+        repository.rebuild();
+
+        assertThat(repository.findByUserId(1L)).contains(wishlist);
+    }
+
+    @Test
+    @DisplayName("addProduct should make the user visible to subsequent lookups")
+    void addProductRecordsUser() {
+        Wishlist wishlist = Wishlist.rehydrate(7L, List.of(5L));
+        when(scanPort.streamUserIds()).thenReturn(Stream.empty());
+        when(delegate.addProduct(7L, 5L, Wishlist.DEFAULT_MAX_ITEMS)).thenReturn(wishlist);
+        when(delegate.findByUserId(7L)).thenReturn(Optional.of(wishlist));
+        repository.rebuild();
+
+        repository.addProduct(7L, 5L, Wishlist.DEFAULT_MAX_ITEMS);
+
+        assertThat(repository.findByUserId(7L)).contains(wishlist);
+    }
+
+    @Test
+    @DisplayName("compareAndSet should make the user visible to subsequent lookups")
+    void compareAndSetRecordsUser() {
+        Wishlist expected = Wishlist.create(9L);
+        Wishlist updated = Wishlist.rehydrate(9L, List.of(5L));
+        when(scanPort.streamUserIds()).thenReturn(Stream.empty());
+        when(delegate.compareAndSet(expected, updated)).thenReturn(Optional.of(updated));
+        when(delegate.findByUserId(9L)).thenReturn(Optional.of(updated));
+        repository.rebuild();
+
+        repository.compareAndSet(expected, updated);
+
+        assertThat(repository.findByUserId(9L)).contains(updated);
+    }
+
+    @Test
+    @DisplayName("save should make the user visible to subsequent lookups")
+    void saveRecordsUser() {
+        Wishlist wishlist = Wishlist.rehydrate(8L, List.of(5L));
+        when(scanPort.streamUserIds()).thenReturn(Stream.empty());
+        when(delegate.save(wishlist)).thenReturn(wishlist);
+        when(delegate.findByUserId(8L)).thenReturn(Optional.of(wishlist));
+        repository.rebuild();
+
+        repository.save(wishlist);
+
+        assertThat(repository.findByUserId(8L)).contains(wishlist);
+    }
+
+    @Test
+    @DisplayName("saveAll should make every imported user visible to subsequent lookups")
+    void saveAllRecordsUsers() {
+        Wishlist first = Wishlist.rehydrate(8L, List.of(5L));
+        Wishlist second = Wishlist.rehydrate(9L, List.of(6L));
+        when(scanPort.streamUserIds()).thenReturn(Stream.empty());
+        when(delegate.findByUserId(8L)).thenReturn(Optional.of(first));
+        when(delegate.findByUserId(9L)).thenReturn(Optional.of(second));
+        repository.rebuild();
+
+        repository.saveAll(List.of(first, second));
+
+        assertThat(repository.findByUserId(8L)).contains(first);
+        assertThat(repository.findByUserId(9L)).contains(second);
+    }
+
+    @Test
+    @DisplayName("writes during a rebuild should reach the rebuilt filter")
+    void writesDuringRebuildReachNewFilter() {
+        Wishlist wishlist = Wishlist.rehydrate(9L, List.of(5L));
+        when(delegate.addProduct(9L, 5L, Wishlist.DEFAULT_MAX_ITEMS)).thenReturn(wishlist);
+        when(delegate.findByUserId(9L)).thenReturn(Optional.of(wishlist));
+        when(scanPort.streamUserIds()).thenAnswer(invocation -> {
+            repository.addProduct(9L, 5L, Wishlist.DEFAULT_MAX_ITEMS);
+            return Stream.of(1L);
+        });
+
+        repository.rebuild();
+
+        assertThat(repository.findByUserId(9L)).contains(wishlist);
+    }
+
+    @Test
+    @DisplayName("a failed rebuild should leave lookups going to the delegate")
+    void failedRebuildKeepsPassThrough() {
+        when(scanPort.streamUserIds()).thenThrow(new IllegalStateException("mongo down"));
+
+        repository.rebuild();
+
+        assertThat(repository.isReady()).isFalse();
+    }
+
+    @Test
+    @DisplayName("disabled repository should never build a filter")
+    void disabledRepositoryNeverBuilds() {
+        var disabled = new NegativeLookupWishlistRepository(delegate, scanPort, false, 1000, 0.01, new SimpleMeterRegistry());
+
+        disabled.rebuild();
+
+        assertThat(disabled.isReady()).isFalse();
+        verifyNoInteractions(scanPort);
+    }
+
+    @Test
+    @DisplayName("rebuild should publish size and timing metrics")
+    void rebuildPublishesMetrics() {
+        when(scanPort.streamUserIds()).thenReturn(Stream.of(1L, 2L, 3L));
+
+        repository.rebuild();
+
+        assertThat(meterRegistry.get("wishlist.negative.cache.rebuild").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("wishlist.negative.cache.size").gauge().value()).isBetween(2.0, 4.0);
+        assertThat(meterRegistry.get("wishlist.negative.cache.false.positive.rate").gauge().value()).isLessThan(0.01);
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.luizalabs.wishlist_service.adapters.out.cache;
+
+import com.luizalabs.wishlist_service.application.port.out.ReactiveWishlistRepositoryPort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistInvalidationPort;
+import com.luizalabs.wishlist_service.domain.exception.WishlistMaxLimitException;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class ReactiveBroadcastingWishlistRepositoryTest {
+
+    private ReactiveWishlistRepositoryPort delegate;
+    private WishlistInvalidationPort invalidations;
+    private ReactiveBroadcastingWishlistRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(ReactiveWishlistRepositoryPort.class);
+        invalidations = mock(WishlistInvalidationPort.class);
+        repository = new ReactiveBroadcastingWishlistRepository(delegate, invalidations);
+    }
+
+    @Test
+    @DisplayName("writes should publish the users they wrote once they complete")
+    void writesPublish() {
+        Wishlist stored = Wishlist.rehydrate(1L, List.of(2L));
+        when(delegate.addProduct(1L, 2L, Wishlist.DEFAULT_MAX_ITEMS)).thenReturn(Mono.just(stored));
+        when(delegate.remove(3L, 2L)).thenReturn(Mono.empty());
+
+        var added = repository.addProduct(1L, 2L, Wishlist.DEFAULT_MAX_ITEMS);
+        verifyNoInteractions(invalidations);
+        StepVerifier.create(added).expectNext(stored).verifyComplete();
+        StepVerifier.create(repository.remove(3L, 2L)).verifyComplete();
+
+        verify(invalidations).publish(List.of(1L));
+        verify(invalidations).publish(List.of(3L));
+    }
+
+    @Test
+    @DisplayName("a failed write should still publish, since it may have been applied")
+    void failedWritePublishes() {
+        when(delegate.addProduct(1L, 2L, Wishlist.DEFAULT_MAX_ITEMS)).thenReturn(Mono.error(new WishlistMaxLimitException("full")));
+
+        StepVerifier.create(repository.addProduct(1L, 2L, Wishlist.DEFAULT_MAX_ITEMS))
+                .expectError(WishlistMaxLimitException.class)
+                .verify();
+        verify(invalidations).publish(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("compareAndSet should publish only when it won")
+    void compareAndSetPublishesOnlyWhenApplied() {
+        Wishlist expected = Wishlist.rehydrate(1L, List.of(2L));
+        Wishlist updated = Wishlist.rehydrate(1L, List.of(2L, 3L));
+        when(delegate.compareAndSet(expected, updated)).thenReturn(Mono.empty()).thenReturn(Mono.just(updated));
+
+        StepVerifier.create(repository.compareAndSet(expected, updated)).verifyComplete();
+        verify(invalidations, never()).publish(any());
+        StepVerifier.create(repository.compareAndSet(expected, updated)).expectNext(updated).verifyComplete();
+        verify(invalidations).publish(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("reads should not publish")
+    void readsDoNotPublish() {
+        when(delegate.findByUserId(1L)).thenReturn(Mono.empty());
+        when(delegate.containsProduct(1L, 2L)).thenReturn(Mono.just(false));
+        when(delegate.findPage(1L, WishlistPageCursor.FIRST, 10)).thenReturn(Mono.empty());
+
+        StepVerifier.create(repository.findByUserId(1L)).verifyComplete();
+        StepVerifier.create(repository.containsProduct(1L, 2L)).expectNext(false).verifyComplete();
+        StepVerifier.create(repository.findPage(1L, WishlistPageCursor.FIRST, 10)).verifyComplete();
+
+        verifyNoInteractions(invalidations);
+    }
+
+}
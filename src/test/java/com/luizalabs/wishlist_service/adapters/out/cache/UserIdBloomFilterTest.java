@@ -0,0 +1,65 @@
+package com.luizalabs.wishlist_service.adapters.out.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserIdBloomFilterTest {
+
+    @Test
+    @DisplayName("mightContain should never return false for an inserted userId")
+    void mightContainHasNoFalseNegatives() {
+        UserIdBloomFilter filter = UserIdBloomFilter.create(10_000, 0.01);
+        for (long userId = 0; userId < 10_000; userId++) filter.put(userId);
+
+        for (long userId = 0; userId < 10_000; userId++) {
+            assertThat(filter.mightContain(userId)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("false positive rate should stay close to the configured target at the expected size")
+    void falsePositiveRateStaysNearTarget() {
+        UserIdBloomFilter filter = UserIdBloomFilter.create(10_000, 0.01);
+        for (long userId = 0; userId < 10_000; userId++) filter.put(userId);
+
+        long falsePositives = 0;
+        for (long userId = 1_000_000; userId < 1_100_000; userId++) {
+            if (filter.mightContain(userId)) falsePositives++;
+        }
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveRate()).isLessThan(0.02);
+    }
+
+    @Test
+    @DisplayName("approximateElementCount should estimate the number of inserted userIds")
+    void approximateElementCountEstimatesInsertions() {
+        UserIdBloomFilter filter = UserIdBloomFilter.create(10_000, 0.01);
+        for (long userId = 0; userId < 5_000; userId++) filter.put(userId);
+
+        assertThat(filter.approximateElementCount()).isBetween(4_800L, 5_200L);
+    }
+
+    @Test
+    @DisplayName("empty filter should contain nothing")
+    void emptyFilterContainsNothing() {
+        UserIdBloomFilter filter = UserIdBloomFilter.create(100, 0.01);
+
+        assertThat(filter.mightContain(1L)).isFalse();
+        assertThat(filter.approximateElementCount()).isZero();
+        assertThat(filter.expectedFalsePositiveRate()).isZero();
+    }
+
+    @Test
+    @DisplayName("create should reject invalid sizing")
+    void createRejectsInvalidSizing() {
+        assertThatThrownBy(() -> UserIdBloomFilter.create(0, 0.01))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> UserIdBloomFilter.create(100, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
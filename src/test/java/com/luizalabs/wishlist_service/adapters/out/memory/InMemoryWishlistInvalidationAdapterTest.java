@@ -0,0 +1,63 @@
+package com.luizalabs.wishlist_service.adapters.out.memory;
+
+import com.luizalabs.wishlist_service.adapters.out.cache.BroadcastingWishlistRepository;
+import com.luizalabs.wishlist_service.adapters.out.cache.CachingWishlistRepository;
+import com.luizalabs.wishlist_service.application.port.out.WishlistInvalidationPort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistRepositoryPort;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class InMemoryWishlistInvalidationAdapterTest {
+
+    @Test
+    @DisplayName("publish should reach the other instances on the bus, not the publisher")
+    void publishReachesOtherInstances() {
+        var first = new InMemoryWishlistInvalidationAdapter();
+        var second = first.join();
+        var unrelated = new InMemoryWishlistInvalidationAdapter();
+        WishlistInvalidationPort.Listener firstListener = mock(WishlistInvalidationPort.Listener.class);
+        WishlistInvalidationPort.Listener secondListener = mock(WishlistInvalidationPort.Listener.class);
+        WishlistInvalidationPort.Listener unrelatedListener = mock(WishlistInvalidationPort.Listener.class);
+        first.subscribe(firstListener);
+        second.subscribe(secondListener);
+        unrelated.subscribe(unrelatedListener);
+
+        first.publish(List.of(1L, 2L));
+
+        verify(secondListener).invalidated(1L);
+        verify(secondListener).invalidated(2L);
+        verifyNoInteractions(firstListener, unrelatedListener);
+    }
+
+    @Test
+    @DisplayName("a write on one instance should evict the wishlist cached by another")
+    void writeEvictsOtherInstanceCache() {
+        var store = new InMemoryWishlistRepository();
+        var firstBus = new InMemoryWishlistInvalidationAdapter();
+        var secondBus = firstBus.join();
+        WishlistRepositoryPort first = instance(store, firstBus);
+        WishlistRepositoryPort second = instance(store, secondBus);
+        first.addProduct(1L, 10L, Wishlist.DEFAULT_MAX_ITEMS);
+        assertThat(second.findByUserId(1L).orElseThrow().getProductIds()).containsExactly(10L);
+
+        first.addProduct(1L, 11L, Wishlist.DEFAULT_MAX_ITEMS);
+
+        assertThat(second.findByUserId(1L).orElseThrow().getProductIds()).containsExactly(10L, 11L);
+    }
+
+    private static WishlistRepositoryPort instance(final WishlistRepositoryPort store,
+                                                   final WishlistInvalidationPort invalidations) {
+        var cache = new CachingWishlistRepository(store, 10, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        invalidations.subscribe(cache);
+        return new BroadcastingWishlistRepository(cache, invalidations);
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.luizalabs.wishlist_service.adapters.out.memory;
+
+import com.luizalabs.wishlist_service.domain.exception.ProductNotFoundException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistMaxLimitException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistNotFoundException;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryWishlistRepositoryTest {
+
+    private final InMemoryWishlistRepository repository = new InMemoryWishlistRepository();
+
+    @Test
+    @DisplayName("addProduct should create the wishlist on first add and ignore duplicates")
+    void addProductCreatesAndDeduplicates() {
+        repository.addProduct(1L, 10L, Wishlist.DEFAULT_MAX_ITEMS);
+        Wishlist result = repository.addProduct(1L, 10L, Wishlist.DEFAULT_MAX_ITEMS);
+
+        assertThat(result.getProductIds()).containsExactly(10L);
+        assertThat(repository.findByUserId(1L)).get().extracting(Wishlist::size).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("addProduct should reject a new product on a full wishlist and keep it unchanged")
+    void addProductRejectsWhenFull() {
+        repository.save(Wishlist.rehydrate(1L, LongStream.rangeClosed(1, Wishlist.DEFAULT_MAX_ITEMS).toArray()));
+
+        assertThatThrownBy(() -> repository.addProduct(1L, 99L, Wishlist.DEFAULT_MAX_ITEMS)).isInstanceOf(WishlistMaxLimitException.class);
+        assertThat(repository.findByUserId(1L).orElseThrow().size()).isEqualTo(Wishlist.DEFAULT_MAX_ITEMS);
+    }
+
+    @Test
+    @DisplayName("addProduct should not lose concurrent additions")
+    void addProductIsAtomicPerUser() throws InterruptedException {
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            for (long productId = 1; productId <= Wishlist.DEFAULT_MAX_ITEMS; productId++) {
+                long id = productId;
+                executor.submit(() -> repository.addProduct(1L, id, Wishlist.DEFAULT_MAX_ITEMS));
+            }
+        }
+
+        assertThat(repository.findByUserId(1L).orElseThrow().size()).isEqualTo(Wishlist.DEFAULT_MAX_ITEMS);
+    }
+
+    @Test
+    @DisplayName("returned wishlists should not alias the stored state")
+    void returnedWishlistsAreCopies() {
+        repository.addProduct(1L, 10L, Wishlist.DEFAULT_MAX_ITEMS);
+
+        repository.findByUserId(1L).orElseThrow().addProduct(11L, Wishlist.DEFAULT_MAX_ITEMS);
+
+        assertThat(repository.findByUserId(1L).orElseThrow().getProductIds()).containsExactly(10L);
+    }
+
+    @Test
+    @DisplayName("compareAndSet should apply and bump the version only while the stored version is the expected one")
+    void compareAndSetDetectsConflicts() {
+        Wishlist expected = repository.addProduct(1L, 10L, Wishlist.DEFAULT_MAX_ITEMS);
+        Wishlist updated = expected.copy();
+        updated.addProduct(11L, Wishlist.DEFAULT_MAX_ITEMS);
+
+        Wishlist stored = repository.compareAndSet(expected, updated).orElseThrow();
+        assertThat(stored.getProductIds()).containsExactly(10L, 11L);
+        assertThat(stored.getVersion()).isEqualTo(expected.getVersion() + 1);
+        assertThat(repository.compareAndSet(expected, updated)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("compareAndSet should fail after intervening writes even if they restored the same products")
+    void compareAndSetDetectsRestoredProducts() {
+        Wishlist expected = repository.addProduct(1L, 10L, Wishlist.DEFAULT_MAX_ITEMS);
+        repository.addProduct(1L, 11L, Wishlist.DEFAULT_MAX_ITEMS);
+        repository.remove(1L, 11L);
+        Wishlist updated = expected.copy();
+        updated.addProduct(12L, Wishlist.DEFAULT_MAX_ITEMS);
+
+        assertThat(repository.compareAndSet(expected, updated)).isEmpty();
+        assertThat(repository.findByUserId(1L).orElseThrow().getProductIds()).containsExactly(10L);
+    }
+
+    @Test
+    @DisplayName("remove should fail when the user has no wishlist")
+    void removeFailsWithoutWishlist() {
+        assertThatThrownBy(() -> repository.remove(1L, 10L))
+                .isInstanceOf(WishlistNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("remove should fail without bumping the version when the product is absent")
+    void removeFailsForAbsentProduct() {
+        Wishlist stored = repository.addProduct(1L, 10L, Wishlist.DEFAULT_MAX_ITEMS);
+
+        assertThatThrownBy(() -> repository.remove(1L, 11L))
+                .isInstanceOf(ProductNotFoundException.class);
+        assertThat(repository.findByUserId(1L).orElseThrow().getVersion()).isEqualTo(stored.getVersion());
+    }
+
+    @Test
+    @DisplayName("containsProduct should only be true for products in the wishlist")
+    void containsProductChecksMembership() {
+        repository.addProduct(1L, 10L, Wishlist.DEFAULT_MAX_ITEMS);
+
+        assertThat(repository.containsProduct(1L, 10L)).isTrue();
+        assertThat(repository.containsProduct(1L, 11L)).isFalse();
+        assertThat(repository.containsProduct(2L, 10L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("streamUserIdsByProduct should page through followers in userId order")
+    void streamUserIdsByProductPagesInOrder() {
+        for (long userId : List.of(5L, 3L, 9L, 7L)) {
+            repository.addProduct(userId, 10L, Wishlist.DEFAULT_MAX_ITEMS);
+        }
+        repository.addProduct(4L, 11L, Wishlist.DEFAULT_MAX_ITEMS);
+
+        try (Stream<Long> page = repository.streamUserIdsByProduct(10L, 3L, 2, 100)) {
+            assertThat(page).containsExactly(5L, 7L);
+        }
+        try (Stream<Long> all = repository.streamUserIdsByProduct(10L, null, 0, 100)) {
+            assertThat(all).containsExactly(3L, 5L, 7L, 9L);
+        }
+    }
+
+    @Test
+    @DisplayName("streamWishlists should return the wishlists of the range in userId order")
+    void streamWishlistsReturnsRangeInOrder() {
+        for (long userId : List.of(5L, 3L, 9L, 7L)) {
+            repository.addProduct(userId, userId * 10, Wishlist.DEFAULT_MAX_ITEMS);
+        }
+
+        try (Stream<Wishlist> range = repository.streamWishlists(3L, 7L, 100)) {
+            assertThat(range).extracting(Wishlist::getUserId).containsExactly(5L, 7L);
+        }
+        try (Stream<Wishlist> all = repository.streamWishlists(null, null, 100)) {
+            assertThat(all).extracting(Wishlist::getUserId).containsExactly(3L, 5L, 7L, 9L);
+        }
+        assertThat(repository.firstUserId()).contains(3L);
+        assertThat(repository.lastUserId()).contains(9L);
+    }
+
+}
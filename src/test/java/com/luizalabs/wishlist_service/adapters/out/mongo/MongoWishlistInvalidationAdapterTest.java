@@ -0,0 +1,204 @@
+package com.luizalabs.wishlist_service.adapters.out.mongo;
+
+import com.luizalabs.wishlist_service.application.port.out.WishlistInvalidationPort;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class MongoWishlistInvalidationAdapterTest {
+
+    private static final Document MARKER = new Document("ts", ts(1)).append("instance", "other");
+
+    private MongoTemplate mongoTemplate;
+    private MongoCollection<Document> collection;
+    private FindIterable<Document> edges;
+    private FindIterable<Document> feed;
+    private WishlistInvalidationPort.Listener listener;
+    private SimpleMeterRegistry meterRegistry;
+    private MongoWishlistInvalidationAdapter adapter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        collection = mock(MongoCollection.class);
+        edges = mock(FindIterable.class);
+        feed = mock(FindIterable.class);
+        listener = mock(WishlistInvalidationPort.Listener.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(mongoTemplate.getCollection(MongoWishlistInvalidationAdapter.COLLECTION)).thenReturn(collection);
+        when(mongoTemplate.collectionExists(MongoWishlistInvalidationAdapter.COLLECTION)).thenReturn(true);
+        when(collection.find(argThat((Bson filter) -> filter.toBsonDocument().toJson().contains("$exists")))).thenReturn(edges);
+        when(collection.find(argThat((Bson filter) -> filter.toBsonDocument().toJson().contains("$gte")))).thenReturn(feed);
+        when(feed.cursorType(any())).thenReturn(feed);
+        when(feed.maxAwaitTime(anyLong(), any())).thenReturn(feed);
+        adapter = adapter(true, 100);
+        adapter.subscribe(listener);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        adapter.close();
+    }
+
+    @Test
+    @DisplayName("follow should resume after the last server timestamp it read, without flushing again")
+    void followResumesAfterLastTimestamp() {
+        edges(MARKER, MARKER);
+        when(feed.iterator()).thenReturn(
+                cursor(MARKER, invalidation(2, "other", 7L)),
+                cursor(invalidation(2, "other", 7L), invalidation(3, "other", 8L)));
+
+        assertThatThrownBy(adapter::follow).isInstanceOf(IllegalStateException.class);
+        edges(MARKER, invalidation(3, "other", 8L));
+        assertThatThrownBy(adapter::follow).isInstanceOf(IllegalStateException.class);
+
+        var filters = ArgumentCaptor.forClass(Bson.class);
+        verify(collection, atLeastOnce()).find(filters.capture());
+        assertThat(filters.getAllValues()).map(filter -> filter.toBsonDocument().getDocument("ts").get("$gte"))
+                .containsSubsequence(ts(1), ts(2));
+        verify(listener, times(1)).invalidatedAll();
+        verify(listener, times(1)).invalidated(7L);
+        verify(listener, times(1)).invalidated(8L);
+        assertThat(meterRegistry.get("wishlist.invalidation.gaps").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("follow should flush every listener when the position it would resume from was overwritten")
+    void followFlushesAfterGap() {
+        edges(MARKER, MARKER);
+        when(feed.iterator()).thenReturn(
+                cursor(invalidation(2, "other", 7L)),
+                cursor(invalidation(9, "other", 8L)));
+
+        assertThatThrownBy(adapter::follow).isInstanceOf(IllegalStateException.class);
+        edges(invalidation(5, "other", 6L), invalidation(9, "other", 8L));
+        assertThatThrownBy(adapter::follow).isInstanceOf(IllegalStateException.class);
+
+        verify(listener, times(2)).invalidatedAll();
+        assertThat(meterRegistry.get("wishlist.invalidation.gaps").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("follow should skip the invalidations this instance published")
+    void followSkipsOwnDocuments() {
+        edges(MARKER, MARKER);
+        when(feed.iterator()).thenReturn(cursor(invalidation(2, adapter.instanceId, 7L), invalidation(3, "other", 8L)));
+
+        assertThatThrownBy(adapter::follow).isInstanceOf(IllegalStateException.class);
+
+        verify(listener, never()).invalidated(7L);
+        verify(listener).invalidated(8L);
+        assertThat(meterRegistry.get("wishlist.invalidation.received").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("publish should tell the other instances to flush everything when its queue overflows")
+    void publishOverflowSendsAll() {
+        edges(MARKER, MARKER);
+        adapter = adapter(true, 1);
+
+        adapter.publish(List.of(1L, 2L));
+
+        var inserted = ArgumentCaptor.forClass(Document.class);
+        verify(collection, timeout(5_000)).insertOne(inserted.capture());
+        assertThat(inserted.getValue().getList("userIds", Long.class)).containsExactly(1L);
+        assertThat(inserted.getValue().getBoolean("all")).isTrue();
+        assertThat(inserted.getValue().getString("instance")).isEqualTo(adapter.instanceId);
+        assertThat(meterRegistry.get("wishlist.invalidation.publish.failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("publish should do nothing when invalidation is disabled")
+    void publishDisabledDoesNothing() throws InterruptedException {
+        adapter = adapter(false, 100);
+
+        adapter.publish(List.of(1L));
+        adapter.close();
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("ensureCollection should create the capped collection with a marker to start following from")
+    void ensureCollectionCreatesCappedCollection() {
+        when(mongoTemplate.collectionExists(MongoWishlistInvalidationAdapter.COLLECTION)).thenReturn(false);
+        edges(null, null);
+
+        adapter.ensureCollection();
+
+        var options = ArgumentCaptor.forClass(CollectionOptions.class);
+        verify(mongoTemplate).createCollection(eq(MongoWishlistInvalidationAdapter.COLLECTION), options.capture());
+        assertThat(options.getValue().getCapped()).contains(true);
+        assertThat(options.getValue().getSize()).contains(DataSize.ofMegabytes(1).toBytes());
+        assertThat(options.getValue().getMaxDocuments()).contains(1_000L);
+        verify(collection).insertOne(argThat(marker -> marker.containsKey("ts") && !marker.containsKey("userIds")));
+    }
+
+    private MongoWishlistInvalidationAdapter adapter(final boolean enabled,
+                                                     final int queueCapacity) {
+        return new MongoWishlistInvalidationAdapter(mongoTemplate, enabled, DataSize.ofMegabytes(1), 1_000,
+                queueCapacity, Duration.ofMillis(10), Duration.ofMillis(10), meterRegistry);
+    }
+
+    private void edges(final Document oldest,
+                       final Document newest) {
+        when(edges.sort(new Document("$natural", 1))).thenReturn(edge(oldest));
+        when(edges.sort(new Document("$natural", -1))).thenReturn(edge(newest));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static FindIterable<Document> edge(final Document document) {
+        FindIterable<Document> edge = mock(FindIterable.class);
+        when(edge.limit(1)).thenReturn(edge);
+        when(edge.first()).thenReturn(document);
+        return edge;
+    }
+
+    /**
+     * Returns the documents, then reports that the server closed the cursor.
+     */
+    @SuppressWarnings("unchecked")
+    private static MongoCursor<Document> cursor(final Document... documents) {
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        Document[] rest = Arrays.copyOfRange(documents, 1, documents.length + 1);
+        when(cursor.tryNext()).thenReturn(documents[0], rest);
+        return cursor;
+    }
+
+    private static Document invalidation(final int seconds,
+                                         final String instance,
+                                         final Long userId) {
+        return new Document("ts", ts(seconds))
+                .append("userIds", List.of(userId))
+                .append("all", false)
+                .append("instance", instance)
+                .append("publishedAt", new Date());
+    }
+
+    private static BsonTimestamp ts(final int seconds) {
+        return new BsonTimestamp(seconds, 0);
+    }
+
+}
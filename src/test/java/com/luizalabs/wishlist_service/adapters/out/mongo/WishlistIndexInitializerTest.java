@@ -0,0 +1,65 @@
+package com.luizalabs.wishlist_service.adapters.out.mongo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WishlistIndexInitializerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private MongoConverter converter;
+    @Mock
+    private IndexOperations indexOps;
+    @InjectMocks
+    private WishlistIndexInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.indexOps(WishlistDocument.class)).thenReturn(indexOps);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        doReturn(new MongoMappingContext()).when(converter).getMappingContext();
+    }
+
+    @Test
+    @DisplayName("afterSingletonsInstantiated should ensure the unique userId index")
+    void ensuresUniqueUserIdIndex() {
+        initializer.afterSingletonsInstantiated();
+
+        var captor = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps, atLeastOnce()).ensureIndex(captor.capture());
+        assertThat(captor.getAllValues())
+                .anySatisfy(index -> {
+                    assertThat(index.getIndexKeys().keySet()).containsExactly("userId");
+                    assertThat(index.getIndexOptions().getBoolean("unique", false)).isTrue();
+                });
+    }
+
+    @Test
+    @DisplayName("afterSingletonsInstantiated should fail the startup when an index cannot be ensured")
+    void failsStartupWhenIndexCannotBeEnsured() {
+        when(indexOps.ensureIndex(any())).thenThrow(new DuplicateKeyException("E11000 duplicate key"));
+
+        assertThatThrownBy(() -> initializer.afterSingletonsInstantiated())
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(DuplicateKeyException.class);
+    }
+
+}
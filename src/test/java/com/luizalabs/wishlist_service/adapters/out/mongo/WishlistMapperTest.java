@@ -6,9 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -22,13 +20,22 @@ class WishlistMapperTest {
     void toDomainMapsCorrectly() {
         WishlistDocument doc = WishlistDocument.builder()
                 .userId(1L)
-                .productIds(new LinkedHashSet<>(Set.of(2L, 3L)))
+                .productIds(List.of(2L, 3L))
                 .build();
         Wishlist result = mapper.toDomain(doc);
         assertThat(result.getUserId()).isEqualTo(1L);
         assertThat(result.getProductIds()).containsExactlyInAnyOrder(2L, 3L);
     }
 
+    @Test
+    @DisplayName("toDomain should carry the stored version, and read a missing one as 0")
+    void toDomainMapsVersion() {
+        WishlistDocument versioned = WishlistDocument.builder().userId(1L).productIds(List.of(2L)).version(5L).build();
+        WishlistDocument unversioned = WishlistDocument.builder().userId(1L).productIds(List.of(2L)).build();
+        assertThat(mapper.toDomain(versioned).getVersion()).isEqualTo(5L);
+        assertThat(mapper.toDomain(unversioned).getVersion()).isZero();
+    }
+
     @Test
     @DisplayName("toDomain should return null if document is null")
     void toDomainReturnsNullIfNull() {
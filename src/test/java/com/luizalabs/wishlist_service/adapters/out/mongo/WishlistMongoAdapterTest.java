@@ -1,22 +1,37 @@
 package com.luizalabs.wishlist_service.adapters.out.mongo;
 
+import com.luizalabs.wishlist_service.domain.exception.ProductNotFoundException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistMaxLimitException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistNotFoundException;
 import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
+import com.mongodb.bulk.BulkWriteError;
 import com.mongodb.client.result.UpdateResult;
+import org.bson.BsonDocument;
+import org.bson.Document;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
 
-import java.util.LinkedHashSet;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -38,8 +53,8 @@ class WishlistMongoAdapterTest {
     @DisplayName("save should persist and return mapped domain object")
     void savePersistsAndReturnsDomain() {
         Wishlist domain = Wishlist.create(1L);
-        WishlistDocument doc = WishlistDocument.builder().userId(1L).productIds(new LinkedHashSet<>()).build();
-        WishlistDocument savedDoc = WishlistDocument.builder().userId(1L).productIds(new LinkedHashSet<>()).build();
+        WishlistDocument doc = WishlistDocument.builder().userId(1L).productIds(new ArrayList<>()).build();
+        WishlistDocument savedDoc = WishlistDocument.builder().userId(1L).productIds(new ArrayList<>()).build();
         Wishlist mapped = Wishlist.create(1L);
 
         when(mapper.toDocument(domain)).thenReturn(doc);
@@ -54,57 +69,313 @@ class WishlistMongoAdapterTest {
     }
 
     @Test
-    @DisplayName("findProductForUserWishlist should map and return domain if found")
-    void findProductForUserWishlistReturnsDomainIfFound() {
+    @DisplayName("addProduct should add with a single guarded findAndModify upsert")
+    void addProduct_usesSingleFindAndModify() {
         Long userId = 1L;
         Long productId = 2L;
-        WishlistDocument doc = WishlistDocument.builder().userId(userId).productIds(Set.of(productId)).build();
+        WishlistDocument updatedDoc = WishlistDocument.builder().userId(userId).productIds(List.of(productId)).build();
         Wishlist mapped = Wishlist.rehydrate(userId, List.of(productId));
-        when(repository.findByUserIdAndProductIdsContaining(userId, productId)).thenReturn(Optional.of(doc));
-        when(mapper.toDomain(doc)).thenReturn(mapped);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(WishlistDocument.class)))
+                .thenReturn(updatedDoc);
+        when(mapper.toDomain(updatedDoc)).thenReturn(mapped);
 
-        Optional<Wishlist> result = adapter.findProductForUserWishlist(userId, productId);
-        assertThat(result).isPresent();
-        assertThat(result.get().getProductIds()).contains(productId);
+        Wishlist result = adapter.addProduct(userId, productId, Wishlist.DEFAULT_MAX_ITEMS);
+
+        assertThat(result).isEqualTo(mapped);
+        Query expectedQuery = new Query(Criteria.where("userId").is(userId).orOperator(
+                Criteria.where("productIds").is(productId),
+                Criteria.where("productIds." + (Wishlist.DEFAULT_MAX_ITEMS - 1)).exists(false)
+        ));
+        verify(mongoTemplate).findAndModify(
+                eq(expectedQuery),
+                eq(new Update().addToSet("productIds", productId).inc("version", 1)),
+                argThat(options -> options.isUpsert() && options.isReturnNew()),
+                eq(WishlistDocument.class)
+        );
+        verifyNoMoreInteractions(mongoTemplate);
+        verifyNoInteractions(repository);
     }
 
     @Test
-    @DisplayName("findProductForUserWishlist should return empty if not found")
-    void findProductForUserWishlistReturnsEmptyIfNotFound() {
-        when(repository.findByUserIdAndProductIdsContaining(1L, 2L)).thenReturn(Optional.empty());
-        Optional<Wishlist> result = adapter.findProductForUserWishlist(1L, 2L);
-        assertThat(result).isEmpty();
+    @DisplayName("addProduct retries without upsert when a concurrent insert wins the unique key")
+    void addProduct_retriesWithoutUpsert_whenDuplicateKey() {
+        Long userId = 1L;
+        Long productId = 2L;
+        WishlistDocument updatedDoc = WishlistDocument.builder().userId(userId).productIds(List.of(productId)).build();
+        Wishlist mapped = Wishlist.rehydrate(userId, List.of(productId));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), argThat(FindAndModifyOptions::isUpsert), eq(WishlistDocument.class)))
+                .thenThrow(new DuplicateKeyException("E11000"));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), argThat(options -> !options.isUpsert()), eq(WishlistDocument.class)))
+                .thenReturn(updatedDoc);
+        when(mapper.toDomain(updatedDoc)).thenReturn(mapped);
+
+        assertThat(adapter.addProduct(userId, productId, Wishlist.DEFAULT_MAX_ITEMS)).isEqualTo(mapped);
+    }
+
+    @Test
+    @DisplayName("addProduct throws WishlistMaxLimitException when the size guard rejects an existing document")
+    void addProduct_throwsLimit_whenGuardRejects() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), argThat(FindAndModifyOptions::isUpsert), eq(WishlistDocument.class)))
+                .thenThrow(new DuplicateKeyException("E11000"));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), argThat(options -> !options.isUpsert()), eq(WishlistDocument.class)))
+                .thenReturn(null);
+
+        assertThatThrownBy(() -> adapter.addProduct(1L, 99L, Wishlist.DEFAULT_MAX_ITEMS))
+                .isInstanceOf(WishlistMaxLimitException.class)
+                .hasMessageContaining("Wishlist reached max size");
+    }
+
+    @Test
+    @DisplayName("compareAndSet should push the added products and bump the version only while the stored version is the expected one")
+    void compareAndSet_matchesExpectedVersion() {
+        Wishlist expected = Wishlist.rehydrate(1L, List.of(2L), 7);
+        Wishlist updated = Wishlist.rehydrate(1L, List.of(2L, 3L), 7);
+        WishlistDocument storedDoc = WishlistDocument.builder().userId(1L).productIds(List.of(2L, 3L)).version(8L).build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(WishlistDocument.class)))
+                .thenReturn(storedDoc);
+        when(mapper.toDomain(storedDoc)).thenReturn(updated);
+
+        assertThat(adapter.compareAndSet(expected, updated)).contains(updated);
+        verify(mongoTemplate).findAndModify(
+                eq(new Query(Criteria.where("userId").is(1L).and("version").in(7L))),
+                eq(new Update().push("productIds").each(3L).inc("version", 1)),
+                argThat(options -> options.isUpsert() && options.isReturnNew()),
+                eq(WishlistDocument.class)
+        );
+    }
+
+    @Test
+    @DisplayName("compareAndSet should treat documents without a version as version 0")
+    void compareAndSet_matchesUnversionedDocuments_whenExpectingVersionZero() {
+        Wishlist expected = Wishlist.rehydrate(1L, List.of(2L));
+        Wishlist updated = Wishlist.rehydrate(1L, List.of(2L, 3L));
+
+        adapter.compareAndSet(expected, updated);
+
+        verify(mongoTemplate).findAndModify(
+                eq(new Query(Criteria.where("userId").is(1L).and("version").in(0L, null))),
+                any(Update.class),
+                any(FindAndModifyOptions.class),
+                eq(WishlistDocument.class)
+        );
+    }
+
+    @Test
+    @DisplayName("compareAndSetUpdate should filter out removed products and append added ones in one pipeline")
+    void compareAndSetUpdate_sendsOnlyTheDelta() {
+        Wishlist expected = Wishlist.rehydrate(1L, List.of(1L, 2L, 3L, 4L), 3);
+        Wishlist updated = expected.copy();
+        updated.applyChanges(List.of(9L), List.of(2L, 4L), Wishlist.DEFAULT_MAX_ITEMS);
+
+        var update = WishlistMongoAdapter.compareAndSetUpdate(expected, updated);
+
+        assertThat(update).isInstanceOf(AggregationUpdate.class);
+        Document set = ((AggregationUpdate) update).toPipeline(Aggregation.DEFAULT_CONTEXT).get(0).get("$set", Document.class);
+        List<?> concat = set.get("productIds", Document.class).getList("$concatArrays", Object.class);
+        Document filter = ((Document) concat.get(0)).get("$filter", Document.class);
+        assertThat(filter.get("cond")).isEqualTo(new Document("$not", List.of(new Document("$in", List.of("$$this", List.of(2L, 4L))))));
+        assertThat(concat.get(1)).isEqualTo(List.of(9L));
+        assertThat(set).containsKey("version");
+    }
+
+    @Test
+    @DisplayName("compareAndSetUpdate should set the whole array when the change is not removals plus appends")
+    void compareAndSetUpdate_replacesReorderedProducts() {
+        Wishlist expected = Wishlist.rehydrate(1L, List.of(1L, 2L), 3);
+        Wishlist updated = Wishlist.rehydrate(1L, List.of(2L, 1L), 3);
+
+        assertThat(WishlistMongoAdapter.compareAndSetUpdate(expected, updated))
+                .isEqualTo(new Update().set("productIds", List.of(2L, 1L)).inc("version", 1));
+    }
+
+    @Test
+    @DisplayName("compareAndSet should return empty when the stored version moved on and the upsert hits the unique key")
+    void compareAndSet_returnsEmpty_whenDuplicateKey() {
+        Wishlist expected = Wishlist.create(1L);
+        Wishlist updated = Wishlist.rehydrate(1L, List.of(2L));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(WishlistDocument.class)))
+                .thenThrow(new DuplicateKeyException("E11000"));
+
+        assertThat(adapter.compareAndSet(expected, updated)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("findAllByUserIds should read every requested user in one query keyed by userId")
+    void findAllByUserIds_readsUsersInOneQuery() {
+        WishlistDocument doc = WishlistDocument.builder().userId(1L).productIds(List.of(2L)).version(3L).build();
+        Wishlist wishlist = Wishlist.rehydrate(1L, List.of(2L), 3);
+        when(mongoTemplate.find(any(Query.class), eq(WishlistDocument.class))).thenReturn(List.of(doc));
+        when(mapper.toDomain(doc)).thenReturn(wishlist);
+
+        assertThat(adapter.findAllByUserIds(List.of(1L, 2L))).containsExactly(Map.entry(1L, wishlist));
+        verify(mongoTemplate).find(argThat(query ->
+                query.getQueryObject().equals(new Query(Criteria.where("userId").in(List.of(1L, 2L))).getQueryObject())
+                        && query.getFieldsObject().containsKey("version")), eq(WishlistDocument.class));
+    }
+
+    @Test
+    @DisplayName("compareAndSetAll should upsert every change in one unordered bulk and report duplicate keys as conflicts")
+    void compareAndSetAll_reportsDuplicateKeysAsConflicts() {
+        BulkOperations bulk = mock(BulkOperations.class);
+        BulkOperationException conflict = mock(BulkOperationException.class);
+        when(conflict.getErrors()).thenReturn(List.of(new BulkWriteError(11000, "E11000", new BsonDocument(), 1)));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WishlistDocument.class)).thenReturn(bulk);
+        when(bulk.execute()).thenThrow(conflict);
+
+        var results = adapter.compareAndSetAll(
+                List.of(Wishlist.rehydrate(1L, List.of(), 4), Wishlist.create(2L)),
+                List.of(Wishlist.rehydrate(1L, List.of(5L), 4), Wishlist.rehydrate(2L, List.of(5L))));
+
+        assertThat(results.get(0)).hasValueSatisfying(stored -> {
+            assertThat(stored.getProductIds()).containsExactly(5L);
+            assertThat(stored.getVersion()).isEqualTo(5);
+        });
+        assertThat(results.get(1)).isEmpty();
+        verify(bulk).upsert(eq(new Query(Criteria.where("userId").is(1L).and("version").in(4L))), any(UpdateDefinition.class));
+        verify(bulk).upsert(eq(new Query(Criteria.where("userId").is(2L).and("version").in(0L, null))), any(UpdateDefinition.class));
+    }
+
+    @Test
+    @DisplayName("compareAndSetAll should propagate bulk errors other than duplicate keys")
+    void compareAndSetAll_propagatesOtherErrors() {
+        BulkOperations bulk = mock(BulkOperations.class);
+        BulkOperationException failure = mock(BulkOperationException.class);
+        when(failure.getErrors()).thenReturn(List.of(new BulkWriteError(2, "BadValue", new BsonDocument(), 0)));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WishlistDocument.class)).thenReturn(bulk);
+        when(bulk.execute()).thenThrow(failure);
+
+        assertThatThrownBy(() -> adapter.compareAndSetAll(List.of(Wishlist.create(1L)), List.of(Wishlist.rehydrate(1L, List.of(5L)))))
+                .isSameAs(failure);
+    }
+
+    @Test
+    @DisplayName("saveAll should upsert every wishlist in one unordered bulk")
+    void saveAll_upsertsInOneBulk() {
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WishlistDocument.class)).thenReturn(bulk);
+        when(mapper.toDocument(any(Wishlist.class))).thenAnswer(invocation -> {
+            Wishlist wishlist = invocation.getArgument(0);
+            return WishlistDocument.builder().userId(wishlist.getUserId()).productIds(wishlist.items()).build();
+        });
+
+        adapter.saveAll(List.of(Wishlist.rehydrate(1L, List.of(5L)), Wishlist.rehydrate(2L, List.of(6L))));
+
+        verify(bulk).upsert(new Query(Criteria.where("userId").is(1L)), new Update().set("productIds", List.of(5L)).inc("version", 1));
+        verify(bulk).upsert(new Query(Criteria.where("userId").is(2L)), new Update().set("productIds", List.of(6L)).inc("version", 1));
+        verify(bulk).execute();
+    }
+
+    @Test
+    @DisplayName("saveAll should not reach the database for an empty list")
+    void saveAll_skipsEmptyList() {
+        adapter.saveAll(List.of());
+
+        verifyNoInteractions(mongoTemplate);
     }
 
     @Test
-    @DisplayName("remove removes product when document is found")
-    void remove_removesProduct_whenDocumentFound() throws Exception {
+    @DisplayName("findPage should project only the slice after the cursor's product, where it starts and the size")
+    void findPage_projectsSliceAndSize() {
+        when(mongoTemplate.getCollectionName(WishlistDocument.class)).thenReturn("wishlists");
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("wishlists")))
+                .thenReturn(new Document("userId", 1L).append("productIds", List.of(7L, 8L))
+                        .append("offset", 100).append("total", 4_000));
+
+        var page = adapter.findPage(1L, new WishlistPageCursor(6L, 99), 2);
+
+        assertThat(page).hasValueSatisfying(found -> {
+            assertThat(found.productIds()).containsExactly(7L, 8L);
+            assertThat(found.offset()).isEqualTo(100);
+            assertThat(found.total()).isEqualTo(4_000);
+            assertThat(found.next()).isEqualTo(new WishlistPageCursor(8L, 101));
+        });
+        verify(mongoTemplate).findOne(argThat((Query query) ->
+                query.getFieldsObject().get("productIds", Document.class).containsKey("$slice")
+                        && query.getFieldsObject().get("offset", Document.class).toJson().contains("$indexOfArray")
+                        && query.getFieldsObject().containsKey("total")
+                        && !query.getFieldsObject().containsKey("version")), eq(Document.class), eq("wishlists"));
+    }
+
+    @Test
+    @DisplayName("findPage should be empty when the user has no wishlist")
+    void findPage_emptyWithoutWishlist() {
+        when(mongoTemplate.getCollectionName(WishlistDocument.class)).thenReturn("wishlists");
+
+        assertThat(adapter.findPage(1L, WishlistPageCursor.FIRST, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("containsProduct should match the product projecting only userId")
+    void containsProductProjectsOnlyUserId() {
+        when(mongoTemplate.findOne(any(Query.class), eq(WishlistDocument.class)))
+                .thenReturn(WishlistDocument.builder().userId(1L).build());
+
+        assertThat(adapter.containsProduct(1L, 2L)).isTrue();
+        verify(mongoTemplate).findOne(argThat((Query query) ->
+                query.getQueryObject().equals(new Query(Criteria.where("userId").is(1L).and("productIds").is(2L)).getQueryObject())
+                        && query.getFieldsObject().equals(new Document("userId", 1).append("_id", 0))
+        ), eq(WishlistDocument.class));
+        verifyNoInteractions(mapper);
+    }
+
+    @Test
+    @DisplayName("containsProduct should return false if no document matches")
+    void containsProductReturnsFalseIfNotFound() {
+        when(mongoTemplate.findOne(any(Query.class), eq(WishlistDocument.class))).thenReturn(null);
+        assertThat(adapter.containsProduct(1L, 2L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("remove removes product in a single update when it is in the wishlist")
+    void remove_removesProduct_whenDocumentFound() {
         Long userId = 1L;
         Long productId = 2L;
-        UpdateResult updateResult = mock(UpdateResult.class);
-        when(updateResult.getMatchedCount()).thenReturn(1L);
-        when(mongoTemplate.updateFirst(any(), any(), eq(WishlistDocument.class))).thenReturn(updateResult);
+        when(mongoTemplate.updateFirst(any(), any(), eq(WishlistDocument.class))).thenReturn(UpdateResult.acknowledged(1, 1L, null));
 
         adapter.remove(userId, productId);
         verify(mongoTemplate).updateFirst(
                 eq(new Query(Criteria.where("userId").is(userId))),
-                eq(new Update().pull("productIds", productId)),
+                any(AggregationUpdate.class),
                 eq(WishlistDocument.class)
         );
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("remove throws WishlistNotFoundException when no document is matched")
+    void remove_throwsWishlistNotFound_whenNoDocumentFound() {
+        Long userId = 1L;
+        Long productId = 2L;
+        when(mongoTemplate.updateFirst(any(), any(), eq(WishlistDocument.class))).thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertThatThrownBy(() -> adapter.remove(userId, productId))
+                .isInstanceOf(WishlistNotFoundException.class)
+                .hasMessage("Wishlist not found for user " + userId);
     }
 
     @Test
-    @DisplayName("remove throws Exception when no document is found")
-    void remove_throwsException_whenNoDocumentFound() {
+    @DisplayName("remove throws ProductNotFoundException when the document is matched but not modified")
+    void remove_throwsProductNotFound_whenDocumentNotModified() {
         Long userId = 1L;
         Long productId = 2L;
-        UpdateResult updateResult = mock(UpdateResult.class);
-        when(updateResult.getMatchedCount()).thenReturn(0L);
-        when(mongoTemplate.updateFirst(any(), any(), eq(WishlistDocument.class))).thenReturn(updateResult);
+        when(mongoTemplate.updateFirst(any(), any(), eq(WishlistDocument.class))).thenReturn(UpdateResult.acknowledged(1, 0L, null));
 
         assertThatThrownBy(() -> adapter.remove(userId, productId))
-                .isInstanceOf(Exception.class)
-                .hasMessageContaining("Wishlist document not found for userId: " + userId);
+                .isInstanceOf(ProductNotFoundException.class)
+                .hasMessage("Product not found in wishlist for user " + userId);
+    }
+
+    @Test
+    @DisplayName("removal filters the product and bumps the version only when it was present")
+    void removal_bumpsVersionOnlyWhenProductPresent() {
+        List<Document> pipeline = WishlistMongoAdapter.removal(2L).toPipeline(Aggregation.DEFAULT_CONTEXT);
+
+        assertThat(pipeline).hasSize(1);
+        Document set = pipeline.get(0).get("$set", Document.class);
+        assertThat(set.get("productIds", Document.class)).containsKey("$filter");
+        List<?> cond = set.get("version", Document.class).getList("$cond", Object.class);
+        assertThat(cond.get(0)).isEqualTo(new Document("$in", List.of(2L, new Document("$ifNull", List.of("$productIds", List.of())))));
+        assertThat(cond.get(2)).isEqualTo("$version");
     }
 
     @Test
@@ -122,7 +393,7 @@ class WishlistMongoAdapterTest {
     @DisplayName("findByUserId returns mapped domain when document exists")
     void findByUserId_returnsMappedDomain_whenDocumentExists() {
         Long userId = 42L;
-        WishlistDocument doc = WishlistDocument.builder().userId(userId).productIds(Set.of(10L, 20L)).build();
+        WishlistDocument doc = WishlistDocument.builder().userId(userId).productIds(List.of(10L, 20L)).build();
         Wishlist mapped = Wishlist.rehydrate(userId, List.of(10L, 20L));
         when(repository.findByUserId(userId)).thenReturn(Optional.of(doc));
         when(mapper.toDomain(doc)).thenReturn(mapped);
@@ -143,4 +414,89 @@ class WishlistMongoAdapterTest {
 
         assertThat(result).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("streamUserIds streams only the userId of each document")
+    void streamUserIds_streamsUserIds() {
+        when(mongoTemplate.stream(any(Query.class), eq(WishlistDocument.class))).thenReturn(Stream.of(
+                WishlistDocument.builder().userId(1L).build(),
+                WishlistDocument.builder().userId(2L).build()
+        ));
+
+        try (Stream<Long> userIds = adapter.streamUserIds()) {
+            assertThat(userIds).containsExactly(1L, 2L);
+        }
+        verify(mongoTemplate).stream(argThat(query -> query.getFieldsObject().containsKey("userId")), eq(WishlistDocument.class));
+    }
+
+    @Test
+    @DisplayName("streamUserIdsByProduct pages by userId after the cursor with the requested limit and batch size")
+    void streamUserIdsByProduct_pagesByUserId() {
+        when(mongoTemplate.stream(any(Query.class), eq(WishlistDocument.class))).thenReturn(Stream.of(
+                WishlistDocument.builder().userId(11L).build(),
+                WishlistDocument.builder().userId(12L).build()
+        ));
+
+        try (Stream<Long> userIds = adapter.streamUserIdsByProduct(5L, 10L, 100, 500)) {
+            assertThat(userIds).containsExactly(11L, 12L);
+        }
+        verify(mongoTemplate).stream(argThat(query ->
+                query.getQueryObject().equals(new Query(Criteria.where("productIds").is(5L).and("userId").gt(10L)).getQueryObject())
+                        && query.getSortObject().getInteger("userId") == 1
+                        && query.getLimit() == 100
+                        && query.getMeta().getCursorBatchSize() == 500
+                        && query.getFieldsObject().containsKey("userId")), eq(WishlistDocument.class));
+    }
+
+    @Test
+    @DisplayName("streamWishlists scans the userId range in ascending order with the requested batch size")
+    void streamWishlists_scansUserIdRange() {
+        WishlistDocument document = WishlistDocument.builder().userId(11L).productIds(List.of(5L)).version(2L).build();
+        when(mongoTemplate.stream(any(Query.class), eq(WishlistDocument.class))).thenReturn(Stream.of(document));
+        when(mapper.toDomain(document)).thenReturn(Wishlist.rehydrate(11L, List.of(5L), 2));
+
+        try (Stream<Wishlist> wishlists = adapter.streamWishlists(10L, 20L, 500)) {
+            assertThat(wishlists).extracting(Wishlist::getUserId).containsExactly(11L);
+        }
+        verify(mongoTemplate).stream(argThat(query ->
+                query.getQueryObject().equals(new Query(Criteria.where("userId").gt(10L).lte(20L)).getQueryObject())
+                        && query.getSortObject().getInteger("userId") == 1
+                        && query.getMeta().getCursorBatchSize() == 500
+                        && query.getFieldsObject().containsKey("productIds")), eq(WishlistDocument.class));
+    }
+
+    @Test
+    @DisplayName("streamWishlists scans the whole collection when no bounds are given")
+    void streamWishlists_scansEverythingWithoutBounds() {
+        when(mongoTemplate.stream(any(Query.class), eq(WishlistDocument.class))).thenReturn(Stream.empty());
+
+        adapter.streamWishlists(null, null, 1000).close();
+
+        verify(mongoTemplate).stream(argThat(query -> query.getQueryObject().isEmpty()), eq(WishlistDocument.class));
+    }
+
+    @Test
+    @DisplayName("lastUserId reads the highest userId from the index, and is empty for an empty collection")
+    void lastUserId_readsHighestUserId() {
+        when(mongoTemplate.findOne(any(Query.class), eq(WishlistDocument.class)))
+                .thenReturn(WishlistDocument.builder().userId(42L).build())
+                .thenReturn(null);
+
+        assertThat(adapter.lastUserId()).contains(42L);
+        assertThat(adapter.lastUserId()).isEmpty();
+        verify(mongoTemplate, times(2)).findOne(argThat((Query query) ->
+                query.getSortObject().getInteger("userId") == -1 && query.getLimit() == 1), eq(WishlistDocument.class));
+    }
+
+    @Test
+    @DisplayName("streamUserIdsByProduct starts from the first user when no cursor is given")
+    void streamUserIdsByProduct_startsFromFirstUser() {
+        when(mongoTemplate.stream(any(Query.class), eq(WishlistDocument.class))).thenReturn(Stream.empty());
+
+        adapter.streamUserIdsByProduct(5L, null, 0, 1000).close();
+
+        verify(mongoTemplate).stream(argThat(query ->
+                query.getQueryObject().equals(new Query(Criteria.where("productIds").is(5L)).getQueryObject())
+                        && query.getLimit() == 0), eq(WishlistDocument.class));
+    }
+}
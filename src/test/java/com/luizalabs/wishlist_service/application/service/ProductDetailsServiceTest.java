@@ -0,0 +1,51 @@
+package com.luizalabs.wishlist_service.application.service;
+
+import com.luizalabs.wishlist_service.application.port.out.ProductCatalogPort;
+import com.luizalabs.wishlist_service.domain.model.ProductDetails;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ProductDetailsServiceTest {
+
+    private ProductCatalogPort catalog;
+    private ProductDetailsService service;
+
+    @BeforeEach
+    void setUp() {
+        catalog = mock(ProductCatalogPort.class);
+        service = new ProductDetailsService(catalog);
+    }
+
+    @Test
+    @DisplayName("details should look the products up in the catalog")
+    void detailsDelegatesToCatalog() {
+        ProductDetails details = new ProductDetails(2L, "Product 2", BigDecimal.TEN, null);
+        when(catalog.findAllByIds(List.of(2L, 3L))).thenReturn(Map.of(2L, details));
+
+        assertThat(service.details(new long[]{2L, 3L})).containsExactly(Map.entry(2L, details));
+    }
+
+    @Test
+    @DisplayName("details should answer without details when the catalog fails")
+    void detailsDegradesWhenCatalogFails() {
+        when(catalog.findAllByIds(List.of(2L))).thenThrow(new IllegalStateException("catalog down"));
+
+        assertThat(service.details(new long[]{2L})).isEmpty();
+    }
+
+    @Test
+    @DisplayName("details should not call the catalog for an empty wishlist")
+    void detailsSkipsEmptyWishlist() {
+        assertThat(service.details(new long[0])).isEmpty();
+        verifyNoInteractions(catalog);
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.luizalabs.wishlist_service.application.service;
+
+import com.luizalabs.wishlist_service.application.port.out.ProductFollowersPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class ProductFollowersServiceTest {
+
+    private ProductFollowersPort followersPort;
+    private ProductFollowersService service;
+
+    @BeforeEach
+    void setUp() {
+        followersPort = mock(ProductFollowersPort.class);
+        service = new ProductFollowersService(followersPort);
+    }
+
+    @Test
+    @DisplayName("followers should stream the userIds from the port with the given paging")
+    void followersDelegatesToPort() {
+        when(followersPort.streamUserIdsByProduct(5L, 10L, 100, 500)).thenReturn(Stream.of(11L, 12L));
+
+        try (Stream<Long> followers = service.followers(5L, 10L, 100, 500)) {
+            assertThat(followers).containsExactly(11L, 12L);
+        }
+    }
+
+    @Test
+    @DisplayName("followers should throw if productId is null")
+    void followersThrowsIfProductIdNull() {
+        assertThatThrownBy(() -> service.followers(null, null, 0, 1000))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("productId is required");
+        verifyNoInteractions(followersPort);
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.luizalabs.wishlist_service.application.service;
+
+import com.luizalabs.wishlist_service.application.port.out.ReactiveWishlistRepositoryPort;
+import com.luizalabs.wishlist_service.domain.exception.ProductNotFoundException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistConflictException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistNotFoundException;
+import com.luizalabs.wishlist_service.domain.model.ProductChangeOutcome;
+import com.luizalabs.wishlist_service.domain.model.ProductChangeResult;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistLimits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ReactiveWishlistServiceTest {
+
+    private ReactiveWishlistRepositoryPort repository;
+    private ReactiveWishlistService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ReactiveWishlistRepositoryPort.class);
+        service = new ReactiveWishlistService(repository, WishlistLimits.defaults());
+    }
+
+    @Test
+    @DisplayName("add should delegate to the atomic repository add")
+    void addDelegatesToAtomicRepositoryAdd() {
+        Wishlist stored = Wishlist.rehydrate(1L, List.of(2L));
+        when(repository.addProduct(1L, 2L, Wishlist.DEFAULT_MAX_ITEMS)).thenReturn(Mono.just(stored));
+
+        StepVerifier.create(service.add(1L, 2L, null))
+                .expectNext(stored)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("add should fail if productId is null")
+    void addFailsIfProductIdNull() {
+        StepVerifier.create(service.add(1L, null, null))
+                .expectErrorMessage("productId is required")
+                .verify();
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("get should return an empty wishlist when none is stored")
+    void getReturnsEmptyWishlistWhenAbsent() {
+        when(repository.findByUserId(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.get(1L))
+                .assertNext(wishlist -> assertThat(wishlist.getProductIds()).isEmpty())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("remove should fail with WishlistNotFoundException when no wishlist is stored")
+    void removeFailsIfWishlistNotFound() {
+        when(repository.remove(1L, 2L)).thenReturn(Mono.error(new WishlistNotFoundException("Wishlist not found for user 1")));
+
+        StepVerifier.create(service.remove(1L, 2L))
+                .expectError(WishlistNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("remove should fail with ProductNotFoundException when the product is not in the wishlist")
+    void removeFailsIfProductNotInWishlist() {
+        when(repository.remove(1L, 2L)).thenReturn(Mono.error(new ProductNotFoundException("Product not found in wishlist for user 1")));
+
+        StepVerifier.create(service.remove(1L, 2L))
+                .expectError(ProductNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("remove should pull the product when it is in the wishlist")
+    void removePullsProduct() {
+        when(repository.remove(1L, 2L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.remove(1L, 2L)).verifyComplete();
+        verify(repository).remove(1L, 2L);
+        verify(repository, never()).findByUserId(anyLong());
+    }
+
+    @Test
+    @DisplayName("getProductForUserWishlist should complete empty when the product is absent")
+    void getProductForUserWishlistEmptyWhenAbsent() {
+        when(repository.containsProduct(1L, 2L)).thenReturn(Mono.just(false));
+
+        StepVerifier.create(service.getProductForUserWishlist(1L, 2L)).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("update should re-read and retry when a concurrent write wins")
+    void updateRetriesOnConflict() {
+        Wishlist stored = Wishlist.rehydrate(1L, List.of(7L, 8L));
+        when(repository.findByUserId(1L))
+                .thenReturn(Mono.empty())
+                .thenReturn(Mono.just(Wishlist.rehydrate(1L, List.of(7L))));
+        when(repository.compareAndSet(any(Wishlist.class), any(Wishlist.class)))
+                .thenReturn(Mono.empty())
+                .thenReturn(Mono.just(stored));
+
+        StepVerifier.create(service.update(1L, List.of(8L), List.of(), null))
+                .assertNext(result -> {
+                    assertThat(result.wishlist()).isSameAs(stored);
+                    assertThat(result.results()).extracting(ProductChangeResult::outcome)
+                            .containsExactly(ProductChangeOutcome.ADDED);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("update should give up with WishlistConflictException after the retry budget")
+    void updateFailsWithConflictAfterRetries() {
+        when(repository.findByUserId(1L)).thenReturn(Mono.empty());
+        when(repository.compareAndSet(any(Wishlist.class), any(Wishlist.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.update(1L, List.of(8L), List.of(), null))
+                .expectError(WishlistConflictException.class)
+                .verify();
+        verify(repository, times(WishlistService.MAX_CONFLICT_RETRIES)).compareAndSet(any(Wishlist.class), any(Wishlist.class));
+    }
+
+    @Test
+    @DisplayName("membership should flag requested products found in the wishlist")
+    void membershipFlagsPresentProducts() {
+        when(repository.findByUserId(1L)).thenReturn(Mono.just(Wishlist.rehydrate(1L, List.of(20L))));
+
+        StepVerifier.create(service.membership(1L, List.of(10L, 20L)))
+                .assertNext(membership -> assertThat(membership.stream()).containsExactly(1))
+                .verifyComplete();
+    }
+
+}
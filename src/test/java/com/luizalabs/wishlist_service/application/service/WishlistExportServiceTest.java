@@ -0,0 +1,108 @@
+package com.luizalabs.wishlist_service.application.service;
+
+import com.luizalabs.wishlist_service.application.port.out.WishlistExportPort;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistExportRange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WishlistExportServiceTest {
+
+    @Mock
+    private WishlistExportPort exportPort;
+    @InjectMocks
+    private WishlistExportService service;
+
+    @Test
+    @DisplayName("partition should split the stored userIds into contiguous ranges, the last one open")
+    void partitionSplitsUserIds() {
+        when(exportPort.firstUserId()).thenReturn(Optional.of(1L));
+        when(exportPort.lastUserId()).thenReturn(Optional.of(100L));
+
+        assertThat(service.partition(null, 4)).containsExactly(
+                new WishlistExportRange(null, 25L),
+                new WishlistExportRange(25L, 50L),
+                new WishlistExportRange(50L, 75L),
+                new WishlistExportRange(75L, null));
+    }
+
+    @Test
+    @DisplayName("partition should only split the userIds after the resume point")
+    void partitionStartsAfterResumePoint() {
+        when(exportPort.lastUserId()).thenReturn(Optional.of(100L));
+
+        assertThat(service.partition(60L, 2)).containsExactly(
+                new WishlistExportRange(60L, 80L),
+                new WishlistExportRange(80L, null));
+        verify(exportPort, never()).firstUserId();
+    }
+
+    @Test
+    @DisplayName("partition should not return more ranges than there are userIds left")
+    void partitionCapsRangesToRemainingUserIds() {
+        when(exportPort.lastUserId()).thenReturn(Optional.of(12L));
+
+        assertThat(service.partition(10L, 8)).containsExactly(
+                new WishlistExportRange(10L, 11L),
+                new WishlistExportRange(11L, null));
+        assertThat(service.partition(12L, 8)).containsExactly(new WishlistExportRange(12L, null));
+    }
+
+    @Test
+    @DisplayName("partition should split userIds at both ends of the long range without overflowing")
+    void partitionHandlesExtremeUserIds() {
+        when(exportPort.firstUserId()).thenReturn(Optional.of(Long.MIN_VALUE));
+        when(exportPort.lastUserId()).thenReturn(Optional.of(Long.MIN_VALUE + 9));
+
+        assertThat(service.partition(null, 2)).containsExactly(
+                new WishlistExportRange(null, Long.MIN_VALUE + 4),
+                new WishlistExportRange(Long.MIN_VALUE + 4, null));
+
+        when(exportPort.lastUserId()).thenReturn(Optional.of(Long.MAX_VALUE));
+
+        assertThat(service.partition(null, 4)).containsExactly(
+                new WishlistExportRange(null, -4611686018427387906L),
+                new WishlistExportRange(-4611686018427387906L, -3L),
+                new WishlistExportRange(-3L, 4611686018427387900L),
+                new WishlistExportRange(4611686018427387900L, null));
+        assertThat(service.partition(Long.MAX_VALUE - 10, 2)).containsExactly(
+                new WishlistExportRange(Long.MAX_VALUE - 10, Long.MAX_VALUE - 5),
+                new WishlistExportRange(Long.MAX_VALUE - 5, null));
+    }
+
+    @Test
+    @DisplayName("partition should return a single open range for an empty collection or one partition")
+    void partitionReturnsSingleRange() {
+        when(exportPort.lastUserId()).thenReturn(Optional.empty());
+
+        assertThat(service.partition(null, 4)).containsExactly(WishlistExportRange.all());
+        assertThat(service.partition(5L, 1)).containsExactly(new WishlistExportRange(5L, null));
+        assertThatThrownBy(() -> service.partition(null, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("export should stream the range from the port")
+    void exportStreamsRange() {
+        Wishlist wishlist = Wishlist.rehydrate(3L, List.of(1L));
+        when(exportPort.streamWishlists(2L, 9L, 500)).thenReturn(Stream.of(wishlist));
+
+        try (Stream<Wishlist> exported = service.export(new WishlistExportRange(2L, 9L), 500)) {
+            assertThat(exported).containsExactly(wishlist);
+        }
+        assertThatThrownBy(() -> service.export(WishlistExportRange.all(), 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
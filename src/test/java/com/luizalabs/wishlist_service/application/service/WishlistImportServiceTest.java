@@ -0,0 +1,140 @@
+package com.luizalabs.wishlist_service.application.service;
+
+import com.luizalabs.wishlist_service.adapters.out.memory.InMemoryWishlistRepository;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistImportRecord;
+import com.luizalabs.wishlist_service.domain.model.WishlistImportResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class WishlistImportServiceTest {
+
+    private InMemoryWishlistRepository repository;
+    private List<WishlistImportResult> progress;
+
+    @BeforeEach
+    void setUp() {
+        repository = spy(new InMemoryWishlistRepository());
+        progress = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("importWishlists should store every valid record in batches of batchSize")
+    void importsInBatches() {
+        var service = new WishlistImportService(repository, Wishlist.DEFAULT_MAX_ITEMS, 2, 2, 100);
+        var records = LongStream.rangeClosed(1, 5)
+                .mapToObj(userId -> WishlistImportRecord.of(userId, userId, List.of(userId * 10)))
+                .iterator();
+
+        WishlistImportResult result = service.importWishlists(records, progress::add);
+
+        assertThat(result.read()).isEqualTo(5);
+        assertThat(result.imported()).isEqualTo(5);
+        assertThat(result.rejected()).isZero();
+        assertThat(repository.findByUserId(4L)).map(Wishlist::items).contains(List.of(40L));
+        verify(repository, times(3)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("importWishlists should count invalid records as rejected and keep going")
+    void rejectsInvalidRecords() {
+        var service = new WishlistImportService(repository, Wishlist.DEFAULT_MAX_ITEMS, 10, 1, 100);
+        var records = List.of(
+                WishlistImportRecord.malformed(1, "malformed JSON"),
+                WishlistImportRecord.of(2, null, List.of(1L)),
+                WishlistImportRecord.of(3, 3L, null),
+                WishlistImportRecord.of(4, 4L, LongStream.rangeClosed(1, Wishlist.DEFAULT_MAX_ITEMS + 1).boxed().toList()),
+                WishlistImportRecord.of(5, 5L, List.of(1L, 2L))
+        ).iterator();
+
+        WishlistImportResult result = service.importWishlists(records, progress::add);
+
+        assertThat(result.read()).isEqualTo(5);
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(4);
+        assertThat(repository.findByUserId(5L)).isPresent();
+        assertThat(repository.findByUserId(4L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("importWishlists should keep the last record of a userId repeated within a batch")
+    void keepsLastRecordPerUser() {
+        var service = new WishlistImportService(repository, Wishlist.DEFAULT_MAX_ITEMS, 10, 1, 100);
+        var records = List.of(
+                WishlistImportRecord.of(1, 1L, List.of(1L)),
+                WishlistImportRecord.of(2, 1L, List.of(2L))
+        ).iterator();
+
+        WishlistImportResult result = service.importWishlists(records, progress::add);
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(repository.findByUserId(1L)).map(Wishlist::items).contains(List.of(2L));
+    }
+
+    @Test
+    @DisplayName("importWishlists should keep the last record of a userId repeated across batches stored in parallel")
+    void keepsLastRecordPerUserAcrossBatches() {
+        doAnswer(invocation -> {
+            List<Wishlist> wishlists = invocation.getArgument(0);
+            if (wishlists.get(0).items().equals(List.of(1L))) Thread.sleep(100);
+            return invocation.callRealMethod();
+        }).when(repository).saveAll(anyList());
+        var service = new WishlistImportService(repository, Wishlist.DEFAULT_MAX_ITEMS, 1, 4, 100);
+        var records = List.of(
+                WishlistImportRecord.of(1, 1L, List.of(1L)),
+                WishlistImportRecord.of(2, 2L, List.of(5L)),
+                WishlistImportRecord.of(3, 1L, List.of(2L))
+        ).iterator();
+
+        service.importWishlists(records, progress::add);
+
+        assertThat(repository.findByUserId(1L)).map(Wishlist::items).contains(List.of(2L));
+    }
+
+    @Test
+    @DisplayName("importWishlists should report progress every progressInterval records and once at the end")
+    void reportsProgress() {
+        var service = new WishlistImportService(repository, Wishlist.DEFAULT_MAX_ITEMS, 100, 1, 2);
+        var records = LongStream.rangeClosed(1, 5)
+                .mapToObj(userId -> WishlistImportRecord.of(userId, userId, List.of(1L)))
+                .iterator();
+
+        service.importWishlists(records, progress::add);
+
+        assertThat(progress).extracting(WishlistImportResult::read).containsExactly(2L, 4L, 5L);
+        assertThat(progress.get(progress.size() - 1).imported()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("importWishlists should stop reading and rethrow when a batch fails to store")
+    void propagatesStoreFailures() {
+        doThrow(new IllegalStateException("down")).when(repository).saveAll(anyList());
+        var service = new WishlistImportService(repository, Wishlist.DEFAULT_MAX_ITEMS, 1, 1, 100);
+        var records = LongStream.rangeClosed(1, 1000)
+                .mapToObj(userId -> WishlistImportRecord.of(userId, userId, List.of(1L)))
+                .iterator();
+
+        assertThatThrownBy(() -> service.importWishlists(records, progress::add)).hasMessage("down");
+        assertThat(records.hasNext()).isTrue();
+        assertThat(progress).isEmpty();
+    }
+
+    @Test
+    @DisplayName("constructor should reject non-positive settings")
+    void rejectsInvalidSettings() {
+        assertThatThrownBy(() -> new WishlistImportService(repository, Wishlist.DEFAULT_MAX_ITEMS, 0, 1, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new WishlistImportService(repository, Wishlist.DEFAULT_MAX_ITEMS, 1, 0, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.luizalabs.wishlist_service.application.service;
+
+import com.luizalabs.wishlist_service.adapters.out.memory.InMemoryWishlistRepository;
+import com.luizalabs.wishlist_service.domain.exception.WishlistConflictException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistMaxLimitException;
+import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistLimits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers a single userId from many threads through the service and the versioned compare-and-set of the
+ * in-memory repository, which has the same semantics as the Mongo adapter.
+ */
+class WishlistServiceConcurrencyTest {
+
+    private static final int ROUNDS = 50;
+    private static final int THREADS = 16;
+
+    private InMemoryWishlistRepository repository;
+    private WishlistService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryWishlistRepository();
+        service = new WishlistService(repository, WishlistLimits.defaults());
+    }
+
+    @Test
+    @DisplayName("concurrent batch updates should either be stored or rejected as conflicts, never lost")
+    void concurrentBatchUpdatesAreNeverLost() throws InterruptedException {
+        for (long userId = 1; userId <= ROUNDS; userId++) {
+            Set<Long> stored = ConcurrentHashMap.newKeySet();
+            AtomicInteger conflicts = new AtomicInteger();
+            long user = userId;
+
+            hammer(worker -> {
+                long productId = 100L + worker;
+                try {
+                    service.update(user, List.of(productId), List.of(), null);
+                    stored.add(productId);
+                } catch (WishlistConflictException e) {
+                    conflicts.incrementAndGet();
+                }
+            });
+
+            Wishlist result = repository.findByUserId(user).orElseThrow();
+            assertThat(result.items()).containsExactlyInAnyOrderElementsOf(stored);
+            assertThat(result.getVersion()).isEqualTo(stored.size());
+            assertThat(stored.size() + conflicts.get()).isEqualTo(THREADS);
+        }
+    }
+
+    @Test
+    @DisplayName("batch updates racing atomic adds should keep every acknowledged product")
+    void batchUpdatesRacingAtomicAddsKeepEveryProduct() throws InterruptedException {
+        for (long userId = 1; userId <= ROUNDS; userId++) {
+            Set<Long> stored = ConcurrentHashMap.newKeySet();
+            long user = userId;
+
+            hammer(worker -> {
+                long productId = 100L + worker;
+                try {
+                    if (worker % 2 == 0) {
+                        service.add(user, productId, null);
+                    } else {
+                        service.update(user, List.of(productId), List.of(), null);
+                    }
+                    stored.add(productId);
+                } catch (WishlistConflictException e) {
+                    // rejected, so it must not show up in the wishlist
+                }
+            });
+
+            assertThat(repository.findByUserId(user).orElseThrow().items())
+                    .containsExactlyInAnyOrderElementsOf(stored);
+        }
+    }
+
+    @Test
+    @DisplayName("concurrent adds past the limit should never exceed the limit")
+    void concurrentAddsNeverExceedLimit() throws InterruptedException {
+        int writers = Wishlist.DEFAULT_MAX_ITEMS * 2;
+        for (long userId = 1; userId <= ROUNDS; userId++) {
+            AtomicInteger added = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+            long user = userId;
+
+            hammer(writers, worker -> {
+                try {
+                    service.add(user, 100L + worker, null);
+                    added.incrementAndGet();
+                } catch (WishlistMaxLimitException e) {
+                    rejected.incrementAndGet();
+                }
+            });
+
+            assertThat(repository.findByUserId(user).orElseThrow().size()).isEqualTo(Wishlist.DEFAULT_MAX_ITEMS);
+            assertThat(added.get()).isEqualTo(Wishlist.DEFAULT_MAX_ITEMS);
+            assertThat(rejected.get()).isEqualTo(writers - Wishlist.DEFAULT_MAX_ITEMS);
+        }
+    }
+
+    private void hammer(final Worker worker) throws InterruptedException {
+        hammer(THREADS, worker);
+    }
+
+    /**
+     * Releases {@code threads} workers at once and waits for all of them.
+     */
+    private void hammer(final int threads,
+                        final Worker worker) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                int id = i;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        worker.run(id);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            start.countDown();
+            done.await();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Worker {
+        void run(int worker);
+    }
+
+}
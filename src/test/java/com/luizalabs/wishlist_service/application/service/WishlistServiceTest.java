@@ -2,9 +2,16 @@ package com.luizalabs.wishlist_service.application.service;
 
 import com.luizalabs.wishlist_service.application.port.out.WishlistRepositoryPort;
 import com.luizalabs.wishlist_service.domain.exception.ProductNotFoundException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistConflictException;
 import com.luizalabs.wishlist_service.domain.exception.WishlistMaxLimitException;
 import com.luizalabs.wishlist_service.domain.exception.WishlistNotFoundException;
+import com.luizalabs.wishlist_service.domain.model.ProductChangeOutcome;
+import com.luizalabs.wishlist_service.domain.model.ProductChangeResult;
 import com.luizalabs.wishlist_service.domain.model.Wishlist;
+import com.luizalabs.wishlist_service.domain.model.WishlistBatchResult;
+import com.luizalabs.wishlist_service.domain.model.WishlistLimits;
+import com.luizalabs.wishlist_service.domain.model.WishlistPage;
+import com.luizalabs.wishlist_service.domain.model.WishlistPageCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,8 +19,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -31,39 +40,35 @@ class WishlistServiceTest {
     @BeforeEach
     void setUp() {
         repository = mock(WishlistRepositoryPort.class);
-        service = new WishlistService(repository);
+        service = new WishlistService(repository, WishlistLimits.parse(Wishlist.DEFAULT_MAX_ITEMS, "premium:5000"));
     }
 
     @Test
-    @DisplayName("add should create wishlist if not exists and add product")
-    void addCreatesWishlistIfNotExistsAndAddsProduct() {
+    @DisplayName("add should delegate to the atomic repository add and return its result")
+    void addDelegatesToAtomicRepositoryAdd() {
         Long userId = 1L;
         Long productId = 2L;
         Wishlist savedWishlist = Wishlist.rehydrate(userId, List.of(productId));
-        when(repository.findByUserId(userId)).thenReturn(Optional.empty());
-        when(repository.save(any(Wishlist.class))).thenReturn(savedWishlist);
+        when(repository.addProduct(userId, productId, Wishlist.DEFAULT_MAX_ITEMS)).thenReturn(savedWishlist);
 
-        Wishlist result = service.add(userId, productId);
+        Wishlist result = service.add(userId, productId, null);
 
         assertThat(result.getUserId()).isEqualTo(userId);
         assertThat(result.getProductIds()).containsExactly(productId);
-        verify(repository).save(any(Wishlist.class));
+        verify(repository).addProduct(userId, productId, Wishlist.DEFAULT_MAX_ITEMS);
     }
 
     @Test
-    @DisplayName("add should add product to existing wishlist")
-    void addAddsProductToExistingWishlist() {
+    @DisplayName("add should use a single repository round trip")
+    void addUsesSingleRepositoryRoundTrip() {
         Long userId = 1L;
         Long productId = 2L;
-        Wishlist wishlist = Wishlist.create(userId);
-        Wishlist updatedWishlist = Wishlist.rehydrate(userId, List.of(productId));
-        when(repository.findByUserId(userId)).thenReturn(Optional.of(wishlist));
-        when(repository.save(any(Wishlist.class))).thenReturn(updatedWishlist);
+        when(repository.addProduct(userId, productId, Wishlist.DEFAULT_MAX_ITEMS)).thenReturn(Wishlist.rehydrate(userId, List.of(productId)));
 
-        Wishlist result = service.add(userId, productId);
+        service.add(userId, productId, null);
 
-        assertThat(result.getProductIds()).contains(productId);
-        verify(repository).save(wishlist);
+        verify(repository).addProduct(userId, productId, Wishlist.DEFAULT_MAX_ITEMS);
+        verifyNoMoreInteractions(repository);
     }
 
     @Test
@@ -72,10 +77,9 @@ class WishlistServiceTest {
         Long userId = 1L;
         Long productId = 2L;
         Wishlist wishlist = Wishlist.rehydrate(userId, List.of(productId));
-        when(repository.findByUserId(userId)).thenReturn(Optional.of(wishlist));
-        when(repository.save(any(Wishlist.class))).thenReturn(wishlist);
+        when(repository.addProduct(userId, productId, Wishlist.DEFAULT_MAX_ITEMS)).thenReturn(wishlist);
 
-        Wishlist result = service.add(userId, productId);
+        Wishlist result = service.add(userId, productId, null);
 
         assertThat(result.getProductIds()).containsExactly(productId);
     }
@@ -84,28 +88,160 @@ class WishlistServiceTest {
     @DisplayName("add should throw if wishlist exceeds max size")
     void addThrowsIfWishlistExceedsMaxSize() {
         Long userId = 1L;
-        List<Long> products = java.util.stream.LongStream.rangeClosed(1, Wishlist.MAX_ITEMS)
-                .boxed().toList();
-        Wishlist wishlist = Wishlist.rehydrate(userId, products);
-        when(repository.findByUserId(userId)).thenReturn(Optional.of(wishlist));
+        when(repository.addProduct(userId, 99L, Wishlist.DEFAULT_MAX_ITEMS))
+                .thenThrow(new WishlistMaxLimitException("Wishlist reached max size: " + Wishlist.DEFAULT_MAX_ITEMS));
 
-        assertThatThrownBy(() -> service.add(userId, 99L))
+        assertThatThrownBy(() -> service.add(userId, 99L, null))
                 .isInstanceOf(WishlistMaxLimitException.class);
     }
 
     @Test
-    @DisplayName("remove should remove product from wishlist")
-    void removeRemovesProductFromWishlist() throws Exception {
+    @DisplayName("add should use the limit of the user's tier")
+    void addUsesTierLimit() {
+        when(repository.addProduct(1L, 2L, 5000)).thenReturn(Wishlist.rehydrate(1L, List.of(2L)));
+
+        service.add(1L, 2L, "premium");
+        service.add(1L, 2L, "unknown");
+
+        verify(repository).addProduct(1L, 2L, 5000);
+        verify(repository).addProduct(1L, 2L, Wishlist.DEFAULT_MAX_ITEMS);
+    }
+
+    @Test
+    @DisplayName("add should throw if productId is null")
+    void addThrowsIfProductIdNull() {
+        assertThatThrownBy(() -> service.add(1L, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("productId is required");
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("update should apply the whole batch with one conditional write")
+    void updateAppliesBatchWithOneConditionalWrite() {
+        Long userId = 1L;
+        Wishlist current = Wishlist.rehydrate(userId, List.of(1L, 2L));
+        Wishlist stored = Wishlist.rehydrate(userId, List.of(1L, 3L));
+        when(repository.findByUserId(userId)).thenReturn(Optional.of(current));
+        when(repository.compareAndSet(eq(current), any(Wishlist.class))).thenReturn(Optional.of(stored));
+
+        WishlistBatchResult result = service.update(userId, List.of(3L), List.of(2L), null);
+
+        assertThat(result.wishlist()).isSameAs(stored);
+        assertThat(result.results()).extracting(ProductChangeResult::outcome)
+                .containsExactly(ProductChangeOutcome.REMOVED, ProductChangeOutcome.ADDED);
+        verify(repository).compareAndSet(eq(current), argThat(updated -> List.of(1L, 3L).equals(updated.items())));
+        assertThat(current.getProductIds()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("update should not write when nothing in the batch changes the wishlist")
+    void updateSkipsWriteWhenNothingChanges() {
+        Long userId = 1L;
+        Wishlist current = Wishlist.rehydrate(userId, List.of(1L));
+        when(repository.findByUserId(userId)).thenReturn(Optional.of(current));
+
+        WishlistBatchResult result = service.update(userId, List.of(1L), List.of(5L), null);
+
+        assertThat(result.wishlist()).isSameAs(current);
+        assertThat(result.results()).extracting(ProductChangeResult::outcome)
+                .containsExactly(ProductChangeOutcome.NOT_PRESENT, ProductChangeOutcome.ALREADY_PRESENT);
+        verify(repository, never()).compareAndSet(any(), any());
+    }
+
+    @Test
+    @DisplayName("update should re-read and retry when a concurrent write wins")
+    void updateRetriesOnConflict() {
+        Long userId = 1L;
+        Wishlist stored = Wishlist.rehydrate(userId, List.of(7L, 8L));
+        when(repository.findByUserId(userId))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(Wishlist.rehydrate(userId, List.of(7L))));
+        when(repository.compareAndSet(any(Wishlist.class), any(Wishlist.class)))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(stored));
+
+        WishlistBatchResult result = service.update(userId, List.of(8L), List.of(), null);
+
+        assertThat(result.wishlist()).isSameAs(stored);
+        verify(repository, times(2)).findByUserId(userId);
+        verify(repository, times(2)).compareAndSet(any(Wishlist.class), any(Wishlist.class));
+    }
+
+    @Test
+    @DisplayName("update should give up with WishlistConflictException after the retry budget")
+    void updateThrowsConflictAfterRetries() {
+        Long userId = 1L;
+        when(repository.findByUserId(userId)).thenReturn(Optional.empty());
+        when(repository.compareAndSet(any(Wishlist.class), any(Wishlist.class))).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.update(userId, List.of(8L), List.of(), null))
+                .isInstanceOf(WishlistConflictException.class);
+        verify(repository, times(WishlistService.MAX_CONFLICT_RETRIES)).compareAndSet(any(Wishlist.class), any(Wishlist.class));
+    }
+
+    @Test
+    @DisplayName("update should let additions grow the wishlist up to the tier's limit")
+    void updateUsesTierLimit() {
+        Long userId = 1L;
+        Wishlist current = Wishlist.rehydrate(userId, LongStream.range(0, Wishlist.DEFAULT_MAX_ITEMS).toArray());
+        when(repository.findByUserId(userId)).thenReturn(Optional.of(current));
+        when(repository.compareAndSet(eq(current), any(Wishlist.class)))
+                .thenAnswer(invocation -> Optional.of(invocation.getArgument(1)));
+
+        WishlistBatchResult result = service.update(userId, List.of(100L), List.of(), "premium");
+
+        assertThat(result.results()).extracting(ProductChangeResult::outcome).containsExactly(ProductChangeOutcome.ADDED);
+        assertThat(result.wishlist().size()).isEqualTo(Wishlist.DEFAULT_MAX_ITEMS + 1);
+    }
+
+    @Test
+    @DisplayName("page should read only the requested page, and be empty when the user has no wishlist")
+    void pageReadsRequestedPage() {
+        WishlistPage stored = new WishlistPage(1L, new long[]{3L, 4L}, 2, 10);
+        var cursor = new WishlistPageCursor(2L, 1);
+        when(repository.findPage(1L, cursor, 2)).thenReturn(Optional.of(stored));
+        when(repository.findPage(2L, WishlistPageCursor.FIRST, 2)).thenReturn(Optional.empty());
+
+        assertThat(service.page(1L, cursor, 2)).isSameAs(stored);
+        WishlistPage empty = service.page(2L, WishlistPageCursor.FIRST, 2);
+        assertThat(empty.productIds()).isEmpty();
+        assertThat(empty.total()).isZero();
+        verify(repository, never()).findByUserId(any());
+    }
+
+    @Test
+    @DisplayName("membership should answer every requested product from one wishlist read")
+    void membershipUsesSingleRead() {
+        Long userId = 1L;
+        when(repository.findByUserId(userId)).thenReturn(Optional.of(Wishlist.rehydrate(userId, List.of(20L, 40L))));
+
+        BitSet membership = service.membership(userId, List.of(10L, 20L, 30L, 40L));
+
+        assertThat(membership.stream()).containsExactly(1, 3);
+        verify(repository).findByUserId(userId);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("membership should be empty when the user has no wishlist")
+    void membershipIsEmptyWithoutWishlist() {
+        when(repository.findByUserId(1L)).thenReturn(Optional.empty());
+
+        assertThat(service.membership(1L, List.of(10L, 20L)).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("remove should remove the product without reading the wishlist")
+    void removeRemovesProductFromWishlist() {
         Long userId = 1L;
         Long productId = 2L;
-        Wishlist wishlist = Wishlist.rehydrate(userId, List.of(productId));
-        when(repository.findByUserId(userId)).thenReturn(Optional.of(wishlist));
         doNothing().when(repository).remove(userId, productId);
 
         service.remove(userId, productId);
 
-        assertThat(wishlist.getProductIds()).doesNotContain(productId);
         verify(repository).remove(userId, productId);
+        verify(repository, never()).findByUserId(any());
     }
 
     @Test
@@ -113,7 +249,8 @@ class WishlistServiceTest {
     void removeThrowsIfWishlistNotFound() {
         Long userId = 1L;
         Long productId = 2L;
-        when(repository.findByUserId(userId)).thenReturn(Optional.empty());
+        doThrow(new WishlistNotFoundException("Wishlist not found for user " + userId))
+                .when(repository).remove(userId, productId);
 
         assertThatThrownBy(() -> service.remove(userId, productId))
                 .isInstanceOf(WishlistNotFoundException.class);
@@ -124,8 +261,8 @@ class WishlistServiceTest {
     void remove_throwsProductNotFoundException_whenProductNotInWishlist() {
         Long userId = 1L;
         Long productId = 99L;
-        Wishlist wishlist = Wishlist.create(userId);
-        when(repository.findByUserId(userId)).thenReturn(Optional.of(wishlist));
+        doThrow(new ProductNotFoundException("Product not found in wishlist for user " + userId))
+                .when(repository).remove(userId, productId);
 
         assertThatThrownBy(() -> service.remove(userId, productId))
                 .isInstanceOf(ProductNotFoundException.class)
@@ -134,12 +271,9 @@ class WishlistServiceTest {
 
     @Test
     @DisplayName("remove succeeds when product is in wishlist")
-    void remove_succeeds_whenProductIsInWishlist() throws Exception {
+    void remove_succeeds_whenProductIsInWishlist() {
         Long userId = 1L;
         Long productId = 42L;
-        Wishlist wishlist = Wishlist.create(userId);
-        wishlist.addProduct(productId);
-        when(repository.findByUserId(userId)).thenReturn(Optional.of(wishlist));
         doNothing().when(repository).remove(userId, productId);
 
         service.remove(userId, productId);
@@ -171,16 +305,24 @@ class WishlistServiceTest {
     }
 
     @Test
-    @DisplayName("getProductForUserWishlist should return wishlist with product")
-    void getProductForUserWishlistReturnsWishlistWithProduct() {
+    @DisplayName("getProductForUserWishlist should return the product when the repository finds it")
+    void getProductForUserWishlistReturnsProduct() {
         Long userId = 1L;
         Long productId = 2L;
-        Wishlist wishlist = Wishlist.rehydrate(userId, List.of(productId));
-        when(repository.findProductForUserWishlist(userId, productId)).thenReturn(Optional.of(wishlist));
+        when(repository.containsProduct(userId, productId)).thenReturn(true);
 
         Optional<Long> result = service.getProductForUserWishlist(userId, productId);
 
         assertThat(result).isPresent().contains(productId);
+        verify(repository, never()).findByUserId(anyLong());
+    }
+
+    @Test
+    @DisplayName("getProductForUserWishlist should return empty when the repository does not find the product")
+    void getProductForUserWishlistReturnsEmpty() {
+        when(repository.containsProduct(1L, 2L)).thenReturn(false);
+
+        assertThat(service.getProductForUserWishlist(1L, 2L)).isEmpty();
     }
 
 }
@@ -1,25 +1,178 @@
 package com.luizalabs.wishlist_service.config;
 
+import com.luizalabs.wishlist_service.adapters.out.batch.BatchingProductCatalog;
+import com.luizalabs.wishlist_service.adapters.out.batch.CoalescingWishlistRepository;
+import com.luizalabs.wishlist_service.adapters.out.batch.SingleFlightWishlistRepository;
+import com.luizalabs.wishlist_service.adapters.out.cache.BroadcastingWishlistRepository;
+import com.luizalabs.wishlist_service.adapters.out.cache.CachingProductCatalog;
+import com.luizalabs.wishlist_service.adapters.out.cache.CachingWishlistRepository;
+import com.luizalabs.wishlist_service.adapters.out.cache.NegativeLookupWishlistRepository;
+import com.luizalabs.wishlist_service.adapters.out.cache.ReactiveBroadcastingWishlistRepository;
+import com.luizalabs.wishlist_service.adapters.out.mongo.WishlistMongoAdapter;
 import com.luizalabs.wishlist_service.application.port.in.AddProductUseCase;
+import com.luizalabs.wishlist_service.application.port.in.BatchUpdateProductsUseCase;
 import com.luizalabs.wishlist_service.application.port.in.ListProductsUseCase;
+import com.luizalabs.wishlist_service.application.port.in.ProductMembershipUseCase;
 import com.luizalabs.wishlist_service.application.port.in.ProductUseCase;
 import com.luizalabs.wishlist_service.application.port.in.RemoveProductUseCase;
+import com.luizalabs.wishlist_service.application.port.out.ProductCatalogPort;
+import com.luizalabs.wishlist_service.application.port.out.ReactiveWishlistRepositoryPort;
+import com.luizalabs.wishlist_service.application.port.out.WishlistInvalidationPort;
 import com.luizalabs.wishlist_service.application.port.out.WishlistRepositoryPort;
 import com.luizalabs.wishlist_service.application.service.WishlistService;
+import com.luizalabs.wishlist_service.domain.model.WishlistLimits;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class BeanConfigTest {
 
+    @Test
+    @DisplayName("wishlistWriteStore bean should return the store itself when write coalescing is disabled")
+    void wishlistWriteStoreBeanReturnsStoreWhenDisabled() {
+        WishlistMongoAdapter adapter = mock(WishlistMongoAdapter.class);
+        BeanConfig config = new BeanConfig();
+        WishlistRepositoryPort store = config.wishlistWriteStore(adapter, adapter, false, Duration.ofMillis(2), 500, 1000, new SimpleMeterRegistry());
+        assertThat(store).isSameAs(adapter);
+    }
+
+    @Test
+    @DisplayName("wishlistWriteStore bean should put the coalescing pipeline in front of the store when enabled")
+    void wishlistWriteStoreBeanCoalescesWhenEnabled() throws Exception {
+        WishlistMongoAdapter adapter = mock(WishlistMongoAdapter.class);
+        BeanConfig config = new BeanConfig();
+        WishlistRepositoryPort store = config.wishlistWriteStore(adapter, adapter, true, Duration.ofMillis(2), 500, 1000, new SimpleMeterRegistry());
+        assertThat(store).isInstanceOf(CoalescingWishlistRepository.class);
+        ((CoalescingWishlistRepository) store).close();
+    }
+
+    @Test
+    @DisplayName("negativeLookupWishlistRepository bean should wrap the Mongo adapter")
+    void negativeLookupWishlistRepositoryBeanWrapsAdapter() {
+        WishlistMongoAdapter adapter = mock(WishlistMongoAdapter.class);
+        BeanConfig config = new BeanConfig();
+        NegativeLookupWishlistRepository repository = config.negativeLookupWishlistRepository(adapter, adapter, true, 1000, 0.01, true, new SimpleMeterRegistry());
+        assertThat(repository).isNotNull();
+    }
+
+    @Test
+    @DisplayName("negativeLookupWishlistRepository bean should refuse to start without cross-instance invalidation")
+    void negativeLookupWishlistRepositoryBeanRequiresInvalidation() {
+        WishlistMongoAdapter adapter = mock(WishlistMongoAdapter.class);
+        BeanConfig config = new BeanConfig();
+        assertThatThrownBy(() -> config.negativeLookupWishlistRepository(adapter, adapter, true, 1000, 0.01, false, new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(config.negativeLookupWishlistRepository(adapter, adapter, false, 1000, 0.01, false, new SimpleMeterRegistry()))
+                .isNotNull();
+    }
+
+    @Test
+    @DisplayName("wishlistReadStore bean should coalesce concurrent reads in front of the negative lookup layer when enabled")
+    void wishlistReadStoreBeanCoalescesWhenEnabled() {
+        NegativeLookupWishlistRepository negativeLookup = mock(NegativeLookupWishlistRepository.class);
+        BeanConfig config = new BeanConfig();
+        assertThat(config.wishlistReadStore(negativeLookup, true, new SimpleMeterRegistry()))
+                .isInstanceOf(SingleFlightWishlistRepository.class);
+        assertThat(config.wishlistReadStore(negativeLookup, false, new SimpleMeterRegistry()))
+                .isSameAs(negativeLookup);
+    }
+
+    @Test
+    @DisplayName("wishlistRepository bean should wrap the negative lookup layer in a cache when enabled")
+    void wishlistRepositoryBeanWrapsInCache() {
+        NegativeLookupWishlistRepository negativeLookup = mock(NegativeLookupWishlistRepository.class);
+        BeanConfig config = new BeanConfig();
+        WishlistRepositoryPort repository = config.wishlistRepository(negativeLookup, negativeLookup, mock(WishlistInvalidationPort.class), true, 10,
+                Duration.ofMinutes(1), false, new SimpleMeterRegistry());
+        assertThat(repository).isInstanceOf(CachingWishlistRepository.class);
+    }
+
+    @Test
+    @DisplayName("wishlistRepository bean should return the negative lookup layer when cache is disabled")
+    void wishlistRepositoryBeanSkipsCacheWhenDisabled() {
+        NegativeLookupWishlistRepository negativeLookup = mock(NegativeLookupWishlistRepository.class);
+        BeanConfig config = new BeanConfig();
+        WishlistRepositoryPort repository = config.wishlistRepository(negativeLookup, negativeLookup, mock(WishlistInvalidationPort.class), false, 10,
+                Duration.ofMinutes(1), false, new SimpleMeterRegistry());
+        assertThat(repository).isSameAs(negativeLookup);
+    }
+
+    @Test
+    @DisplayName("wishlistRepository bean should broadcast writes and subscribe the caches to invalidations when enabled")
+    void wishlistRepositoryBeanBroadcastsWhenEnabled() {
+        NegativeLookupWishlistRepository negativeLookup = mock(NegativeLookupWishlistRepository.class);
+        when(negativeLookup.isEnabled()).thenReturn(true);
+        WishlistInvalidationPort invalidations = mock(WishlistInvalidationPort.class);
+        BeanConfig config = new BeanConfig();
+        WishlistRepositoryPort repository = config.wishlistRepository(negativeLookup, negativeLookup, invalidations, true, 10,
+                Duration.ofMinutes(1), true, new SimpleMeterRegistry());
+        assertThat(repository).isInstanceOf(BroadcastingWishlistRepository.class);
+        verify(invalidations).subscribe(negativeLookup);
+        verify(invalidations).subscribe(any(CachingWishlistRepository.class));
+    }
+
+    @Test
+    @DisplayName("wishlistRepository bean should subscribe read coalescing to invalidations before the cache")
+    void wishlistRepositoryBeanSubscribesReadCoalescingBeforeCache() {
+        NegativeLookupWishlistRepository negativeLookup = mock(NegativeLookupWishlistRepository.class);
+        when(negativeLookup.isEnabled()).thenReturn(true);
+        WishlistInvalidationPort invalidations = mock(WishlistInvalidationPort.class);
+        BeanConfig config = new BeanConfig();
+        WishlistRepositoryPort readStore = config.wishlistReadStore(negativeLookup, true, new SimpleMeterRegistry());
+        config.wishlistRepository(readStore, negativeLookup, invalidations, true, 10,
+                Duration.ofMinutes(1), true, new SimpleMeterRegistry());
+        var order = inOrder(invalidations);
+        order.verify(invalidations).subscribe(negativeLookup);
+        order.verify(invalidations).subscribe((SingleFlightWishlistRepository) readStore);
+        order.verify(invalidations).subscribe(any(CachingWishlistRepository.class));
+    }
+
+    @Test
+    @DisplayName("wishlistRepository bean should not subscribe a disabled negative lookup layer to invalidations")
+    void wishlistRepositoryBeanSkipsDisabledNegativeLookup() {
+        NegativeLookupWishlistRepository negativeLookup = mock(NegativeLookupWishlistRepository.class);
+        WishlistInvalidationPort invalidations = mock(WishlistInvalidationPort.class);
+        BeanConfig config = new BeanConfig();
+        config.wishlistRepository(negativeLookup, negativeLookup, invalidations, false, 10,
+                Duration.ofMinutes(1), true, new SimpleMeterRegistry());
+        verify(invalidations, never()).subscribe(any());
+    }
+
+    @Test
+    @DisplayName("reactiveWishlistRepository bean should broadcast writes only when invalidation is enabled")
+    void reactiveWishlistRepositoryBeanBroadcastsWhenEnabled() {
+        ReactiveWishlistRepositoryPort store = mock(ReactiveWishlistRepositoryPort.class);
+        WishlistInvalidationPort invalidations = mock(WishlistInvalidationPort.class);
+        BeanConfig config = new BeanConfig();
+        assertThat(config.reactiveWishlistRepository(store, invalidations, true))
+                .isInstanceOf(ReactiveBroadcastingWishlistRepository.class);
+        assertThat(config.reactiveWishlistRepository(store, invalidations, false)).isSameAs(store);
+    }
+
+    @Test
+    @DisplayName("productCatalog bean should cache in front of the batching catalog when enabled")
+    void productCatalogBeanWrapsInCache() {
+        BeanConfig config = new BeanConfig();
+        try (BatchingProductCatalog batching = config.batchingProductCatalog(mock(ProductCatalogPort.class), 100, 8,
+                Duration.ofMillis(150), new SimpleMeterRegistry())) {
+            assertThat(config.productCatalog(batching, true, 10, Duration.ofMinutes(1), new SimpleMeterRegistry()))
+                    .isInstanceOf(CachingProductCatalog.class);
+            assertThat(config.productCatalog(batching, false, 10, Duration.ofMinutes(1), new SimpleMeterRegistry()))
+                    .isSameAs(batching);
+        }
+    }
+
     @Test
     @DisplayName("wishlistService bean should return WishlistService with injected repository")
     void wishlistServiceBeanReturnsWishlistService() {
         WishlistRepositoryPort repo = mock(WishlistRepositoryPort.class);
         BeanConfig config = new BeanConfig();
-        WishlistService service = config.wishlistService(repo);
+        WishlistService service = config.wishlistService(repo, WishlistLimits.defaults());
         assertThat(service).isNotNull();
     }
 
@@ -58,4 +211,22 @@ class BeanConfigTest {
         ProductUseCase useCase = config.productUseCase(service);
         assertThat(useCase).isSameAs(service);
     }
+
+    @Test
+    @DisplayName("batchUpdateProductsUseCase bean should return same WishlistService instance")
+    void batchUpdateProductsUseCaseBeanReturnsSameInstance() {
+        WishlistService service = mock(WishlistService.class);
+        BeanConfig config = new BeanConfig();
+        BatchUpdateProductsUseCase useCase = config.batchUpdateProductsUseCase(service);
+        assertThat(useCase).isSameAs(service);
+    }
+
+    @Test
+    @DisplayName("productMembershipUseCase bean should return same WishlistService instance")
+    void productMembershipUseCaseBeanReturnsSameInstance() {
+        WishlistService service = mock(WishlistService.class);
+        BeanConfig config = new BeanConfig();
+        ProductMembershipUseCase useCase = config.productMembershipUseCase(service);
+        assertThat(useCase).isSameAs(service);
+    }
 }
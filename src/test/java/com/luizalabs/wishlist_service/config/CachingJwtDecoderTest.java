@@ -0,0 +1,112 @@
+package com.luizalabs.wishlist_service.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private JwtDecoder delegate;
+    private Clock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(JwtDecoder.class);
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        meterRegistry = new SimpleMeterRegistry();
+        decoder = new CachingJwtDecoder(delegate, 10, Duration.ofMinutes(10), clock, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("decode should verify a reused token only once")
+    void decodeVerifiesReusedTokenOnce() {
+        Jwt jwt = jwt("token", NOW.plusSeconds(60), null);
+        when(delegate.decode("token")).thenReturn(jwt);
+
+        assertThat(decoder.decode("token")).isSameAs(jwt);
+        assertThat(decoder.decode("token")).isSameAs(jwt);
+
+        verify(delegate, times(1)).decode("token");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CachingJwtDecoder.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jwt.decoder.decode").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("decode should keep distinct tokens apart")
+    void decodeKeepsDistinctTokensApart() {
+        Jwt first = jwt("first", NOW.plusSeconds(60), null);
+        Jwt second = jwt("second", NOW.plusSeconds(60), null);
+        when(delegate.decode("first")).thenReturn(first);
+        when(delegate.decode("second")).thenReturn(second);
+
+        assertThat(decoder.decode("first")).isSameAs(first);
+        assertThat(decoder.decode("second")).isSameAs(second);
+    }
+
+    @Test
+    @DisplayName("decode should not cache rejected tokens")
+    void decodeDoesNotCacheRejectedTokens() {
+        when(delegate.decode("bad")).thenThrow(new BadJwtException("invalid signature"));
+
+        assertThatThrownBy(() -> decoder.decode("bad")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("bad")).isInstanceOf(BadJwtException.class);
+
+        verify(delegate, times(2)).decode("bad");
+    }
+
+    @Test
+    @DisplayName("decode should verify again once the cached token has expired")
+    void decodeVerifiesAgainAfterExpiry() {
+        when(delegate.decode("token"))
+                .thenReturn(jwt("token", NOW.plusSeconds(60), null))
+                .thenThrow(new BadJwtException("expired"));
+
+        decoder.decode("token");
+        when(clock.instant()).thenReturn(NOW.plusSeconds(61));
+
+        assertThatThrownBy(() -> decoder.decode("token")).isInstanceOf(BadJwtException.class);
+        verify(delegate, times(2)).decode("token");
+    }
+
+    @Test
+    @DisplayName("decode should not cache tokens that are not yet valid")
+    void decodeDoesNotCacheTokensBeforeNotBefore() {
+        when(delegate.decode("token")).thenReturn(jwt("token", NOW.plusSeconds(120), NOW.plusSeconds(30)));
+
+        decoder.decode("token");
+        decoder.decode("token");
+
+        verify(delegate, times(2)).decode("token");
+    }
+
+    private static Jwt jwt(final String token,
+                           final Instant expiresAt,
+                           final Instant notBefore) {
+        Jwt.Builder builder = Jwt.withTokenValue(token)
+                .header("alg", "HS256")
+                .subject("1")
+                .issuedAt(NOW.minusSeconds(1))
+                .expiresAt(expiresAt);
+        if (notBefore != null) builder.notBefore(notBefore);
+        return builder.build();
+    }
+
+}
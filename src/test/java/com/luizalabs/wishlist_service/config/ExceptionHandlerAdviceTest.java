@@ -2,6 +2,7 @@ package com.luizalabs.wishlist_service.config;
 
 import com.luizalabs.wishlist_service.adapters.in.web.dto.response.ApiErrorResponse;
 import com.luizalabs.wishlist_service.domain.exception.ProductNotFoundException;
+import com.luizalabs.wishlist_service.domain.exception.WishlistConflictException;
 import com.luizalabs.wishlist_service.domain.exception.WishlistMaxLimitException;
 import com.luizalabs.wishlist_service.domain.exception.WishlistNotFoundException;
 import org.junit.jupiter.api.Assertions;
@@ -12,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -71,6 +73,18 @@ class ExceptionHandlerAdviceTest {
         assertThat(response.getBody().getMessage()).contains("invalid request");
     }
 
+    @Test
+    @DisplayName("handleReactiveValidation returns 400 and correct error body with field error")
+    void handleReactiveValidationReturnsBadRequestWithFieldError() {
+        WebExchangeBindException ex = mock(WebExchangeBindException.class);
+        when(ex.getFieldError()).thenReturn(new FieldError("obj", "field", "must not be null"));
+        ResponseEntity<ApiErrorResponse> response = advice.handleReactiveValidation(ex);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        Assertions.assertNotNull(response.getBody());
+        assertThat(response.getBody().getError()).isEqualTo("VALIDATION_ERROR");
+        assertThat(response.getBody().getMessage()).contains("field must not be null");
+    }
+
     @Test
     @DisplayName("handleProductNotFound returns 404 and correct error body")
     void handleProductNotFoundReturnsNotFound() {
@@ -81,4 +95,15 @@ class ExceptionHandlerAdviceTest {
         assertThat(response.getBody().getError()).isEqualTo("PRODUCT_NOT_FOUND");
         assertThat(response.getBody().getMessage()).isEqualTo("product missing");
     }
+
+    @Test
+    @DisplayName("handleConflict returns 409 and correct error body")
+    void handleConflictReturnsConflict() {
+        WishlistConflictException ex = new WishlistConflictException("busy");
+        ResponseEntity<ApiErrorResponse> response = advice.handleConflict(ex);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        Assertions.assertNotNull(response.getBody());
+        assertThat(response.getBody().getError()).isEqualTo("WISHLIST_CONFLICT");
+        assertThat(response.getBody().getMessage()).isEqualTo("busy");
+    }
 }
@@ -5,13 +5,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+@SpringBootTest(properties = "wishlist.grpc.port=0")
 @AutoConfigureMockMvc
 class SecurityConfigTest {
 
@@ -25,6 +29,28 @@ class SecurityConfigTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @DisplayName("Should require authentication for /internal endpoints")
+    void internalEndpoints_RequireAuthentication() throws Exception {
+        mockMvc.perform(get("/internal/products/1/followers"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should reject /internal endpoints for tokens without the internal scope")
+    void internalEndpoints_RequireInternalScope() throws Exception {
+        mockMvc.perform(get("/internal/products/1/followers").with(jwt()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should reject /admin endpoints for tokens without the admin scope")
+    void adminEndpoints_RequireAdminScope() throws Exception {
+        mockMvc.perform(post("/admin/wishlists/import").with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_internal")))
+                        .contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @DisplayName("Should allow access to non-protected endpoints without authentication")
     void nonProtectedEndpoints_AccessibleWithoutAuthentication() throws Exception {
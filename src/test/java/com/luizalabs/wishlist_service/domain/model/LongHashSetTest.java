@@ -0,0 +1,51 @@
+package com.luizalabs.wishlist_service.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongHashSetTest {
+
+    @Test
+    @DisplayName("should agree with HashSet through random adds and removes, including key 0")
+    void matchesHashSet() {
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                assertThat(set.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                assertThat(set.add(key)).isEqualTo(expected.add(key));
+            }
+        }
+        for (long key = -1_000; key < 1_000; key++) {
+            assertThat(set.contains(key)).isEqualTo(expected.contains(key));
+        }
+    }
+
+    @Test
+    @DisplayName("copy should be independent of the original")
+    void copyIsIndependent() {
+        LongHashSet set = new LongHashSet(4);
+        set.add(0L);
+        set.add(7L);
+
+        LongHashSet copy = set.copy();
+        copy.remove(0L);
+        copy.add(8L);
+
+        assertThat(set.contains(0L)).isTrue();
+        assertThat(set.contains(8L)).isFalse();
+        assertThat(copy.contains(0L)).isFalse();
+        assertThat(copy.contains(7L)).isTrue();
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.luizalabs.wishlist_service.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WishlistLimitsTest {
+
+    @Test
+    @DisplayName("maxItems should fall back to the default for missing or unknown tiers")
+    void maxItemsFallsBackToDefault() {
+        WishlistLimits limits = WishlistLimits.parse(20, " premium:5000, gold : 100 ,");
+
+        assertThat(limits.maxItems("premium")).isEqualTo(5000);
+        assertThat(limits.maxItems("gold")).isEqualTo(100);
+        assertThat(limits.maxItems("bronze")).isEqualTo(20);
+        assertThat(limits.maxItems(null)).isEqualTo(20);
+        assertThat(limits.highest()).isEqualTo(5000);
+    }
+
+    @Test
+    @DisplayName("parse should configure no tiers from a blank string")
+    void parseBlank() {
+        WishlistLimits limits = WishlistLimits.parse(50, "");
+
+        assertThat(limits.maxItems("premium")).isEqualTo(50);
+        assertThat(limits.highest()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("should reject malformed tiers and limits outside 1..MAX_ITEMS_CEILING")
+    void rejectsInvalidLimits() {
+        assertThatThrownBy(() -> WishlistLimits.parse(20, "premium"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WishlistLimits.parse(0, ""))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WishlistLimits.parse(20, "premium:" + (Wishlist.MAX_ITEMS_CEILING + 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("premium");
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.luizalabs.wishlist_service.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WishlistPageTest {
+
+    @Test
+    @DisplayName("next page should start after the last product returned, even when products before it were removed")
+    void nextPageSkipsNothingAfterRemoval() {
+        Wishlist wishlist = Wishlist.rehydrate(1L, List.of(1L, 2L, 3L, 4L, 5L));
+        WishlistPage first = WishlistPage.of(wishlist, WishlistPageCursor.FIRST, 2);
+
+        wishlist.removeProduct(1L);
+        WishlistPage second = WishlistPage.of(wishlist, first.next(), 2);
+
+        assertThat(first.productIds()).containsExactly(1L, 2L);
+        assertThat(second.productIds()).containsExactly(3L, 4L);
+    }
+
+    @Test
+    @DisplayName("next page should start where the last product returned was when it was removed")
+    void nextPageStartsAtPositionOfRemovedProduct() {
+        Wishlist wishlist = Wishlist.rehydrate(1L, List.of(1L, 2L, 3L, 4L, 5L));
+        WishlistPage first = WishlistPage.of(wishlist, WishlistPageCursor.FIRST, 2);
+
+        wishlist.removeProduct(2L);
+        WishlistPage second = WishlistPage.of(wishlist, first.next(), 2);
+
+        assertThat(second.productIds()).containsExactly(3L, 4L);
+    }
+
+    @Test
+    @DisplayName("products added while paging should come at the end, without repeating any")
+    void addedProductsComeOnLastPage() {
+        Wishlist wishlist = Wishlist.rehydrate(1L, List.of(1L, 2L, 3L));
+        WishlistPage first = WishlistPage.of(wishlist, WishlistPageCursor.FIRST, 2);
+
+        wishlist.addProduct(4L, Wishlist.DEFAULT_MAX_ITEMS);
+        WishlistPage second = WishlistPage.of(wishlist, first.next(), 2);
+
+        assertThat(second.productIds()).containsExactly(3L, 4L);
+        assertThat(second.next()).isNull();
+    }
+
+}
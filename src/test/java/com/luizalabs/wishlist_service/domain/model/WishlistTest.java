@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -40,7 +41,7 @@ class WishlistTest {
     @DisplayName("rehydrate should throw if product list exceeds max size")
     void rehydrateThrowsIfExceedsMaxSize() {
         List<Long> products = new ArrayList<>();
-        for (long i = 1; i <= Wishlist.MAX_ITEMS + 1; i++) products.add(i);
+        for (long i = 1; i <= Wishlist.MAX_ITEMS_CEILING + 1; i++) products.add(i);
         assertThatThrownBy(() -> Wishlist.rehydrate(1L, products))
                 .isInstanceOf(WishlistMaxLimitException.class)
                 .hasMessageContaining("Wishlist exceeds max size");
@@ -50,7 +51,7 @@ class WishlistTest {
     @DisplayName("addProduct should add product if not present")
     void addProductAddsIfNotPresent() {
         Wishlist wishlist = Wishlist.create(1L);
-        wishlist.addProduct(10L);
+        wishlist.addProduct(10L, Wishlist.DEFAULT_MAX_ITEMS);
         assertThat(wishlist.getProductIds()).contains(10L);
     }
 
@@ -58,7 +59,7 @@ class WishlistTest {
     @DisplayName("addProduct should not add duplicate product")
     void addProductDoesNotAddDuplicate() {
         Wishlist wishlist = Wishlist.rehydrate(1L, List.of(10L));
-        wishlist.addProduct(10L);
+        wishlist.addProduct(10L, Wishlist.DEFAULT_MAX_ITEMS);
         assertThat(wishlist.getProductIds()).containsExactly(10L);
     }
 
@@ -66,9 +67,9 @@ class WishlistTest {
     @DisplayName("addProduct should throw if max size reached")
     void addProductThrowsIfMaxSizeReached() {
         List<Long> products = new ArrayList<>();
-        for (long i = 1; i <= Wishlist.MAX_ITEMS; i++) products.add(i);
+        for (long i = 1; i <= Wishlist.DEFAULT_MAX_ITEMS; i++) products.add(i);
         Wishlist wishlist = Wishlist.rehydrate(1L, products);
-        assertThatThrownBy(() -> wishlist.addProduct(99L))
+        assertThatThrownBy(() -> wishlist.addProduct(99L, Wishlist.DEFAULT_MAX_ITEMS))
                 .isInstanceOf(WishlistMaxLimitException.class)
                 .hasMessageContaining("Wishlist reached max size");
     }
@@ -77,7 +78,7 @@ class WishlistTest {
     @DisplayName("addProduct should throw if productId is null")
     void addProductThrowsIfProductIdNull() {
         Wishlist wishlist = Wishlist.create(1L);
-        assertThatThrownBy(() -> wishlist.addProduct(null))
+        assertThatThrownBy(() -> wishlist.addProduct(null, Wishlist.DEFAULT_MAX_ITEMS))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("productId is required");
     }
@@ -115,4 +116,129 @@ class WishlistTest {
         assertThat(items).containsExactlyInAnyOrder(1L, 2L);
         assertThatThrownBy(() -> items.add(3L)).isInstanceOf(UnsupportedOperationException.class);
     }
+
+    @Test
+    @DisplayName("removeProduct should keep insertion order of the remaining products")
+    void removeProductKeepsInsertionOrder() {
+        Wishlist wishlist = Wishlist.rehydrate(1L, List.of(30L, 10L, 20L, 40L));
+        wishlist.removeProduct(10L);
+        wishlist.addProduct(50L, Wishlist.DEFAULT_MAX_ITEMS);
+        assertThat(wishlist.getProductIds()).containsExactly(30L, 20L, 40L, 50L);
+    }
+
+    @Test
+    @DisplayName("contains, size and productIdAt should read the primitive set")
+    void readsPrimitiveSet() {
+        Wishlist wishlist = Wishlist.rehydrate(1L, new long[]{7L, 8L, 7L});
+        assertThat(wishlist.size()).isEqualTo(2);
+        assertThat(wishlist.contains(7L)).isTrue();
+        assertThat(wishlist.contains(9L)).isFalse();
+        assertThat(wishlist.productIdAt(1)).isEqualTo(8L);
+        assertThatThrownBy(() -> wishlist.productIdAt(2)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("getProductIds should return an array the caller owns")
+    void getProductIdsReturnsCopy() {
+        Wishlist wishlist = Wishlist.rehydrate(1L, List.of(1L, 2L));
+        wishlist.getProductIds()[0] = 99L;
+        assertThat(wishlist.getProductIds()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("applyChanges should apply removals before additions and report each outcome")
+    void applyChangesReportsOutcomes() {
+        Wishlist wishlist = Wishlist.rehydrate(1L, List.of(1L, 2L));
+
+        List<ProductChangeResult> results = wishlist.applyChanges(List.of(2L, 3L), List.of(2L, 9L), Wishlist.DEFAULT_MAX_ITEMS);
+
+        assertThat(results).containsExactly(
+                new ProductChangeResult(2L, ProductChangeType.REMOVE, ProductChangeOutcome.REMOVED),
+                new ProductChangeResult(9L, ProductChangeType.REMOVE, ProductChangeOutcome.NOT_PRESENT),
+                new ProductChangeResult(2L, ProductChangeType.ADD, ProductChangeOutcome.ADDED),
+                new ProductChangeResult(3L, ProductChangeType.ADD, ProductChangeOutcome.ADDED));
+        assertThat(wishlist.getProductIds()).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("applyChanges should remove many products from a large wishlist, keeping order and membership")
+    void applyChangesRemovesManyFromLargeWishlist() {
+        Wishlist wishlist = Wishlist.rehydrate(1L, LongStream.range(0, 1_000).boxed().toList());
+        List<Long> removals = new ArrayList<>(LongStream.range(0, 1_000).filter(i -> i % 3 != 0).boxed().toList());
+        removals.add(1L);
+
+        List<ProductChangeResult> results = wishlist.applyChanges(List.of(), removals, Wishlist.MAX_ITEMS_CEILING);
+
+        assertThat(results.get(0).outcome()).isEqualTo(ProductChangeOutcome.REMOVED);
+        assertThat(results.get(results.size() - 1).outcome()).isEqualTo(ProductChangeOutcome.NOT_PRESENT);
+        assertThat(wishlist.getProductIds()).containsExactly(LongStream.range(0, 1_000).filter(i -> i % 3 == 0).toArray());
+        assertThat(wishlist.contains(2L)).isFalse();
+        assertThat(wishlist.contains(999L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("applyChanges should report additions past the limit instead of throwing")
+    void applyChangesReportsLimitReached() {
+        Wishlist wishlist = Wishlist.rehydrate(1L, LongStream.range(0, Wishlist.DEFAULT_MAX_ITEMS - 1).boxed().toList());
+
+        List<ProductChangeResult> results = wishlist.applyChanges(List.of(100L, 0L, 101L), List.of(), Wishlist.DEFAULT_MAX_ITEMS);
+
+        assertThat(results).extracting(ProductChangeResult::outcome).containsExactly(
+                ProductChangeOutcome.ADDED, ProductChangeOutcome.ALREADY_PRESENT, ProductChangeOutcome.LIMIT_REACHED);
+        assertThat(wishlist.size()).isEqualTo(Wishlist.DEFAULT_MAX_ITEMS);
+    }
+
+    @Test
+    @DisplayName("addProduct should enforce the limit it is given")
+    void addProductEnforcesGivenLimit() {
+        Wishlist wishlist = Wishlist.create(1L);
+        for (long i = 1; i <= 500; i++) wishlist.addProduct(i, 500);
+
+        assertThatThrownBy(() -> wishlist.addProduct(501L, 500))
+                .isInstanceOf(WishlistMaxLimitException.class)
+                .hasMessageContaining("500");
+        wishlist.addProduct(500L, 500);
+        assertThat(wishlist.size()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("large wishlists should keep insertion order and membership through adds and removes")
+    void largeWishlistKeepsOrderAndMembership() {
+        Wishlist wishlist = Wishlist.create(1L);
+        for (long i = 0; i < 2_000; i++) wishlist.addProduct(i, Wishlist.MAX_ITEMS_CEILING);
+        for (long i = 0; i < 2_000; i += 2) wishlist.removeProduct(i);
+        wishlist.addProduct(1L, Wishlist.MAX_ITEMS_CEILING);
+        wishlist.addProduct(0L, Wishlist.MAX_ITEMS_CEILING);
+
+        assertThat(wishlist.size()).isEqualTo(1_001);
+        assertThat(wishlist.productIdAt(0)).isEqualTo(1L);
+        assertThat(wishlist.productIdAt(999)).isEqualTo(1_999L);
+        assertThat(wishlist.productIdAt(1_000)).isEqualTo(0L);
+        assertThat(wishlist.contains(0L)).isTrue();
+        assertThat(wishlist.contains(2L)).isFalse();
+        assertThat(wishlist.copy().contains(1_999L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("rehydrate should remove duplicates from large product lists")
+    void rehydrateDeduplicatesLargeLists() {
+        long[] products = LongStream.range(0, 3_000).map(i -> i % 1_000).toArray();
+
+        Wishlist wishlist = Wishlist.rehydrate(1L, products);
+
+        assertThat(wishlist.size()).isEqualTo(1_000);
+        assertThat(wishlist.getProductIds()).containsExactly(LongStream.range(0, 1_000).toArray());
+    }
+
+    @Test
+    @DisplayName("copy should be independent of the original")
+    void copyIsIndependent() {
+        Wishlist wishlist = Wishlist.rehydrate(1L, List.of(1L, 2L));
+        Wishlist copy = wishlist.copy();
+        copy.addProduct(3L, Wishlist.DEFAULT_MAX_ITEMS);
+        wishlist.removeProduct(1L);
+        assertThat(wishlist.getProductIds()).containsExactly(2L);
+        assertThat(copy.getProductIds()).containsExactly(1L, 2L, 3L);
+        assertThat(copy).isEqualTo(wishlist);
+    }
 }